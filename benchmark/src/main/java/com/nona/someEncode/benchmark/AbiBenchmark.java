@@ -0,0 +1,166 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.abi.AbiDecoder;
+import com.nona.someEncode.abi.CallTemplate;
+import com.nona.someEncode.abi.Function;
+import com.nona.someEncode.abi.abiType.Address;
+import com.nona.someEncode.abi.abiType.Uint;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * abi静态类型的编码，以及整个调用数据的编码：{@link Function}对比每次算selector再拼接，{@link CallTemplate}只改写slot，300个调用的multicall；
+ * 返回值解码：{@link AbiDecoder}读long对比复制成BigInteger
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AbiBenchmark {
+
+    private Uint.Uint256[] uint256s;
+    private Address[] addresses;
+    private BigInteger[] values;
+    private byte[] calldata = new byte[4 + 32 * 2];
+    private String[] addressHexes;
+    private Function transfer;
+    private CallTemplate transferTemplate;
+    private byte[][] addressBytes;
+    private long[] amounts;
+    private Function aggregate;
+    private List<Object[]> calls;
+    private AbiDecoder balanceDecoder;
+    private ByteBuffer[] balanceResults;
+    private int index;
+
+    @Setup
+    public void setup() {
+        uint256s = new Uint.Uint256[Corpus.SIZE];
+        int i = 0;
+        for (BigInteger value : Corpus.uint256Values()) {
+            uint256s[i++] = new Uint.Uint256(value);
+        }
+        addresses = new Address[Corpus.SIZE];
+        i = 0;
+        for (String address : Corpus.evmAddresses()) {
+            addresses[i++] = new Address(address);
+        }
+        values = Corpus.uint256Values();
+        addressHexes = Corpus.evmAddresses();
+        transfer = Function.of("transfer(address,uint256)");
+        transferTemplate = transfer.template();
+        addressBytes = new byte[Corpus.SIZE][];
+        amounts = new long[Corpus.SIZE];
+        for (int j = 0; j < Corpus.SIZE; j++) {
+            addressBytes[j] = Hex.decode(addressHexes[j].substring(2));
+            amounts[j] = values[j].longValue() & Long.MAX_VALUE;
+        }
+        aggregate = Function.of("aggregate((address,bytes)[])");
+        balanceDecoder = AbiDecoder.of("uint256");
+        balanceResults = new ByteBuffer[Corpus.SIZE];
+        for (int j = 0; j < Corpus.SIZE; j++) {
+            balanceResults[j] = ByteBuffer.wrap(new Uint.Uint256(values[j].shiftRight(193)).generateAbi());
+        }
+        calls = new ArrayList<>();
+        for (int j = 0; j < 300; j++) {
+            calls.add(new Object[]{addressHexes[j & Corpus.MASK], transfer.encode(addressHexes[(j + 1) & Corpus.MASK], values[j & Corpus.MASK])});
+        }
+    }
+
+    @Benchmark
+    public byte[] uint256() {
+        return uint256s[index++ & Corpus.MASK].generateAbi();
+    }
+
+    @Benchmark
+    public byte[] address() {
+        return addresses[index++ & Corpus.MASK].generateAbi();
+    }
+
+    /**
+     * 直接写进同一个调用数据数组
+     */
+    @Benchmark
+    public byte[] uint256WriteTo() {
+        uint256s[index++ & Corpus.MASK].writeTo(calldata, 4 + 32);
+        return calldata;
+    }
+
+    @Benchmark
+    public byte[] addressWriteTo() {
+        addresses[index++ & Corpus.MASK].writeTo(calldata, 4);
+        return calldata;
+    }
+
+    @Benchmark
+    public byte[] functionEncode() {
+        int i = index++ & Corpus.MASK;
+        return transfer.encode(addressHexes[i], values[i]);
+    }
+
+    /**
+     * 复制68byte的模板，再写address和amount两个字
+     */
+    @Benchmark
+    public byte[] templateTransfer() {
+        int i = index++ & Corpus.MASK;
+        byte[] call = transferTemplate.newCall();
+        transferTemplate.setAddress(call, 0, addressBytes[i]);
+        transferTemplate.setUint(call, 1, amounts[i]);
+        return call;
+    }
+
+    /**
+     * 不用{@link Function}：每次算keccak取selector，各参数生成abi后拼接
+     */
+    @Benchmark
+    public byte[] manualEncode() {
+        int i = index++ & Corpus.MASK;
+        KeccakDigest keccak = new KeccakDigest(256);
+        byte[] signature = "transfer(address,uint256)".getBytes(StandardCharsets.US_ASCII);
+        keccak.update(signature, 0, signature.length);
+        byte[] hash = new byte[32];
+        keccak.doFinal(hash, 0);
+        byte[] address = new Address(addressHexes[i]).generateAbi();
+        byte[] value = new Uint.Uint256(values[i]).generateAbi();
+        byte[] result = new byte[4 + address.length + value.length];
+        System.arraycopy(hash, 0, result, 0, 4);
+        System.arraycopy(address, 0, result, 4, address.length);
+        System.arraycopy(value, 0, result, 4 + address.length, value.length);
+        return result;
+    }
+
+    @Benchmark
+    public byte[] multicallEncode() {
+        return aggregate.encode(calls);
+    }
+
+    @Benchmark
+    public long decodeLong() {
+        return balanceDecoder.wrap(balanceResults[index++ & Corpus.MASK]).getLong(0);
+    }
+
+    /**
+     * 复制返回值后转BigInteger
+     */
+    @Benchmark
+    public BigInteger decodeBigInteger() {
+        ByteBuffer result = balanceResults[index++ & Corpus.MASK];
+        byte[] word = new byte[32];
+        result.duplicate().get(word);
+        return new BigInteger(1, word);
+    }
+}
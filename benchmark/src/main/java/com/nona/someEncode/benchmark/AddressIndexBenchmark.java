@@ -0,0 +1,112 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.store.AddressFilter;
+import com.nona.someEncode.store.AddressIndex;
+import com.nona.someEncode.store.AddressType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 判断地址是否属于自己：HashSet&lt;String&gt;、堆外索引按地址字符串查、堆外索引按payload查、预过滤器按payload查，一半命中一半不命中
+ *
+ * @author nona9961
+ * @date 2026/10/18 22:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AddressIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"200000"})
+    public int size;
+
+    private Set<String> set;
+    private AddressIndex index;
+    private AddressFilter filter;
+    private String[] addresses;
+    private byte[][] payloads;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        set = new HashSet<>(size * 2);
+        index = new AddressIndex(size);
+        addresses = new String[QUERIES];
+        payloads = new byte[QUERIES][AddressType.PAYLOAD_LENGTH];
+        byte[] payload = new byte[AddressType.PAYLOAD_LENGTH];
+        byte[] all = new byte[size * AddressType.PAYLOAD_LENGTH];
+        for (int i = 0; i < size; i++) {
+            random.nextBytes(payload);
+            String address = AddressType.TRX.encode(payload, 0);
+            set.add(address);
+            index.put(payload, 0, i);
+            System.arraycopy(payload, 0, all, i * AddressType.PAYLOAD_LENGTH, AddressType.PAYLOAD_LENGTH);
+            if (i < QUERIES / 2) {
+                addresses[i * 2] = address;
+                payloads[i * 2] = payload.clone();
+            }
+        }
+        filter = AddressFilter.build(all);
+        for (int i = 1; i < QUERIES; i += 2) {
+            random.nextBytes(payloads[i]);
+            addresses[i] = AddressType.TRX.encode(payloads[i], 0);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int hashSet() {
+        int hits = 0;
+        for (String address : addresses) {
+            if (set.contains(address)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int indexByAddress() {
+        int hits = 0;
+        for (String address : addresses) {
+            if (index.contains(address)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int indexByPayload() {
+        int hits = 0;
+        for (byte[] payload : payloads) {
+            if (index.contains(payload, 0)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(QUERIES)
+    public int filterByPayload() {
+        int hits = 0;
+        for (byte[] payload : payloads) {
+            if (filter.mayContain(payload, 0)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+}
@@ -0,0 +1,54 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.abi.Function;
+import com.nona.someEncode.abi.abiType.Address;
+import com.nona.someEncode.abi.abiType.Uint;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大数组的调用数据：airdrop(address[],uint256[])，顺序编码对比{@link Function#encodeParallel}
+ *
+ * @author nona9961
+ * @date 2026/10/19 04:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AirdropBenchmark {
+
+    @Param({"100000"})
+    private int size;
+
+    private Function airdrop;
+    private Address[] recipients;
+    private Uint.Uint256[] amounts;
+
+    @Setup
+    public void setup() {
+        airdrop = Function.of("airdrop(address[],uint256[])");
+        String[] addresses = Corpus.evmAddresses();
+        BigInteger[] values = Corpus.uint256Values();
+        recipients = new Address[size];
+        amounts = new Uint.Uint256[size];
+        for (int i = 0; i < size; i++) {
+            recipients[i] = new Address(addresses[i & Corpus.MASK]);
+            amounts[i] = new Uint.Uint256(values[i & Corpus.MASK]);
+        }
+    }
+
+    @Benchmark
+    public byte[] sequential() {
+        return airdrop.encode(recipients, amounts);
+    }
+
+    @Benchmark
+    public byte[] parallel() {
+        return airdrop.encodeParallel(null, recipients, amounts);
+    }
+}
@@ -0,0 +1,44 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.base.Base58;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Base58}编解码，输入长度与trx地址相同
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class Base58Benchmark {
+
+    private byte[][] payloads;
+    private String[] encoded;
+    private int index;
+
+    @Setup
+    public void setup() {
+        payloads = Corpus.base58Payloads();
+        encoded = new String[payloads.length];
+        for (int i = 0; i < payloads.length; i++) {
+            encoded[i] = Base58.encode(payloads[i]);
+        }
+    }
+
+    @Benchmark
+    public String encode() {
+        return Base58.encode(payloads[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Base58.decode(encoded[index++ & Corpus.MASK]);
+    }
+}
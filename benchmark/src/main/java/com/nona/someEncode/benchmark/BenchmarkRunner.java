@@ -0,0 +1,35 @@
+package com.nona.someEncode.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * <p>
+ * 默认带上GC profiler，同时输出吞吐量和每次操作的分配量（gc.alloc.rate.norm），
+ * 结果写到json方便不同版本之间对比。命令行参数和jmh原生一样，如：
+ * <pre>
+ * java -jar target/benchmarks.jar Base58 -rff base58.json
+ * </pre>
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Options options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,123 @@
+package com.nona.someEncode.benchmark;
+
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+/**
+ * 基准测试用的固定输入
+ * <p>
+ * 所有数据都由固定的种子生成，不同版本之间跑出来的结果可以直接比较
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+public final class Corpus {
+
+    /**
+     * 每种输入的条数，必须是2的幂，方便用掩码循环取
+     */
+    public static final int SIZE = 64;
+    public static final int MASK = SIZE - 1;
+
+    private static final long SEED = 0x5EED_2021_0825L;
+    private static final BigInteger N = new BigInteger("FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFEBAAEDCE6AF48A03BBFD25E8CD0364141", 16);
+
+    private Corpus() {
+    }
+
+    /**
+     * 固定的私钥，16进制字符串，都在[1, n)范围内
+     *
+     * @return 私钥
+     */
+    public static String[] privateKeys() {
+        Random random = new Random(SEED);
+        String[] keys = new String[SIZE];
+        byte[] buffer = new byte[32];
+        for (int i = 0; i < SIZE; ) {
+            random.nextBytes(buffer);
+            BigInteger d = new BigInteger(1, buffer);
+            if (d.signum() == 0 || d.compareTo(N) >= 0) {
+                continue;
+            }
+            keys[i++] = Hex.toHexString(buffer);
+        }
+        return keys;
+    }
+
+    /**
+     * 固定的待签名hash，32字节
+     *
+     * @return hash
+     */
+    public static byte[][] messageHashes() {
+        return randomArrays(SEED + 1, 32);
+    }
+
+    /**
+     * 固定的base58原始数据，长度和trx地址一样是25字节，前两条以0开头覆盖前导"1"的情况
+     *
+     * @return 原始数据
+     */
+    public static byte[][] base58Payloads() {
+        byte[][] payloads = randomArrays(SEED + 2, 25);
+        payloads[0][0] = 0;
+        payloads[1][0] = 0;
+        payloads[1][1] = 0;
+        return payloads;
+    }
+
+    /**
+     * 固定的varints原始数据，长度从1到16字节循环
+     *
+     * @return 原始数据
+     */
+    public static byte[][] varintPayloads() {
+        Random random = new Random(SEED + 3);
+        byte[][] payloads = new byte[SIZE][];
+        for (int i = 0; i < SIZE; i++) {
+            payloads[i] = new byte[(i & 15) + 1];
+            random.nextBytes(payloads[i]);
+        }
+        return payloads;
+    }
+
+    /**
+     * 固定的uint256数值，位数从1到256循环
+     *
+     * @return 数值
+     */
+    public static BigInteger[] uint256Values() {
+        Random random = new Random(SEED + 4);
+        BigInteger[] values = new BigInteger[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = new BigInteger((i * 4) + 1, random);
+        }
+        return values;
+    }
+
+    /**
+     * 固定的evm地址，带0x前缀
+     *
+     * @return 地址
+     */
+    public static String[] evmAddresses() {
+        byte[][] raw = randomArrays(SEED + 5, 20);
+        String[] addresses = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            addresses[i] = "0x" + Hex.toHexString(raw[i]);
+        }
+        return addresses;
+    }
+
+    private static byte[][] randomArrays(long seed, int length) {
+        Random random = new Random(seed);
+        byte[][] arrays = new byte[SIZE][length];
+        for (byte[] array : arrays) {
+            random.nextBytes(array);
+        }
+        return arrays;
+    }
+}
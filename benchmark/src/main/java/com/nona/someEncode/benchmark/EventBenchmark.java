@@ -0,0 +1,98 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.abi.Event;
+import com.nona.someEncode.abi.EventFilter;
+import com.nona.someEncode.abi.EventValues;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 从一批日志里挑出Transfer、Approval并读出to和value：{@link EventFilter}直接读buffer，对比转成hex字符串后比较、解析
+ *
+ * @author nona9961
+ * @date 2026/10/19 06:00
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventBenchmark {
+
+    /**
+     * 一批日志的条数，一半是Transfer、Approval，其余是无关的事件
+     */
+    private static final int LOGS = 1024;
+
+    private EventFilter filter;
+    private ByteBuffer[] topics;
+    private ByteBuffer[] data;
+    private String transferTopic;
+    private String approvalTopic;
+    private String[][] topicHexes;
+    private String[] dataHexes;
+    private byte[] to = new byte[20];
+
+    @Setup
+    public void setup() {
+        Event transfer = Event.of("Transfer(address indexed from, address indexed to, uint256 value)");
+        Event approval = Event.of("Approval(address indexed owner, address indexed spender, uint256 value)");
+        Event other = Event.of("Sync(uint112 reserve0, uint112 reserve1)");
+        filter = EventFilter.of(transfer, approval);
+        transferTopic = Hex.toHexString(transfer.getTopic0());
+        approvalTopic = Hex.toHexString(approval.getTopic0());
+        String[] addresses = Corpus.evmAddresses();
+        BigInteger[] values = Corpus.uint256Values();
+        topics = new ByteBuffer[LOGS];
+        data = new ByteBuffer[LOGS];
+        topicHexes = new String[LOGS][];
+        dataHexes = new String[LOGS];
+        for (int i = 0; i < LOGS; i++) {
+            Event event = i % 4 == 0 ? transfer : i % 4 == 1 ? approval : other;
+            String[] hexes = new String[event.getTopicCount()];
+            hexes[0] = Hex.toHexString(event.getTopic0());
+            for (int j = 1; j < hexes.length; j++) {
+                hexes[j] = "000000000000000000000000" + addresses[(i + j) & Corpus.MASK].substring(2);
+            }
+            topicHexes[i] = hexes;
+            dataHexes[i] = String.format("%064x", values[i & Corpus.MASK].shiftRight(event == other ? 144 : 0));
+            if (event == other) {
+                dataHexes[i] += dataHexes[i];
+            }
+            topics[i] = ByteBuffer.wrap(Hex.decode(String.join("", hexes)));
+            data[i] = ByteBuffer.wrap(Hex.decode(dataHexes[i]));
+        }
+    }
+
+    @Benchmark
+    public void filter(Blackhole bh) {
+        for (int i = 0; i < LOGS; i++) {
+            EventValues values = filter.decode(topics[i], data[i]);
+            if (values != null) {
+                values.getAddress(1, to, 0);
+                bh.consume(to);
+                bh.consume(values.getBigInteger(2));
+            }
+        }
+    }
+
+    /**
+     * 日志以hex字符串的形式比较topic0，再解析地址和数值
+     */
+    @Benchmark
+    public void hex(Blackhole bh) {
+        for (int i = 0; i < LOGS; i++) {
+            String[] hexes = topicHexes[i];
+            if (hexes.length == 3 && (hexes[0].equals(transferTopic) || hexes[0].equals(approvalTopic))) {
+                bh.consume(Hex.decode(hexes[2].substring(24)));
+                bh.consume(new BigInteger(dataHexes[i], 16));
+            }
+        }
+    }
+}
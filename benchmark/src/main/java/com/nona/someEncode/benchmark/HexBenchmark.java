@@ -0,0 +1,73 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.util.Hexes;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 32byte私钥的16进制编解码：{@link Hexes}对比bouncycastle的{@link Hex}；带0x前缀的地址解码到已有数组
+ *
+ * @author nona9961
+ * @date 2026/10/19 07:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HexBenchmark {
+
+    private byte[][] keys;
+    private String[] keyHexes;
+    private String[] addresses;
+    private byte[] address = new byte[20];
+    private int index;
+
+    @Setup
+    public void setup() {
+        keyHexes = Corpus.privateKeys();
+        keys = new byte[Corpus.SIZE][];
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            keys[i] = Hex.decode(keyHexes[i]);
+        }
+        addresses = Corpus.evmAddresses();
+    }
+
+    @Benchmark
+    public String toHex() {
+        return Hexes.toHex(keys[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    public String bcToHex() {
+        return Hex.toHexString(keys[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Hexes.decode(keyHexes[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    public byte[] bcDecode() {
+        return Hex.decode(keyHexes[index++ & Corpus.MASK]);
+    }
+
+    /**
+     * 跳过0x直接解码到address
+     */
+    @Benchmark
+    public byte[] decodeAddress() {
+        String hex = addresses[index++ & Corpus.MASK];
+        Hexes.decode(hex, 0, hex.length(), address, 0);
+        return address;
+    }
+
+    @Benchmark
+    public byte[] bcDecodeAddress() {
+        return Hex.decode(addresses[index++ & Corpus.MASK].substring(2));
+    }
+}
@@ -0,0 +1,51 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.crypto.KeyPairBatch;
+import com.nona.someEncode.crypto.SECP256K1Support;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 生成公私钥：JCA、逐个生成、批量生成（单线程，批量求逆），结果按单个公私钥计
+ *
+ * @author nona9961
+ * @date 2026/10/18 18:30
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class KeyGenerationBenchmark {
+
+    private static final int BATCH = 256;
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public KeyPair jca() {
+        KeyPair keyPair = null;
+        for (int i = 0; i < BATCH; i++) {
+            keyPair = SECP256K1Support.generateKeyPair();
+        }
+        return keyPair;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public byte[] oneByOne() {
+        byte[] pub = null;
+        for (int i = 0; i < BATCH; i++) {
+            pub = SECP256K1Support.getPubFromPrivate(SECP256K1Support.generatePrivateKey(), false);
+        }
+        return pub;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public KeyPairBatch batch() {
+        return SECP256K1Support.generateKeyPairs(BATCH);
+    }
+}
@@ -0,0 +1,62 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.crypto.SigningKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link SECP256K1Support}的签名和公钥推导
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class Secp256k1Benchmark {
+
+    private String[] privateKeys;
+    private SigningKey[] signingKeys;
+    private byte[][] hashes;
+    private byte[] signature;
+    private int index;
+
+    @Setup
+    public void setup() {
+        privateKeys = Corpus.privateKeys();
+        hashes = Corpus.messageHashes();
+        signingKeys = new SigningKey[Corpus.SIZE];
+        for (int i = 0; i < Corpus.SIZE; i++) {
+            signingKeys[i] = SigningKey.fromHex(privateKeys[i]);
+        }
+        signature = new byte[SigningKey.SIGNATURE_LENGTH];
+    }
+
+    @Benchmark
+    public String sign() {
+        int i = index++ & Corpus.MASK;
+        return SECP256K1Support.sign(hashes[i], privateKeys[i]);
+    }
+
+    @Benchmark
+    public byte[] signWithKey() {
+        int i = index++ & Corpus.MASK;
+        signingKeys[i].sign(hashes[i], signature, 0);
+        return signature;
+    }
+
+    @Benchmark
+    public byte[] pubCompressed() {
+        return SECP256K1Support.getPubCompressedFromPrivate(privateKeys[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    public byte[] pubUncompressed() {
+        return SECP256K1Support.getPubUncompressedFromPrivate(privateKeys[index++ & Corpus.MASK]);
+    }
+}
@@ -0,0 +1,101 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.varint.GroupVarints;
+import com.nona.someEncode.varint.Varints;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Varints}编码，输入长度1到16字节；以及long的快速路径和{@link GroupVarints}的整列编解码，按个计
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VarintsBenchmark {
+
+    private static final int LONGS = 1024;
+
+    private byte[][] payloads;
+    private int index;
+    private long[] longs;
+    private ByteBuffer buffer;
+    private ByteBuffer group;
+    private long[] decoded;
+
+    @Setup
+    public void setup() {
+        payloads = Corpus.varintPayloads();
+        Random random = new Random(7);
+        longs = new long[LONGS];
+        for (int i = 0; i < LONGS; i++) {
+            // 位数均匀分布
+            longs[i] = random.nextLong() >>> random.nextInt(64);
+        }
+        buffer = ByteBuffer.allocate(LONGS * Varints.MAX_VAR_LONG_SIZE);
+        for (long value : longs) {
+            Varints.putVarLong(buffer, value);
+        }
+        group = ByteBuffer.allocate(GroupVarints.maxEncodedSize(LONGS));
+        GroupVarints.encode(longs, LONGS, group);
+        decoded = new long[LONGS];
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return Varints.encode(payloads[index++ & Corpus.MASK]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LONGS)
+    public ByteBuffer putVarLong() {
+        buffer.clear();
+        for (long value : longs) {
+            Varints.putVarLong(buffer, value);
+        }
+        return buffer;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LONGS)
+    public long getVarLong() {
+        buffer.rewind();
+        long sum = 0;
+        for (int i = 0; i < LONGS; i++) {
+            sum += Varints.getVarLong(buffer);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LONGS)
+    public long[] groupEncode() {
+        group.clear();
+        GroupVarints.encode(longs, LONGS, group);
+        return longs;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LONGS)
+    public long[] groupDecode() {
+        group.rewind();
+        GroupVarints.decode(group, decoded);
+        return decoded;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LONGS)
+    public long[] leb128Decode() {
+        buffer.rewind();
+        GroupVarints.decodeLeb128(buffer, decoded, LONGS);
+        return decoded;
+    }
+}
@@ -0,0 +1,60 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.crypto.SigningKey;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 逐个验签和批量验签的对比，每次操作验证size个签名（语料里的密钥和消息交错组合）
+ *
+ * @author nona9961
+ * @date 2026/10/18 16:50
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class VerifyBenchmark {
+
+    @Param({"64", "1024"})
+    private int size;
+
+    private byte[][] hashes;
+    private byte[][] signatures;
+    private byte[][] pubs;
+
+    @Setup
+    public void setup() {
+        String[] privateKeys = Corpus.privateKeys();
+        byte[][] messages = Corpus.messageHashes();
+        hashes = new byte[size][];
+        signatures = new byte[size][];
+        pubs = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            SigningKey key = SigningKey.fromHex(privateKeys[(i + i / Corpus.SIZE) & Corpus.MASK]);
+            hashes[i] = messages[i & Corpus.MASK];
+            signatures[i] = key.sign(hashes[i]);
+            pubs[i] = key.getPublicKey(true);
+        }
+    }
+
+    @Benchmark
+    public int oneByOne() {
+        int valid = 0;
+        for (int i = 0; i < size; i++) {
+            if (SECP256K1Support.verify(hashes[i], signatures[i], pubs[i])) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public boolean[] batch() {
+        return SECP256K1Support.verifyBatch(hashes, signatures, pubs);
+    }
+}
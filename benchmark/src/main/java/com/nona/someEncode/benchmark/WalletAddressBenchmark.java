@@ -0,0 +1,48 @@
+package com.nona.someEncode.benchmark;
+
+import com.nona.someEncode.key.BtcWallet;
+import com.nona.someEncode.key.FilWallet;
+import com.nona.someEncode.key.TrxWallet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 各链钱包从私钥到地址的完整过程
+ * <p>
+ * 钱包内部会缓存地址，所以每次都新建钱包，测的是公钥推导+hash+编码的总开销
+ *
+ * @author nona9961
+ * @date 2026/10/18 10:00
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WalletAddressBenchmark {
+
+    private String[] privateKeys;
+    private int index;
+
+    @Setup
+    public void setup() {
+        privateKeys = Corpus.privateKeys();
+    }
+
+    @Benchmark
+    public String trx() {
+        return new TrxWallet(privateKeys[index++ & Corpus.MASK]).getAddress();
+    }
+
+    @Benchmark
+    public String btc() {
+        return BtcWallet.mainNet(privateKeys[index++ & Corpus.MASK]).getAddress();
+    }
+
+    @Benchmark
+    public String fil() {
+        return new FilWallet(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, privateKeys[index++ & Corpus.MASK]).getAddress();
+    }
+}
@@ -0,0 +1,142 @@
+package com.nona.someEncode.abi;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * 一个abi类型的编码器，由{@link AbiCoders#parse(String)}按类型名生成并缓存
+ * <p>
+ * 编码器本身不持有值，线程安全；值在编码时传入，直接写进调用方给的数组，不产生中间数组
+ * <p>
+ * 编码分两遍：先用{@link #encodedSize(Object)}算出准确的总长度，分配一次数组；
+ * 再用{@link #encode(Object, byte[], int)}顺序写入，动态部分的偏移量在写入时由已写的长度得到，不需要再算一遍大小
+ *
+ * @author nona9961
+ * @date 2026/10/19 01:00
+ */
+abstract class AbiCoder {
+
+    static final int WORD = 32;
+
+    private final String canonicalName;
+
+    AbiCoder(String canonicalName) {
+        this.canonicalName = canonicalName;
+    }
+
+    /**
+     * 规范的类型名，用于拼函数签名，比如uint -> uint256
+     */
+    final String canonicalName() {
+        return canonicalName;
+    }
+
+    /**
+     * 是否是动态类型：bytes、string、T[]，以及含有动态类型的T[k]、元组
+     */
+    boolean isDynamic() {
+        return false;
+    }
+
+    /**
+     * 在head部分占的字节数：静态类型是整个编码的长度，动态类型是一个偏移量，即32
+     */
+    int headSize() {
+        return WORD;
+    }
+
+    /**
+     * value编码后的字节数：静态类型等于{@link #headSize()}，动态类型是tail部分的长度
+     *
+     * @param value 值
+     * @return 字节数
+     */
+    int encodedSize(Object value) {
+        return headSize();
+    }
+
+    /**
+     * 把value编码写入dst[off, off + encodedSize(value))，这一段原来的内容全部被覆盖。
+     * 动态类型写的是tail部分，偏移量由调用方写在head里
+     *
+     * @param value 值，可以接受的java类型见各编码器
+     * @param dst   目标数组
+     * @param off   起始位置
+     * @return 写入的字节数
+     */
+    abstract int encode(Object value, byte[] dst, int off);
+
+    /**
+     * 同{@link #encode(Object, byte[], int)}，其中足够大的数组交给pool并行写入，结果完全相同。
+     * 只有数组、元组需要覆盖这个方法
+     *
+     * @param pool 为null时顺序写入
+     */
+    int encode(Object value, byte[] dst, int off, ForkJoinPool pool) {
+        return encode(value, dst, off);
+    }
+
+    @Override
+    public String toString() {
+        return canonicalName;
+    }
+
+    /*================================== static method ===============================================*/
+
+    /**
+     * 元组的大小：各元素的head加上动态元素的tail
+     */
+    static int tupleSize(AbiCoder[] coders, List<?> values) {
+        int size = 0;
+        for (int i = 0; i < coders.length; i++) {
+            size += coders[i].headSize();
+            if (coders[i].isDynamic()) {
+                size += coders[i].encodedSize(values.get(i));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 按head/tail布局编码元组：静态元素直接写在head里，动态元素在head里写偏移量（相对于off），内容依次写在tail
+     *
+     * @return 写入的字节数
+     */
+    static int encodeTuple(AbiCoder[] coders, List<?> values, byte[] dst, int off, ForkJoinPool pool) {
+        int head = off;
+        int tail = off;
+        for (AbiCoder coder : coders) {
+            tail += coder.headSize();
+        }
+        for (int i = 0; i < coders.length; i++) {
+            AbiCoder coder = coders[i];
+            if (coder.isDynamic()) {
+                writeInt(tail - off, dst, head);
+                tail += coder.encode(values.get(i), dst, tail, pool);
+                head += WORD;
+            } else {
+                head += coder.encode(values.get(i), dst, head, pool);
+            }
+        }
+        return tail - off;
+    }
+
+    /**
+     * 写入一个字：前28byte是0，后4byte是大端的value，用于长度和偏移量
+     */
+    static void writeInt(int value, byte[] dst, int off) {
+        Arrays.fill(dst, off, off + WORD - Integer.BYTES, (byte) 0);
+        dst[off + WORD - 4] = (byte) (value >>> 24);
+        dst[off + WORD - 3] = (byte) (value >>> 16);
+        dst[off + WORD - 2] = (byte) (value >>> 8);
+        dst[off + WORD - 1] = (byte) value;
+    }
+
+    /**
+     * 补齐到32的倍数
+     */
+    static int padded(int length) {
+        return (length + WORD - 1) / WORD * WORD;
+    }
+}
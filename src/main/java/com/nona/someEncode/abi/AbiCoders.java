@@ -0,0 +1,881 @@
+package com.nona.someEncode.abi;
+
+import com.nona.someEncode.abi.abiType.AbiDynamicType;
+import com.nona.someEncode.abi.abiType.AbiParamType;
+import com.nona.someEncode.abi.abiType.Address;
+import com.nona.someEncode.abi.abiType.Bool;
+import com.nona.someEncode.abi.abiType.StaticByteArray;
+import com.nona.someEncode.abi.abiType.Uint;
+import com.nona.someEncode.base.Base58Check;
+import com.nona.someEncode.util.Hexes;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 按类型名生成{@link AbiCoder}，同一个类型名只解析一次
+ * <p>
+ * 支持的类型：
+ * <ul>
+ * <li>静态：uint8-uint256、int8-int256（uint、int分别是uint256、int256）、address、bool、bytes1-bytes32</li>
+ * <li>动态：bytes、string</li>
+ * <li>数组T[]、T[k]和元组(T1,T2,...)，可以任意嵌套，元组的元素后面可以跟名字</li>
+ * </ul>
+ * 数组、元组的值是Object[]或者{@link List}
+ *
+ * @author nona9961
+ * @date 2026/10/19 01:00
+ */
+final class AbiCoders {
+
+    private static final ConcurrentHashMap<String, AbiCoder> CACHE = new ConcurrentHashMap<>();
+
+    private static final int ADDRESS_LENGTH = 20;
+    private static final byte TRX_ADDRESS_PREFIX = 0x41;
+    private static final int TRX_BASE58_LENGTH = 34;
+    /**
+     * 数组达到这个长度才并行编码，每个任务至少写这么多个元素
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int PARALLEL_CHUNK = 1 << 11;
+
+    private AbiCoders() {
+    }
+
+    /**
+     * 解析类型名
+     *
+     * @param type 类型名，比如uint256，前后的空白会被忽略
+     * @return 编码器
+     */
+    static AbiCoder parse(String type) {
+        AbiCoder coder = CACHE.get(type);
+        if (coder == null) {
+            coder = create(type.trim());
+            AbiCoder previous = CACHE.putIfAbsent(type, coder);
+            if (previous != null) {
+                coder = previous;
+            }
+        }
+        return coder;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private static AbiCoder create(String type) {
+        if (type.endsWith("]")) {
+            int open = type.lastIndexOf('[');
+            if (open <= 0) {
+                throw new IllegalArgumentException("unsupported abi type: " + type);
+            }
+            AbiCoder element = parse(type.substring(0, open));
+            if (open == type.length() - 2) {
+                return new ArrayCoder(element);
+            }
+            int length = number(type.substring(0, type.length() - 1), open + 1);
+            if (length < 1) {
+                throw new IllegalArgumentException("unsupported abi type: " + type);
+            }
+            return new FixedArrayCoder(element, length);
+        }
+        if (type.startsWith("(") && type.endsWith(")")) {
+            List<String> components = splitParameters(type, 1, type.length() - 1);
+            if (components.isEmpty()) {
+                throw new IllegalArgumentException("unsupported abi type: " + type);
+            }
+            AbiCoder[] coders = new AbiCoder[components.size()];
+            for (int i = 0; i < coders.length; i++) {
+                coders[i] = parse(stripName(components.get(i)));
+            }
+            return new TupleCoder(coders);
+        }
+        if ("bytes".equals(type)) {
+            return new BytesCoder();
+        }
+        if ("string".equals(type)) {
+            return new StringCoder();
+        }
+        if ("address".equals(type)) {
+            return new AddressCoder();
+        }
+        if ("bool".equals(type)) {
+            return new BoolCoder();
+        }
+        if (type.startsWith("uint")) {
+            return new UintCoder(bits(type, "uint"));
+        }
+        if (type.startsWith("int")) {
+            return new IntCoder(bits(type, "int"));
+        }
+        if (type.startsWith("bytes") && type.length() > "bytes".length()) {
+            int length = number(type, "bytes".length());
+            if (length < 1 || length > AbiCoder.WORD) {
+                throw new IllegalArgumentException("unsupported abi type: " + type);
+            }
+            return new FixedBytesCoder(length);
+        }
+        throw new IllegalArgumentException("unsupported abi type: " + type);
+    }
+
+    private static int bits(String type, String prefix) {
+        if (type.length() == prefix.length()) {
+            return 256;
+        }
+        int bits = number(type, prefix.length());
+        if (bits < 8 || bits > 256 || bits % 8 != 0) {
+            throw new IllegalArgumentException("unsupported abi type: " + type);
+        }
+        return bits;
+    }
+
+    private static int number(String type, int from) {
+        if (from >= type.length()) {
+            throw new IllegalArgumentException("unsupported abi type: " + type);
+        }
+        int value = 0;
+        for (int i = from; i < type.length(); i++) {
+            char c = type.charAt(i);
+            if (c < '0' || c > '9' || value > 1000) {
+                throw new IllegalArgumentException("unsupported abi type: " + type);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * 按最外层的逗号拆分s[from, to)，去掉前后的空白
+     *
+     * @return 各部分，全是空白时为空
+     */
+    static List<String> splitParameters(String s, int from, int to) {
+        List<String> params = new ArrayList<>();
+        if (s.substring(from, to).trim().isEmpty()) {
+            return params;
+        }
+        int depth = 0;
+        int start = from;
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                params.add(s.substring(start, i).trim());
+                start = i + 1;
+            }
+            if (depth < 0) {
+                throw new IllegalArgumentException("unbalanced parentheses: " + s);
+            }
+        }
+        if (depth != 0) {
+            throw new IllegalArgumentException("unbalanced parentheses: " + s);
+        }
+        params.add(s.substring(start, to).trim());
+        return params;
+    }
+
+    /**
+     * 去掉参数名，只留类型：uint256 amount -> uint256
+     */
+    static String stripName(String param) {
+        if (param.isEmpty()) {
+            throw new IllegalArgumentException("empty parameter type");
+        }
+        int depth = 0;
+        for (int i = 0; i < param.length(); i++) {
+            char c = param.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0 && Character.isWhitespace(c)) {
+                return param.substring(0, i);
+            }
+        }
+        return param;
+    }
+
+    /**
+     * abiType包里的值对象取出里面的值，其他原样返回
+     */
+    private static Object unwrap(Object value) {
+        if (value instanceof AbiParamType) {
+            return ((AbiParamType<?>) value).getValue();
+        }
+        if (value instanceof AbiDynamicType) {
+            return ((AbiDynamicType<?>) value).getValue();
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("abi value is null");
+        }
+        return value;
+    }
+
+    /**
+     * 写入一个字：前24byte填fill，后8byte是大端的value
+     */
+    private static void writeLong(long value, byte fill, byte[] dst, int off) {
+        Arrays.fill(dst, off, off + AbiCoder.WORD - Long.BYTES, fill);
+        for (int i = 0; i < Long.BYTES; i++) {
+            dst[off + AbiCoder.WORD - 1 - i] = (byte) (value >>> (i * Byte.SIZE));
+        }
+    }
+
+    /**
+     * 数组、元组的元素，Object[]不复制
+     */
+    private static List<?> elements(AbiCoder coder, Object value) {
+        value = unwrap(value);
+        if (value instanceof List) {
+            return (List<?>) value;
+        }
+        if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value);
+        }
+        throw new IllegalArgumentException("unsupported value for " + coder.canonicalName() + ": " + value.getClass().getName());
+    }
+
+    private static void checkCount(AbiCoder coder, int expected, int actual) {
+        if (expected != actual) {
+            throw new IllegalArgumentException(coder.canonicalName() + " needs " + expected + " elements, got " + actual);
+        }
+    }
+
+    /**
+     * 写入内容并把结尾补0到32的倍数
+     */
+    private static int pad(byte[] dst, int off, int length) {
+        int padded = AbiCoder.padded(length);
+        Arrays.fill(dst, off + length, off + padded, (byte) 0);
+        return padded;
+    }
+
+    /**
+     * utf-8编码后的长度，和{@link String#getBytes(java.nio.charset.Charset)}一致：落单的代理项按'?'算
+     */
+    static int utf8Length(CharSequence s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                continue;
+            }
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                // 两个char共4byte
+                bytes += 2;
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * utf-8编码写入dst，不产生中间数组
+     *
+     * @return 写入的字节数
+     */
+    static int writeUtf8(CharSequence s, byte[] dst, int off) {
+        int pos = off;
+        int length = s.length();
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                dst[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                dst[pos++] = (byte) (0xC0 | c >>> 6);
+                dst[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                dst[pos++] = (byte) (0xF0 | codePoint >>> 18);
+                dst[pos++] = (byte) (0x80 | codePoint >>> 12 & 0x3F);
+                dst[pos++] = (byte) (0x80 | codePoint >>> 6 & 0x3F);
+                dst[pos++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                dst[pos++] = '?';
+            } else {
+                dst[pos++] = (byte) (0xE0 | c >>> 12);
+                dst[pos++] = (byte) (0x80 | c >>> 6 & 0x3F);
+                dst[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        return pos - off;
+    }
+
+    /**
+     * {@link Uint}的值已经检查过非负
+     */
+    private static int unsignedBitLength(Number value) {
+        if (value instanceof BigInteger) {
+            return ((BigInteger) value).bitLength();
+        }
+        return Long.SIZE - Long.numberOfLeadingZeros(value.longValue());
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    /**
+     * uint8-uint256，值可以是Byte、Short、Integer、Long、BigInteger（不能为负）或者{@link com.nona.someEncode.abi.abiType.Uint}
+     */
+    static final class UintCoder extends AbiCoder {
+        private final int bits;
+
+        UintCoder(int bits) {
+            super("uint" + bits);
+            this.bits = bits;
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            if (value instanceof Uint && unsignedBitLength(((Uint<?>) value).getValue()) <= bits) {
+                // 构造时已经拆好的字，不需要再转换
+                return ((Uint<?>) value).writeTo(dst, off);
+            }
+            value = unwrap(value);
+            if (isIntegral(value)) {
+                return encodeLong(((Number) value).longValue(), dst, off);
+            }
+            if (value instanceof BigInteger) {
+                BigInteger bigInteger = (BigInteger) value;
+                if (bigInteger.signum() < 0 || bigInteger.bitLength() > bits) {
+                    throw new IllegalArgumentException("value out of range for " + canonicalName() + ": " + bigInteger);
+                }
+                return Uint.encodeUint(bigInteger, dst, off);
+            }
+            throw new IllegalArgumentException("unsupported value for " + canonicalName() + ": " + value.getClass().getName());
+        }
+
+        /**
+         * 检查范围后写入，不装箱
+         */
+        int encodeLong(long primitive, byte[] dst, int off) {
+            if (primitive < 0 || (bits < Long.SIZE && primitive >>> bits != 0)) {
+                throw new IllegalArgumentException("value out of range for " + canonicalName() + ": " + primitive);
+            }
+            return Uint.encodeUint(primitive, dst, off);
+        }
+    }
+
+    /**
+     * int8-int256，补码，值可以是Byte、Short、Integer、Long、BigInteger
+     */
+    static final class IntCoder extends AbiCoder {
+        private final int bits;
+
+        IntCoder(int bits) {
+            super("int" + bits);
+            this.bits = bits;
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            value = unwrap(value);
+            if (isIntegral(value)) {
+                long primitive = ((Number) value).longValue();
+                if (bits < Long.SIZE && (primitive >> (bits - 1) != 0 && primitive >> (bits - 1) != -1)) {
+                    throw new IllegalArgumentException("value out of range for " + canonicalName() + ": " + primitive);
+                }
+                writeLong(primitive, primitive < 0 ? (byte) -1 : 0, dst, off);
+                return WORD;
+            }
+            if (value instanceof BigInteger) {
+                BigInteger bigInteger = (BigInteger) value;
+                if (bigInteger.bitLength() > bits - 1) {
+                    throw new IllegalArgumentException("value out of range for " + canonicalName() + ": " + bigInteger);
+                }
+                byte[] bytes = bigInteger.toByteArray();
+                int fillLength = WORD - bytes.length;
+                Arrays.fill(dst, off, off + fillLength, bigInteger.signum() < 0 ? (byte) -1 : 0);
+                System.arraycopy(bytes, 0, dst, off + fillLength, bytes.length);
+                return WORD;
+            }
+            throw new IllegalArgumentException("unsupported value for " + canonicalName() + ": " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * address，20byte放在字的低位。值可以是：
+     * <ul>
+     * <li>hex字符串，可以带0x；也可以是tron的41开头的42位hex</li>
+     * <li>tron的base58地址（T开头）</li>
+     * <li>20byte的数组，或者41开头的21byte</li>
+     * <li>{@link com.nona.someEncode.abi.abiType.Address}</li>
+     * </ul>
+     */
+    static final class AddressCoder extends AbiCoder {
+
+        AddressCoder() {
+            super("address");
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            if (value instanceof Address) {
+                // 已经解码过的地址
+                return ((Address) value).writeTo(dst, off);
+            }
+            value = unwrap(value);
+            if (value instanceof byte[]) {
+                return encodeBytes((byte[]) value, dst, off);
+            }
+            int addressOff = off + WORD - ADDRESS_LENGTH;
+            Arrays.fill(dst, off, addressOff, (byte) 0);
+            if (value instanceof CharSequence) {
+                CharSequence address = (CharSequence) value;
+                int length = address.length();
+                if (length == TRX_BASE58_LENGTH && address.charAt(0) == 'T') {
+                    byte[] payload = new byte[TRX_BASE58_LENGTH];
+                    if (Base58Check.decodePayload(address.toString(), TRX_ADDRESS_PREFIX, payload, 0) != ADDRESS_LENGTH) {
+                        throw new IllegalArgumentException("invalid address: " + value);
+                    }
+                    System.arraycopy(payload, 0, dst, addressOff, ADDRESS_LENGTH);
+                    return WORD;
+                }
+                // 按位置跳过0x和41前缀，直接解码到dst
+                int from = length - Hexes.hexLength(address);
+                if (length - from == (ADDRESS_LENGTH + 1) * 2 && address.charAt(from) == '4' && address.charAt(from + 1) == '1') {
+                    from += 2;
+                }
+                if (length - from != ADDRESS_LENGTH * 2) {
+                    throw new IllegalArgumentException("invalid address: " + value);
+                }
+                Hexes.decode(address, from, length, dst, addressOff);
+                return WORD;
+            }
+            throw new IllegalArgumentException("unsupported value for address: " + value.getClass().getName());
+        }
+
+        /**
+         * 20byte的地址，或者41开头的21byte
+         */
+        int encodeBytes(byte[] bytes, byte[] dst, int off) {
+            if (bytes.length == ADDRESS_LENGTH + 1 && bytes[0] == TRX_ADDRESS_PREFIX) {
+                Arrays.fill(dst, off, off + WORD - ADDRESS_LENGTH, (byte) 0);
+                System.arraycopy(bytes, 1, dst, off + WORD - ADDRESS_LENGTH, ADDRESS_LENGTH);
+                return WORD;
+            }
+            if (bytes.length != ADDRESS_LENGTH) {
+                throw new IllegalArgumentException("address should be 20 bytes: " + bytes.length);
+            }
+            return Address.encodeAddress(bytes, dst, off);
+        }
+    }
+
+    /**
+     * bool，值是Boolean或者{@link com.nona.someEncode.abi.abiType.Bool}
+     */
+    static final class BoolCoder extends AbiCoder {
+
+        BoolCoder() {
+            super("bool");
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            value = unwrap(value);
+            if (!(value instanceof Boolean)) {
+                throw new IllegalArgumentException("unsupported value for bool: " + value.getClass().getName());
+            }
+            return Bool.encodeBool((Boolean) value, dst, off);
+        }
+    }
+
+    /**
+     * bytes1-bytes32，放在字的高位，不足的部分补0。值是不超过长度的byte[]或者{@link com.nona.someEncode.abi.abiType.StaticByteArray}
+     */
+    static final class FixedBytesCoder extends AbiCoder {
+        final int length;
+
+        FixedBytesCoder(int length) {
+            super("bytes" + length);
+            this.length = length;
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            value = unwrap(value);
+            if (!(value instanceof byte[])) {
+                throw new IllegalArgumentException("unsupported value for " + canonicalName() + ": " + value.getClass().getName());
+            }
+            byte[] bytes = (byte[]) value;
+            if (bytes.length > length) {
+                throw new IllegalArgumentException("value is longer than " + canonicalName() + ": " + bytes.length);
+            }
+            return StaticByteArray.encodeBytes(bytes, dst, off);
+        }
+    }
+
+    /**
+     * bytes：长度 + 内容（补0到32的倍数）。值是byte[]或者{@link com.nona.someEncode.abi.abiType.DynamicByteArray}
+     */
+    static final class BytesCoder extends AbiCoder {
+
+        BytesCoder() {
+            super("bytes");
+        }
+
+        @Override
+        boolean isDynamic() {
+            return true;
+        }
+
+        @Override
+        int encodedSize(Object value) {
+            return WORD + padded(bytes(value).length);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            byte[] bytes = bytes(value);
+            writeInt(bytes.length, dst, off);
+            System.arraycopy(bytes, 0, dst, off + WORD, bytes.length);
+            return WORD + pad(dst, off + WORD, bytes.length);
+        }
+
+        private byte[] bytes(Object value) {
+            value = unwrap(value);
+            if (!(value instanceof byte[])) {
+                throw new IllegalArgumentException("unsupported value for bytes: " + value.getClass().getName());
+            }
+            return (byte[]) value;
+        }
+    }
+
+    /**
+     * string：utf-8编码后同bytes。值是{@link CharSequence}或者{@link com.nona.someEncode.abi.abiType.Utf8String}
+     */
+    static final class StringCoder extends AbiCoder {
+
+        StringCoder() {
+            super("string");
+        }
+
+        @Override
+        boolean isDynamic() {
+            return true;
+        }
+
+        @Override
+        int encodedSize(Object value) {
+            return WORD + padded(utf8Length(chars(value)));
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            int length = writeUtf8(chars(value), dst, off + WORD);
+            writeInt(length, dst, off);
+            return WORD + pad(dst, off + WORD, length);
+        }
+
+        private CharSequence chars(Object value) {
+            value = unwrap(value);
+            if (!(value instanceof CharSequence)) {
+                throw new IllegalArgumentException("unsupported value for string: " + value.getClass().getName());
+            }
+            return (CharSequence) value;
+        }
+    }
+
+    /**
+     * 元组(T1,T2,...)：各元素按head/tail布局，有动态元素时整个元组是动态的
+     */
+    static final class TupleCoder extends AbiCoder {
+        private final AbiCoder[] coders;
+        /**
+         * 各元素在head里的位置
+         */
+        private final int[] headOffsets;
+        private final boolean dynamic;
+        private final int headSize;
+
+        TupleCoder(AbiCoder[] coders) {
+            super(tupleName(coders));
+            this.coders = coders;
+            this.headOffsets = new int[coders.length];
+            boolean dynamic = false;
+            int headSize = 0;
+            for (int i = 0; i < coders.length; i++) {
+                headOffsets[i] = headSize;
+                dynamic |= coders[i].isDynamic();
+                headSize += coders[i].headSize();
+            }
+            this.dynamic = dynamic;
+            this.headSize = dynamic ? WORD : headSize;
+        }
+
+        int size() {
+            return coders.length;
+        }
+
+        AbiCoder component(int index) {
+            return coders[index];
+        }
+
+        int headOffset(int index) {
+            return headOffsets[index];
+        }
+
+        /**
+         * 所有元素的head的总长度，元组是动态的时候也是
+         */
+        int componentsHeadSize() {
+            return coders.length == 0 ? 0 : headOffsets[coders.length - 1] + coders[coders.length - 1].headSize();
+        }
+
+        @Override
+        boolean isDynamic() {
+            return dynamic;
+        }
+
+        @Override
+        int headSize() {
+            return headSize;
+        }
+
+        @Override
+        int encodedSize(Object value) {
+            if (!dynamic) {
+                return headSize;
+            }
+            List<?> values = elements(this, value);
+            checkCount(this, coders.length, values.size());
+            return tupleSize(coders, values);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            return encode(value, dst, off, null);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off, ForkJoinPool pool) {
+            List<?> values = elements(this, value);
+            checkCount(this, coders.length, values.size());
+            return encodeTuple(coders, values, dst, off, pool);
+        }
+
+        private static String tupleName(AbiCoder[] coders) {
+            StringBuilder sb = new StringBuilder("(");
+            for (int i = 0; i < coders.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(coders[i].canonicalName());
+            }
+            return sb.append(')').toString();
+        }
+    }
+
+    /**
+     * 定长数组T[k]：等同于k个T的元组
+     */
+    static final class FixedArrayCoder extends AbiCoder {
+        private final AbiCoder element;
+        private final int length;
+
+        FixedArrayCoder(AbiCoder element, int length) {
+            super(element.canonicalName() + "[" + length + "]");
+            this.element = element;
+            this.length = length;
+        }
+
+        AbiCoder element() {
+            return element;
+        }
+
+        int length() {
+            return length;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return element.isDynamic();
+        }
+
+        @Override
+        int headSize() {
+            return element.isDynamic() ? WORD : Math.multiplyExact(element.headSize(), length);
+        }
+
+        @Override
+        int encodedSize(Object value) {
+            if (!element.isDynamic()) {
+                return headSize();
+            }
+            List<?> values = elements(this, value);
+            checkCount(this, length, values.size());
+            return arraySize(element, values);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            return encode(value, dst, off, null);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off, ForkJoinPool pool) {
+            List<?> values = elements(this, value);
+            checkCount(this, length, values.size());
+            return encodeArray(element, values, dst, off, pool);
+        }
+    }
+
+    /**
+     * 变长数组T[]：元素个数 + k个T的元组
+     */
+    static final class ArrayCoder extends AbiCoder {
+        private final AbiCoder element;
+
+        ArrayCoder(AbiCoder element) {
+            super(element.canonicalName() + "[]");
+            this.element = element;
+        }
+
+        AbiCoder element() {
+            return element;
+        }
+
+        @Override
+        boolean isDynamic() {
+            return true;
+        }
+
+        @Override
+        int encodedSize(Object value) {
+            return WORD + arraySize(element, elements(this, value));
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off) {
+            return encode(value, dst, off, null);
+        }
+
+        @Override
+        int encode(Object value, byte[] dst, int off, ForkJoinPool pool) {
+            List<?> values = elements(this, value);
+            writeInt(values.size(), dst, off);
+            return WORD + encodeArray(element, values, dst, off + WORD, pool);
+        }
+    }
+
+    /**
+     * 同一类型元素组成的元组的大小，元素是静态类型时不需要遍历
+     */
+    private static int arraySize(AbiCoder element, List<?> values) {
+        int size = Math.multiplyExact(element.headSize(), values.size());
+        if (element.isDynamic()) {
+            for (Object value : values) {
+                size = Math.addExact(size, element.encodedSize(value));
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 同{@link AbiCoder#encodeTuple(AbiCoder[], List, byte[], int, ForkJoinPool)}，所有元素是同一类型。
+     * 元素个数达到{@link #PARALLEL_THRESHOLD}并且给了pool时并行写入
+     */
+    private static int encodeArray(AbiCoder element, List<?> values, byte[] dst, int off, ForkJoinPool pool) {
+        int size = values.size();
+        if (pool != null && size >= PARALLEL_THRESHOLD && values instanceof RandomAccess) {
+            return encodeArrayParallel(element, values, dst, off, pool);
+        }
+        if (!element.isDynamic()) {
+            int pos = off;
+            for (Object value : values) {
+                pos += element.encode(value, dst, pos, pool);
+            }
+            return pos - off;
+        }
+        int head = off;
+        int tail = off + size * AbiCoder.WORD;
+        for (Object value : values) {
+            AbiCoder.writeInt(tail - off, dst, head);
+            tail += element.encode(value, dst, tail, pool);
+            head += AbiCoder.WORD;
+        }
+        return tail - off;
+    }
+
+    /**
+     * 先算出每个元素的位置，再把元素分段交给pool写入，各段写的区域互不重叠：
+     * 静态元素的位置是off + i * headSize；动态元素先算一遍各自的大小，得到tail的位置
+     */
+    private static int encodeArrayParallel(AbiCoder element, List<?> values, byte[] dst, int off, ForkJoinPool pool) {
+        int size = values.size();
+        int[] tails = null;
+        int end = off + size * element.headSize();
+        if (element.isDynamic()) {
+            tails = new int[size];
+            for (int i = 0; i < size; i++) {
+                tails[i] = end;
+                end = Math.addExact(end, element.encodedSize(values.get(i)));
+            }
+        }
+        pool.invoke(new ArrayTask(element, values, dst, off, tails, 0, size));
+        return end - off;
+    }
+
+    /**
+     * 写入数组的[from, to)
+     */
+    private static final class ArrayTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final AbiCoder element;
+        private final List<?> values;
+        private final byte[] dst;
+        private final int off;
+        /**
+         * 动态元素的tail位置，静态元素时为null
+         */
+        private final int[] tails;
+        private final int from;
+        private final int to;
+
+        ArrayTask(AbiCoder element, List<?> values, byte[] dst, int off, int[] tails, int from, int to) {
+            this.element = element;
+            this.values = values;
+            this.dst = dst;
+            this.off = off;
+            this.tails = tails;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK) {
+                if (tails == null) {
+                    int headSize = element.headSize();
+                    for (int i = from; i < to; i++) {
+                        element.encode(values.get(i), dst, off + i * headSize);
+                    }
+                } else {
+                    for (int i = from; i < to; i++) {
+                        AbiCoder.writeInt(tails[i] - off, dst, off + i * AbiCoder.WORD);
+                        element.encode(values.get(i), dst, tails[i]);
+                    }
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ArrayTask(element, values, dst, off, tails, from, middle),
+                    new ArrayTask(element, values, dst, off, tails, middle, to));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.nona.someEncode.abi;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按类型列表解码abi数据，比如eth_call、triggerconstantcontract的返回值
+ * <p>
+ * {@link #wrap(ByteBuffer)}不复制也不解码，只返回一个{@link AbiValues}视图，字段在访问时才从buffer里读。
+ * 类型列表解析后缓存，实例不可变，线程安全
+ *
+ * @author nona9961
+ * @date 2026/10/19 03:00
+ */
+public final class AbiDecoder {
+
+    private static final ConcurrentHashMap<String, AbiDecoder> CACHE = new ConcurrentHashMap<>();
+
+    private final AbiCoders.TupleCoder tuple;
+
+    private AbiDecoder(AbiCoders.TupleCoder tuple) {
+        this.tuple = tuple;
+    }
+
+    /**
+     * 由类型列表生成解码器，结果会被缓存
+     *
+     * @param types 返回值的类型，比如uint256、address，也可以是bytes、string、T[]、元组
+     * @return 解码器
+     */
+    public static AbiDecoder of(String... types) {
+        if (types == null || types.length == 0) {
+            throw new IllegalArgumentException("types is empty");
+        }
+        String key = types.length == 1 ? types[0] : String.join(",", types);
+        AbiDecoder decoder = CACHE.get(key);
+        if (decoder == null) {
+            decoder = new AbiDecoder((AbiCoders.TupleCoder) AbiCoders.parse("(" + key + ")"));
+            AbiDecoder previous = CACHE.putIfAbsent(key, decoder);
+            if (previous != null) {
+                decoder = previous;
+            }
+        }
+        return decoder;
+    }
+
+    /**
+     * 包装data[position, limit)，不复制，也不改变data的position；之后data的position可以随意移动
+     *
+     * @param data abi编码的数据
+     * @return 延迟解码的视图
+     */
+    public AbiValues wrap(ByteBuffer data) {
+        return AbiValues.ofTuple(data, tuple);
+    }
+
+    /**
+     * 同{@link #wrap(ByteBuffer)}
+     *
+     * @param data abi编码的数据
+     * @return 延迟解码的视图
+     */
+    public AbiValues wrap(byte[] data) {
+        return wrap(ByteBuffer.wrap(data));
+    }
+
+    /**
+     * 类型列表，形如(uint256,address)
+     *
+     * @return 规范的类型名
+     */
+    public String getTypes() {
+        return tuple.canonicalName();
+    }
+
+    @Override
+    public String toString() {
+        return tuple.canonicalName();
+    }
+}
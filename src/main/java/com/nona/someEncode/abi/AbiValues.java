@@ -0,0 +1,333 @@
+package com.nona.someEncode.abi;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * abi数据的延迟解码视图，对应一个元组或者数组
+ * <p>
+ * 只记录在buffer里的起始位置，访问第i个元素时才读对应的head（动态类型再按偏移量找到tail），不复制数据：
+ * <ul>
+ * <li>uint/int能放进long时用{@link #getLong(int)}直接读，不经过BigInteger；放不下时用{@link #getBigInteger(int)}</li>
+ * <li>address、bytes、bytesN返回原buffer上的slice</li>
+ * <li>数组、元组返回嵌套的视图</li>
+ * </ul>
+ * 数据不合法（越界、偏移量不对、bool不是0/1等）时抛出{@link IllegalArgumentException}；
+ * 类型不对时也是{@link IllegalArgumentException}。视图本身不可变，但和原buffer共享内容，使用期间不要修改原buffer的内容和limit
+ *
+ * @author nona9961
+ * @date 2026/10/19 03:00
+ */
+public final class AbiValues {
+
+    private static final int WORD = AbiCoder.WORD;
+    private static final int ADDRESS_LENGTH = 20;
+
+    private final ByteBuffer data;
+    /**
+     * head部分的起始位置，动态元素的偏移量相对于它
+     */
+    private final int base;
+    private final int size;
+    /**
+     * 元组时非空
+     */
+    private final AbiCoders.TupleCoder tuple;
+    /**
+     * 数组时非空
+     */
+    private final AbiCoder element;
+
+    private AbiValues(ByteBuffer data, int base, int size, AbiCoders.TupleCoder tuple, AbiCoder element) {
+        this.data = data;
+        this.base = base;
+        this.size = size;
+        this.tuple = tuple;
+        this.element = element;
+        long headEnd = base + (tuple != null ? tuple.componentsHeadSize() : (long) size * element.headSize());
+        if (headEnd > data.limit()) {
+            throw new IllegalArgumentException("abi data is truncated");
+        }
+    }
+
+    static AbiValues ofTuple(ByteBuffer data, AbiCoders.TupleCoder tuple) {
+        return ofTuple(data, data.position(), tuple);
+    }
+
+    /**
+     * 元组的head从data的base位置开始
+     */
+    static AbiValues ofTuple(ByteBuffer data, int base, AbiCoders.TupleCoder tuple) {
+        // 只用绝对位置读，大端的buffer不需要duplicate
+        ByteBuffer view = data.order() == ByteOrder.BIG_ENDIAN ? data : data.duplicate().order(ByteOrder.BIG_ENDIAN);
+        return new AbiValues(view, base, tuple.size(), tuple, null);
+    }
+
+    /**
+     * 元素个数
+     *
+     * @return 元组的元素个数或者数组长度
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 第index个元素的类型
+     *
+     * @param index 下标
+     * @return 规范的类型名
+     */
+    public String getType(int index) {
+        return coder(index).canonicalName();
+    }
+
+    /**
+     * uint/int是否能放进long，uint要求不超过{@link Long#MAX_VALUE}
+     *
+     * @param index 下标
+     * @return 能放进long时为true
+     */
+    public boolean fitsLong(int index) {
+        AbiCoder coder = coder(index);
+        int pos = word(index);
+        if (coder instanceof AbiCoders.UintCoder) {
+            return fitsUnsigned(pos);
+        }
+        if (coder instanceof AbiCoders.IntCoder) {
+            return fitsSigned(pos);
+        }
+        throw typeMismatch(index, "integer");
+    }
+
+    /**
+     * 读uint/int，不创建BigInteger
+     *
+     * @param index 下标
+     * @return 值
+     * @throws ArithmeticException 放不进long，见{@link #fitsLong(int)}
+     */
+    public long getLong(int index) {
+        if (!fitsLong(index)) {
+            throw new ArithmeticException(getType(index) + " at " + index + " does not fit in long");
+        }
+        return data.getLong(word(index) + WORD - Long.BYTES);
+    }
+
+    /**
+     * 读uint/int，能放进long时由long转换，否则才复制这个字
+     *
+     * @param index 下标
+     * @return 值
+     */
+    public BigInteger getBigInteger(int index) {
+        boolean unsigned = coder(index) instanceof AbiCoders.UintCoder;
+        if (fitsLong(index)) {
+            return BigInteger.valueOf(data.getLong(word(index) + WORD - Long.BYTES));
+        }
+        byte[] bytes = new byte[WORD];
+        ByteBuffer view = data.duplicate();
+        view.position(word(index));
+        view.get(bytes);
+        return unsigned ? new BigInteger(1, bytes) : new BigInteger(bytes);
+    }
+
+    public boolean getBool(int index) {
+        if (!(coder(index) instanceof AbiCoders.BoolCoder)) {
+            throw typeMismatch(index, "bool");
+        }
+        int pos = word(index);
+        long high = data.getLong(pos) | data.getLong(pos + 8) | data.getLong(pos + 16);
+        long low = data.getLong(pos + WORD - Long.BYTES);
+        if (high != 0 || (low & ~1L) != 0) {
+            throw new IllegalArgumentException("invalid bool at " + index);
+        }
+        return low == 1;
+    }
+
+    /**
+     * 地址，原buffer上20byte的slice
+     *
+     * @param index 下标
+     * @return 20byte
+     */
+    public ByteBuffer getAddress(int index) {
+        return slice(addressPosition(index), ADDRESS_LENGTH);
+    }
+
+    /**
+     * 地址复制到dst[off, off + 20)
+     *
+     * @param index 下标
+     * @param dst   目标
+     * @param off   起始位置
+     */
+    public void getAddress(int index, byte[] dst, int off) {
+        ByteBuffer view = data.duplicate();
+        view.position(addressPosition(index));
+        view.get(dst, off, ADDRESS_LENGTH);
+    }
+
+    /**
+     * bytesN或者bytes的内容，原buffer上的slice
+     *
+     * @param index 下标
+     * @return 内容，bytesN时长度为N
+     */
+    public ByteBuffer getBytes(int index) {
+        AbiCoder coder = coder(index);
+        if (coder instanceof AbiCoders.FixedBytesCoder) {
+            return slice(word(index), ((AbiCoders.FixedBytesCoder) coder).length);
+        }
+        if (coder instanceof AbiCoders.BytesCoder) {
+            int pos = tail(index);
+            return slice(pos + WORD, length(pos));
+        }
+        throw typeMismatch(index, "bytes");
+    }
+
+    /**
+     * 同{@link #getBytes(int)}，复制成数组
+     *
+     * @param index 下标
+     * @return 内容
+     */
+    public byte[] getByteArray(int index) {
+        ByteBuffer bytes = getBytes(index);
+        byte[] result = new byte[bytes.remaining()];
+        bytes.get(result);
+        return result;
+    }
+
+    public String getString(int index) {
+        if (!(coder(index) instanceof AbiCoders.StringCoder)) {
+            throw typeMismatch(index, "string");
+        }
+        int pos = tail(index);
+        int length = length(pos);
+        if (data.hasArray()) {
+            return new String(data.array(), data.arrayOffset() + pos + WORD, length, StandardCharsets.UTF_8);
+        }
+        return StandardCharsets.UTF_8.decode(slice(pos + WORD, length)).toString();
+    }
+
+    /**
+     * 数组或者元组，返回嵌套的视图
+     *
+     * @param index 下标
+     * @return 视图
+     */
+    public AbiValues getValues(int index) {
+        AbiCoder coder = coder(index);
+        int pos = coder.isDynamic() ? tail(index) : headPosition(index);
+        if (coder instanceof AbiCoders.TupleCoder) {
+            AbiCoders.TupleCoder nested = (AbiCoders.TupleCoder) coder;
+            return new AbiValues(data, pos, nested.size(), nested, null);
+        }
+        if (coder instanceof AbiCoders.FixedArrayCoder) {
+            AbiCoders.FixedArrayCoder array = (AbiCoders.FixedArrayCoder) coder;
+            return new AbiValues(data, pos, array.length(), null, array.element());
+        }
+        if (coder instanceof AbiCoders.ArrayCoder) {
+            int length = length(pos);
+            AbiCoder arrayElement = ((AbiCoders.ArrayCoder) coder).element();
+            if ((long) length * arrayElement.headSize() > data.limit() - pos - WORD) {
+                throw new IllegalArgumentException("abi data is truncated");
+            }
+            return new AbiValues(data, pos + WORD, length, null, arrayElement);
+        }
+        throw typeMismatch(index, "array or tuple");
+    }
+
+    @Override
+    public String toString() {
+        return (tuple != null ? tuple.canonicalName() : element.canonicalName() + "[" + size + "]") + "@" + base;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private AbiCoder coder(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + size);
+        }
+        return tuple != null ? tuple.component(index) : element;
+    }
+
+    private int headPosition(int index) {
+        return base + (tuple != null ? tuple.headOffset(index) : index * element.headSize());
+    }
+
+    /**
+     * 静态基本类型所在的字，构造时已经检查过head不越界
+     */
+    private int word(int index) {
+        coder(index);
+        return headPosition(index);
+    }
+
+    /**
+     * 动态元素的tail位置：head里的偏移量 + base
+     */
+    private int tail(int index) {
+        int offset = readInt(headPosition(index));
+        if (offset > data.limit() - base - WORD) {
+            throw new IllegalArgumentException("invalid offset at " + index + ": " + offset);
+        }
+        return base + offset;
+    }
+
+    /**
+     * tail开头的长度字，检查内容不越界
+     */
+    private int length(int pos) {
+        int length = readInt(pos);
+        if (length > data.limit() - pos - WORD) {
+            throw new IllegalArgumentException("abi data is truncated");
+        }
+        return length;
+    }
+
+    /**
+     * 读一个非负的int字，用于偏移量和长度
+     */
+    private int readInt(int pos) {
+        if (!fitsUnsigned(pos)) {
+            throw new IllegalArgumentException("invalid length or offset at " + pos);
+        }
+        long value = data.getLong(pos + WORD - Long.BYTES);
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid length or offset at " + pos);
+        }
+        return (int) value;
+    }
+
+    private int addressPosition(int index) {
+        if (!(coder(index) instanceof AbiCoders.AddressCoder)) {
+            throw typeMismatch(index, "address");
+        }
+        return word(index) + WORD - ADDRESS_LENGTH;
+    }
+
+    private boolean fitsUnsigned(int pos) {
+        return (data.getLong(pos) | data.getLong(pos + 8) | data.getLong(pos + 16)) == 0
+                && data.getLong(pos + WORD - Long.BYTES) >= 0;
+    }
+
+    private boolean fitsSigned(int pos) {
+        long sign = data.getLong(pos + WORD - Long.BYTES) >> (Long.SIZE - 1);
+        return data.getLong(pos) == sign && data.getLong(pos + 8) == sign && data.getLong(pos + 16) == sign;
+    }
+
+    private ByteBuffer slice(int pos, int length) {
+        ByteBuffer view = data.duplicate();
+        view.limit(pos + length);
+        view.position(pos);
+        return view.slice();
+    }
+
+    private IllegalArgumentException typeMismatch(int index, String expected) {
+        return new IllegalArgumentException(getType(index) + " at " + index + " is not " + expected);
+    }
+}
@@ -0,0 +1,243 @@
+package com.nona.someEncode.abi;
+
+import com.nona.someEncode.abi.abiType.Uint;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * 预编译的调用模板：selector和固定的参数先编码成一份调用数据（image），变化的参数只记下位置（slot）
+ * <p>
+ * 每次调用复制image，再只改写slot对应的32byte，比如transfer(address,uint256)就是复制68byte再写两个字：
+ * <pre>
+ * CallTemplate transfer = Function.of("transfer(address,uint256)").template();
+ * byte[] call = transfer.newCall();
+ * transfer.setAddress(call, 0, to);
+ * transfer.setUint(call, 1, amount);
+ * </pre>
+ * slot只能是静态类型；动态类型的参数必须是固定值，这样整个调用数据的布局不变。
+ * 模板不可变，线程安全，可以缓存后在多个线程里共用
+ *
+ * @author nona9961
+ * @date 2026/10/19 05:00
+ */
+public final class CallTemplate {
+
+    /**
+     * {@link Function#template(Object...)}里表示这个参数每次调用时再给
+     */
+    public static final Object SLOT = new Object() {
+        @Override
+        public String toString() {
+            return "SLOT";
+        }
+    };
+
+    private final Function function;
+    private final byte[] image;
+    private final AbiCoder[] slotCoders;
+    /**
+     * slot在调用数据里的位置
+     */
+    private final int[] slotOffsets;
+
+    CallTemplate(Function function, byte[] image, AbiCoder[] slotCoders, int[] slotOffsets) {
+        this.function = function;
+        this.image = image;
+        this.slotCoders = slotCoders;
+        this.slotOffsets = slotOffsets;
+    }
+
+    /**
+     * 由参数的编码器和值生成模板，值为{@link #SLOT}的是slot
+     */
+    static CallTemplate compile(Function function, byte[] selector, AbiCoder[] coders, Object[] args) {
+        if (args.length != coders.length) {
+            throw new IllegalArgumentException(function.getSignature() + " needs " + coders.length + " arguments, got " + args.length);
+        }
+        int headSize = 0;
+        int tailSize = 0;
+        int slots = 0;
+        for (int i = 0; i < coders.length; i++) {
+            headSize += coders[i].headSize();
+            if (args[i] == SLOT) {
+                if (coders[i].isDynamic()) {
+                    throw new IllegalArgumentException("dynamic parameter " + i + " (" + coders[i].canonicalName() + ") can not be a slot");
+                }
+                slots++;
+            } else if (coders[i].isDynamic()) {
+                tailSize += coders[i].encodedSize(args[i]);
+            }
+        }
+        byte[] image = new byte[Function.SELECTOR_LENGTH + headSize + tailSize];
+        System.arraycopy(selector, 0, image, 0, Function.SELECTOR_LENGTH);
+        AbiCoder[] slotCoders = new AbiCoder[slots];
+        int[] slotOffsets = new int[slots];
+        int base = Function.SELECTOR_LENGTH;
+        int head = base;
+        int tail = base + headSize;
+        slots = 0;
+        for (int i = 0; i < coders.length; i++) {
+            AbiCoder coder = coders[i];
+            if (args[i] == SLOT) {
+                // 先留0，调用时再写
+                slotCoders[slots] = coder;
+                slotOffsets[slots++] = head;
+                head += coder.headSize();
+            } else if (coder.isDynamic()) {
+                AbiCoder.writeInt(tail - base, image, head);
+                tail += coder.encode(args[i], image, tail);
+                head += AbiCoder.WORD;
+            } else {
+                head += coder.encode(args[i], image, head);
+            }
+        }
+        return new CallTemplate(function, image, slotCoders, slotOffsets);
+    }
+
+    /**
+     * 复制image，slot全是0
+     *
+     * @return 新的调用数据
+     */
+    public byte[] newCall() {
+        return image.clone();
+    }
+
+    /**
+     * 复制image并依次写入slot
+     *
+     * @param args 各slot的值，个数和{@link #slotCount()}一致
+     * @return 调用数据
+     */
+    public byte[] encode(Object... args) {
+        checkArguments(args);
+        byte[] call = image.clone();
+        patch(call, 0, args);
+        return call;
+    }
+
+    /**
+     * 同{@link #encode(Object...)}，写入dst[off, off + {@link #length()})
+     *
+     * @return 写入的字节数
+     */
+    public int encodeTo(byte[] dst, int off, Object... args) {
+        checkArguments(args);
+        System.arraycopy(image, 0, dst, off, image.length);
+        patch(dst, off, args);
+        return image.length;
+    }
+
+    /**
+     * 改写call里的一个slot
+     *
+     * @param call  {@link #newCall()}得到的调用数据
+     * @param slot  第几个slot
+     * @param value 值，可以接受的java类型和{@link Function#encode(Object...)}相同
+     */
+    public void set(byte[] call, int slot, Object value) {
+        slotCoders[checkSlot(call, slot)].encode(value, call, slotOffsets[slot]);
+    }
+
+    /**
+     * 改写address类型的slot，不分配内存
+     *
+     * @param address 20byte，或者41开头的21byte
+     */
+    public void setAddress(byte[] call, int slot, byte[] address) {
+        AbiCoder coder = slotCoders[checkSlot(call, slot)];
+        if (!(coder instanceof AbiCoders.AddressCoder)) {
+            throw new IllegalArgumentException("slot " + slot + " is " + coder.canonicalName() + ", not address");
+        }
+        ((AbiCoders.AddressCoder) coder).encodeBytes(address, call, slotOffsets[slot]);
+    }
+
+    /**
+     * 改写uint类型的slot，不装箱
+     *
+     * @param value 不能为负，也不能超过slot的位数
+     */
+    public void setUint(byte[] call, int slot, long value) {
+        ((AbiCoders.UintCoder) uintSlot(call, slot)).encodeLong(value, call, slotOffsets[slot]);
+    }
+
+    /**
+     * 改写uint类型的slot，不超过63bit时不创建中间数组
+     */
+    public void setUint(byte[] call, int slot, BigInteger value) {
+        uintSlot(call, slot).encode(value, call, slotOffsets[slot]);
+    }
+
+    /**
+     * 改写uint类型的slot，直接写{@link Uint}构造时拆好的字
+     */
+    public void setUint(byte[] call, int slot, Uint<?> value) {
+        uintSlot(call, slot).encode(value, call, slotOffsets[slot]);
+    }
+
+    /**
+     * 调用数据的长度
+     *
+     * @return 字节数
+     */
+    public int length() {
+        return image.length;
+    }
+
+    public int slotCount() {
+        return slotCoders.length;
+    }
+
+    /**
+     * 第slot个slot在调用数据里的位置
+     *
+     * @param slot 第几个slot
+     * @return 字节位置
+     */
+    public int slotOffset(int slot) {
+        return slotOffsets[slot];
+    }
+
+    public Function getFunction() {
+        return function;
+    }
+
+    @Override
+    public String toString() {
+        return function.getSignature() + Arrays.toString(slotCoders);
+    }
+
+    /*================================== private method ===============================================*/
+
+    private void patch(byte[] call, int off, Object[] args) {
+        for (int i = 0; i < slotCoders.length; i++) {
+            slotCoders[i].encode(args[i], call, off + slotOffsets[i]);
+        }
+    }
+
+    private void checkArguments(Object[] args) {
+        if (args == null || args.length != slotCoders.length) {
+            throw new IllegalArgumentException(function.getSignature() + " template needs " + slotCoders.length
+                    + " arguments, got " + (args == null ? 0 : args.length));
+        }
+    }
+
+    private int checkSlot(byte[] call, int slot) {
+        if (slot < 0 || slot >= slotCoders.length) {
+            throw new IndexOutOfBoundsException("slot " + slot + ", slot count " + slotCoders.length);
+        }
+        if (call.length < image.length) {
+            throw new IllegalArgumentException("call is shorter than the template: " + call.length);
+        }
+        return slot;
+    }
+
+    private AbiCoder uintSlot(byte[] call, int slot) {
+        AbiCoder coder = slotCoders[checkSlot(call, slot)];
+        if (!(coder instanceof AbiCoders.UintCoder)) {
+            throw new IllegalArgumentException("slot " + slot + " is " + coder.canonicalName() + ", not uint");
+        }
+        return coder;
+    }
+}
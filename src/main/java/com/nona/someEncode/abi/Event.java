@@ -0,0 +1,268 @@
+package com.nona.someEncode.abi;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 合约事件，按签名解码日志（log）
+ * <p>
+ * 签名形如Transfer(address indexed from, address indexed to, uint256 value)，参数名可以省略，indexed不能省略。
+ * topic0是keccak256(规范的签名)，解析时算一次，拆成4个long保存，比较topic0只需要4次long比较。
+ * <p>
+ * 日志的topics是连续的32byte字（topic0在前），data是非indexed参数的abi编码。
+ * {@link #matches(ByteBuffer)}只比较topic个数和topic0，不通过就不解码；{@link #decode(ByteBuffer, ByteBuffer)}不复制，
+ * 返回的{@link EventValues}直接从topics、data里读。indexed的bytes、string、数组、元组参数（包括静态的定长数组和元组）
+ * 在topic里只是内容的hash，当作bytes32读。
+ * <p>
+ * 同一个topic0可能对应topic个数不同的事件，比如ERC20和ERC721的Transfer，所以topic个数也参与匹配。
+ * {@link #of(String)}的结果会被缓存，实例不可变，线程安全
+ *
+ * @author nona9961
+ * @date 2026/10/19 06:00
+ */
+public final class Event {
+
+    /**
+     * 最多3个indexed参数，加上topic0一共4个topic
+     */
+    public static final int MAX_INDEXED = 3;
+
+    private static final int WORD = AbiCoder.WORD;
+
+    private static final ConcurrentHashMap<String, Event> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String signature;
+    private final AbiCoder[] coders;
+    private final boolean[] indexed;
+    /**
+     * 参数在indexed或者非indexed参数里的下标
+     */
+    private final int[] positions;
+    private final byte[] topic0;
+    /**
+     * topic0按大端拆成的4个long
+     */
+    private final long[] topicWords;
+    private final int topicCount;
+    private final AbiCoders.TupleCoder indexedTuple;
+    private final AbiCoders.TupleCoder dataTuple;
+
+    private Event(String name, AbiCoder[] coders, boolean[] indexed) {
+        this.name = name;
+        this.coders = coders;
+        this.indexed = indexed;
+        this.positions = new int[coders.length];
+        List<AbiCoder> topicCoders = new ArrayList<>();
+        List<AbiCoder> dataCoders = new ArrayList<>();
+        StringBuilder sb = new StringBuilder(name).append('(');
+        for (int i = 0; i < coders.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(coders[i].canonicalName());
+            if (indexed[i]) {
+                positions[i] = topicCoders.size();
+                topicCoders.add(isHashedInTopic(coders[i]) ? AbiCoders.parse("bytes32") : coders[i]);
+            } else {
+                positions[i] = dataCoders.size();
+                dataCoders.add(coders[i]);
+            }
+        }
+        if (topicCoders.size() > MAX_INDEXED) {
+            throw new IllegalArgumentException("at most " + MAX_INDEXED + " indexed parameters: " + sb.append(')'));
+        }
+        this.signature = sb.append(')').toString();
+        this.topic0 = Function.signatureHash(signature);
+        ByteBuffer hash = ByteBuffer.wrap(topic0);
+        this.topicWords = new long[WORD / Long.BYTES];
+        for (int i = 0; i < topicWords.length; i++) {
+            topicWords[i] = hash.getLong(i * Long.BYTES);
+        }
+        this.topicCount = topicCoders.size() + 1;
+        this.indexedTuple = new AbiCoders.TupleCoder(topicCoders.toArray(new AbiCoder[0]));
+        this.dataTuple = new AbiCoders.TupleCoder(dataCoders.toArray(new AbiCoder[0]));
+    }
+
+    /**
+     * 解析事件签名，结果会被缓存
+     *
+     * @param signature 事件签名，比如Transfer(address indexed from, address indexed to, uint256 value)
+     * @return 事件
+     */
+    public static Event of(String signature) {
+        if (signature == null) {
+            throw new IllegalArgumentException("signature is null");
+        }
+        Event event = CACHE.get(signature);
+        if (event == null) {
+            event = parse(signature);
+            Event previous = CACHE.putIfAbsent(signature, event);
+            if (previous != null) {
+                event = previous;
+            }
+        }
+        return event;
+    }
+
+    /**
+     * 日志是否是这个事件：topic个数一致，topic0相同。不读data，也不分配内存
+     *
+     * @param topics 从position到limit是连续的topic，topic0在前
+     * @return 是这个事件时为true
+     */
+    public boolean matches(ByteBuffer topics) {
+        if (topics.remaining() != topicCount * WORD) {
+            return false;
+        }
+        int pos = topics.position();
+        for (int i = 0; i < topicWords.length; i++) {
+            if (topicWord(topics, pos, i) != topicWords[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解码日志，不复制topics和data，也不改变它们的position
+     *
+     * @param topics 从position到limit是连续的topic，topic0在前
+     * @param data   非indexed参数的abi编码
+     * @return 延迟解码的视图
+     * @throws IllegalArgumentException 日志不是这个事件，或者data不完整
+     */
+    public EventValues decode(ByteBuffer topics, ByteBuffer data) {
+        if (!matches(topics)) {
+            throw new IllegalArgumentException("log is not " + signature);
+        }
+        return new EventValues(this,
+                AbiValues.ofTuple(topics, topics.position() + WORD, indexedTuple),
+                AbiValues.ofTuple(data, dataTuple));
+    }
+
+    /**
+     * 同{@link #decode(ByteBuffer, ByteBuffer)}
+     *
+     * @param topics 连续的topic，topic0在前
+     * @param data   非indexed参数的abi编码
+     * @return 延迟解码的视图
+     */
+    public EventValues decode(byte[] topics, byte[] data) {
+        return decode(ByteBuffer.wrap(topics), ByteBuffer.wrap(data));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 规范的签名
+     *
+     * @return 比如Transfer(address,address,uint256)
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    /**
+     * keccak256(规范的签名)
+     *
+     * @return 32byte
+     */
+    public byte[] getTopic0() {
+        return topic0.clone();
+    }
+
+    /**
+     * 日志的topic个数：indexed参数个数 + 1
+     *
+     * @return topic个数
+     */
+    public int getTopicCount() {
+        return topicCount;
+    }
+
+    /**
+     * 参数的规范类型名
+     *
+     * @return 类型名
+     */
+    public List<String> getParameterTypes() {
+        List<String> types = new ArrayList<>(coders.length);
+        for (AbiCoder coder : coders) {
+            types.add(coder.canonicalName());
+        }
+        return types;
+    }
+
+    public boolean isIndexed(int index) {
+        return indexed[index];
+    }
+
+    @Override
+    public String toString() {
+        return signature;
+    }
+
+    /*================================== package method ===============================================*/
+
+    int parameterCount() {
+        return coders.length;
+    }
+
+    /**
+     * 参数在{@link EventValues#getTopics()}或者{@link EventValues#getData()}里的下标
+     */
+    int position(int index) {
+        return positions[index];
+    }
+
+    long topicWord(int i) {
+        return topicWords[i];
+    }
+
+    /**
+     * 按大端读topics[pos + i * 8, pos + i * 8 + 8)
+     */
+    static long topicWord(ByteBuffer topics, int pos, int i) {
+        long word = topics.getLong(pos + i * Long.BYTES);
+        return topics.order() == ByteOrder.BIG_ENDIAN ? word : Long.reverseBytes(word);
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * 动态类型、数组和元组作为indexed参数时，topic里是keccak256(编码)，静态的定长数组和元组也一样
+     */
+    private static boolean isHashedInTopic(AbiCoder coder) {
+        return coder.isDynamic() || coder instanceof AbiCoders.TupleCoder
+                || coder instanceof AbiCoders.FixedArrayCoder || coder instanceof AbiCoders.ArrayCoder;
+    }
+
+    private static Event parse(String signature) {
+        String trimmed = signature.trim();
+        int open = trimmed.indexOf('(');
+        if (open <= 0 || trimmed.charAt(trimmed.length() - 1) != ')') {
+            throw new IllegalArgumentException("invalid event signature: " + signature);
+        }
+        String name = trimmed.substring(0, open).trim();
+        if (!Function.isIdentifier(name)) {
+            throw new IllegalArgumentException("invalid event name: " + signature);
+        }
+        List<String> params = AbiCoders.splitParameters(trimmed, open + 1, trimmed.length() - 1);
+        AbiCoder[] coders = new AbiCoder[params.size()];
+        boolean[] indexed = new boolean[params.size()];
+        for (int i = 0; i < coders.length; i++) {
+            String param = params.get(i);
+            String type = AbiCoders.stripName(param);
+            String rest = param.substring(type.length()).trim();
+            indexed[i] = rest.startsWith("indexed") && (rest.length() == 7 || Character.isWhitespace(rest.charAt(7)));
+            coders[i] = AbiCoders.parse(type);
+        }
+        return new Event(name, coders, indexed);
+    }
+}
@@ -0,0 +1,83 @@
+package com.nona.someEncode.abi;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * 按topic0从日志流里挑出关心的事件，比如只要TRC20/ERC20的Transfer和Approval
+ * <p>
+ * 每条日志先读topic0的第一个long和各事件比较，绝大多数无关的日志在这里就被跳过；
+ * 相同时再比较topic个数和topic0的其余部分，都通过才解码。整个过程不分配内存、不转hex。
+ * 实例不可变，线程安全
+ *
+ * @author nona9961
+ * @date 2026/10/19 06:00
+ */
+public final class EventFilter {
+
+    private final Event[] events;
+    /**
+     * 各事件topic0的第一个long
+     */
+    private final long[] firstWords;
+
+    private EventFilter(Event[] events) {
+        this.events = events;
+        this.firstWords = new long[events.length];
+        for (int i = 0; i < events.length; i++) {
+            firstWords[i] = events[i].topicWord(0);
+        }
+    }
+
+    /**
+     * @param events 关心的事件
+     * @return 过滤器
+     */
+    public static EventFilter of(Event... events) {
+        if (events == null || events.length == 0) {
+            throw new IllegalArgumentException("events is empty");
+        }
+        for (Event event : events) {
+            if (event == null) {
+                throw new IllegalArgumentException("event is null");
+            }
+        }
+        return new EventFilter(events.clone());
+    }
+
+    /**
+     * 找到日志对应的事件
+     *
+     * @param topics 从position到limit是连续的topic，topic0在前
+     * @return 事件，不关心的日志返回null
+     */
+    public Event match(ByteBuffer topics) {
+        if (topics.remaining() < AbiCoder.WORD) {
+            return null;
+        }
+        long first = Event.topicWord(topics, topics.position(), 0);
+        for (int i = 0; i < firstWords.length; i++) {
+            if (firstWords[i] == first && events[i].matches(topics)) {
+                return events[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 匹配到关心的事件时解码
+     *
+     * @param topics 从position到limit是连续的topic，topic0在前
+     * @param data   非indexed参数的abi编码
+     * @return 延迟解码的视图，不关心的日志返回null
+     */
+    public EventValues decode(ByteBuffer topics, ByteBuffer data) {
+        Event event = match(topics);
+        return event == null ? null : event.decode(topics, data);
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(events);
+    }
+}
@@ -0,0 +1,134 @@
+package com.nona.someEncode.abi;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * 一条日志的延迟解码视图，由{@link Event#decode(ByteBuffer, ByteBuffer)}得到
+ * <p>
+ * 下标是参数在事件签名里的顺序，indexed参数从topics里读，其他从data里读，读法和{@link AbiValues}相同。
+ * 也可以用{@link #getTopics()}、{@link #getData()}分别访问两部分
+ *
+ * @author nona9961
+ * @date 2026/10/19 06:00
+ */
+public final class EventValues {
+
+    private final Event event;
+    private final AbiValues topics;
+    private final AbiValues data;
+
+    EventValues(Event event, AbiValues topics, AbiValues data) {
+        this.event = event;
+        this.topics = topics;
+        this.data = data;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    /**
+     * indexed参数，不含topic0
+     *
+     * @return topics上的视图
+     */
+    public AbiValues getTopics() {
+        return topics;
+    }
+
+    /**
+     * 非indexed参数
+     *
+     * @return data上的视图
+     */
+    public AbiValues getData() {
+        return data;
+    }
+
+    /**
+     * 参数个数
+     *
+     * @return 个数
+     */
+    public int size() {
+        return event.parameterCount();
+    }
+
+    /**
+     * 第index个参数的类型，indexed的动态类型、数组和元组是bytes32
+     *
+     * @param index 下标
+     * @return 规范的类型名
+     */
+    public String getType(int index) {
+        return values(index).getType(event.position(index));
+    }
+
+    public boolean fitsLong(int index) {
+        return values(index).fitsLong(event.position(index));
+    }
+
+    public long getLong(int index) {
+        return values(index).getLong(event.position(index));
+    }
+
+    public BigInteger getBigInteger(int index) {
+        return values(index).getBigInteger(event.position(index));
+    }
+
+    public boolean getBool(int index) {
+        return values(index).getBool(event.position(index));
+    }
+
+    /**
+     * 地址，原buffer上20byte的slice
+     *
+     * @param index 下标
+     * @return 20byte
+     */
+    public ByteBuffer getAddress(int index) {
+        return values(index).getAddress(event.position(index));
+    }
+
+    /**
+     * 地址复制到dst[off, off + 20)
+     *
+     * @param index 下标
+     * @param dst   目标
+     * @param off   起始位置
+     */
+    public void getAddress(int index, byte[] dst, int off) {
+        values(index).getAddress(event.position(index), dst, off);
+    }
+
+    public ByteBuffer getBytes(int index) {
+        return values(index).getBytes(event.position(index));
+    }
+
+    public byte[] getByteArray(int index) {
+        return values(index).getByteArray(event.position(index));
+    }
+
+    public String getString(int index) {
+        return values(index).getString(event.position(index));
+    }
+
+    public AbiValues getValues(int index) {
+        return values(index).getValues(event.position(index));
+    }
+
+    @Override
+    public String toString() {
+        return event.getSignature() + topics + data;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private AbiValues values(int index) {
+        if (index < 0 || index >= event.parameterCount()) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + event.parameterCount());
+        }
+        return event.isIndexed(index) ? topics : data;
+    }
+}
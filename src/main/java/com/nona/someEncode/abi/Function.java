@@ -1,8 +1,258 @@
 package com.nona.someEncode.abi;
 
+import com.nona.someEncode.util.Hexes;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
 /**
+ * 合约函数，由签名生成调用数据：4byte的selector + 参数的abi编码
+ * <p>
+ * 签名形如transfer(address,uint256)，参数之间可以有空格，参数后面可以跟参数名（transfer(address to, uint amount)），
+ * uint、int会规范成uint256、int256。selector是keccak256(规范的签名)的前4byte。
+ * 参数可以是动态类型（bytes、string、T[]）和元组，比如aggregate((address,bytes)[])
+ * <p>
+ * {@link #of(String)}把解析结果放在进程级的缓存里：签名只解析一次，selector只算一次，每个参数的编码器也只生成一次。
+ * 之后的{@link #encode(Object...)}先算出准确的长度，分配一个数组，再按head/tail布局一次写完。实例不可变，线程安全
+ *
  * @author nona9961
  * @date 2021/9/29 14:47
  */
 public class Function {
+
+    public static final int SELECTOR_LENGTH = 4;
+
+    private static final ConcurrentHashMap<String, Function> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String signature;
+    private final byte[] selector;
+    private final AbiCoder[] coders;
+    /**
+     * 所有参数都是slot的模板，第一次用到时生成
+     */
+    private volatile CallTemplate template;
+
+    private Function(String name, AbiCoder[] coders) {
+        this.name = name;
+        this.coders = coders;
+        StringBuilder sb = new StringBuilder(name).append('(');
+        for (int i = 0; i < coders.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(coders[i].canonicalName());
+        }
+        this.signature = sb.append(')').toString();
+        this.selector = selectorOf(signature);
+    }
+
+    /**
+     * 解析签名，结果会被缓存
+     *
+     * @param signature 函数签名，比如transfer(address,uint256)
+     * @return 函数
+     */
+    public static Function of(String signature) {
+        if (signature == null) {
+            throw new IllegalArgumentException("signature is null");
+        }
+        Function function = CACHE.get(signature);
+        if (function == null) {
+            function = parse(signature);
+            Function previous = CACHE.putIfAbsent(signature, function);
+            if (previous != null) {
+                function = previous;
+            }
+        }
+        return function;
+    }
+
+    /**
+     * 编码调用数据
+     *
+     * @param args 参数，个数和签名一致，可以接受的java类型见{@link AbiCoders}里的各个编码器
+     * @return selector + 参数编码
+     */
+    public byte[] encode(Object... args) {
+        List<?> values = arguments(args);
+        byte[] dst = new byte[SELECTOR_LENGTH + AbiCoder.tupleSize(coders, values)];
+        write(values, dst, 0, null);
+        return dst;
+    }
+
+    /**
+     * 同{@link #encode(Object...)}，结果完全相同；参数里元素个数上万的数组（比如空投的address[]、uint256[]）分段并行写入同一个数组。
+     * 静态元素的位置是固定的，动态元素先算出各自的位置，各段写的区域互不重叠
+     *
+     * @param pool 执行并行任务的线程池，为null时用{@link ForkJoinPool#commonPool()}
+     * @param args 参数
+     * @return selector + 参数编码
+     */
+    public byte[] encodeParallel(ForkJoinPool pool, Object... args) {
+        List<?> values = arguments(args);
+        byte[] dst = new byte[SELECTOR_LENGTH + AbiCoder.tupleSize(coders, values)];
+        write(values, dst, 0, pool == null ? ForkJoinPool.commonPool() : pool);
+        return dst;
+    }
+
+    /**
+     * 编码调用数据写入dst[off, off + {@link #encodedLength(Object...)})
+     *
+     * @param dst  目标数组
+     * @param off  起始位置
+     * @param args 参数
+     * @return 写入的字节数
+     */
+    public int encodeTo(byte[] dst, int off, Object... args) {
+        return write(arguments(args), dst, off, null);
+    }
+
+    /**
+     * 所有参数都是slot的调用模板，生成后缓存在这个实例里
+     *
+     * @return 模板
+     * @throws IllegalArgumentException 有动态类型的参数
+     */
+    public CallTemplate template() {
+        CallTemplate result = template;
+        if (result == null) {
+            Object[] slots = new Object[coders.length];
+            Arrays.fill(slots, CallTemplate.SLOT);
+            result = CallTemplate.compile(this, selector, coders, slots);
+            template = result;
+        }
+        return result;
+    }
+
+    /**
+     * 生成调用模板：固定的参数直接编码进去，值为{@link CallTemplate#SLOT}的参数每次调用时再写
+     *
+     * @param args 参数，动态类型的参数不能是slot
+     * @return 模板，不会被缓存
+     */
+    public CallTemplate template(Object... args) {
+        return CallTemplate.compile(this, selector, coders, args);
+    }
+
+    public String encodeHex(Object... args) {
+        return Hexes.toHex(encode(args));
+    }
+
+    /**
+     * 调用数据的长度，只计算不编码
+     *
+     * @param args 参数
+     * @return selector + 参数编码的字节数
+     */
+    public int encodedLength(Object... args) {
+        return SELECTOR_LENGTH + AbiCoder.tupleSize(coders, arguments(args));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 规范的签名
+     *
+     * @return 比如transfer(address,uint256)
+     */
+    public String getSignature() {
+        return signature;
+    }
+
+    public byte[] getSelector() {
+        return selector.clone();
+    }
+
+    public String getSelectorHex() {
+        return Hexes.toHex(selector);
+    }
+
+    /**
+     * 参数的规范类型名
+     *
+     * @return 类型名
+     */
+    public List<String> getParameterTypes() {
+        List<String> types = new ArrayList<>(coders.length);
+        for (AbiCoder coder : coders) {
+            types.add(coder.canonicalName());
+        }
+        return types;
+    }
+
+    @Override
+    public String toString() {
+        return signature;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private List<?> arguments(Object[] args) {
+        if (args == null || args.length != coders.length) {
+            throw new IllegalArgumentException(signature + " needs " + coders.length + " arguments, got "
+                    + (args == null ? 0 : args.length));
+        }
+        return Arrays.asList(args);
+    }
+
+    private int write(List<?> values, byte[] dst, int off, ForkJoinPool pool) {
+        System.arraycopy(selector, 0, dst, off, SELECTOR_LENGTH);
+        return SELECTOR_LENGTH + AbiCoder.encodeTuple(coders, values, dst, off + SELECTOR_LENGTH, pool);
+    }
+
+    private static Function parse(String signature) {
+        String trimmed = signature.trim();
+        int open = trimmed.indexOf('(');
+        if (open <= 0 || trimmed.charAt(trimmed.length() - 1) != ')') {
+            throw new IllegalArgumentException("invalid function signature: " + signature);
+        }
+        String name = trimmed.substring(0, open).trim();
+        if (!isIdentifier(name)) {
+            throw new IllegalArgumentException("invalid function name: " + signature);
+        }
+        List<String> params = AbiCoders.splitParameters(trimmed, open + 1, trimmed.length() - 1);
+        AbiCoder[] coders = new AbiCoder[params.size()];
+        for (int i = 0; i < coders.length; i++) {
+            coders[i] = AbiCoders.parse(AbiCoders.stripName(params.get(i)));
+        }
+        return new Function(name, coders);
+    }
+
+    static boolean isIdentifier(String name) {
+        if (name.isEmpty() || !Character.isJavaIdentifierStart(name.charAt(0))) {
+            return false;
+        }
+        for (int i = 1; i < name.length(); i++) {
+            if (!Character.isJavaIdentifierPart(name.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * keccak256(规范的签名)，函数的selector和事件的topic0都由它得到
+     */
+    static byte[] signatureHash(String signature) {
+        KeccakDigest keccak = new KeccakDigest(256);
+        byte[] input = signature.getBytes(StandardCharsets.US_ASCII);
+        keccak.update(input, 0, input.length);
+        byte[] hash = new byte[keccak.getDigestSize()];
+        keccak.doFinal(hash, 0);
+        return hash;
+    }
+
+    private static byte[] selectorOf(String signature) {
+        byte[] selector = new byte[SELECTOR_LENGTH];
+        System.arraycopy(signatureHash(signature), 0, selector, 0, SELECTOR_LENGTH);
+        return selector;
+    }
 }
@@ -1,22 +1,93 @@
 package com.nona.someEncode.abi.abiType;
 
+import lombok.Getter;
+
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * 动态长度的编码：<br/>
- * 动态长度除了被编译的内容以外还有动态长度（偏移量得在编译的时候才能知晓）
- * todo: 先写这些吧
+ * 动态长度除了被编译的内容以外还有动态长度（偏移量得在编译的时候才能知晓）。
+ * 这里只负责自身的部分：32字节的长度 + 内容（补齐至32字节的倍数）；
+ * 在参数列表里的偏移量由{@link com.nona.someEncode.abi.Function}编码时按head/tail布局写入
  *
  * @author nona9961
  * @date 2021/10/8 11:54
  */
+@Getter
 public abstract class AbiDynamicType<T> implements AbiType<T> {
     protected final T value;
 
     public AbiDynamicType(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value不能为null");
+        }
         this.value = value;
     }
 
+    /**
+     * 内容，未补齐
+     *
+     * @return 内容
+     */
+    protected abstract byte[] content();
+
+    /**
+     * 动态长度，即内容的字节数
+     *
+     * @return 字节数
+     */
+    public BigInteger dynamicLength() {
+        return BigInteger.valueOf(content().length);
+    }
+
+    @Override
+    public byte[] generateAbi() {
+        byte[] content = content();
+        byte[] abiArray = new byte[encodedLength(content.length)];
+        write(content, abiArray, 0);
+        return abiArray;
+    }
+
+    @Override
+    public int encodedLength() {
+        return encodedLength(content().length);
+    }
+
+    @Override
+    public int writeTo(byte[] dst, int off) {
+        return write(content(), dst, off);
+    }
+
+    @Override
+    public int writeTo(ByteBuffer dst, int off) {
+        byte[] content = content();
+        if (dst.hasArray() && !dst.isReadOnly()) {
+            return write(content, dst.array(), dst.arrayOffset() + off);
+        }
+        Uint.encodeUint(content.length, dst, off);
+        for (int i = 0; i < content.length; i++) {
+            dst.put(off + AbiParamType.FIXED_LENGTH + i, content[i]);
+        }
+        int end = off + encodedLength(content.length);
+        AbiParamType.fillZero(dst, off + AbiParamType.FIXED_LENGTH + content.length, end);
+        return end - off;
+    }
 
-    public abstract BigInteger dynamicLength();
+    /**
+     * 长度 + 内容（补齐至32字节的倍数）
+     */
+    private static int encodedLength(int contentLength) {
+        return AbiParamType.FIXED_LENGTH
+                + (contentLength + AbiParamType.FIXED_LENGTH - 1) / AbiParamType.FIXED_LENGTH * AbiParamType.FIXED_LENGTH;
+    }
+
+    private static int write(byte[] content, byte[] dst, int off) {
+        Uint.encodeUint(content.length, dst, off);
+        System.arraycopy(content, 0, dst, off + AbiParamType.FIXED_LENGTH, content.length);
+        int end = off + encodedLength(content.length);
+        Arrays.fill(dst, off + AbiParamType.FIXED_LENGTH + content.length, end, (byte) 0);
+        return end - off;
+    }
 }
@@ -2,8 +2,14 @@ package com.nona.someEncode.abi.abiType;
 
 import lombok.Getter;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
 /**
  * abi参数类型
+ * <p>
+ * 静态类型的编码都是一个32字节的字，子类只需要实现{@link #writeTo(byte[], int)}和{@link #writeTo(ByteBuffer, int)}，
+ * {@link #generateAbi()}由它们得到
  *
  * @author nona9961
  * @date 2021/9/29 14:47
@@ -42,4 +48,39 @@ public abstract class AbiParamType<T> implements AbiType<T> {
         return new byte[length];
     }
 
-}
\ No newline at end of file
+    @Override
+    public byte[] generateAbi() {
+        byte[] abiArray = getEmptyArr();
+        writeTo(abiArray, 0);
+        return abiArray;
+    }
+
+    @Override
+    public int encodedLength() {
+        return length;
+    }
+
+    /* ************************************************************************ */
+    /* ****************************  only for subClass ************************ */
+    /* ************************************************************************ */
+
+    /**
+     * 按大端写入一个long，和dst的order无关
+     */
+    protected static void putLong(ByteBuffer dst, int off, long value) {
+        dst.putLong(off, dst.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    /**
+     * dst[from, to)填0，尽量一次写8byte
+     */
+    protected static void fillZero(ByteBuffer dst, int from, int to) {
+        int i = from;
+        for (; i + Long.BYTES <= to; i += Long.BYTES) {
+            dst.putLong(i, 0L);
+        }
+        for (; i < to; i++) {
+            dst.put(i, (byte) 0);
+        }
+    }
+}
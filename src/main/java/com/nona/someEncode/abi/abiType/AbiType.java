@@ -1,7 +1,9 @@
 package com.nona.someEncode.abi.abiType;
 
 import cn.hutool.core.util.ArrayUtil;
-import org.bouncycastle.util.encoders.Hex;
+import com.nona.someEncode.util.Hexes;
+
+import java.nio.ByteBuffer;
 
 /**
  * @author nona9961
@@ -15,10 +17,33 @@ public interface AbiType<T> {
      */
     byte[] generateAbi();
 
+    /**
+     * abi编码的字节数，即{@link #generateAbi()}的长度
+     *
+     * @return 字节数
+     */
+    int encodedLength();
+
+    /**
+     * 将abi编码直接写入dst[off, off + encodedLength())，不产生中间数组，这一段原来的内容全部被覆盖
+     *
+     * @param dst 目标数组，通常是整个调用数据
+     * @param off 起始位置
+     * @return 写入的字节数
+     */
+    int writeTo(byte[] dst, int off);
+
+    /**
+     * 同{@link #writeTo(byte[], int)}，off是绝对位置，不改变dst的position；按大端写入，和dst的order无关
+     *
+     * @param dst 目标
+     * @param off 起始位置
+     * @return 写入的字节数
+     */
+    int writeTo(ByteBuffer dst, int off);
 
     default String abiHex() {
-        byte[] bytes = generateAbi();
-        return Hex.toHexString(bytes);
+        return Hexes.toHex(generateAbi());
     }
 
 }
@@ -1,8 +1,10 @@
 package com.nona.someEncode.abi.abiType;
 
 import cn.hutool.core.util.StrUtil;
-import com.nona.someEncode.util.ByteArrays;
-import org.bouncycastle.util.encoders.Hex;
+import com.nona.someEncode.util.Hexes;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * @author nona9961
@@ -11,9 +13,16 @@ import org.bouncycastle.util.encoders.Hex;
 public class Address extends AbiParamType<String> {
     private static final String PREFIX = "0x";
     private static final int ADDRESS_LENGTH = 40;
+    public static final int ADDRESS_BYTES = ADDRESS_LENGTH / 2;
+
+    /**
+     * 构造时解码一次，编码时不再解析hex
+     */
+    private final byte[] addressBytes;
 
     public Address(String value) {
         super(32, value);
+        this.addressBytes = Hexes.decode(this.value);
     }
 
     @Override
@@ -32,10 +41,45 @@ public class Address extends AbiParamType<String> {
     }
 
     @Override
-    public byte[] generateAbi() {
-        byte[] bytes = Hex.decode(value);
-        byte[] abiBytes = getEmptyArr();
-        ByteArrays.fillRevertBytes(abiBytes, bytes);
-        return abiBytes;
+    public int writeTo(byte[] dst, int off) {
+        return encodeAddress(addressBytes, dst, off);
+    }
+
+    @Override
+    public int writeTo(ByteBuffer dst, int off) {
+        return encodeAddress(addressBytes, dst, off);
+    }
+
+    /**
+     * 把20byte的地址编码写入dst[off, off + 32)：前12byte是0
+     *
+     * @param address 20byte的地址
+     * @param dst     目标数组
+     * @param off     起始位置
+     * @return 32
+     */
+    public static int encodeAddress(byte[] address, byte[] dst, int off) {
+        checkAddress(address);
+        Arrays.fill(dst, off, off + FIXED_LENGTH - ADDRESS_BYTES, (byte) 0);
+        System.arraycopy(address, 0, dst, off + FIXED_LENGTH - ADDRESS_BYTES, ADDRESS_BYTES);
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 同{@link #encodeAddress(byte[], byte[], int)}，off是绝对位置
+     */
+    public static int encodeAddress(byte[] address, ByteBuffer dst, int off) {
+        checkAddress(address);
+        fillZero(dst, off, off + FIXED_LENGTH - ADDRESS_BYTES);
+        for (int i = 0; i < ADDRESS_BYTES; i++) {
+            dst.put(off + FIXED_LENGTH - ADDRESS_BYTES + i, address[i]);
+        }
+        return FIXED_LENGTH;
+    }
+
+    private static void checkAddress(byte[] address) {
+        if (address == null || address.length != ADDRESS_BYTES) {
+            throw new IllegalArgumentException("地址应该为" + ADDRESS_BYTES + "字节");
+        }
     }
 }
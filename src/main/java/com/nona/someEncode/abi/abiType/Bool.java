@@ -1,5 +1,8 @@
 package com.nona.someEncode.abi.abiType;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * @author nona9961
  * @date 2021/10/8 11:24
@@ -18,9 +21,35 @@ public class Bool extends AbiParamType<Boolean> {
     }
 
     @Override
-    public byte[] generateAbi() {
-        byte[] abiArr = getEmptyArr();
-        abiArr[abiArr.length - 1] = value ? (byte) 1 : 0;
-        return abiArr;
+    public int writeTo(byte[] dst, int off) {
+        return encodeBool(value, dst, off);
+    }
+
+    @Override
+    public int writeTo(ByteBuffer dst, int off) {
+        return encodeBool(value, dst, off);
+    }
+
+    /**
+     * 把value编码写入dst[off, off + 32)
+     *
+     * @param value 值
+     * @param dst   目标数组
+     * @param off   起始位置
+     * @return 32
+     */
+    public static int encodeBool(boolean value, byte[] dst, int off) {
+        Arrays.fill(dst, off, off + FIXED_LENGTH - 1, (byte) 0);
+        dst[off + FIXED_LENGTH - 1] = value ? (byte) 1 : 0;
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 同{@link #encodeBool(boolean, byte[], int)}，off是绝对位置
+     */
+    public static int encodeBool(boolean value, ByteBuffer dst, int off) {
+        fillZero(dst, off, off + FIXED_LENGTH - 1);
+        dst.put(off + FIXED_LENGTH - 1, value ? (byte) 1 : 0);
+        return FIXED_LENGTH;
     }
 }
@@ -0,0 +1,18 @@
+package com.nona.someEncode.abi.abiType;
+
+/**
+ * bytes
+ *
+ * @author nona9961
+ * @date 2026/10/19 02:00
+ */
+public class DynamicByteArray extends AbiDynamicType<byte[]> {
+    public DynamicByteArray(byte[] value) {
+        super(value);
+    }
+
+    @Override
+    protected byte[] content() {
+        return value;
+    }
+}
@@ -1,6 +1,7 @@
 package com.nona.someEncode.abi.abiType;
 
-import com.nona.someEncode.util.ByteArrays;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * @author nona9961
@@ -20,9 +21,45 @@ public class StaticByteArray extends AbiParamType<byte[]> {
     }
 
     @Override
-    public byte[] generateAbi() {
-        byte[] abiArray = getEmptyArr();
-        ByteArrays.fillBytes(abiArray, value);
-        return abiArray;
+    public int writeTo(byte[] dst, int off) {
+        return encodeBytes(value, dst, off);
+    }
+
+    @Override
+    public int writeTo(ByteBuffer dst, int off) {
+        return encodeBytes(value, dst, off);
+    }
+
+    /**
+     * 把value编码写入dst[off, off + 32)：左对齐，后面补0
+     *
+     * @param value 不超过32字节
+     * @param dst   目标数组
+     * @param off   起始位置
+     * @return 32
+     */
+    public static int encodeBytes(byte[] value, byte[] dst, int off) {
+        checkLength(value);
+        System.arraycopy(value, 0, dst, off, value.length);
+        Arrays.fill(dst, off + value.length, off + FIXED_LENGTH, (byte) 0);
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 同{@link #encodeBytes(byte[], byte[], int)}，off是绝对位置
+     */
+    public static int encodeBytes(byte[] value, ByteBuffer dst, int off) {
+        checkLength(value);
+        for (int i = 0; i < value.length; i++) {
+            dst.put(off + i, value[i]);
+        }
+        fillZero(dst, off + value.length, off + FIXED_LENGTH);
+        return FIXED_LENGTH;
+    }
+
+    private static void checkLength(byte[] value) {
+        if (value.length > FIXED_LENGTH) {
+            throw new IllegalArgumentException("数组超过最大32字节");
+        }
     }
 }
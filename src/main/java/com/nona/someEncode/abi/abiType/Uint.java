@@ -1,22 +1,48 @@
 package com.nona.someEncode.abi.abiType;
 
-import com.nona.someEncode.util.ByteArrays;
+import org.bouncycastle.util.BigIntegers;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
  * uint8-uint256的abi编码最大长度就是32byte
  * 最后的abi码都要补齐32byte……只需要Uint256即可
  * 写到一半发现不用写那么多，中间部分的Uint如果以后遇到了再添加
+ * <p>
+ * 拼调用数据时用{@link #writeTo(byte[], int)}或者静态的{@link #encodeUint(long, byte[], int)}直接写进最终的数组，
+ * 不需要每个字都分配一个数组
  *
  * @author nona9961
  * @date 2021/9/29 15:19
  */
 public abstract class Uint<T extends Number> extends AbiParamType<T> {
 
+    private static final BigInteger MAX_UINT256 = BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE);
+
+    /**
+     * 构造时拆成4个64bit的字（从高到低），编码时不再判断类型，也不需要BigInteger.toByteArray
+     */
+    private final long word0;
+    private final long word1;
+    private final long word2;
+    private final long word3;
+
     public Uint(T value) {
         super(32, value);
+        if (value instanceof BigInteger) {
+            BigInteger bigInteger = (BigInteger) value;
+            this.word0 = bigInteger.shiftRight(Long.SIZE * 3).longValue();
+            this.word1 = bigInteger.shiftRight(Long.SIZE * 2).longValue();
+            this.word2 = bigInteger.shiftRight(Long.SIZE).longValue();
+            this.word3 = bigInteger.longValue();
+        } else {
+            this.word0 = 0;
+            this.word1 = 0;
+            this.word2 = 0;
+            this.word3 = value.longValue();
+        }
     }
 
     /**
@@ -26,17 +52,83 @@ public abstract class Uint<T extends Number> extends AbiParamType<T> {
      */
     protected abstract int getMaxBit();
 
+    @Override
+    public int writeTo(byte[] dst, int off) {
+        writeLong(word0, dst, off);
+        writeLong(word1, dst, off + Long.BYTES);
+        writeLong(word2, dst, off + Long.BYTES * 2);
+        writeLong(word3, dst, off + Long.BYTES * 3);
+        return FIXED_LENGTH;
+    }
+
+    @Override
+    public int writeTo(ByteBuffer dst, int off) {
+        putLong(dst, off, word0);
+        putLong(dst, off + Long.BYTES, word1);
+        putLong(dst, off + Long.BYTES * 2, word2);
+        putLong(dst, off + Long.BYTES * 3, word3);
+        return FIXED_LENGTH;
+    }
+
     /**
-     * 编码为abi
+     * 把value编码为uint写入dst[off, off + 32)
      *
-     * @return 字节数组
+     * @param value 按无符号处理，负数视为2^64 + value
+     * @param dst   目标数组
+     * @param off   起始位置
+     * @return 32
      */
-    @Override
-    public byte[] generateAbi() {
-        byte[] valueBytes = transferByteArray(value);
-        byte[] abiByteArr = getEmptyArr();
-        ByteArrays.fillRevertBytes(abiByteArr, valueBytes);
-        return abiByteArr;
+    public static int encodeUint(long value, byte[] dst, int off) {
+        Arrays.fill(dst, off, off + FIXED_LENGTH - Long.BYTES, (byte) 0);
+        writeLong(value, dst, off + FIXED_LENGTH - Long.BYTES);
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 同{@link #encodeUint(long, byte[], int)}，off是绝对位置
+     */
+    public static int encodeUint(long value, ByteBuffer dst, int off) {
+        fillZero(dst, off, off + FIXED_LENGTH - Long.BYTES);
+        putLong(dst, off + FIXED_LENGTH - Long.BYTES, value);
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 把value编码为uint256写入dst[off, off + 32)，不超过63bit时不创建中间数组
+     *
+     * @param value 0到2^256 - 1
+     * @param dst   目标数组
+     * @param off   起始位置
+     * @return 32
+     */
+    public static int encodeUint(BigInteger value, byte[] dst, int off) {
+        if (checkUint256(value) < Long.SIZE) {
+            return encodeUint(value.longValue(), dst, off);
+        }
+        BigIntegers.asUnsignedByteArray(value, dst, off, FIXED_LENGTH);
+        return FIXED_LENGTH;
+    }
+
+    /**
+     * 同{@link #encodeUint(BigInteger, byte[], int)}，off是绝对位置
+     */
+    public static int encodeUint(BigInteger value, ByteBuffer dst, int off) {
+        if (checkUint256(value) < Long.SIZE) {
+            return encodeUint(value.longValue(), dst, off);
+        }
+        if (dst.hasArray()) {
+            BigIntegers.asUnsignedByteArray(value, dst.array(), dst.arrayOffset() + off, FIXED_LENGTH);
+            return FIXED_LENGTH;
+        }
+        byte[] bytes = value.toByteArray();
+        // toByteArray可能多一个符号位的0
+        int start = bytes.length > FIXED_LENGTH ? 1 : 0;
+        int padding = FIXED_LENGTH - (bytes.length - start);
+        fillZero(dst, off, off + padding);
+        for (int i = start; i < bytes.length; i++) {
+            dst.put(off + padding + i - start, bytes[i]);
+        }
+        return FIXED_LENGTH;
     }
 
 
@@ -55,7 +147,8 @@ public abstract class Uint<T extends Number> extends AbiParamType<T> {
         }
         if (value instanceof Byte || value instanceof Integer || value instanceof Long) {
             long primitive = value.longValue();
-            if (primitive >> getMaxBit() != 0) {
+            // long的移位只取低6位，64bit时不能用移位判断
+            if (primitive < 0 || (getMaxBit() < Long.SIZE && primitive >> getMaxBit() != 0)) {
                 throw new IllegalArgumentException("超过该Uint最大值");
             }
             return value;
@@ -64,30 +157,22 @@ public abstract class Uint<T extends Number> extends AbiParamType<T> {
     }
 
     /**
-     * 将value的值转为它的字节数组
-     *
-     * @param value 数字
-     * @return 字节数组
+     * 大端写入8byte
      */
-    protected byte[] transferByteArray(Number value) {
-        int length = getMaxBit() / Byte.SIZE;
-        if (value instanceof Byte || value instanceof Integer || value instanceof Long) {
-            long along = value.longValue();
-            byte[] bytes = new byte[length];
-            for (int i = 0; i < bytes.length; i++) {
-                bytes[i] = (byte) (along >> ((length - i - 1) * Byte.SIZE));
-            }
-            return bytes;
+    private static void writeLong(long value, byte[] dst, int off) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            dst[off + Long.BYTES - 1 - i] = (byte) (value >>> (i * Byte.SIZE));
         }
-        if (value instanceof BigInteger) {
-            byte[] bytes = ((BigInteger) value).toByteArray();
-            if (bytes[0] == 0) {
-                // bigInteger 第一个数组元素可能是0，这只是一个标志，不是数值应该有的数组，去掉
-                return Arrays.copyOfRange(bytes, 1, bytes.length);
-            }
-            return bytes;
+    }
+
+    /**
+     * @return value的bit数
+     */
+    private static int checkUint256(BigInteger value) {
+        if (value.signum() < 0 || value.compareTo(MAX_UINT256) > 0) {
+            throw new IllegalArgumentException("超过uint256的范围：" + value);
         }
-        throw new IllegalArgumentException("不支持的数值");
+        return value.bitLength();
     }
 
     /* ************************************************************************ */
@@ -102,18 +187,6 @@ public abstract class Uint<T extends Number> extends AbiParamType<T> {
         protected int getMaxBit() {
             return 8;
         }
-
-        /**
-         * Uint8和byte都是8位，不会有长度超出的情况
-         *
-         * @return abi
-         */
-        @Override
-        public byte[] generateAbi() {
-            byte[] abiByteArr = getEmptyArr();
-            abiByteArr[length - 1] = value;
-            return abiByteArr;
-        }
     }
 
     public static class Uint16 extends Uint<Integer> {
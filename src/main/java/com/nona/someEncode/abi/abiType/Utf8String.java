@@ -0,0 +1,20 @@
+package com.nona.someEncode.abi.abiType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * string，按utf-8编码
+ *
+ * @author nona9961
+ * @date 2026/10/19 02:00
+ */
+public class Utf8String extends AbiDynamicType<String> {
+    public Utf8String(String value) {
+        super(value);
+    }
+
+    @Override
+    protected byte[] content() {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -15,6 +15,10 @@ import java.util.Arrays;
  * <tr> 32->Z 41->i 7->8 7->8 => Base58.encode("aaa") = "Zi88" </tr>
  * <br/>
  * 解码反着来
+ * <p>
+ * 实现上不使用BigInteger：编码时把原数组按4byte一组读成int，累加进以58^5为基的int数组里；
+ * 解码时把字符按5个一组（58^5 < 2^32）累加进以2^32为基的int数组里。
+ * 每一步都是long范围内的乘加，整个过程只分配一个很小的int数组
  *
  * @author nona9961
  * @date 2021/8/25 17:25
@@ -25,18 +29,98 @@ public class Base58 {
 
     public static final BigInteger ALPHABET_SIZE = BigInteger.valueOf(BASE58_ALPHABET.length());
 
+    private static final char[] ALPHABET = BASE58_ALPHABET.toCharArray();
+    private static final char ZERO_CHAR = ALPHABET[0];
+    /**
+     * 字符 -> 数值的反查表，不在字母表里的是-1
+     */
+    private static final byte[] INDEXES = new byte[128];
+    /**
+     * 58^5，一个int能装下的最大的58的幂
+     */
+    private static final long BASE58_POW5 = 656_356_768L;
+    private static final int DIGITS_PER_LIMB = 5;
+    private static final long[] BASE58_POWERS = {1L, 58L, 3_364L, 195_112L, 11_316_496L, BASE58_POW5};
+    private static final long UINT_MASK = 0xFFFFFFFFL;
+
+    static {
+        Arrays.fill(INDEXES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            INDEXES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
     public static String encode(byte[] rawBytes) {
-        BigInteger rawInteger = new BigInteger(1, rawBytes);
-        StringBuilder sb = new StringBuilder();
-        while (rawInteger.compareTo(BigInteger.ZERO) != 0) {
-            BigInteger[] quotientAndRemainder = rawInteger.divideAndRemainder(ALPHABET_SIZE);
-            sb.append(BASE58_ALPHABET.charAt(quotientAndRemainder[1].intValue()));
-            rawInteger = quotientAndRemainder[0];
+        char[] chars = new char[maxEncodedLength(rawBytes.length)];
+        int length = encode(rawBytes, 0, rawBytes.length, chars, 0);
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * 编码后追加到sb中
+     *
+     * @param rawBytes 原数组
+     * @param off      起始位置
+     * @param len      长度
+     * @param sb       编码结果追加到这里
+     * @return 追加的字符数
+     */
+    public static int encode(byte[] rawBytes, int off, int len, StringBuilder sb) {
+        int start = sb.length();
+        sb.setLength(start + maxEncodedLength(len));
+        int length = 0;
+        int zeros = countLeadingZeroBytes(rawBytes, off, len);
+        for (; length < zeros; length++) {
+            sb.setCharAt(start + length, ZERO_CHAR);
+        }
+        int[] limbs = toBase58Limbs(rawBytes, off + zeros, len - zeros);
+        int used = limbs[limbs.length - 1];
+        for (int i = used - 1; i >= 0; i--) {
+            int limb = limbs[i];
+            int digits = i == used - 1 ? significantDigits(limb) : DIGITS_PER_LIMB;
+            for (int j = digits - 1; j >= 0; j--) {
+                sb.setCharAt(start + length + j, ALPHABET[limb % 58]);
+                limb /= 58;
+            }
+            length += digits;
+        }
+        sb.setLength(start + length);
+        return length;
+    }
+
+    /**
+     * 编码到调用方提供的char数组中，dst剩余空间至少要有{@link #maxEncodedLength(int)}
+     *
+     * @param rawBytes 原数组
+     * @param off      起始位置
+     * @param len      长度
+     * @param dst      目标数组
+     * @param dstOff   目标起始位置
+     * @return 写入的字符数
+     */
+    public static int encode(byte[] rawBytes, int off, int len, char[] dst, int dstOff) {
+        if (dst.length - dstOff < maxEncodedLength(len)) {
+            throw new IllegalArgumentException("dst is too small for base58 encode");
         }
         // if byte array starts with 0,replace them to "1"
         // because new BigInteger(1,{0,1}) is same as new BigInteger(1,{1})
-        for (int i = 0; i < rawBytes.length && rawBytes[i] == 0; i++) sb.append(BASE58_ALPHABET.charAt(0));
-        return sb.reverse().toString();
+        int zeros = countLeadingZeroBytes(rawBytes, off, len);
+        int pos = dstOff;
+        for (int i = 0; i < zeros; i++) {
+            dst[pos++] = ZERO_CHAR;
+        }
+        int[] limbs = toBase58Limbs(rawBytes, off + zeros, len - zeros);
+        int used = limbs[limbs.length - 1];
+        for (int i = used - 1; i >= 0; i--) {
+            int limb = limbs[i];
+            int digits = i == used - 1 ? significantDigits(limb) : DIGITS_PER_LIMB;
+            for (int j = digits - 1; j >= 0; j--) {
+                dst[pos + j] = ALPHABET[limb % 58];
+                limb /= 58;
+            }
+            pos += digits;
+        }
+        return pos - dstOff;
     }
 
     /**
@@ -46,34 +130,180 @@ public class Base58 {
      * @return 原字节数组
      */
     public static byte[] decode(String base58Str) {
-        BigInteger num = BigInteger.ZERO;
-        for (int i = 0; i < base58Str.length(); i++) {
-            num = num.multiply(ALPHABET_SIZE);
-            int digit = BASE58_ALPHABET.indexOf(base58Str.charAt(i));
-            if (digit == -1) {
-                throw new IllegalArgumentException("Invalid character for Base58Check: " + base58Str.charAt(i));
+        byte[] buffer = new byte[maxDecodedLength(base58Str.length())];
+        int length = decode(base58Str, 0, base58Str.length(), buffer, 0);
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * 解码到调用方提供的数组中
+     *
+     * @param base58 base58字符串
+     * @param dst    目标数组
+     * @param off    目标起始位置
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence base58, byte[] dst, int off) {
+        return decode(base58, 0, base58.length(), dst, off);
+    }
+
+    /**
+     * 将base58的[start, end)区间解码到调用方提供的数组中
+     *
+     * @param base58 base58字符串
+     * @param start  起始位置（包含）
+     * @param end    结束位置（不包含）
+     * @param dst    目标数组
+     * @param off    目标起始位置
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence base58, int start, int end, byte[] dst, int off) {
+        return decode(base58, start, end, dst, off, new int[decodeWorkLength(end - start)]);
+    }
+
+    /**
+     * 同{@link #decode(CharSequence, int, int, byte[], int)}，中间结果放在调用方提供的数组里，整个过程不分配内存
+     *
+     * @param base58 base58字符串
+     * @param start  起始位置（包含）
+     * @param end    结束位置（不包含）
+     * @param dst    目标数组
+     * @param off    目标起始位置
+     * @param work   工作数组，长度至少为{@link #decodeWorkLength(int)}，内容会被覆盖
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence base58, int start, int end, byte[] dst, int off, int[] work) {
+        // remove "1" which is from encode() and add 0 to bytes
+        int zeros = 0;
+        while (start + zeros < end && base58.charAt(start + zeros) == ZERO_CHAR) {
+            zeros++;
+        }
+        int digitsStart = start + zeros;
+        int digitCount = end - digitsStart;
+        if (work.length < decodeWorkLength(digitCount)) {
+            throw new IllegalArgumentException("work is too small for base58 decode");
+        }
+        int[] limbs = work;
+        int used = 0;
+        int groupLength = digitCount % DIGITS_PER_LIMB == 0 ? DIGITS_PER_LIMB : digitCount % DIGITS_PER_LIMB;
+        for (int i = digitsStart; i < end; ) {
+            long group = 0;
+            for (int groupEnd = i + groupLength; i < groupEnd; i++) {
+                group = group * 58 + digitOf(base58.charAt(i));
+            }
+            long multiplier = BASE58_POWERS[groupLength];
+            long carry = group;
+            for (int j = 0; j < used; j++) {
+                long t = (limbs[j] & UINT_MASK) * multiplier + carry;
+                limbs[j] = (int) t;
+                carry = t >>> 32;
             }
-            num = num.add(BigInteger.valueOf(digit));
+            if (carry != 0) {
+                limbs[used++] = (int) carry;
+            }
+            groupLength = DIGITS_PER_LIMB;
         }
-        byte[] numBytes = num.toByteArray();
-        // remove "1" which is from encode() and add 0 to bytes
-        int count = 0;
-        for (int i = 0; i < base58Str.length() && base58Str.charAt(i) == BASE58_ALPHABET.charAt(0); i++) {
-            count++;
+        int significantBytes = 0;
+        if (used > 0) {
+            significantBytes = (used - 1) * 4 + (39 - Integer.numberOfLeadingZeros(limbs[used - 1])) / 8;
         }
-        // 去除bigInteger符号占位
-        if (numBytes[0] == 0) {
-            count--;
+        int length = zeros + significantBytes;
+        if (dst.length - off < length) {
+            throw new IllegalArgumentException("dst is too small for base58 decode");
         }
-        if (count == -1) {
-            numBytes = Arrays.copyOfRange(numBytes, 1, numBytes.length);
+        Arrays.fill(dst, off, off + zeros, (byte) 0);
+        for (int i = 0, pos = off + length - 1; i < significantBytes; i++, pos--) {
+            dst[pos] = (byte) (limbs[i >> 2] >>> ((i & 3) << 3));
         }
-        if (count > 0) {
-            byte[] originBytes = new byte[numBytes.length + count];
-            System.arraycopy(numBytes, 0, originBytes, count, numBytes.length);
-            numBytes = originBytes;
+        return length;
+    }
+
+    /**
+     * 编码结果的最大长度：前导0每个对应一个字符，其余每byte最多需要log(256)/log(58)≈1.37个字符
+     *
+     * @param rawLength 原数组长度
+     * @return 最大字符数
+     */
+    public static int maxEncodedLength(int rawLength) {
+        return rawLength * 138 / 100 + 1;
+    }
+
+    /**
+     * 解码结果的最大长度
+     *
+     * @param base58Length base58字符串长度
+     * @return 最大字节数
+     */
+    public static int maxDecodedLength(int base58Length) {
+        return base58Length;
+    }
+
+    /**
+     * 解码时需要的工作数组长度：每个字符约log(58)/log(2^32)≈0.183个int
+     *
+     * @param base58Length base58字符串长度
+     * @return 工作数组长度
+     */
+    public static int decodeWorkLength(int base58Length) {
+        return base58Length * 733 / 4000 + 2;
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * 将数组视为大端的无符号数，转为以58^5为基的小端int数组
+     * <p>
+     * 数组最后一位存放实际使用的个数
+     */
+    private static int[] toBase58Limbs(byte[] raw, int off, int len) {
+        int[] limbs = new int[len * 8 / 29 + 2];
+        int used = 0;
+        int wordLength = len % 4 == 0 ? 4 : len % 4;
+        for (int i = off, end = off + len; i < end; ) {
+            long word = 0;
+            for (int wordEnd = i + wordLength; i < wordEnd; i++) {
+                word = word << 8 | (raw[i] & 0xFF);
+            }
+            int shift = wordLength << 3;
+            long carry = word;
+            for (int j = 0; j < used; j++) {
+                long t = ((long) limbs[j] << shift) + carry;
+                limbs[j] = (int) (t % BASE58_POW5);
+                carry = t / BASE58_POW5;
+            }
+            while (carry != 0) {
+                limbs[used++] = (int) (carry % BASE58_POW5);
+                carry /= BASE58_POW5;
+            }
+            wordLength = 4;
+        }
+        limbs[limbs.length - 1] = used;
+        return limbs;
+    }
+
+    private static int significantDigits(int limb) {
+        int digits = 0;
+        while (limb != 0) {
+            limb /= 58;
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int countLeadingZeroBytes(byte[] raw, int off, int len) {
+        int zeros = 0;
+        while (zeros < len && raw[off + zeros] == 0) {
+            zeros++;
+        }
+        return zeros;
+    }
+
+    private static int digitOf(char c) {
+        int digit = c < 128 ? INDEXES[c] : -1;
+        if (digit == -1) {
+            throw new IllegalArgumentException("Invalid character for Base58Check: " + c);
         }
-        return numBytes;
+        return digit;
     }
 
 }
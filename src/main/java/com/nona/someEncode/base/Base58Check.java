@@ -0,0 +1,170 @@
+package com.nona.someEncode.base;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+/**
+ * 提供base58check的编码、解码
+ * <p>
+ * 组成为：version(1byte) + payload + checksum(4byte)<br/>
+ * checksum = sha256(sha256(version + payload))的前4byte
+ * <p>
+ * 编码时三部分直接写在同一个数组里；解码时先校验checksum，不通过直接抛出异常，
+ * 校验通过才把内容拷贝给调用方
+ *
+ * @author nona9961
+ * @date 2026/10/18 11:20
+ */
+public class Base58Check {
+
+    public static final int VERSION_LENGTH = 1;
+    public static final int CHECKSUM_LENGTH = 4;
+
+    private static final int SHA256_LENGTH = 32;
+
+    /**
+     * 对version + payload进行base58check编码
+     *
+     * @param version 版本（前缀）
+     * @param payload 内容
+     * @return base58check字符串
+     */
+    public static String encode(byte version, byte[] payload) {
+        return encode(version, payload, 0, payload.length);
+    }
+
+    /**
+     * 对version + payload[off, off + len)进行base58check编码
+     *
+     * @param version 版本（前缀）
+     * @param payload 内容
+     * @param off     起始位置
+     * @param len     长度
+     * @return base58check字符串
+     */
+    public static String encode(byte version, byte[] payload, int off, int len) {
+        byte[] buffer = new byte[VERSION_LENGTH + len + CHECKSUM_LENGTH];
+        buffer[0] = version;
+        System.arraycopy(payload, off, buffer, VERSION_LENGTH, len);
+        writeChecksum(buffer, VERSION_LENGTH + len);
+        return Base58.encode(buffer);
+    }
+
+    /**
+     * 对已经带有version的数据进行base58check编码
+     *
+     * @param versionedPayload version + payload
+     * @return base58check字符串
+     */
+    public static String encode(byte[] versionedPayload) {
+        byte[] buffer = new byte[versionedPayload.length + CHECKSUM_LENGTH];
+        System.arraycopy(versionedPayload, 0, buffer, 0, versionedPayload.length);
+        writeChecksum(buffer, versionedPayload.length);
+        return Base58.encode(buffer);
+    }
+
+    /**
+     * 解码并校验checksum
+     *
+     * @param base58Check base58check字符串
+     * @return version + payload
+     */
+    public static byte[] decode(String base58Check) {
+        byte[] buffer = newBuffer(base58Check);
+        byte[] versionedPayload = new byte[decodeChecked(base58Check, buffer)];
+        System.arraycopy(buffer, 0, versionedPayload, 0, versionedPayload.length);
+        return versionedPayload;
+    }
+
+    /**
+     * 解码并校验checksum，将version + payload写入调用方提供的数组
+     *
+     * @param base58Check base58check字符串
+     * @param dst         目标数组
+     * @param off         目标起始位置
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence base58Check, byte[] dst, int off) {
+        byte[] buffer = newBuffer(base58Check);
+        int length = decodeChecked(base58Check, buffer);
+        System.arraycopy(buffer, 0, dst, off, length);
+        return length;
+    }
+
+    /**
+     * 解码并校验checksum和version，只将payload写入调用方提供的数组
+     *
+     * @param base58Check     base58check字符串
+     * @param expectedVersion 期望的版本（前缀）
+     * @param dst             目标数组
+     * @param off             目标起始位置
+     * @return 写入的字节数
+     */
+    public static int decodePayload(CharSequence base58Check, byte expectedVersion, byte[] dst, int off) {
+        byte[] buffer = newBuffer(base58Check);
+        int length = decodeChecked(base58Check, buffer) - VERSION_LENGTH;
+        if (buffer[0] != expectedVersion) {
+            throw new IllegalArgumentException("Invalid version for Base58Check: " + (buffer[0] & 0xFF));
+        }
+        System.arraycopy(buffer, VERSION_LENGTH, dst, off, length);
+        return length;
+    }
+
+    /**
+     * 是否是合法的base58check字符串
+     *
+     * @param base58Check base58check字符串
+     * @return 字符合法且checksum正确时为true
+     */
+    public static boolean isValid(CharSequence base58Check) {
+        try {
+            decodeChecked(base58Check, newBuffer(base58Check));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /*================================== private method ===============================================*/
+
+    private static byte[] newBuffer(CharSequence base58Check) {
+        return new byte[Base58.maxDecodedLength(base58Check.length())];
+    }
+
+    /**
+     * 解码到buffer并校验checksum，buffer从0开始依次是version、payload、checksum
+     *
+     * @return version + payload的长度
+     */
+    private static int decodeChecked(CharSequence base58Check, byte[] buffer) {
+        int length = Base58.decode(base58Check, buffer, 0);
+        if (length < VERSION_LENGTH + CHECKSUM_LENGTH) {
+            throw new IllegalArgumentException("Base58Check data is too short: " + length);
+        }
+        int dataLength = length - CHECKSUM_LENGTH;
+        byte[] hash = doubleSha256(buffer, dataLength);
+        for (int i = 0; i < CHECKSUM_LENGTH; i++) {
+            if (hash[i] != buffer[dataLength + i]) {
+                throw new IllegalArgumentException("Invalid checksum for Base58Check");
+            }
+        }
+        return dataLength;
+    }
+
+    /**
+     * 在buffer[dataLength, dataLength + 4)写入buffer[0, dataLength)的checksum
+     */
+    private static void writeChecksum(byte[] buffer, int dataLength) {
+        byte[] hash = doubleSha256(buffer, dataLength);
+        System.arraycopy(hash, 0, buffer, dataLength, CHECKSUM_LENGTH);
+    }
+
+    private static byte[] doubleSha256(byte[] data, int length) {
+        SHA256Digest digest = new SHA256Digest();
+        byte[] hash = new byte[SHA256_LENGTH];
+        digest.update(data, 0, length);
+        digest.doFinal(hash, 0);
+        digest.update(hash, 0, SHA256_LENGTH);
+        digest.doFinal(hash, 0);
+        return hash;
+    }
+}
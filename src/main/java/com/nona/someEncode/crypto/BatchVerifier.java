@@ -0,0 +1,283 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 随机线性组合的批量ECDSA验签
+ * <p>
+ * 单个签名验证的是 R = u1·G + u2·Q，其中 u1 = e/s，u2 = r/s。
+ * 用签名里的v还原出R后，对一批签名取随机权重a_i，只需检查
+ * <pre>
+ * (Σ a_i·u1_i)·G + Σ (a_i·u2_i)·Q_i - Σ a_i·R_i = O
+ * </pre>
+ * 整批只做一次多标量乘法（分桶法，见{@link #multiScalarMultiply(ECPoint[], BigInteger[])}）。等式不成立时对半拆分继续检查，拆到单个签名时按普通方式验证，
+ * 所以结果和逐个验证完全相同。没有v或还原不出R的签名直接逐个验证
+ *
+ * @author nona9961
+ * @date 2026/10/18 16:10
+ */
+final class BatchVerifier {
+
+    /**
+     * 每个fork/join任务负责的签名数，也是一次多标量乘法的最大规模。
+     * 分桶法的点越多摊得越薄，但块太大时出错后二分的代价也越大
+     */
+    static final int CHUNK = 256;
+    private static final int WEIGHT_BITS = 128;
+    /**
+     * 随机权重用的SecureRandom，每个工作线程一个，不必每块都新建
+     */
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private BatchVerifier() {
+    }
+
+    static boolean[] verify(byte[][] hashes, byte[][] signatures, byte[][] pubs, ForkJoinPool pool) {
+        if (hashes.length != signatures.length || hashes.length != pubs.length) {
+            throw new IllegalArgumentException("hashes, signatures and pubs should have the same length");
+        }
+        boolean[] results = new boolean[hashes.length];
+        if (pool == null) {
+            // 在当前线程逐块验证，不经过fork/join，否则invokeAll会把一半的任务交给commonPool
+            for (int from = 0; from < hashes.length; from += CHUNK) {
+                verifyChunk(hashes, signatures, pubs, results, from, Math.min(from + CHUNK, hashes.length));
+            }
+        } else {
+            pool.invoke(new ChunkTask(hashes, signatures, pubs, results, 0, hashes.length));
+        }
+        return results;
+    }
+
+    /**
+     * 解析后的签名，解析失败时为null
+     */
+    static Item parse(byte[] hash, byte[] signature, byte[] pub) {
+        if (hash == null || hash.length == 0 || signature == null || pub == null) {
+            return null;
+        }
+        if (signature.length != SigningKey.SIGNATURE_LENGTH && signature.length != SigningKey.COMPACT_SIGNATURE_LENGTH) {
+            return null;
+        }
+        BigInteger n = SECP256K1Support.getCurve().getN();
+        BigInteger r = BigIntegers.fromUnsignedByteArray(signature, 0, 32);
+        BigInteger s = BigIntegers.fromUnsignedByteArray(signature, 32, 32);
+        if (r.signum() == 0 || r.compareTo(n) >= 0 || s.signum() == 0 || s.compareTo(n) >= 0) {
+            return null;
+        }
+        ECPoint q = SECP256K1Support.decodePublicKey(pub);
+        if (q == null) {
+            return null;
+        }
+        BigInteger w = BigIntegers.modOddInverseVar(n, s);
+        Item item = new Item();
+        item.r = r;
+        item.q = q;
+        item.u1 = SECP256K1Support.calculateE(hash).multiply(w).mod(n);
+        item.u2 = r.multiply(w).mod(n);
+        if (signature.length == SigningKey.SIGNATURE_LENGTH) {
+            int v = signature[64] & 0xFF;
+            int recId = v >= 27 ? v - 27 : v;
+            if (recId <= 3) {
+                item.bigR = SECP256K1Support.decompressR(r, recId);
+            }
+        }
+        return item;
+    }
+
+    /**
+     * 普通的单个验签
+     */
+    static boolean verifySingle(Item item) {
+        ECPoint x = ECAlgorithms.sumOfTwoMultiplies(SECP256K1Support.getCurve().getG(), item.u1, item.q, item.u2).normalize();
+        if (x.isInfinity()) {
+            return false;
+        }
+        BigInteger n = SECP256K1Support.getCurve().getN();
+        return x.getAffineXCoord().toBigInteger().mod(n).equals(item.r);
+    }
+
+    /**
+     * 验证[from, to)这一块：能还原R的合并验证，其余的逐个验证
+     */
+    private static void verifyChunk(byte[][] hashes, byte[][] signatures, byte[][] pubs, boolean[] results, int from, int to) {
+        Item[] batch = new Item[to - from];
+        int[] indexes = new int[to - from];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            Item item = parse(hashes[i], signatures[i], pubs[i]);
+            if (item == null) {
+                results[i] = false;
+            } else if (item.bigR == null) {
+                results[i] = verifySingle(item);
+            } else {
+                batch[size] = item;
+                indexes[size++] = i;
+            }
+        }
+        if (size > 0) {
+            bisect(batch, indexes, 0, size, results, RANDOM.get());
+        }
+    }
+
+    /**
+     * 验证items[from, to)，结果写入results[indexes[i]]
+     */
+    private static void bisect(Item[] items, int[] indexes, int from, int to, boolean[] results, SecureRandom random) {
+        if (to - from == 1) {
+            results[indexes[from]] = verifySingle(items[from]);
+            return;
+        }
+        if (batchHolds(items, from, to, random)) {
+            for (int i = from; i < to; i++) {
+                results[indexes[i]] = true;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        bisect(items, indexes, from, middle, results, random);
+        bisect(items, indexes, middle, to, results, random);
+    }
+
+    private static boolean batchHolds(Item[] items, int from, int to, SecureRandom random) {
+        BigInteger n = SECP256K1Support.getCurve().getN();
+        int count = to - from;
+        ECPoint[] points = new ECPoint[2 * count + 1];
+        BigInteger[] scalars = new BigInteger[2 * count + 1];
+        BigInteger gScalar = BigInteger.ZERO;
+        for (int i = 0; i < count; i++) {
+            Item item = items[from + i];
+            // 最高位置1，保证权重非0
+            BigInteger a = new BigInteger(WEIGHT_BITS - 1, random).setBit(WEIGHT_BITS - 1);
+            gScalar = gScalar.add(a.multiply(item.u1));
+            points[1 + i] = item.q;
+            scalars[1 + i] = a.multiply(item.u2).mod(n);
+            points[1 + count + i] = item.bigR;
+            scalars[1 + count + i] = n.subtract(a);
+        }
+        points[0] = SECP256K1Support.getCurve().getG();
+        scalars[0] = gScalar.mod(n);
+        return multiScalarMultiply(points, scalars).isInfinity();
+    }
+
+    /**
+     * 分桶法（Pippenger）计算 Σ k_i·P_i
+     * <p>
+     * 标量按c位一组从高到低处理：每一组里把点按该组的取值放进对应的桶，再用前缀和求出 Σ j·bucket_j，
+     * 组与组之间做c次倍点。点数为m时总共约 (256/c)·(m + 2^(c+1)) 次加法，和m个点各自做标量乘法相比省掉了绝大部分倍点。
+     * 输入的点都是仿射坐标，放进桶时走混合坐标的加法
+     */
+    static ECPoint multiScalarMultiply(ECPoint[] points, BigInteger[] scalars) {
+        int count = points.length;
+        int maxBits = 0;
+        int[][] digits = new int[count][];
+        for (int i = 0; i < count; i++) {
+            maxBits = Math.max(maxBits, scalars[i].bitLength());
+            digits[i] = toWords(scalars[i]);
+        }
+        int c = windowBits(count);
+        int mask = (1 << c) - 1;
+        ECPoint infinity = points[0].getCurve().getInfinity();
+        ECPoint[] buckets = new ECPoint[mask];
+        ECPoint result = infinity;
+        for (int window = (maxBits + c - 1) / c - 1; window >= 0; window--) {
+            for (int i = 0; i < c; i++) {
+                result = result.twice();
+            }
+            Arrays.fill(buckets, null);
+            int offset = window * c;
+            for (int i = 0; i < count; i++) {
+                int[] words = digits[i];
+                int word = offset >>> 5;
+                if (word >= words.length - 1) {
+                    continue;
+                }
+                long pair = (words[word] & 0xFFFFFFFFL) | ((long) words[word + 1] << 32);
+                int digit = (int) (pair >>> (offset & 31)) & mask;
+                if (digit != 0) {
+                    ECPoint bucket = buckets[digit - 1];
+                    buckets[digit - 1] = bucket == null ? points[i] : bucket.add(points[i]);
+                }
+            }
+            ECPoint running = infinity;
+            ECPoint windowSum = infinity;
+            for (int j = mask - 1; j >= 0; j--) {
+                if (buckets[j] != null) {
+                    running = running.add(buckets[j]);
+                }
+                windowSum = windowSum.add(running);
+            }
+            result = result.add(windowSum);
+        }
+        return result;
+    }
+
+    /**
+     * 每组的位数，约为log2(点数) - 2
+     */
+    private static int windowBits(int count) {
+        int log2 = 31 - Integer.numberOfLeadingZeros(count);
+        return Math.max(2, Math.min(12, log2 - 2));
+    }
+
+    /**
+     * 转为小端的32位字，末尾多留一个0方便跨字取位
+     */
+    private static int[] toWords(BigInteger k) {
+        byte[] bytes = k.toByteArray();
+        int[] words = new int[(bytes.length + 3) / 4 + 1];
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 2] |= (bytes[bytes.length - 1 - i] & 0xFF) << ((i & 3) << 3);
+        }
+        return words;
+    }
+
+    static final class Item {
+        private BigInteger r;
+        private BigInteger u1;
+        private BigInteger u2;
+        private ECPoint q;
+        /**
+         * 由r和v还原的R，还原不出时为null
+         */
+        private ECPoint bigR;
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[][] hashes;
+        private final byte[][] signatures;
+        private final byte[][] pubs;
+        private final boolean[] results;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(byte[][] hashes, byte[][] signatures, byte[][] pubs, boolean[] results, int from, int to) {
+            this.hashes = hashes;
+            this.signatures = signatures;
+            this.pubs = pubs;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ChunkTask(hashes, signatures, pubs, results, from, middle),
+                        new ChunkTask(hashes, signatures, pubs, results, middle, to));
+                return;
+            }
+            verifyChunk(hashes, signatures, pubs, results, from, to);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.nona.someEncode.crypto;
+
+import lombok.extern.log4j.Log4j2;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECLookupTable;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.Arrays;
+import org.bouncycastle.util.BigIntegers;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.SecureRandom;
+
+/**
+ * 生成元G的定长窗口预计算表，用于计算k·G
+ * <p>
+ * 把k按windowBits位一组切成若干窗口，第i个窗口预先存好 j·2^(windowBits·i)·G + O（j = 0 .. 2^windowBits - 1），
+ * 于是 k·G 只需要把每个窗口对应的点加起来，再减去所有窗口的偏移点O，不需要任何倍点运算。
+ * 表中的点都是仿射坐标（z = 1），加法走混合坐标的快速路径。
+ * <table>
+ * <tr><td>windowBits</td><td>点数</td><td>文件大小</td><td>加法次数</td></tr>
+ * <tr><td>4</td><td>1024</td><td>64KB</td><td>65</td></tr>
+ * <tr><td>6</td><td>2752</td><td>172KB</td><td>44</td></tr>
+ * <tr><td>8</td><td>8192</td><td>512KB</td><td>33</td></tr>
+ * <tr><td>12</td><td>90112</td><td>5.5MB</td><td>23</td></tr>
+ * </table>
+ * 进程内共享一张表（{@link #shared()}），公钥推导、签名的nonce、生成私钥都用它，k都是秘密，所以和bouncycastle的
+ * FixedPointCombMultiplier一样防时间和缓存侧信道：
+ * <ul>
+ * <li>每个窗口的点放在{@link ECCurve#createCacheSafeLookupTable}生成的查找表里，每次查找都带掩码扫一遍整个窗口，访问的内存与k无关</li>
+ * <li>因为有偏移点O，窗口的值为0时查到的也是普通的点，每个窗口都做一次加法，不按k跳过</li>
+ * </ul>
+ * 表可以保存到文件，启动时通过系统属性{@value #FILE_PROPERTY}指定文件，内存映射后直接读出点坐标，省掉预计算。
+ * 文件头里有点坐标的SHA-256，加载时校验，再和bouncycastle对比满位宽的标量的结果，不一致就不使用
+ *
+ * @author nona9961
+ * @date 2026/10/18 17:10
+ */
+@Log4j2
+public final class GeneratorTable {
+
+    /**
+     * 查找表每次都扫描整个窗口，窗口太大反而变慢，6位时最快
+     */
+    public static final int DEFAULT_WINDOW_BITS = 6;
+    public static final int MAX_WINDOW_BITS = 12;
+    /**
+     * 启动时加载的表文件
+     */
+    public static final String FILE_PROPERTY = "some-encode.generator-table.file";
+    /**
+     * 没有表文件时预计算使用的窗口位数
+     */
+    public static final String WINDOW_BITS_PROPERTY = "some-encode.generator-table.window-bits";
+
+    private static final int MAGIC = 0x53454754;
+    private static final int VERSION = 2;
+    private static final int DIGEST_LENGTH = 32;
+    private static final int HEADER_LENGTH = 16 + DIGEST_LENGTH;
+    private static final int COORDINATE_LENGTH = 32;
+    private static final int SCALAR_BITS = 256;
+    /**
+     * 偏移点O = SHA-256(OFFSET_SEED)·G，固定下来保证保存的表可以再加载
+     */
+    private static final String OFFSET_SEED = "some-encode.generator-table.offset";
+
+    private static volatile GeneratorTable shared;
+
+    private final int windowBits;
+    private final int windowCount;
+    /**
+     * 取一个窗口的值的掩码：2^windowBits - 1
+     */
+    private final int mask;
+    private final ECPoint[] points;
+    /**
+     * 每个窗口一个查找表，查找时扫描整个窗口
+     */
+    private final ECLookupTable[] lookupTables;
+    /**
+     * -(windowCount·O)
+     */
+    private final ECPoint negatedOffsets;
+
+    private GeneratorTable(int windowBits, ECPoint[] points) {
+        this.windowBits = windowBits;
+        this.windowCount = windowCount(windowBits);
+        this.mask = (1 << windowBits) - 1;
+        this.points = points;
+        ECCurve curve = SECP256K1Support.getCurve().getCurve();
+        this.lookupTables = new ECLookupTable[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            lookupTables[i] = curve.createCacheSafeLookupTable(points, i << windowBits, 1 << windowBits);
+        }
+        this.negatedOffsets = offset().multiply(BigInteger.valueOf(windowCount)).negate().normalize();
+    }
+
+    /**
+     * 进程内共享的表，第一次使用时按系统属性加载文件或预计算
+     *
+     * @return 共享的表
+     */
+    public static GeneratorTable shared() {
+        GeneratorTable table = shared;
+        if (table == null) {
+            synchronized (GeneratorTable.class) {
+                table = shared;
+                if (table == null) {
+                    table = initShared();
+                    shared = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * 替换进程内共享的表
+     *
+     * @param table 新的表
+     */
+    public static void install(GeneratorTable table) {
+        if (table == null) {
+            throw new IllegalArgumentException("generator table is null");
+        }
+        shared = table;
+    }
+
+    /**
+     * 预计算
+     *
+     * @param windowBits 窗口位数，1到{@value #MAX_WINDOW_BITS}
+     * @return 表
+     */
+    public static GeneratorTable build(int windowBits) {
+        checkWindowBits(windowBits);
+        ECPoint g = SECP256K1Support.getCurve().getG();
+        ECPoint offset = offset();
+        int size = 1 << windowBits;
+        int windowCount = windowCount(windowBits);
+        ECPoint[] points = new ECPoint[windowCount * size];
+        ECPoint base = g;
+        for (int i = 0; i < windowCount; i++) {
+            ECPoint entry = offset;
+            for (int j = 0; j < size; j++) {
+                points[i * size + j] = entry;
+                entry = entry.add(base);
+            }
+            // 下一个窗口的基点 2^windowBits·base，就是这里累加出来的 size·base
+            base = entry.subtract(offset);
+        }
+        // 批量求逆，一次转成仿射坐标
+        g.getCurve().normalizeAll(points);
+        return new GeneratorTable(windowBits, points);
+    }
+
+    /**
+     * 从文件加载，文件以只读方式内存映射
+     *
+     * @param file 由{@link #save(Path)}保存的文件
+     * @return 表
+     * @throws IOException 读取失败或文件内容不合法
+     */
+    public static GeneratorTable load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_LENGTH || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("not a generator table file: " + file);
+            }
+            int windowBits = buffer.getInt();
+            int pointCount = buffer.getInt();
+            if (windowBits < 1 || windowBits > MAX_WINDOW_BITS
+                    || pointCount != windowCount(windowBits) << windowBits
+                    || buffer.remaining() != DIGEST_LENGTH + pointCount * 2 * COORDINATE_LENGTH) {
+                throw new IOException("corrupted generator table file: " + file);
+            }
+            byte[] digest = new byte[DIGEST_LENGTH];
+            buffer.get(digest);
+            if (!Arrays.constantTimeAreEqual(digest, digest(buffer.duplicate()))) {
+                throw new IOException("generator table file digest mismatch: " + file);
+            }
+            ECCurve curve = SECP256K1Support.getCurve().getCurve();
+            ECPoint[] points = new ECPoint[pointCount];
+            byte[] coordinate = new byte[COORDINATE_LENGTH];
+            for (int i = 0; i < pointCount; i++) {
+                buffer.get(coordinate);
+                BigInteger x = BigIntegers.fromUnsignedByteArray(coordinate);
+                buffer.get(coordinate);
+                BigInteger y = BigIntegers.fromUnsignedByteArray(coordinate);
+                ECPoint point = curve.createPoint(x, y);
+                if (!point.isValid()) {
+                    throw new IOException("corrupted generator table file: " + file);
+                }
+                points[i] = point;
+            }
+            GeneratorTable table = new GeneratorTable(windowBits, points);
+            // 用满位宽的标量和bouncycastle对比，每个窗口都参与，防止文件是旧的或者用别的参数生成的
+            ECPoint g = SECP256K1Support.getCurve().getG();
+            BigInteger n = SECP256K1Support.getCurve().getN();
+            for (BigInteger k : new BigInteger[]{n.subtract(BigInteger.ONE), new BigInteger(SCALAR_BITS, new SecureRandom()).mod(n)}) {
+                if (!table.multiply(k).equals(g.multiply(k))) {
+                    throw new IOException("generator table file does not match secp256k1: " + file);
+                }
+            }
+            return table;
+        }
+    }
+
+    /**
+     * 保存到文件，已存在则覆盖
+     *
+     * @param file 文件
+     * @throws IOException 写入失败
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH + points.length * 2 * COORDINATE_LENGTH);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(windowBits).putInt(points.length);
+        // 先留出摘要的位置
+        buffer.position(HEADER_LENGTH);
+        byte[] coordinate = new byte[COORDINATE_LENGTH];
+        for (ECPoint point : points) {
+            BigIntegers.asUnsignedByteArray(point.getAffineXCoord().toBigInteger(), coordinate, 0, COORDINATE_LENGTH);
+            buffer.put(coordinate);
+            BigIntegers.asUnsignedByteArray(point.getAffineYCoord().toBigInteger(), coordinate, 0, COORDINATE_LENGTH);
+            buffer.put(coordinate);
+        }
+        buffer.flip();
+        buffer.position(HEADER_LENGTH);
+        byte[] digest = digest(buffer.duplicate());
+        buffer.position(HEADER_LENGTH - DIGEST_LENGTH);
+        buffer.put(digest);
+        buffer.position(0);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * 计算k·G，结果没有normalize。每个窗口都扫描整个查找表、都做一次加法，访问的内存和加法次数与k无关
+     *
+     * @param k 标量，0 <= k < 2^256
+     * @return k·G
+     */
+    public ECPoint multiply(BigInteger k) {
+        if (k.signum() < 0 || k.bitLength() > SCALAR_BITS) {
+            throw new IllegalArgumentException("scalar should be in [0, 2^256)");
+        }
+        // 小端的32位字，多留一个0方便跨字取窗口
+        int[] words = new int[SCALAR_BITS / Integer.SIZE + 1];
+        byte[] bytes = BigIntegers.asUnsignedByteArray(SCALAR_BITS / Byte.SIZE, k);
+        for (int i = 0; i < bytes.length; i++) {
+            words[i >>> 2] |= (bytes[bytes.length - 1 - i] & 0xFF) << ((i & 3) << 3);
+        }
+        ECPoint result = negatedOffsets;
+        for (int i = 0; i < windowCount; i++) {
+            int offset = i * windowBits;
+            int word = offset >>> 5;
+            long pair = (words[word] & 0xFFFFFFFFL) | ((long) words[word + 1] << 32);
+            int digit = (int) (pair >>> (offset & 31)) & mask;
+            result = result.add(lookupTables[i].lookup(digit));
+        }
+        return result;
+    }
+
+    public int getWindowBits() {
+        return windowBits;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private static GeneratorTable initShared() {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null && Files.exists(Paths.get(file))) {
+            try {
+                return load(Paths.get(file));
+            } catch (IOException e) {
+                log.error("load generator table from " + file + " failed, rebuild it", e);
+            }
+        }
+        int windowBits = Integer.getInteger(WINDOW_BITS_PROPERTY, DEFAULT_WINDOW_BITS);
+        return build(windowBits);
+    }
+
+    /**
+     * 偏移点O，使窗口的值为0时查到的也不是无穷远点
+     */
+    private static ECPoint offset() {
+        byte[] seed = OFFSET_SEED.getBytes(StandardCharsets.US_ASCII);
+        SHA256Digest sha256 = new SHA256Digest();
+        sha256.update(seed, 0, seed.length);
+        byte[] hash = new byte[DIGEST_LENGTH];
+        sha256.doFinal(hash, 0);
+        BigInteger k = new BigInteger(1, hash).mod(SECP256K1Support.getCurve().getN());
+        return SECP256K1Support.getCurve().getG().multiply(k).normalize();
+    }
+
+    /**
+     * buffer从position到limit的SHA-256
+     */
+    private static byte[] digest(ByteBuffer buffer) {
+        SHA256Digest sha256 = new SHA256Digest();
+        byte[] chunk = new byte[8192];
+        while (buffer.hasRemaining()) {
+            int length = Math.min(chunk.length, buffer.remaining());
+            buffer.get(chunk, 0, length);
+            sha256.update(chunk, 0, length);
+        }
+        byte[] digest = new byte[DIGEST_LENGTH];
+        sha256.doFinal(digest, 0);
+        return digest;
+    }
+
+    private static int windowCount(int windowBits) {
+        return (SCALAR_BITS + windowBits - 1) / windowBits;
+    }
+
+    private static void checkWindowBits(int windowBits) {
+        if (windowBits < 1 || windowBits > MAX_WINDOW_BITS) {
+            throw new IllegalArgumentException("windowBits should be in [1, " + MAX_WINDOW_BITS + "]");
+        }
+    }
+}
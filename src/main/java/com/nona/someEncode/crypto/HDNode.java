@@ -0,0 +1,411 @@
+package com.nona.someEncode.crypto;
+
+import com.nona.someEncode.base.Base58Check;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * BIP32分层确定性钱包的一个节点（扩展密钥）
+ * <p>
+ * 有私钥的节点可以派生普通和硬化（hardened）子节点；只有公钥的节点（xpub）只能派生普通子节点。
+ * 子节点序号大于等于{@link #HARDENED_BIT}（即作为int是负数）时为硬化派生。节点不可变，线程安全
+ *
+ * @author nona9961
+ * @date 2026/10/18 20:00
+ */
+public final class HDNode {
+
+    public static final int HARDENED_BIT = 0x80000000;
+    public static final int CHAIN_CODE_LENGTH = 32;
+    public static final int MIN_SEED_LENGTH = 16;
+    public static final int MAX_SEED_LENGTH = 64;
+
+    /**
+     * 序列化版本：主网xprv/xpub，测试网tprv/tpub
+     */
+    public static final int MAIN_NET_PRIVATE_VERSION = 0x0488ADE4;
+    public static final int MAIN_NET_PUBLIC_VERSION = 0x0488B21E;
+    public static final int TEST_NET_PRIVATE_VERSION = 0x04358394;
+    public static final int TEST_NET_PUBLIC_VERSION = 0x043587CF;
+
+    private static final byte[] MASTER_HMAC_KEY = "Bitcoin seed".getBytes(StandardCharsets.US_ASCII);
+    private static final int SERIALIZED_LENGTH = 78;
+    private static final int KEY_LENGTH = 32;
+    private static final int COMPRESSED_PUB_LENGTH = 33;
+
+    private final int depth;
+    private final int parentFingerprint;
+    private final int childNumber;
+    private final byte[] chainCode;
+    /**
+     * 只有公钥时为null
+     */
+    private final BigInteger privateKey;
+    private volatile ECPoint publicPoint;
+    /**
+     * 派生子节点时都要用到，算过一次后缓存，0表示还没算（真的是0时只是多算几次）
+     */
+    private volatile int fingerprint;
+
+    private HDNode(int depth, int parentFingerprint, int childNumber, byte[] chainCode, BigInteger privateKey, ECPoint publicPoint) {
+        this.depth = depth;
+        this.parentFingerprint = parentFingerprint;
+        this.childNumber = childNumber;
+        this.chainCode = chainCode;
+        this.privateKey = privateKey;
+        this.publicPoint = publicPoint;
+    }
+
+    /**
+     * 由种子生成主节点m
+     *
+     * @param seed 种子，16到64byte，比如BIP39助记词得到的64byte种子
+     * @return 主节点
+     */
+    public static HDNode fromSeed(byte[] seed) {
+        if (seed == null || seed.length < MIN_SEED_LENGTH || seed.length > MAX_SEED_LENGTH) {
+            throw new IllegalArgumentException("seed should be 16 to 64 bytes");
+        }
+        byte[] i = hmacSha512(MASTER_HMAC_KEY, seed, seed.length);
+        BigInteger key = new BigInteger(1, Arrays.copyOfRange(i, 0, KEY_LENGTH));
+        if (key.signum() == 0 || key.compareTo(SECP256K1Support.getCurve().getN()) >= 0) {
+            throw new IllegalArgumentException("invalid seed, please use another one");
+        }
+        return new HDNode(0, 0, 0, Arrays.copyOfRange(i, KEY_LENGTH, i.length), key, null);
+    }
+
+    /**
+     * 解析xprv/xpub（以及测试网的tprv/tpub）
+     *
+     * @param extendedKey Base58Check编码的扩展密钥
+     * @return 节点
+     */
+    public static HDNode fromExtendedKey(String extendedKey) {
+        byte[] data = Base58Check.decode(extendedKey);
+        if (data.length != SERIALIZED_LENGTH) {
+            throw new IllegalArgumentException("invalid extended key length");
+        }
+        int version = readInt(data, 0);
+        int depth = data[4] & 0xFF;
+        int parentFingerprint = readInt(data, 5);
+        int childNumber = readInt(data, 9);
+        byte[] chainCode = Arrays.copyOfRange(data, 13, 13 + CHAIN_CODE_LENGTH);
+        byte[] key = Arrays.copyOfRange(data, 13 + CHAIN_CODE_LENGTH, SERIALIZED_LENGTH);
+        if (depth == 0 && (parentFingerprint != 0 || childNumber != 0)) {
+            throw new IllegalArgumentException("invalid extended key: master key with parent");
+        }
+        if (version == MAIN_NET_PRIVATE_VERSION || version == TEST_NET_PRIVATE_VERSION) {
+            if (key[0] != 0) {
+                throw new IllegalArgumentException("invalid extended private key");
+            }
+            BigInteger d = new BigInteger(1, Arrays.copyOfRange(key, 1, key.length));
+            if (d.signum() == 0 || d.compareTo(SECP256K1Support.getCurve().getN()) >= 0) {
+                throw new IllegalArgumentException("invalid extended private key");
+            }
+            return new HDNode(depth, parentFingerprint, childNumber, chainCode, d, null);
+        }
+        if (version == MAIN_NET_PUBLIC_VERSION || version == TEST_NET_PUBLIC_VERSION) {
+            ECPoint point = key[0] == 0x02 || key[0] == 0x03 ? SECP256K1Support.decodePublicKey(key) : null;
+            if (point == null) {
+                throw new IllegalArgumentException("invalid extended public key");
+            }
+            return new HDNode(depth, parentFingerprint, childNumber, chainCode, null, point.normalize());
+        }
+        throw new IllegalArgumentException("unknown extended key version: " + Integer.toHexString(version));
+    }
+
+    /**
+     * 硬化的序号
+     *
+     * @param index 0到2^31 - 1
+     * @return index + 2^31
+     */
+    public static int hardened(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("index should not be negative");
+        }
+        return index | HARDENED_BIT;
+    }
+
+    /**
+     * 解析路径，如m/44'/195'/0'/0/1，硬化用'、h或H标记，开头的m/M可以省略
+     *
+     * @param path 路径
+     * @return 每一级的子节点序号
+     */
+    public static int[] parsePath(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("path is empty");
+        }
+        String[] parts = path.split("/");
+        int start = parts[0].equals("m") || parts[0].equals("M") ? 1 : 0;
+        int[] indexes = new int[parts.length - start];
+        for (int i = start; i < parts.length; i++) {
+            String part = parts[i];
+            boolean hardened = part.endsWith("'") || part.endsWith("h") || part.endsWith("H");
+            String number = hardened ? part.substring(0, part.length() - 1) : part;
+            int index;
+            try {
+                index = Integer.parseInt(number);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid path: " + path);
+            }
+            if (index < 0 || number.startsWith("+")) {
+                throw new IllegalArgumentException("invalid path: " + path);
+            }
+            indexes[i - start] = hardened ? index | HARDENED_BIT : index;
+        }
+        return indexes;
+    }
+
+    /**
+     * 派生一个子节点
+     *
+     * @param index 子节点序号，大于等于2^31（负数）为硬化派生
+     * @return 子节点
+     */
+    public HDNode derive(int index) {
+        boolean hardened = (index & HARDENED_BIT) != 0;
+        if (hardened && privateKey == null) {
+            throw new IllegalArgumentException("can not derive hardened child from public key");
+        }
+        if (depth == 0xFF) {
+            throw new IllegalArgumentException("depth is too large");
+        }
+        byte[] data = new byte[COMPRESSED_PUB_LENGTH + 4];
+        if (hardened) {
+            BigIntegers.asUnsignedByteArray(privateKey, data, 1, KEY_LENGTH);
+        } else {
+            byte[] pub = getPublicPoint().getEncoded(true);
+            System.arraycopy(pub, 0, data, 0, COMPRESSED_PUB_LENGTH);
+        }
+        writeInt(index, data, COMPRESSED_PUB_LENGTH);
+        byte[] i = hmacSha512(chainCode, data, data.length);
+        BigInteger n = SECP256K1Support.getCurve().getN();
+        BigInteger il = new BigInteger(1, Arrays.copyOfRange(i, 0, KEY_LENGTH));
+        byte[] childChainCode = Arrays.copyOfRange(i, KEY_LENGTH, i.length);
+        if (il.compareTo(n) >= 0) {
+            throw new IllegalArgumentException("invalid child " + Integer.toUnsignedString(index) + ", please use the next index");
+        }
+        int fingerprint = getFingerprint();
+        if (privateKey != null) {
+            BigInteger childKey = il.add(privateKey).mod(n);
+            if (childKey.signum() == 0) {
+                throw new IllegalArgumentException("invalid child " + Integer.toUnsignedString(index) + ", please use the next index");
+            }
+            return new HDNode(depth + 1, fingerprint, index, childChainCode, childKey, null);
+        }
+        ECPoint childPoint = GeneratorTable.shared().multiply(il).add(getPublicPoint()).normalize();
+        if (childPoint.isInfinity()) {
+            throw new IllegalArgumentException("invalid child " + Integer.toUnsignedString(index) + ", please use the next index");
+        }
+        return new HDNode(depth + 1, fingerprint, index, childChainCode, null, childPoint);
+    }
+
+    /**
+     * 按路径逐级派生
+     *
+     * @param path 相对于本节点的路径，如m/0'/1
+     * @return 子孙节点
+     */
+    public HDNode derive(String path) {
+        return derive(parsePath(path));
+    }
+
+    /**
+     * 按路径逐级派生
+     *
+     * @param path 每一级的子节点序号
+     * @return 子孙节点
+     */
+    public HDNode derive(int... path) {
+        HDNode node = this;
+        for (int index : path) {
+            node = node.derive(index);
+        }
+        return node;
+    }
+
+    /**
+     * 去掉私钥，得到只有公钥的节点（xpub）
+     *
+     * @return 只有公钥的节点
+     */
+    public HDNode neuter() {
+        if (privateKey == null) {
+            return this;
+        }
+        return new HDNode(depth, parentFingerprint, childNumber, chainCode, null, getPublicPoint());
+    }
+
+    public boolean hasPrivateKey() {
+        return privateKey != null;
+    }
+
+    /**
+     * 私钥
+     *
+     * @return 32byte私钥
+     */
+    public byte[] getPrivateKey() {
+        if (privateKey == null) {
+            throw new IllegalStateException("public key only node has no private key");
+        }
+        return BigIntegers.asUnsignedByteArray(KEY_LENGTH, privateKey);
+    }
+
+    /**
+     * 公钥
+     *
+     * @param compressed 是否压缩
+     * @return 压缩的33byte或未压缩的65byte公钥
+     */
+    public byte[] getPublicKey(boolean compressed) {
+        return getPublicPoint().getEncoded(compressed);
+    }
+
+    public byte[] getChainCode() {
+        return chainCode.clone();
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 本节点在父节点下的序号，硬化时最高位为1
+     *
+     * @return 序号
+     */
+    public int getChildNumber() {
+        return childNumber;
+    }
+
+    public int getParentFingerprint() {
+        return parentFingerprint;
+    }
+
+    /**
+     * 指纹：ripemd160(sha256(压缩公钥))的前4byte
+     *
+     * @return 指纹
+     */
+    public int getFingerprint() {
+        if (fingerprint != 0) {
+            return fingerprint;
+        }
+        byte[] pub = getPublicPoint().getEncoded(true);
+        SHA256Digest sha256 = new SHA256Digest();
+        byte[] sha256Out = new byte[sha256.getDigestSize()];
+        sha256.update(pub, 0, pub.length);
+        sha256.doFinal(sha256Out, 0);
+        RIPEMD160Digest ripeMd160 = new RIPEMD160Digest();
+        byte[] hash = new byte[ripeMd160.getDigestSize()];
+        ripeMd160.update(sha256Out, 0, sha256Out.length);
+        ripeMd160.doFinal(hash, 0);
+        fingerprint = readInt(hash, 0);
+        return fingerprint;
+    }
+
+    /**
+     * 主网的xprv
+     *
+     * @return Base58Check编码的扩展私钥
+     */
+    public String toExtendedPrivateKey() {
+        return toExtendedPrivateKey(true);
+    }
+
+    /**
+     * xprv或tprv
+     *
+     * @param isMainNet 是否主网
+     * @return Base58Check编码的扩展私钥
+     */
+    public String toExtendedPrivateKey(boolean isMainNet) {
+        if (privateKey == null) {
+            throw new IllegalStateException("public key only node has no private key");
+        }
+        byte[] key = new byte[COMPRESSED_PUB_LENGTH];
+        BigIntegers.asUnsignedByteArray(privateKey, key, 1, KEY_LENGTH);
+        return serialize(isMainNet ? MAIN_NET_PRIVATE_VERSION : TEST_NET_PRIVATE_VERSION, key);
+    }
+
+    /**
+     * 主网的xpub
+     *
+     * @return Base58Check编码的扩展公钥
+     */
+    public String toExtendedPublicKey() {
+        return toExtendedPublicKey(true);
+    }
+
+    /**
+     * xpub或tpub
+     *
+     * @param isMainNet 是否主网
+     * @return Base58Check编码的扩展公钥
+     */
+    public String toExtendedPublicKey(boolean isMainNet) {
+        return serialize(isMainNet ? MAIN_NET_PUBLIC_VERSION : TEST_NET_PUBLIC_VERSION, getPublicPoint().getEncoded(true));
+    }
+
+    /**
+     * 只输出xpub，不输出私钥
+     */
+    @Override
+    public String toString() {
+        return toExtendedPublicKey();
+    }
+
+    /*================================== private method ===============================================*/
+
+    private ECPoint getPublicPoint() {
+        ECPoint point = this.publicPoint;
+        if (point == null) {
+            point = SECP256K1Support.getPubPoint(privateKey).normalize();
+            this.publicPoint = point;
+        }
+        return point;
+    }
+
+    private String serialize(int version, byte[] key) {
+        byte[] data = new byte[SERIALIZED_LENGTH];
+        writeInt(version, data, 0);
+        data[4] = (byte) depth;
+        writeInt(parentFingerprint, data, 5);
+        writeInt(childNumber, data, 9);
+        System.arraycopy(chainCode, 0, data, 13, CHAIN_CODE_LENGTH);
+        System.arraycopy(key, 0, data, 13 + CHAIN_CODE_LENGTH, COMPRESSED_PUB_LENGTH);
+        return Base58Check.encode(data);
+    }
+
+    private static byte[] hmacSha512(byte[] key, byte[] data, int length) {
+        HMac hmac = new HMac(new SHA512Digest());
+        hmac.init(new KeyParameter(key));
+        hmac.update(data, 0, length);
+        byte[] out = new byte[hmac.getMacSize()];
+        hmac.doFinal(out, 0);
+        return out;
+    }
+
+    private static int readInt(byte[] src, int off) {
+        return (src[off] & 0xFF) << 24 | (src[off + 1] & 0xFF) << 16 | (src[off + 2] & 0xFF) << 8 | (src[off + 3] & 0xFF);
+    }
+
+    private static void writeInt(int value, byte[] dst, int off) {
+        dst[off] = (byte) (value >>> 24);
+        dst[off + 1] = (byte) (value >>> 16);
+        dst[off + 2] = (byte) (value >>> 8);
+        dst[off + 3] = (byte) value;
+    }
+}
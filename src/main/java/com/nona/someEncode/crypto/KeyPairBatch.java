@@ -0,0 +1,116 @@
+package com.nona.someEncode.crypto;
+
+/**
+ * 批量生成的secp256k1公私钥
+ * <p>
+ * 私钥和公钥各自按生成顺序连续存放在一个数组里：私钥每个32byte，公钥是未压缩格式，每个65byte（0x04 + x + y）。
+ * 压缩公钥需要时再从未压缩公钥转换，不需要额外的点运算
+ *
+ * @author nona9961
+ * @date 2026/10/18 18:10
+ */
+public final class KeyPairBatch {
+
+    public static final int PRIVATE_KEY_LENGTH = 32;
+    public static final int PUBLIC_KEY_LENGTH = 65;
+    public static final int COMPRESSED_PUBLIC_KEY_LENGTH = 33;
+
+    private final int size;
+    private final byte[] privateKeys;
+    private final byte[] publicKeys;
+
+    KeyPairBatch(int size) {
+        this.size = size;
+        this.privateKeys = new byte[size * PRIVATE_KEY_LENGTH];
+        this.publicKeys = new byte[size * PUBLIC_KEY_LENGTH];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 所有私钥，第i个在[i * 32, i * 32 + 32)
+     * <p>
+     * 返回的是内部数组本身，没有拷贝
+     *
+     * @return 连续存放的私钥
+     */
+    public byte[] privateKeys() {
+        return privateKeys;
+    }
+
+    /**
+     * 所有未压缩公钥，第i个在[i * 65, i * 65 + 65)
+     * <p>
+     * 返回的是内部数组本身，没有拷贝
+     *
+     * @return 连续存放的公钥
+     */
+    public byte[] publicKeys() {
+        return publicKeys;
+    }
+
+    /**
+     * 第index个私钥
+     *
+     * @param index 生成顺序
+     * @return 32byte私钥
+     */
+    public byte[] getPrivateKey(int index) {
+        byte[] pri = new byte[PRIVATE_KEY_LENGTH];
+        copyPrivateKey(index, pri, 0);
+        return pri;
+    }
+
+    /**
+     * 将第index个私钥拷贝到dst[off, off + 32)
+     *
+     * @param index 生成顺序
+     * @param dst   目标数组
+     * @param off   目标起始位置
+     */
+    public void copyPrivateKey(int index, byte[] dst, int off) {
+        checkIndex(index);
+        System.arraycopy(privateKeys, index * PRIVATE_KEY_LENGTH, dst, off, PRIVATE_KEY_LENGTH);
+    }
+
+    /**
+     * 第index个公钥
+     *
+     * @param index      生成顺序
+     * @param compressed 是否压缩
+     * @return 压缩的33byte或未压缩的65byte公钥
+     */
+    public byte[] getPublicKey(int index, boolean compressed) {
+        byte[] pub = new byte[compressed ? COMPRESSED_PUBLIC_KEY_LENGTH : PUBLIC_KEY_LENGTH];
+        copyPublicKey(index, compressed, pub, 0);
+        return pub;
+    }
+
+    /**
+     * 将第index个公钥拷贝到dst，压缩时写33byte，否则写65byte
+     *
+     * @param index      生成顺序
+     * @param compressed 是否压缩
+     * @param dst        目标数组
+     * @param off        目标起始位置
+     */
+    public void copyPublicKey(int index, boolean compressed, byte[] dst, int off) {
+        checkIndex(index);
+        int from = index * PUBLIC_KEY_LENGTH;
+        if (!compressed) {
+            System.arraycopy(publicKeys, from, dst, off, PUBLIC_KEY_LENGTH);
+            return;
+        }
+        // y的奇偶决定前缀：偶数0x02，奇数0x03
+        dst[off] = (byte) (0x02 | (publicKeys[from + PUBLIC_KEY_LENGTH - 1] & 1));
+        System.arraycopy(publicKeys, from + 1, dst, off + 1, COMPRESSED_PUBLIC_KEY_LENGTH - 1);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+    }
+}
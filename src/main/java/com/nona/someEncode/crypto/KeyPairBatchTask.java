@@ -0,0 +1,81 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量生成公私钥的fork/join任务
+ * <p>
+ * 区间不超过{@link #THRESHOLD}时在当前线程生成：每个私钥都是独立的随机数，k·G走共享的{@link GeneratorTable}，
+ * 得到的点先不转仿射坐标，整段攒齐后用{@link org.bouncycastle.math.ec.ECCurve#normalizeAll(ECPoint[])}批量求逆
+ * （Montgomery trick），一段只做一次模逆
+ *
+ * @author nona9961
+ * @date 2026/10/18 18:10
+ */
+class KeyPairBatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 一次批量求逆的点数，再大对摊薄模逆已经没有帮助，反而占内存
+     */
+    static final int THRESHOLD = 256;
+
+    /**
+     * 每个工作线程一个SecureRandom，避免所有线程争用同一个
+     */
+    private static final ThreadLocal<SecureRandom> RANDOM = ThreadLocal.withInitial(SecureRandom::new);
+
+    private final KeyPairBatch batch;
+    private final int from;
+    private final int to;
+
+    KeyPairBatchTask(KeyPairBatch batch, int from, int to) {
+        this.batch = batch;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            generateRange(batch, from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new KeyPairBatchTask(batch, from, middle), new KeyPairBatchTask(batch, middle, to));
+    }
+
+    /**
+     * 顺序生成[from, to)，每THRESHOLD个点批量求逆一次
+     */
+    static void generateRange(KeyPairBatch batch, int from, int to) {
+        SecureRandom random = RANDOM.get();
+        GeneratorTable table = GeneratorTable.shared();
+        byte[] privateKeys = batch.privateKeys();
+        byte[] publicKeys = batch.publicKeys();
+        ECPoint[] points = new ECPoint[Math.min(THRESHOLD, to - from)];
+        for (int start = from; start < to; start += points.length) {
+            int count = Math.min(points.length, to - start);
+            for (int i = 0; i < count; i++) {
+                BigInteger d = SECP256K1Support.generatePrivateValue(random);
+                BigIntegers.asUnsignedByteArray(d, privateKeys, (start + i) * KeyPairBatch.PRIVATE_KEY_LENGTH, KeyPairBatch.PRIVATE_KEY_LENGTH);
+                points[i] = table.multiply(d);
+            }
+            points[0].getCurve().normalizeAll(points, 0, count, null);
+            for (int i = 0; i < count; i++) {
+                int off = (start + i) * KeyPairBatch.PUBLIC_KEY_LENGTH;
+                byte[] x = points[i].getAffineXCoord().getEncoded();
+                byte[] y = points[i].getAffineYCoord().getEncoded();
+                publicKeys[off] = 0x04;
+                System.arraycopy(x, 0, publicKeys, off + 1, x.length);
+                System.arraycopy(y, 0, publicKeys, off + 1 + x.length, y.length);
+            }
+        }
+    }
+}
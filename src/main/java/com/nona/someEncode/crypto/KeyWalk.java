@@ -0,0 +1,134 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.math.ec.ECFieldElement;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+/**
+ * 从一个随机私钥k出发，依次得到k+1, k+2, ...对应的公钥
+ * <p>
+ * 不做标量乘法：每{@value #BLOCK}个点为一块，块内第i个点是 S + i·G（S是上一块的最后一个点，i·G预先算好），
+ * 用仿射坐标的加法公式直接算，块内所有的模逆（x(i·G) - x(S)）用Montgomery trick合成一次。
+ * 一个点大约只要十来次模乘，适合靓号搜索这种只关心公钥、命中后才需要私钥的场景
+ * <p>
+ * 相邻的私钥只差1，<b>不要</b>用它批量生成给人用的私钥；非线程安全，每个线程一个
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+public final class KeyWalk {
+
+    /**
+     * 每块的点数
+     */
+    public static final int BLOCK = 1024;
+    /**
+     * 每个点在输出数组里占的长度：x(32byte) + y(32byte)
+     */
+    public static final int POINT_LENGTH = 64;
+
+    private static final int COORDINATE_LENGTH = 32;
+
+    private final ECFieldElement[] dx = new ECFieldElement[BLOCK];
+    private final ECFieldElement[] products = new ECFieldElement[BLOCK];
+
+    private BigInteger start;
+    private ECFieldElement startX;
+    private ECFieldElement startY;
+
+    /**
+     * @param random 用来取起点私钥
+     */
+    public KeyWalk(SecureRandom random) {
+        reset(SECP256K1Support.generatePrivateValue(random));
+    }
+
+    /**
+     * 算出下一块的{@value #BLOCK}个公钥，第i个写在dst[off + i * 64, off + i * 64 + 64)，格式为x + y
+     * <p>
+     * 之后可以用{@link #privateKey(int)}取第i个公钥对应的私钥，直到下一次调用本方法
+     *
+     * @param dst 目标数组，至少要有 BLOCK * 64 byte
+     * @param off 目标起始位置
+     */
+    public void nextBlock(byte[] dst, int off) {
+        ECPoint[] multiples = Multiples.POINTS;
+        // dx_i = x(i·G) - x(S)，同时累乘
+        ECFieldElement product = null;
+        for (int i = 0; i < BLOCK; i++) {
+            dx[i] = multiples[i].getAffineXCoord().subtract(startX);
+            product = i == 0 ? dx[i] : product.multiply(dx[i]);
+            products[i] = product;
+        }
+        if (product.isZero()) {
+            // S = ±i·G，概率可以忽略，换个起点重算
+            reset(start.add(BigInteger.valueOf(BLOCK)));
+            nextBlock(dst, off);
+            return;
+        }
+        ECFieldElement inverse = product.invert();
+        ECFieldElement lastX = null;
+        ECFieldElement lastY = null;
+        for (int i = BLOCK - 1; i >= 0; i--) {
+            // inverse目前是 (dx_0 ... dx_i)^-1
+            ECFieldElement dxInverse = i == 0 ? inverse : inverse.multiply(products[i - 1]);
+            inverse = inverse.multiply(dx[i]);
+            ECPoint q = multiples[i];
+            ECFieldElement lambda = q.getAffineYCoord().subtract(startY).multiply(dxInverse);
+            ECFieldElement x = lambda.square().subtract(startX).subtract(q.getAffineXCoord());
+            ECFieldElement y = lambda.multiply(startX.subtract(x)).subtract(startY);
+            int pos = off + i * POINT_LENGTH;
+            BigIntegers.asUnsignedByteArray(x.toBigInteger(), dst, pos, COORDINATE_LENGTH);
+            BigIntegers.asUnsignedByteArray(y.toBigInteger(), dst, pos + COORDINATE_LENGTH, COORDINATE_LENGTH);
+            if (i == BLOCK - 1) {
+                lastX = x;
+                lastY = y;
+            }
+        }
+        start = start.add(BigInteger.valueOf(BLOCK));
+        startX = lastX;
+        startY = lastY;
+    }
+
+    /**
+     * 最近一次{@link #nextBlock(byte[], int)}里第index个公钥对应的私钥
+     *
+     * @param index 块内序号，0到BLOCK - 1
+     * @return 32byte私钥
+     */
+    public byte[] privateKey(int index) {
+        if (index < 0 || index >= BLOCK) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+        // start已经移到了这一块的最后一个点
+        BigInteger k = start.subtract(BigInteger.valueOf(BLOCK - 1 - index)).mod(SECP256K1Support.getCurve().getN());
+        return BigIntegers.asUnsignedByteArray(COORDINATE_LENGTH, k);
+    }
+
+    private void reset(BigInteger k) {
+        start = k.mod(SECP256K1Support.getCurve().getN());
+        ECPoint s = GeneratorTable.shared().multiply(start).normalize();
+        startX = s.getAffineXCoord();
+        startY = s.getAffineYCoord();
+    }
+
+    /**
+     * 1·G到BLOCK·G，仿射坐标，第一次用到时才计算
+     */
+    private static final class Multiples {
+        private static final ECPoint[] POINTS;
+
+        static {
+            ECPoint g = SECP256K1Support.getCurve().getG();
+            POINTS = new ECPoint[BLOCK];
+            POINTS[0] = g;
+            for (int i = 1; i < BLOCK; i++) {
+                POINTS[i] = POINTS[i - 1].add(g);
+            }
+            g.getCurve().normalizeAll(POINTS);
+        }
+    }
+}
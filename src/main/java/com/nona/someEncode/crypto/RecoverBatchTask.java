@@ -0,0 +1,53 @@
+package com.nona.someEncode.crypto;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量恢复公钥（或地址）的fork/join任务，无法恢复的位置结果为null
+ *
+ * @author nona9961
+ * @date 2026/10/18 15:20
+ */
+class RecoverBatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int THRESHOLD = 32;
+
+    private final byte[][] signatures;
+    private final byte[][] hashes;
+    private final RecoverCache cache;
+    private final boolean toAddress;
+    private final byte[][] results;
+    private final int from;
+    private final int to;
+
+    RecoverBatchTask(byte[][] signatures, byte[][] hashes, RecoverCache cache, boolean toAddress, byte[][] results, int from, int to) {
+        this.signatures = signatures;
+        this.hashes = hashes;
+        this.cache = cache;
+        this.toAddress = toAddress;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            for (int i = from; i < to; i++) {
+                try {
+                    results[i] = toAddress
+                            ? SECP256K1Support.recoverAddress(signatures[i], hashes[i], cache)
+                            : SECP256K1Support.recoverPublicKey(signatures[i], hashes[i], cache);
+                } catch (RuntimeException e) {
+                    results[i] = null;
+                }
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new RecoverBatchTask(signatures, hashes, cache, toAddress, results, from, middle),
+                new RecoverBatchTask(signatures, hashes, cache, toAddress, results, middle, to));
+    }
+}
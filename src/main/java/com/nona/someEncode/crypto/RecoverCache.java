@@ -0,0 +1,124 @@
+package com.nona.someEncode.crypto;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 公钥恢复结果的缓存，key是(hash, signature)，value是未压缩的公钥
+ * <p>
+ * 按key的hash分成若干段，每段是一个加锁的LRU，总条数不超过构造时给出的上限
+ *
+ * @author nona9961
+ * @date 2026/10/18 15:20
+ */
+public final class RecoverCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final Segment[] segments;
+
+    /**
+     * @param maxEntries 最多缓存的条数
+     */
+    public RecoverCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries should be positive");
+        }
+        int segmentCapacity = (maxEntries + SEGMENT_COUNT - 1) / SEGMENT_COUNT;
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * 当前缓存的条数
+     *
+     * @return 条数
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /*================================== package method ===============================================*/
+
+    /**
+     * 返回的是缓存内部的数组，调用方不能修改
+     */
+    byte[] get(byte[] signature, byte[] hash) {
+        Key key = new Key(signature, hash);
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    void put(byte[] signature, byte[] hash, byte[] pub) {
+        Key key = new Key(signature, hash);
+        Segment segment = segmentOf(key);
+        synchronized (segment) {
+            segment.put(key, pub);
+        }
+    }
+
+    private Segment segmentOf(Key key) {
+        int h = key.hashCode;
+        return segments[(h ^ (h >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * hash和signature拼在一起作为key
+     */
+    private static final class Key {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        private Key(byte[] signature, byte[] hash) {
+            this.bytes = new byte[hash.length + signature.length];
+            System.arraycopy(hash, 0, bytes, 0, hash.length);
+            System.arraycopy(signature, 0, bytes, hash.length, signature.length);
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(bytes, ((Key) o).bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Segment extends LinkedHashMap<Key, byte[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -2,26 +2,31 @@ package com.nona.someEncode.crypto;
 
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.StrUtil;
+import com.nona.someEncode.util.Hexes;
 import lombok.extern.log4j.Log4j2;
-import org.bouncycastle.asn1.sec.SECNamedCurves;
 import org.bouncycastle.asn1.x9.X9ECParameters;
 import org.bouncycastle.asn1.x9.X9IntegerConverter;
+import org.bouncycastle.crypto.digests.KeccakDigest;
 import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.ec.CustomNamedCurves;
 import org.bouncycastle.crypto.params.ECDomainParameters;
 import org.bouncycastle.crypto.params.ECPrivateKeyParameters;
+import org.bouncycastle.crypto.signers.DSAKCalculator;
 import org.bouncycastle.crypto.signers.ECDSASigner;
 import org.bouncycastle.crypto.signers.HMacDSAKCalculator;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.bouncycastle.math.ec.ECAlgorithms;
-import org.bouncycastle.math.ec.ECCurve;
 import org.bouncycastle.math.ec.ECPoint;
-import org.bouncycastle.math.ec.FixedPointCombMultiplier;
-import org.bouncycastle.util.encoders.Hex;
+import org.bouncycastle.math.ec.WNafUtil;
+import org.bouncycastle.util.BigIntegers;
 
 import java.math.BigInteger;
 import java.security.*;
 import java.security.spec.ECGenParameterSpec;
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * 用于生成secp256k1的公私钥和签名,只做和SECP256K1相关的事情
@@ -37,8 +42,12 @@ public class SECP256K1Support {
     private static final String ALGORITHM = "ECDSA";
     private static final String PROVIDER = "BC";
     private static final String CURVE_NAME = "secp256k1";
-    private static final String HEX_PREFIX = "0x";
     private static final int HEX_PRIVATE_KEY_LENGTH = 64;
+    private static final int SIGN_COMPONENT_LENGTH = 32;
+    private static final int SIGNATURE_LENGTH = 65;
+    private static final int ADDRESS_LENGTH = 20;
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<DSAKCalculator> K_CALCULATOR = ThreadLocal.withInitial(() -> new HMacDSAKCalculator(new SHA256Digest()));
 
     private static final BigInteger HALF_N;
     private static KeyPairGenerator keyPairGenerator;
@@ -53,7 +62,8 @@ public class SECP256K1Support {
             ECGenParameterSpec ecGenParameterSpec = new ECGenParameterSpec(CURVE_NAME);
             keyPairGenerator.initialize(ecGenParameterSpec);
             SECP256K1Support.keyPairGenerator = keyPairGenerator;
-            SECP256K1Support.curve = SECNamedCurves.getByName(CURVE_NAME);
+            // 和SECNamedCurves的参数完全相同，但域运算是针对secp256k1优化过的实现
+            SECP256K1Support.curve = CustomNamedCurves.getByName(CURVE_NAME);
             SECP256K1Support.ecDomainParameters = new ECDomainParameters(curve.getCurve(), curve.getG(), curve.getN(), curve.getH());
             HALF_N = curve.getN().shiftRight(1);
         } catch (NoSuchAlgorithmException | NoSuchProviderException | InvalidAlgorithmParameterException e) {
@@ -71,6 +81,67 @@ public class SECP256K1Support {
         return keyPairGenerator.generateKeyPair();
     }
 
+    /**
+     * 生成随机私钥，不经过JCA，公钥可以用{@link #getPubFromPrivate(byte[], boolean)}获得
+     * <p>
+     * 取值规则和bouncycastle的ECKeyPairGenerator一致：1 <= d < n，且NAF权重不能过低
+     *
+     * @return 32byte私钥
+     */
+    public static byte[] generatePrivateKey() {
+        return BigIntegers.asUnsignedByteArray(SIGN_COMPONENT_LENGTH, generatePrivateValue(RANDOM));
+    }
+
+    /**
+     * 批量生成公私钥，用公共的ForkJoinPool并行
+     *
+     * @param count 个数
+     * @return 按生成顺序连续存放的公私钥
+     */
+    public static KeyPairBatch generateKeyPairs(int count) {
+        return generateKeyPairs(count, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 批量生成公私钥
+     * <p>
+     * 每个私钥都是独立的随机数，取值规则和{@link #generatePrivateKey()}一样；
+     * 公钥不经过JCA，每{@value KeyPairBatchTask#THRESHOLD}个点批量求逆一次转成仿射坐标
+     *
+     * @param count 个数
+     * @param pool  执行生成的pool
+     * @return 按生成顺序连续存放的公私钥
+     */
+    public static KeyPairBatch generateKeyPairs(int count, ForkJoinPool pool) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count should not be negative");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool is null");
+        }
+        KeyPairBatch batch = new KeyPairBatch(count);
+        if (count <= KeyPairBatchTask.THRESHOLD) {
+            KeyPairBatchTask.generateRange(batch, 0, count);
+        } else {
+            pool.invoke(new KeyPairBatchTask(batch, 0, count));
+        }
+        return batch;
+    }
+
+    /**
+     * 从私钥中提出公钥
+     *
+     * @param pri        32byte私钥
+     * @param compressed 是否压缩
+     * @return 公钥——byte数组
+     */
+    public static byte[] getPubFromPrivate(byte[] pri, boolean compressed) {
+        if (pri == null || pri.length != SIGN_COMPONENT_LENGTH) {
+            throw new IllegalArgumentException("invalid private key,please check it");
+        }
+        return getPubPoint(new BigInteger(1, pri)).getEncoded(compressed);
+    }
+
     /**
      * 基于secp256k1的签名方法，用sha256签
      *
@@ -83,18 +154,214 @@ public class SECP256K1Support {
             throw new IllegalArgumentException("sign data or private key is empty");
         }
         hexPkLengthCheck(hexPk);
-        BigInteger pkInteger = new BigInteger(1, Hex.decode(hexPk));
-        ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
-        ECPrivateKeyParameters ecPrivateKeyParameters = new ECPrivateKeyParameters(pkInteger, ecDomainParameters);
-        signer.init(true, ecPrivateKeyParameters);
-        BigInteger[] components = signer.generateSignature(signData);
-        components[1] = regularize(components[1]);
-        byte v = getV(hexPk, components, signData);
-        byte[] sign = new byte[65];
-        System.arraycopy(modifySignComp(components[0]), 0, sign, 0, 32);
-        System.arraycopy(modifySignComp(components[1]), 0, sign, 32, 32);
-        sign[64] = v;
-        return Hex.toHexString(sign);
+        BigInteger pkInteger = new BigInteger(1, Hexes.decode(hexPk));
+        byte[] sign = new byte[SIGNATURE_LENGTH];
+        if (signData.length * Byte.SIZE > curve.getN().bitLength()) {
+            // 超过256bit的数据签名时会被截断，而恢复公钥时没有截断，这种情况只能沿用原来逐个尝试的方式
+            ECDSASigner signer = new ECDSASigner(new HMacDSAKCalculator(new SHA256Digest()));
+            ECPrivateKeyParameters ecPrivateKeyParameters = new ECPrivateKeyParameters(pkInteger, ecDomainParameters);
+            signer.init(true, ecPrivateKeyParameters);
+            BigInteger[] components = signer.generateSignature(signData);
+            components[1] = regularize(components[1]);
+            writeSignComp(components[0], sign, 0);
+            writeSignComp(components[1], sign, SIGN_COMPONENT_LENGTH);
+            sign[64] = getV(pkInteger, components, signData);
+        } else {
+            int recId = signRecoverable(pkInteger, signData, K_CALCULATOR.get(), sign, 0);
+            sign[64] = toV(recId);
+        }
+        return Hexes.toHex(sign);
+    }
+
+    /**
+     * 用同一个私钥批量签名，使用{@link ForkJoinPool#commonPool()}
+     *
+     * @param signData 待签名数据
+     * @param key      私钥
+     * @return 按输入顺序排列的签名，单条失败不影响其它条
+     */
+    public static SignBatchResult signBatch(byte[][] signData, SigningKey key) {
+        return signBatch(signData, new SigningKey[]{key}, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 用同一个私钥批量签名
+     *
+     * @param signData 待签名数据
+     * @param key      私钥
+     * @param pool     执行签名的线程池
+     * @return 按输入顺序排列的签名，单条失败不影响其它条
+     */
+    public static SignBatchResult signBatch(byte[][] signData, SigningKey key, ForkJoinPool pool) {
+        return signBatch(signData, new SigningKey[]{key}, pool);
+    }
+
+    /**
+     * 批量签名，keys[i]签signData[i]；keys只有一个元素时所有数据都用它签
+     *
+     * @param signData 待签名数据
+     * @param keys     私钥
+     * @param pool     执行签名的线程池
+     * @return 按输入顺序排列的签名，单条失败不影响其它条
+     */
+    public static SignBatchResult signBatch(byte[][] signData, SigningKey[] keys, ForkJoinPool pool) {
+        checkBatch(signData, keys);
+        SignBatchResult result = new SignBatchResult(signData.length);
+        pool.invoke(new SignBatchTask(signData, keys, result, 0, signData.length));
+        return result;
+    }
+
+    /**
+     * 批量签名，keys[i]签signData[i]；keys只有一个元素时所有数据都用它签
+     * <p>
+     * 数据被均分为parallelism段提交给executor，当前线程等待全部完成
+     *
+     * @param signData    待签名数据
+     * @param keys        私钥
+     * @param executor    执行签名的线程池
+     * @param parallelism 分段数
+     * @return 按输入顺序排列的签名，单条失败不影响其它条
+     */
+    public static SignBatchResult signBatch(byte[][] signData, SigningKey[] keys, Executor executor, int parallelism) {
+        checkBatch(signData, keys);
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("parallelism should be positive");
+        }
+        SignBatchResult result = new SignBatchResult(signData.length);
+        int total = signData.length;
+        int chunk = Math.max(SignBatchTask.THRESHOLD, (total + parallelism - 1) / parallelism);
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[(total + chunk - 1) / chunk];
+        for (int i = 0; i < futures.length; i++) {
+            int start = i * chunk;
+            int end = Math.min(total, start + chunk);
+            futures[i] = CompletableFuture.runAsync(() -> SignBatchTask.signRange(signData, keys, result, start, end), executor);
+        }
+        CompletableFuture.allOf(futures).join();
+        return result;
+    }
+
+    /**
+     * 从签名中恢复公钥（ecrecover）
+     * <p>
+     * v兼容本类签名的格式（27、1、2、3）和常见的27 + recId格式。
+     * hash超过256bit时和{@link #verify(byte[], byte[], byte[])}一样截断
+     *
+     * @param signature r(32byte) + s(32byte) + v(1byte)
+     * @param hash      被签名的数据
+     * @return 未压缩的公钥，65byte，以0x04开头
+     */
+    public static byte[] recoverPublicKey(byte[] signature, byte[] hash) {
+        return recoverPublicKey(signature, hash, null);
+    }
+
+    /**
+     * 从签名中恢复公钥（ecrecover），先查缓存
+     *
+     * @param signature r(32byte) + s(32byte) + v(1byte)
+     * @param hash      被签名的数据
+     * @param cache     缓存，可以为null
+     * @return 未压缩的公钥，65byte，以0x04开头
+     */
+    public static byte[] recoverPublicKey(byte[] signature, byte[] hash, RecoverCache cache) {
+        return recoverUncompressed(signature, hash, cache).clone();
+    }
+
+    /**
+     * 从签名中恢复签名者的地址：keccak256(公钥去掉0x04)的后20byte
+     * <p>
+     * evm地址就是这20byte，trx地址是0x41 + 这20byte再做base58check
+     *
+     * @param signature r(32byte) + s(32byte) + v(1byte)
+     * @param hash      被签名的数据
+     * @return 20byte地址
+     */
+    public static byte[] recoverAddress(byte[] signature, byte[] hash) {
+        return recoverAddress(signature, hash, null);
+    }
+
+    /**
+     * 从签名中恢复签名者的地址，先查缓存
+     *
+     * @param signature r(32byte) + s(32byte) + v(1byte)
+     * @param hash      被签名的数据
+     * @param cache     缓存，可以为null
+     * @return 20byte地址
+     */
+    public static byte[] recoverAddress(byte[] signature, byte[] hash, RecoverCache cache) {
+        byte[] pub = recoverUncompressed(signature, hash, cache);
+        byte[] digest = new byte[32];
+        KeccakDigest keccak = new KeccakDigest(256);
+        keccak.update(pub, 1, pub.length - 1);
+        keccak.doFinal(digest, 0);
+        byte[] address = new byte[ADDRESS_LENGTH];
+        System.arraycopy(digest, digest.length - ADDRESS_LENGTH, address, 0, ADDRESS_LENGTH);
+        return address;
+    }
+
+    /**
+     * 并行恢复一批签名的地址，例如一个区块里所有交易的发送者
+     *
+     * @param signatures 签名
+     * @param hashes     被签名的数据，和signatures一一对应
+     * @param pool       执行恢复的线程池
+     * @param cache      缓存，可以为null
+     * @return 按输入顺序排列的20byte地址，无法恢复的位置为null
+     */
+    public static byte[][] recoverAddresses(byte[][] signatures, byte[][] hashes, ForkJoinPool pool, RecoverCache cache) {
+        return recoverBatch(signatures, hashes, pool, cache, true);
+    }
+
+    /**
+     * 并行恢复一批签名的公钥
+     *
+     * @param signatures 签名
+     * @param hashes     被签名的数据，和signatures一一对应
+     * @param pool       执行恢复的线程池
+     * @param cache      缓存，可以为null
+     * @return 按输入顺序排列的未压缩公钥，无法恢复的位置为null
+     */
+    public static byte[][] recoverPublicKeys(byte[][] signatures, byte[][] hashes, ForkJoinPool pool, RecoverCache cache) {
+        return recoverBatch(signatures, hashes, pool, cache, false);
+    }
+
+    /**
+     * 验证签名
+     *
+     * @param hash      被签名的数据
+     * @param signature r + s（64byte）或 r + s + v（65byte），v不参与验证
+     * @param pub       公钥，压缩的33byte、未压缩的65byte或去掉0x04前缀的64byte
+     * @return 签名是否正确
+     */
+    public static boolean verify(byte[] hash, byte[] signature, byte[] pub) {
+        BatchVerifier.Item item = BatchVerifier.parse(hash, signature, pub);
+        return item != null && BatchVerifier.verifySingle(item);
+    }
+
+    /**
+     * 批量验证签名，在当前线程逐块（每块256个）执行，不使用任何线程池
+     * <p>
+     * 带v的65byte签名会合并成一次多标量乘法验证，失败时二分找出错误的签名，结果和逐个{@link #verify(byte[], byte[], byte[])}相同
+     *
+     * @param hashes     被签名的数据
+     * @param signatures 签名
+     * @param pubs       公钥
+     * @return 按输入顺序排列的验证结果
+     */
+    public static boolean[] verifyBatch(byte[][] hashes, byte[][] signatures, byte[][] pubs) {
+        return BatchVerifier.verify(hashes, signatures, pubs, null);
+    }
+
+    /**
+     * 批量验证签名，每256个签名一组分给pool并行验证
+     *
+     * @param hashes     被签名的数据
+     * @param signatures 签名
+     * @param pubs       公钥
+     * @param pool       执行验证的线程池
+     * @return 按输入顺序排列的验证结果
+     */
+    public static boolean[] verifyBatch(byte[][] hashes, byte[][] signatures, byte[][] pubs, ForkJoinPool pool) {
+        return BatchVerifier.verify(hashes, signatures, pubs, pool);
     }
 
     /**
@@ -126,6 +393,152 @@ public class SECP256K1Support {
     }
 
 
+    /*================================== package method ===============================================*/
+
+    /**
+     * 可恢复公钥的签名，将 r(32byte) + s(32byte) 写入out[off, off + 64)，返回recovery id
+     * <p>
+     * 与{@link ECDSASigner}的计算过程完全一致，区别在于生成R = kG时顺便记下recovery id：
+     * <li>bit0：R的y坐标的奇偶</li>
+     * <li>bit1：R的x坐标是否大于等于n（即r = x - n）</li>
+     * s被{@link #regularize(BigInteger)}翻转为n - s时，对应的点是-R，y的奇偶相反，bit0取反。
+     * 这样不需要再从签名中恢复公钥来找v
+     *
+     * @param d           私钥
+     * @param signData    待签名数据，超过256bit时和{@link ECDSASigner}一样截断
+     * @param kCalculator 生成k的计算器
+     * @param out         输出数组
+     * @param off         输出起始位置
+     * @return recovery id
+     */
+    static int signRecoverable(BigInteger d, byte[] signData, DSAKCalculator kCalculator, byte[] out, int off) {
+        BigInteger n = curve.getN();
+        BigInteger e = calculateE(signData);
+        kCalculator.init(n, d, signData);
+        BigInteger r;
+        BigInteger s;
+        int recId;
+        do {
+            BigInteger k;
+            do {
+                k = kCalculator.nextK();
+                ECPoint p = GeneratorTable.shared().multiply(k).normalize();
+                BigInteger x = p.getAffineXCoord().toBigInteger();
+                r = x.mod(n);
+                recId = (p.getAffineYCoord().testBitZero() ? 1 : 0) | (x.compareTo(n) >= 0 ? 2 : 0);
+            } while (r.signum() == 0);
+            s = BigIntegers.modOddInverse(n, k).multiply(e.add(d.multiply(r))).mod(n);
+        } while (s.signum() == 0);
+        if (s.compareTo(HALF_N) > 0) {
+            s = n.subtract(s);
+            recId ^= 1;
+        }
+        writeSignComp(r, out, off);
+        writeSignComp(s, out, off + SIGN_COMPONENT_LENGTH);
+        return recId;
+    }
+
+    /**
+     * recovery id转为trx签名中的v：0对应27，其余保持原值
+     *
+     * @param recId recovery id
+     * @return v
+     */
+    static byte toV(int recId) {
+        byte vRaw = (byte) (recId + 27);
+        return vRaw > 27 ? (byte) (vRaw - 27) : vRaw;
+    }
+
+    /**
+     * 当前线程复用的k计算器，{@link HMacDSAKCalculator#init(BigInteger, BigInteger, byte[])}会重置全部状态
+     *
+     * @return k计算器
+     */
+    static DSAKCalculator threadLocalKCalculator() {
+        return K_CALCULATOR.get();
+    }
+
+    /**
+     * K = kG
+     *
+     * @param privateValue 私钥
+     * @return 公钥对应的几何点
+     */
+    static ECPoint getPubPoint(BigInteger privateValue) {
+        if (privateValue.bitLength() > curve.getN().bitLength()) {
+            privateValue = privateValue.mod(curve.getN());
+        }
+        return GeneratorTable.shared().multiply(privateValue);
+    }
+
+    /**
+     * 随机生成私钥的值
+     *
+     * @param random 随机数来源
+     * @return 1 <= d < n
+     */
+    static BigInteger generatePrivateValue(SecureRandom random) {
+        BigInteger n = curve.getN();
+        int minWeight = n.bitLength() >>> 2;
+        BigInteger d;
+        do {
+            d = BigIntegers.createRandomBigInteger(n.bitLength(), random);
+        } while (d.compareTo(BigInteger.ONE) < 0 || d.compareTo(n) >= 0 || WNafUtil.getNafWeight(d) < minWeight);
+        return d;
+    }
+
+    static X9ECParameters getCurve() {
+        return curve;
+    }
+
+    /**
+     * 解析公钥，不合法时返回null
+     *
+     * @param pub 压缩的33byte、未压缩的65byte或去掉0x04前缀的64byte
+     * @return 公钥对应的几何点
+     */
+    static ECPoint decodePublicKey(byte[] pub) {
+        byte[] encoded = pub;
+        if (pub.length == 64) {
+            encoded = new byte[65];
+            encoded[0] = 0x04;
+            System.arraycopy(pub, 0, encoded, 1, 64);
+        }
+        try {
+            ECPoint point = curve.getCurve().decodePoint(encoded);
+            return point.isInfinity() ? null : point;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 和{@link ECDSASigner}一样由数据计算e，超过256bit时截断
+     *
+     * @param signData 被签名的数据
+     * @return e
+     */
+    static BigInteger calculateE(byte[] signData) {
+        BigInteger e = new BigInteger(1, signData);
+        int overBits = signData.length * Byte.SIZE - curve.getN().bitLength();
+        return overBits > 0 ? e.shiftRight(overBits) : e;
+    }
+
+    /**
+     * 由签名中的r和recovery id还原R
+     *
+     * @param r     签名中的r
+     * @param recId recovery id
+     * @return R，还原不出时为null
+     */
+    static ECPoint decompressR(BigInteger r, int recId) {
+        BigInteger x = r.add(BigInteger.valueOf(recId >> 1).multiply(curve.getN()));
+        if (x.compareTo(curve.getCurve().getField().getCharacteristic()) >= 0) {
+            return null;
+        }
+        return decompressKey(x, (recId & 1) == 1);
+    }
+
     /*================================== private method ===============================================*/
 
     /**
@@ -135,30 +548,74 @@ public class SECP256K1Support {
      * @return 公钥对应的几何点
      */
     private static ECPoint getPubPoint(String hexPrivateStr) {
-        BigInteger privateValue = new BigInteger(hexPrivateStr, 16);
-
-        if (privateValue.bitLength() > curve.getN().bitLength()) {
-            privateValue = privateValue.mod(curve.getN());
-        }
-        // K = kG
-        return new FixedPointCombMultiplier().multiply(curve.getG(), privateValue);
+        BigInteger privateValue = new BigInteger(1, Hexes.decode(hexPrivateStr));
+        return getPubPoint(privateValue);
     }
 
     /**
-     * 该BigInteger应该有32byte，但有可能存在表征符号，去掉
+     * 将签名的r或s以32byte无符号大端的形式写入out
      * <p>
+     * BigInteger.toByteArray()可能多出一位符号占位，也可能不足32byte，这里统一补齐
      *
-     * @param bigInteger biginteger
-     * @return byte[]
+     * @param bigInteger r或s
+     * @param out        输出数组
+     * @param off        输出起始位置
+     */
+    private static void writeSignComp(BigInteger bigInteger, byte[] out, int off) {
+        BigIntegers.asUnsignedByteArray(bigInteger, out, off, SIGN_COMPONENT_LENGTH);
+    }
+
+    private static byte[][] recoverBatch(byte[][] signatures, byte[][] hashes, ForkJoinPool pool, RecoverCache cache, boolean toAddress) {
+        if (signatures.length != hashes.length) {
+            throw new IllegalArgumentException("signatures and hashes should have the same length");
+        }
+        byte[][] results = new byte[signatures.length][];
+        pool.invoke(new RecoverBatchTask(signatures, hashes, cache, toAddress, results, 0, signatures.length));
+        return results;
+    }
+
+    /**
+     * 恢复未压缩的公钥，返回的数组可能来自缓存，不能修改
      */
-    private static byte[] modifySignComp(BigInteger bigInteger) {
-        byte[] byteArray = bigInteger.toByteArray();
-        if (byteArray.length == 32) {
-            return byteArray;
+    private static byte[] recoverUncompressed(byte[] signature, byte[] hash, RecoverCache cache) {
+        if (signature == null || signature.length != SIGNATURE_LENGTH || ArrayUtil.isEmpty(hash)) {
+            throw new IllegalArgumentException("signature should be 65 bytes and hash should not be empty");
+        }
+        if (cache != null) {
+            byte[] cached = cache.get(signature, hash);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        int v = signature[64] & 0xFF;
+        int recId = v >= 27 ? v - 27 : v;
+        if (recId > 3) {
+            throw new IllegalArgumentException("invalid v in signature: " + v);
+        }
+        BigInteger r = BigIntegers.fromUnsignedByteArray(signature, 0, SIGN_COMPONENT_LENGTH);
+        BigInteger s = BigIntegers.fromUnsignedByteArray(signature, SIGN_COMPONENT_LENGTH, SIGN_COMPONENT_LENGTH);
+        BigInteger n = curve.getN();
+        if (r.signum() == 0 || r.compareTo(n) >= 0 || s.signum() == 0 || s.compareTo(n) >= 0) {
+            throw new IllegalArgumentException("r or s in signature is out of range");
+        }
+        ECPoint q = recoverPoint(recId, r, s, calculateE(hash));
+        if (q == null) {
+            throw new IllegalArgumentException("can not recover public key from signature");
+        }
+        byte[] pub = q.getEncoded(false);
+        if (cache != null) {
+            cache.put(signature, hash, pub);
+        }
+        return pub;
+    }
+
+    private static void checkBatch(byte[][] signData, SigningKey[] keys) {
+        if (signData == null || keys == null || keys.length == 0) {
+            throw new IllegalArgumentException("sign data or private key is empty");
+        }
+        if (keys.length != 1 && keys.length != signData.length) {
+            throw new IllegalArgumentException("keys should have one element or the same length as sign data");
         }
-        byte[] lessByte = new byte[32];
-        System.arraycopy(byteArray, 1, lessByte, 0, 32);
-        return lessByte;
     }
 
     /**
@@ -167,10 +624,7 @@ public class SECP256K1Support {
      * @param pk 十六进制私钥
      */
     private static void hexPkLengthCheck(String pk) {
-        if (pk.startsWith(HEX_PREFIX)) {
-            pk = pk.substring(2);
-        }
-        if (pk.length() != HEX_PRIVATE_KEY_LENGTH) {
+        if (Hexes.hexLength(pk) != HEX_PRIVATE_KEY_LENGTH) {
             throw new RuntimeException("invalid private key,please check it");
         }
     }
@@ -198,8 +652,8 @@ public class SECP256K1Support {
      * @param signData  原始数据
      * @return v
      */
-    private static byte getV(String pk, BigInteger[] component, byte[] signData) {
-        byte[] pubFromPrivate = getPubUncompressedFromPrivate(pk);
+    private static byte getV(BigInteger pk, BigInteger[] component, byte[] signData) {
+        byte[] pubFromPrivate = getPubPoint(pk).getEncoded(false);
         int retryTimes = 0;
         for (int i = 0; i < 4; i++) {
             byte[] pubNew = resolvePubFromSign(i, component, signData);
@@ -208,8 +662,7 @@ public class SECP256K1Support {
                 break;
             }
         }
-        byte vRaw = (byte) (retryTimes + 27);
-        return vRaw > 27 ? (byte) (vRaw - 27) : vRaw;
+        return toV(retryTimes);
     }
 
     /**
@@ -221,8 +674,21 @@ public class SECP256K1Support {
      * @return 公钥
      */
     private static byte[] resolvePubFromSign(int nonce, BigInteger[] signComponent, byte[] signData) {
-        BigInteger r = signComponent[0];
-        BigInteger s = signComponent[1];
+        // 旧的逐个尝试沿用未截断的e，保持sign的结果不变
+        ECPoint q = recoverPoint(nonce, signComponent[0], signComponent[1], new BigInteger(1, signData));
+        return q == null ? null : q.getEncoded(false);
+    }
+
+    /**
+     * 用签名和由签名数据得到的e恢复公钥对应的几何点
+     *
+     * @param nonce recovery id
+     * @param r     签名中的r
+     * @param s     签名中的s
+     * @param e     由待签数据得到的e
+     * @return 公钥对应的几何点，无法恢复时为null
+     */
+    private static ECPoint recoverPoint(int nonce, BigInteger r, BigInteger s, BigInteger e) {
         BigInteger n = curve.getN(); // Curve order.
         BigInteger i = BigInteger.valueOf((long) nonce / 2);
         BigInteger x = r.add(i.multiply(n));
@@ -238,9 +704,7 @@ public class SECP256K1Support {
         //
         // More concisely, what these points mean is to use X as a compressed
         // public key.
-        ECCurve.Fp ecCurve = (ECCurve.Fp) curve.getCurve();
-        BigInteger prime = ecCurve.getQ(); // Bouncy Castle is not consistent
-        // about the letter it uses for the prime.
+        BigInteger prime = curve.getCurve().getField().getCharacteristic();
         if (x.compareTo(prime) >= 0) {
             // Cannot have point co-ordinates larger than this as everything
             // takes place modulo Q.
@@ -250,14 +714,14 @@ public class SECP256K1Support {
         // y-coord as there are two possibilities.
         // So it's encoded in the recId.
         ECPoint R = decompressKey(x, (nonce & 1) == 1);
-        //   1.4. If nR != point at infinity, then do another iteration of
-        // Step 1 (callers responsibility).
-        if (!R.multiply(n).isInfinity()) {
+        if (R == null) {
             return null;
         }
+        //   1.4. If nR != point at infinity, then do another iteration of
+        // Step 1 (callers responsibility).
+        // secp256k1的余因子h = 1，曲线上除无穷远点外所有点的阶都是n，nR必然是无穷远点，不用再做一次标量乘法
         //   1.5. Compute e from M using Steps 2 and 3 of ECDSA signature
         // verification.
-        BigInteger e = new BigInteger(1, signData);
         //   1.6. For k from 1 to 2 do the following.   (loop is outside this
         // function via iterating recId)
         //   1.6.1. Compute a candidate public key as:
@@ -279,17 +743,23 @@ public class SECP256K1Support {
         BigInteger rInv = r.modInverse(n);
         BigInteger srInv = rInv.multiply(s).mod(n);
         BigInteger eInvrInv = rInv.multiply(eInv).mod(n);
-        ECPoint.Fp q = (ECPoint.Fp) ECAlgorithms.sumOfTwoMultiplies(curve.getG(), eInvrInv, R, srInv);
-        return q.getEncoded(false);
+        ECPoint q = ECAlgorithms.sumOfTwoMultiplies(curve.getG(), eInvrInv, R, srInv).normalize();
+        return q.isInfinity() ? null : q;
     }
 
     /**
      * Decompress a compressed public key (x co-ord and low-bit of y-coord).
+     * <p>
+     * x不在曲线上时返回null
      */
     private static ECPoint decompressKey(BigInteger xBN, boolean yBit) {
         X9IntegerConverter x9 = new X9IntegerConverter();
         byte[] compEnc = x9.integerToBytes(xBN, 1 + x9.getByteLength(curve.getCurve()));
         compEnc[0] = (byte) (yBit ? 0x03 : 0x02);
-        return curve.getCurve().decodePoint(compEnc);
+        try {
+            return curve.getCurve().decodePoint(compEnc);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 }
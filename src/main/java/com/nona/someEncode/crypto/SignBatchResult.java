@@ -0,0 +1,117 @@
+package com.nona.someEncode.crypto;
+
+import com.nona.someEncode.util.Hexes;
+
+
+/**
+ * 批量签名的结果
+ * <p>
+ * 所有签名按输入顺序连续存放在一个数组里，每个65byte（r + s + v）；
+ * 某一条签名失败时只记录它自己的异常，不影响其它条
+ *
+ * @author nona9961
+ * @date 2026/10/18 14:30
+ */
+public final class SignBatchResult {
+
+    private final byte[] signatures;
+    private final RuntimeException[] errors;
+
+    SignBatchResult(int size) {
+        this.signatures = new byte[size * SigningKey.SIGNATURE_LENGTH];
+        this.errors = new RuntimeException[size];
+    }
+
+    public int size() {
+        return errors.length;
+    }
+
+    /**
+     * 第index条是否签名成功
+     *
+     * @param index 输入中的位置
+     * @return 成功为true
+     */
+    public boolean isSuccess(int index) {
+        return errors[index] == null;
+    }
+
+    /**
+     * 失败的条数
+     *
+     * @return 失败的条数
+     */
+    public int failureCount() {
+        int count = 0;
+        for (RuntimeException error : errors) {
+            if (error != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 第index条的异常
+     *
+     * @param index 输入中的位置
+     * @return 成功时为null
+     */
+    public RuntimeException getError(int index) {
+        return errors[index];
+    }
+
+    /**
+     * 第index条的签名
+     *
+     * @param index 输入中的位置
+     * @return r + s + v，65byte
+     */
+    public byte[] getSignature(int index) {
+        byte[] signature = new byte[SigningKey.SIGNATURE_LENGTH];
+        copySignature(index, signature, 0);
+        return signature;
+    }
+
+    /**
+     * 将第index条的签名拷贝到dst[off, off + 65)
+     *
+     * @param index 输入中的位置
+     * @param dst   目标数组
+     * @param off   目标起始位置
+     */
+    public void copySignature(int index, byte[] dst, int off) {
+        checkSuccess(index);
+        System.arraycopy(signatures, index * SigningKey.SIGNATURE_LENGTH, dst, off, SigningKey.SIGNATURE_LENGTH);
+    }
+
+    /**
+     * 第index条的签名，和{@link SECP256K1Support#sign(byte[], String)}的格式一致
+     *
+     * @param index 输入中的位置
+     * @return 签名——16进制字符串
+     */
+    public String getSignatureHex(int index) {
+        checkSuccess(index);
+        return Hexes.toHex(signatures, index * SigningKey.SIGNATURE_LENGTH, SigningKey.SIGNATURE_LENGTH);
+    }
+
+    /*================================== package method ===============================================*/
+
+    /**
+     * 签名写入的位置
+     */
+    byte[] signatureBuffer() {
+        return signatures;
+    }
+
+    void fail(int index, RuntimeException error) {
+        errors[index] = error;
+    }
+
+    private void checkSuccess(int index) {
+        if (errors[index] != null) {
+            throw new IllegalStateException("signature " + index + " failed: " + errors[index].getMessage(), errors[index]);
+        }
+    }
+}
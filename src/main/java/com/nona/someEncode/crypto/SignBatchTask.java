@@ -0,0 +1,68 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.crypto.signers.DSAKCalculator;
+
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 批量签名的fork/join任务
+ * <p>
+ * 区间不超过{@link #THRESHOLD}时在当前线程顺序签名，否则对半拆分。
+ * 签名用的k计算器（HMAC-DRBG和sha256 digest）每个工作线程一个，跨批次复用
+ *
+ * @author nona9961
+ * @date 2026/10/18 14:30
+ */
+class SignBatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 一个secp256k1签名大约要1ms，32条一组足够摊薄拆分任务的开销
+     */
+    static final int THRESHOLD = 32;
+
+    private final byte[][] signData;
+    private final SigningKey[] keys;
+    private final SignBatchResult result;
+    private final int from;
+    private final int to;
+
+    SignBatchTask(byte[][] signData, SigningKey[] keys, SignBatchResult result, int from, int to) {
+        this.signData = signData;
+        this.keys = keys;
+        this.result = result;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= THRESHOLD) {
+            signRange(signData, keys, result, from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new SignBatchTask(signData, keys, result, from, middle),
+                new SignBatchTask(signData, keys, result, middle, to));
+    }
+
+    /**
+     * 顺序签名[from, to)，keys只有一个元素时所有数据都用它签
+     */
+    static void signRange(byte[][] signData, SigningKey[] keys, SignBatchResult result, int from, int to) {
+        DSAKCalculator kCalculator = SECP256K1Support.threadLocalKCalculator();
+        byte[] out = result.signatureBuffer();
+        for (int i = from; i < to; i++) {
+            try {
+                SigningKey key = keys.length == 1 ? keys[0] : keys[i];
+                if (key == null) {
+                    throw new IllegalArgumentException("signing key is null");
+                }
+                key.sign(signData[i], kCalculator, out, i * SigningKey.SIGNATURE_LENGTH);
+            } catch (RuntimeException e) {
+                result.fail(i, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.nona.someEncode.crypto;
+
+import cn.hutool.core.util.StrUtil;
+import com.nona.someEncode.util.Hexes;
+import org.bouncycastle.crypto.signers.DSAKCalculator;
+import org.bouncycastle.crypto.signers.StandardDSAEncoding;
+import org.bouncycastle.math.ec.ECPoint;
+import org.bouncycastle.util.BigIntegers;
+
+import java.io.IOException;
+import java.math.BigInteger;
+
+/**
+ * 预先解析好的secp256k1签名私钥
+ * <p>
+ * {@link SECP256K1Support#sign(byte[], String)}每次都要检查、解码16进制私钥并返回16进制签名，
+ * 同一个私钥反复签名时用这个类：私钥只解析一次，公钥只在第一次使用时计算一次，签名直接写入调用方的数组。
+ * <p>
+ * 实例不可变，可以在多个线程之间共享
+ *
+ * @author nona9961
+ * @date 2026/10/18 13:40
+ */
+public final class SigningKey {
+
+    public static final int PRIVATE_KEY_LENGTH = 32;
+    /**
+     * r(32byte) + s(32byte) + v(1byte)
+     */
+    public static final int SIGNATURE_LENGTH = 65;
+    /**
+     * r(32byte) + s(32byte)
+     */
+    public static final int COMPACT_SIGNATURE_LENGTH = 64;
+
+    private final BigInteger d;
+    /**
+     * 签名用不到公钥，第一次使用时才计算；多线程下最多重复计算几次，结果相同
+     */
+    private volatile PublicKeyCache publicKeyCache;
+
+    private SigningKey(BigInteger d) {
+        if (d.signum() <= 0 || d.compareTo(SECP256K1Support.getCurve().getN()) >= 0) {
+            throw new IllegalArgumentException("invalid private key,please check it");
+        }
+        this.d = d;
+    }
+
+    /**
+     * 从16进制私钥创建，可以带0x前缀
+     *
+     * @param hexPk 私钥——16进制字符串
+     * @return 签名私钥
+     */
+    public static SigningKey fromHex(String hexPk) {
+        if (StrUtil.isBlank(hexPk)) {
+            throw new IllegalArgumentException("private key is empty");
+        }
+        if (Hexes.hexLength(hexPk) != PRIVATE_KEY_LENGTH * 2) {
+            throw new IllegalArgumentException("invalid private key,please check it");
+        }
+        return fromBytes(Hexes.decode(hexPk));
+    }
+
+    /**
+     * 从32byte私钥创建
+     *
+     * @param pri 私钥
+     * @return 签名私钥
+     */
+    public static SigningKey fromBytes(byte[] pri) {
+        if (pri == null || pri.length != PRIVATE_KEY_LENGTH) {
+            throw new IllegalArgumentException("invalid private key,please check it");
+        }
+        return new SigningKey(new BigInteger(1, pri));
+    }
+
+    /**
+     * 签名，将 r + s + v 共65byte写入out[off, off + 65)
+     * <p>
+     * 不超过32byte时，结果与{@link SECP256K1Support#sign(byte[], String)}解码后的数组一致。
+     * 超过32byte时两者的r、s相同（都截断为前256bit），但v不同：这里的v是截断后数据的recovery id，
+     * 可以用{@link SECP256K1Support#recoverPublicKey(byte[], byte[])}恢复出公钥；{@link SECP256K1Support#sign(byte[], String)}为了兼容保留原来的规则，
+     * 用未截断的数据逐个尝试，通常找不到而得到27
+     *
+     * @param signData 待签名数据（hash）
+     * @param out      输出数组
+     * @param off      输出起始位置
+     */
+    public void sign(byte[] signData, byte[] out, int off) {
+        sign(signData, SECP256K1Support.threadLocalKCalculator(), out, off);
+    }
+
+    /**
+     * 签名
+     *
+     * @param signData 待签名数据（hash）
+     * @return r + s + v，65byte
+     */
+    public byte[] sign(byte[] signData) {
+        byte[] out = new byte[SIGNATURE_LENGTH];
+        sign(signData, out, 0);
+        return out;
+    }
+
+    /**
+     * 不带v的签名，将 r + s 共64byte写入out[off, off + 64)
+     *
+     * @param signData 待签名数据（hash）
+     * @param out      输出数组
+     * @param off      输出起始位置
+     */
+    public void signCompact(byte[] signData, byte[] out, int off) {
+        checkSignData(signData);
+        checkOut(out, off, COMPACT_SIGNATURE_LENGTH);
+        SECP256K1Support.signRecoverable(d, signData, SECP256K1Support.threadLocalKCalculator(), out, off);
+    }
+
+    /**
+     * DER编码的签名，s已经规范为low-S
+     *
+     * @param signData 待签名数据（hash）
+     * @return DER编码的(r, s)
+     */
+    public byte[] signDer(byte[] signData) {
+        byte[] compact = new byte[COMPACT_SIGNATURE_LENGTH];
+        signCompact(signData, compact, 0);
+        BigInteger r = BigIntegers.fromUnsignedByteArray(compact, 0, COMPACT_SIGNATURE_LENGTH / 2);
+        BigInteger s = BigIntegers.fromUnsignedByteArray(compact, COMPACT_SIGNATURE_LENGTH / 2, COMPACT_SIGNATURE_LENGTH / 2);
+        try {
+            return StandardDSAEncoding.INSTANCE.encode(SECP256K1Support.getCurve().getN(), r, s);
+        } catch (IOException e) {
+            throw new IllegalStateException("encode signature to DER failed", e);
+        }
+    }
+
+    /**
+     * 获取公钥
+     *
+     * @param compressed 是否压缩
+     * @return 公钥——byte数组，压缩的33byte，不压缩的65byte（以0x04开头）
+     */
+    public byte[] getPublicKey(boolean compressed) {
+        PublicKeyCache cache = publicKeyCache();
+        return compressed ? cache.pubCompressed.clone() : cache.pubUncompressed.clone();
+    }
+
+    /**
+     * 公钥对应的几何点（已经normalize）
+     *
+     * @return 公钥点
+     */
+    public ECPoint getPublicPoint() {
+        return publicKeyCache().point;
+    }
+
+    /*================================== package method ===============================================*/
+
+    /**
+     * 用指定的k计算器签名，批量签名时由工作线程传入自己的计算器
+     */
+    void sign(byte[] signData, DSAKCalculator kCalculator, byte[] out, int off) {
+        checkSignData(signData);
+        checkOut(out, off, SIGNATURE_LENGTH);
+        int recId = SECP256K1Support.signRecoverable(d, signData, kCalculator, out, off);
+        out[off + COMPACT_SIGNATURE_LENGTH] = SECP256K1Support.toV(recId);
+    }
+
+    /*================================== private method ===============================================*/
+
+    private PublicKeyCache publicKeyCache() {
+        PublicKeyCache cache = this.publicKeyCache;
+        if (cache == null) {
+            cache = new PublicKeyCache(SECP256K1Support.getPubPoint(d).normalize());
+            this.publicKeyCache = cache;
+        }
+        return cache;
+    }
+
+    private static void checkSignData(byte[] signData) {
+        if (signData == null || signData.length == 0) {
+            throw new IllegalArgumentException("sign data is empty");
+        }
+    }
+
+    private static void checkOut(byte[] out, int off, int length) {
+        if (off < 0 || out.length - off < length) {
+            throw new IllegalArgumentException("out is too small for signature");
+        }
+    }
+
+    @Override
+    public String toString() {
+        // 不要把私钥打印出来
+        return "SigningKey{pub=" + Hexes.toHex(publicKeyCache().pubCompressed) + "}";
+    }
+
+    /**
+     * 公钥点和它的两种编码
+     */
+    private static final class PublicKeyCache {
+        private final ECPoint point;
+        private final byte[] pubCompressed;
+        private final byte[] pubUncompressed;
+
+        private PublicKeyCache(ECPoint point) {
+            this.point = point;
+            this.pubCompressed = point.getEncoded(true);
+            this.pubUncompressed = point.getEncoded(false);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.base.Base58;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 把"Base58Check地址以某个前缀开头"换算成对hash的数值范围判断，不用编码就能筛掉绝大多数候选
+ * <p>
+ * 地址是 version(1byte) + hash + checksum 的Base58编码。把这串字节看成一个大整数N，前缀固定时，
+ * 每一种可能的编码长度都对应N的一个连续区间：[前缀 + "111...", 前缀 + "zzz..."]。
+ * 去掉固定的version之后，区间落在hash最高的8个byte上就是几个long的范围。
+ * 区间两端的粒度是2^128左右，所以这只是预筛，通过之后还要编码出完整地址再比一次
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+class Base58PrefixFilter {
+
+    private final long[] lows;
+    private final long[] highs;
+    /**
+     * 命中的概率（均匀分布下）
+     */
+    private final double probability;
+
+    /**
+     * @param prefix      地址前缀
+     * @param version     版本byte
+     * @param totalLength version + hash + checksum 的总长度
+     */
+    Base58PrefixFilter(String prefix, byte version, int totalLength) {
+        int restBits = (totalLength - 1) * Byte.SIZE;
+        BigInteger base = BigInteger.valueOf(version & 0xFF).shiftLeft(restBits);
+        BigInteger restMax = BigInteger.ONE.shiftLeft(restBits).subtract(BigInteger.ONE);
+        // version为0时编码出一个'1'，后面才是N本身的编码
+        String rest = prefix;
+        if (version == 0) {
+            if (!prefix.startsWith("1")) {
+                throw new IllegalArgumentException("address with version 0 should start with 1");
+            }
+            rest = prefix.substring(1);
+        }
+        // 校验字符
+        Base58.decode(rest);
+        if (rest.startsWith("1")) {
+            // 要求hash以0x00开头，不预筛，全部交给完整的比较；概率粗略按每个'1'为1/256、其余字符1/58估计
+            int ones = countLeadingOnes(rest);
+            this.lows = new long[]{0};
+            this.highs = new long[]{-1};
+            this.probability = Math.pow(256, -ones) * Math.pow(58, -(rest.length() - ones));
+            return;
+        }
+        List<long[]> ranges = new ArrayList<>();
+        BigInteger hits = BigInteger.ZERO;
+        int maxLength = Base58.maxEncodedLength(totalLength);
+        for (int length = Math.max(rest.length(), 1); length <= maxLength; length++) {
+            BigInteger low = toNumber(rest, length, Base58.BASE58_ALPHABET.charAt(0)).subtract(base);
+            BigInteger high = toNumber(rest, length, Base58.BASE58_ALPHABET.charAt(57)).subtract(base);
+            if (high.signum() < 0 || low.compareTo(restMax) > 0) {
+                continue;
+            }
+            low = low.max(BigInteger.ZERO);
+            high = high.min(restMax);
+            hits = hits.add(high.subtract(low).add(BigInteger.ONE));
+            // hash的最高8byte在N去掉version后的最高64位
+            ranges.add(new long[]{low.shiftRight(restBits - Long.SIZE).longValue(), high.shiftRight(restBits - Long.SIZE).longValue()});
+        }
+        if (ranges.isEmpty()) {
+            throw new IllegalArgumentException("no address can start with " + prefix);
+        }
+        this.lows = new long[ranges.size()];
+        this.highs = new long[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            lows[i] = ranges.get(i)[0];
+            highs[i] = ranges.get(i)[1];
+        }
+        this.probability = hits.doubleValue() / restMax.add(BigInteger.ONE).doubleValue();
+    }
+
+    /**
+     * hash[off, off + 8) 是否可能对应这个前缀
+     *
+     * @param hash hash
+     * @param off  起始位置
+     * @return 不可能时为false
+     */
+    boolean mayMatch(byte[] hash, int off) {
+        long top = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            top = (top << Byte.SIZE) | (hash[off + i] & 0xFF);
+        }
+        for (int i = 0; i < lows.length; i++) {
+            if (Long.compareUnsigned(top, lows[i]) >= 0 && Long.compareUnsigned(top, highs[i]) <= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    double getProbability() {
+        return probability;
+    }
+
+    /**
+     * 前缀补齐到length个字符后的数值
+     */
+    private static BigInteger toNumber(String prefix, int length, char fill) {
+        StringBuilder sb = new StringBuilder(length).append(prefix);
+        while (sb.length() < length) {
+            sb.append(fill);
+        }
+        BigInteger number = BigInteger.ZERO;
+        for (int i = 0; i < sb.length(); i++) {
+            number = number.multiply(Base58.ALPHABET_SIZE).add(BigInteger.valueOf(Base58.BASE58_ALPHABET.indexOf(sb.charAt(i))));
+        }
+        return number;
+    }
+
+    private static int countLeadingOnes(String s) {
+        int count = 0;
+        while (count < s.length() && s.charAt(count) == '1') {
+            count++;
+        }
+        return count;
+    }
+}
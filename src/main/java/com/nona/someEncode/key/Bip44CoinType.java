@@ -0,0 +1,54 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.crypto.HDNode;
+import lombok.Getter;
+
+/**
+ * BIP44路径 m/44'/coin_type'/account'/change/address_index 中的coin_type（SLIP-0044）
+ * <p>
+ * 每种币都能只用公钥算地址，所以由xpub派生出的节点也能直接得到地址
+ *
+ * @author nona9961
+ * @date 2026/10/18 20:00
+ */
+@Getter
+public enum Bip44CoinType {
+    /**
+     * btc，地址用压缩公钥
+     */
+    BTC(0) {
+        @Override
+        public String address(HDNode node) {
+            return BtcWallet.addressFromPublicKey(node.getPublicKey(true));
+        }
+    },
+    TRX(195) {
+        @Override
+        public String address(HDNode node) {
+            return TrxWallet.addressFromPublicKey(node.getPublicKey(false));
+        }
+    },
+    /**
+     * fil，主网的secp256k1地址（f1）
+     */
+    FIL(461) {
+        @Override
+        public String address(HDNode node) {
+            return FilWallet.addressFromPublicKey(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, node.getPublicKey(false));
+        }
+    };
+
+    private final int coinType;
+
+    Bip44CoinType(int coinType) {
+        this.coinType = coinType;
+    }
+
+    /**
+     * 节点公钥对应的地址
+     *
+     * @param node 节点，可以只有公钥
+     * @return 地址
+     */
+    public abstract String address(HDNode node);
+}
@@ -1,12 +1,14 @@
 package com.nona.someEncode.key;
 
-import com.nona.someEncode.base.Base58;
+import com.nona.someEncode.base.Base58Check;
+import com.nona.someEncode.crypto.KeyPairBatch;
 import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.util.Hexes;
 import org.bouncycastle.jcajce.provider.digest.RIPEMD160;
 import org.bouncycastle.jcajce.provider.digest.SHA256;
-import org.bouncycastle.util.encoders.Hex;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * btc的公私钥钱包
@@ -25,7 +27,7 @@ public class BtcWallet extends SECP256K1KeyWallet {
     private final byte TEST_NET_PREFIX = (byte) 0xef;
     private final byte COMPRESSED_PUB_KEY_SUFFIX = (byte) 0x01;
     private final String COMPRESSED_PRI_KEY_SUFFIX = "01";
-    private final byte PUB_KEY_PREFIX = (byte) 0x00;
+    private static final byte PUB_KEY_PREFIX = (byte) 0x00;
 
     private BtcWalletCache uncompressedBtcWalletCache;
     private BtcWalletCache compressedBtcWalletCache;
@@ -37,6 +39,16 @@ public class BtcWallet extends SECP256K1KeyWallet {
         this.isMainNet = isMainNet;
     }
 
+    private BtcWallet(boolean isMainNet, String priKeyHex) {
+        super(priKeyHex, false);
+        this.isMainNet = isMainNet;
+    }
+
+    private BtcWallet(boolean isMainNet, KeyPairBatch batch, int index) {
+        super(batch, index);
+        this.isMainNet = isMainNet;
+    }
+
     public static BtcWallet mainNet() {
         return new BtcWallet(true);
     }
@@ -45,6 +57,67 @@ public class BtcWallet extends SECP256K1KeyWallet {
         return new BtcWallet(false);
     }
 
+    /**
+     * 根据已有的私钥创建主网钱包
+     *
+     * @param priKeyHex 私钥（16进制）
+     * @return 主网钱包
+     */
+    public static BtcWallet mainNet(String priKeyHex) {
+        return new BtcWallet(true, priKeyHex);
+    }
+
+    /**
+     * 根据已有的私钥创建测试网钱包
+     *
+     * @param priKeyHex 私钥（16进制）
+     * @return 测试网钱包
+     */
+    public static BtcWallet testNet(String priKeyHex) {
+        return new BtcWallet(false, priKeyHex);
+    }
+
+    /**
+     * 批量创建钱包，公私钥见{@link SECP256K1Support#generateKeyPairs(int)}
+     *
+     * @param isMainNet 是否主网
+     * @param count     个数
+     * @return 钱包
+     */
+    public static List<BtcWallet> generate(boolean isMainNet, int count) {
+        return fromBatch(isMainNet, SECP256K1Support.generateKeyPairs(count));
+    }
+
+    /**
+     * 用批量生成的公私钥创建钱包
+     *
+     * @param isMainNet 是否主网
+     * @param batch     批量生成的公私钥
+     * @return 钱包，顺序和batch一致
+     */
+    public static List<BtcWallet> fromBatch(boolean isMainNet, KeyPairBatch batch) {
+        List<BtcWallet> wallets = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            wallets.add(new BtcWallet(isMainNet, batch, i));
+        }
+        return wallets;
+    }
+
+
+    /**
+     * 根据公钥生成对应的地址，不需要私钥（比如由xpub派生的公钥）
+     * <p>
+     * 压缩公钥和未压缩公钥得到的地址不同，BIP44钱包一般用压缩公钥
+     *
+     * @param pub 压缩的33byte或未压缩的65byte公钥
+     * @return btc地址
+     */
+    public static String addressFromPublicKey(byte[] pub) {
+        if (pub == null || (pub.length != 33 && pub.length != PUB_LENGTH + 1)) {
+            throw new IllegalArgumentException("invalid public key, please check it");
+        }
+        return Base58Check.encode(PUB_KEY_PREFIX, hashPub(pub));
+    }
 
     /**
      * 默认提供不压缩公钥对应的私钥
@@ -80,13 +153,10 @@ public class BtcWallet extends SECP256K1KeyWallet {
         }
         byte[] pubKey = this.pub;
         if (isCompressedPubKey) {
-            pubKey = SECP256K1Support.getPubCompressedFromPrivate(getPrivateHex());
+            pubKey = compressPub(this.pub);
         }
         byte[] pubMiddlePhase = hashPub(pubKey);
-        byte[] withPrefix = addPubPrefix(pubMiddlePhase);
-        byte[] checkSum = getCheckSum(withPrefix);
-        byte[] beforeBase58 = addCheckSumSuffix(withPrefix, checkSum);
-        String address = Base58.encode(beforeBase58);
+        String address = Base58Check.encode(PUB_KEY_PREFIX, pubMiddlePhase);
         cache.pubHexAddress = address;
         return address;
     }
@@ -102,9 +172,11 @@ public class BtcWallet extends SECP256K1KeyWallet {
         if (null != cache.privateHexKey) {
             return cache.privateHexKey;
         }
-        cache.privateHexKey = Hex.toHexString(pri);
         if (isCompressedPubKey) {
-            cache.privateHexKey = cache.privateHexKey + COMPRESSED_PRI_KEY_SUFFIX;
+            cache.privateHexKey = Hexes.append(new StringBuilder(pri.length * 2 + COMPRESSED_PRI_KEY_SUFFIX.length()), pri, 0, pri.length)
+                    .append(COMPRESSED_PRI_KEY_SUFFIX).toString();
+        } else {
+            cache.privateHexKey = Hexes.toHex(pri);
         }
         return cache.privateHexKey;
     }
@@ -125,9 +197,7 @@ public class BtcWallet extends SECP256K1KeyWallet {
             return cache.priWIFKey;
         }
         byte[] extendedPriKey = extendPrivateKey(this.pri, isCompressedPubKey);
-        byte[] checkSum = getCheckSum(extendedPriKey);
-        byte[] beforeBase58 = addCheckSumSuffix(extendedPriKey, checkSum);
-        String priKeyWIF = Base58.encode(beforeBase58);
+        String priKeyWIF = Base58Check.encode(extendedPriKey);
         cache.priWIFKey = priKeyWIF;
         return priKeyWIF;
     }
@@ -137,34 +207,32 @@ public class BtcWallet extends SECP256K1KeyWallet {
     // ======================== private method ============================
     // ====================================================================
 
-    /**
-     * 向公钥地址添加公钥地址前缀：0x00
-     * <p>
-     * 此时公钥应该已经经过了一次sha256，一次ripeMd160
-     *
-     * @param pubMiddlePhase 公钥的中间阶段
-     * @return 携带前缀的公钥
-     */
-    private byte[] addPubPrefix(byte[] pubMiddlePhase) {
-        byte[] withPrefix = new byte[pubMiddlePhase.length + 1];
-        System.arraycopy(pubMiddlePhase, 0, withPrefix, 1, pubMiddlePhase.length);
-        withPrefix[0] = PUB_KEY_PREFIX;
-        return withPrefix;
-    }
-
     /**
      * 对公钥进行1次sha256，1次ripeMd160，得到hash
      *
      * @param pubKey 公钥
      * @return 公钥的hash
      */
-    private byte[] hashPub(byte[] pubKey) {
+    private static byte[] hashPub(byte[] pubKey) {
         SHA256.Digest sha256Digest = new SHA256.Digest();
         byte[] afterSha256 = sha256Digest.digest(pubKey);
         RIPEMD160.Digest ripeMd160Digest = new RIPEMD160.Digest();
         return ripeMd160Digest.digest(afterSha256);
     }
 
+    /**
+     * 未压缩公钥转压缩公钥：y为偶数时前缀0x02，奇数时0x03，后面跟x
+     *
+     * @param pub 未压缩公钥，65byte
+     * @return 压缩公钥，33byte
+     */
+    private byte[] compressPub(byte[] pub) {
+        byte[] compressed = new byte[33];
+        compressed[0] = (byte) (0x02 | (pub[pub.length - 1] & 1));
+        System.arraycopy(pub, 1, compressed, 1, 32);
+        return compressed;
+    }
+
     /**
      * 计算<b>压缩私钥</b>（WIF）时，主网和测试网返回的前缀不一样
      *
@@ -212,36 +280,6 @@ public class BtcWallet extends SECP256K1KeyWallet {
         return extendPriKey;
     }
 
-    /**
-     * 获取校验和
-     * <p>
-     * 对data进行2次sha256，取前4byte
-     *
-     * @param data 原始内容
-     * @return 校验和
-     */
-    private byte[] getCheckSum(byte[] data) {
-        SHA256.Digest digest = new SHA256.Digest();
-        byte[] result = digest.digest(data);
-        digest.reset();
-        byte[] checkSumFull = digest.digest(result);
-        return Arrays.copyOfRange(checkSumFull, 0, 4);
-    }
-
-    /**
-     * 向携带前缀的私钥后面添加校验和后缀
-     *
-     * @param originalData 原始内容
-     * @param checkSum     校验和
-     * @return 完整的私钥
-     */
-    private byte[] addCheckSumSuffix(byte[] originalData, byte[] checkSum) {
-        byte[] result = new byte[originalData.length + checkSum.length];
-        System.arraycopy(originalData, 0, result, 0, originalData.length);
-        System.arraycopy(checkSum, 0, result, originalData.length, checkSum.length);
-        return result;
-    }
-
     /**
      * 根据公钥是否被压缩获取对应的缓存信息
      *
@@ -1,10 +1,15 @@
 package com.nona.someEncode.key;
 
 import cn.hutool.core.codec.Base32;
+import com.nona.someEncode.crypto.KeyPairBatch;
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.util.Hexes;
 import lombok.Getter;
 import org.bouncycastle.crypto.digests.Blake2bDigest;
 import org.bouncycastle.jcajce.provider.digest.Blake2b;
-import org.bouncycastle.util.encoders.Hex;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author nona9961
@@ -15,7 +20,13 @@ public class FilWallet extends SECP256K1KeyWallet {
     /**
      * 我们只创建Protocol=1的secp256k1地址
      */
-    private final byte PROTOCOL = (byte) 0x01;
+    private static final byte PROTOCOL = (byte) 0x01;
+    private static final int MIDDLE_ADDRESS_LENGTH = 20;
+    private static final int SUM_CHECK_LENGTH = 4;
+    /**
+     * 2byte前缀 + base32(20byte hash + 4byte sum check)
+     */
+    private static final int ADDRESS_LENGTH = 41;
 
     private String privateKeyHex;
     private String address;
@@ -26,12 +37,54 @@ public class FilWallet extends SECP256K1KeyWallet {
         this.filAddressType = filAddressType;
     }
 
+    /**
+     * 根据已有的私钥创建钱包
+     *
+     * @param filAddressType 地址类型
+     * @param priKeyHex      私钥（16进制）
+     */
+    public FilWallet(FilAddressType filAddressType, String priKeyHex) {
+        super(priKeyHex, false);
+        this.filAddressType = filAddressType;
+    }
+
+    private FilWallet(FilAddressType filAddressType, KeyPairBatch batch, int index) {
+        super(batch, index);
+        this.filAddressType = filAddressType;
+    }
+
+    /**
+     * 批量创建钱包，公私钥见{@link SECP256K1Support#generateKeyPairs(int)}
+     *
+     * @param filAddressType 地址类型
+     * @param count          个数
+     * @return 钱包
+     */
+    public static List<FilWallet> generate(FilAddressType filAddressType, int count) {
+        return fromBatch(filAddressType, SECP256K1Support.generateKeyPairs(count));
+    }
+
+    /**
+     * 用批量生成的公私钥创建钱包
+     *
+     * @param filAddressType 地址类型
+     * @param batch          批量生成的公私钥
+     * @return 钱包，顺序和batch一致
+     */
+    public static List<FilWallet> fromBatch(FilAddressType filAddressType, KeyPairBatch batch) {
+        List<FilWallet> wallets = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            wallets.add(new FilWallet(filAddressType, batch, i));
+        }
+        return wallets;
+    }
+
     @Override
     public String getPrivateHex() {
         if (this.privateKeyHex != null) {
             return this.privateKeyHex;
         }
-        this.privateKeyHex = Hex.toHexString(this.pri);
+        this.privateKeyHex = Hexes.toHex(this.pri);
         return this.privateKeyHex;
     }
 
@@ -48,14 +101,131 @@ public class FilWallet extends SECP256K1KeyWallet {
         if (null != this.address) {
             return this.address;
         }
-        byte[] middleAddress = blake160HashPub(this.pub);
+        this.address = encodeAddress(filAddressType, blake160HashPub(this.pub));
+        return this.address;
+    }
+
+    /**
+     * 根据公钥生成对应的地址，不需要私钥（比如由xpub派生的公钥）
+     *
+     * @param filAddressType 地址类型
+     * @param pub            未压缩的公钥，65byte
+     * @return 地址
+     */
+    public static String addressFromPublicKey(FilAddressType filAddressType, byte[] pub) {
+        if (pub == null || pub.length != PUB_LENGTH + 1) {
+            throw new IllegalArgumentException("invalid public key, please use uncompressed public key");
+        }
+        return encodeAddress(filAddressType, blake160HashPub(pub));
+    }
+
+    /**
+     * 将地址转回blake160(pub)，f1和t1都可以，不区分大小写
+     * <p>
+     * 会校验sum check，不通过抛出{@link IllegalArgumentException}
+     *
+     * @param address fil secp256k1地址
+     * @return blake160(pub)，20byte
+     */
+    public static byte[] revertMiddleAddress(String address) {
+        byte[] middleAddress = new byte[MIDDLE_ADDRESS_LENGTH];
+        if (!decodeMiddleAddress(address, middleAddress, 0)) {
+            throw new IllegalArgumentException("invalid fil address");
+        }
+        return middleAddress;
+    }
+
+    /**
+     * 将地址转回blake160(pub)写入dst[off, off + 20)
+     *
+     * @param address fil secp256k1地址
+     * @param dst     目标数组
+     * @param off     目标起始位置
+     * @return 地址不合法（前缀、字符、长度或sum check不对）时为false
+     */
+    public static boolean decodeMiddleAddress(CharSequence address, byte[] dst, int off) {
+        byte[] raw = new byte[MIDDLE_ADDRESS_LENGTH + SUM_CHECK_LENGTH];
+        if (!decodeMiddleAddress(address, raw, 0, new Blake2bDigest(SUM_CHECK_LENGTH * Byte.SIZE))) {
+            return false;
+        }
+        System.arraycopy(raw, 0, dst, off, MIDDLE_ADDRESS_LENGTH);
+        return true;
+    }
+
+    /**
+     * 同{@link #decodeMiddleAddress(CharSequence, byte[], int)}，sum check用调用方提供的digest计算，整个过程不分配内存
+     * <p>
+     * dst[off + 20, off + 24)会被用作临时空间
+     *
+     * @param address        fil secp256k1地址
+     * @param dst            目标数组，off之后至少24byte
+     * @param off            目标起始位置
+     * @param sumCheckDigest Blake2bDigest(32)，会被重置
+     * @return 地址不合法（前缀、字符、长度或sum check不对）时为false
+     */
+    public static boolean decodeMiddleAddress(CharSequence address, byte[] dst, int off, Blake2bDigest sumCheckDigest) {
+        if (address == null || address.length() != ADDRESS_LENGTH) {
+            return false;
+        }
+        char network = Character.toLowerCase(address.charAt(0));
+        if ((network != 'f' && network != 't') || address.charAt(1) != '1') {
+            return false;
+        }
+        if (sumCheckDigest.getDigestSize() != SUM_CHECK_LENGTH) {
+            throw new IllegalArgumentException("sum check digest should be Blake2bDigest(32)");
+        }
+        int sumCheck = 0;
+        long buffer = 0;
+        int bits = 0;
+        int written = 0;
+        for (int i = 2; i < ADDRESS_LENGTH; i++) {
+            int value = base32Value(address.charAt(i));
+            if (value < 0) {
+                return false;
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= Byte.SIZE) {
+                bits -= Byte.SIZE;
+                int b = (int) (buffer >>> bits) & 0xFF;
+                if (written < MIDDLE_ADDRESS_LENGTH) {
+                    dst[off + written] = (byte) b;
+                } else {
+                    sumCheck = (sumCheck << Byte.SIZE) | b;
+                }
+                written++;
+            }
+        }
+        // 39个字符是195bit，最后3bit是补齐用的0
+        if ((buffer & ((1 << bits) - 1)) != 0) {
+            return false;
+        }
+        sumCheckDigest.reset();
+        sumCheckDigest.update(PROTOCOL);
+        sumCheckDigest.update(dst, off, MIDDLE_ADDRESS_LENGTH);
+        // 借用dst[off + 20, off + 24)存放算出来的sum check
+        sumCheckDigest.doFinal(dst, off + MIDDLE_ADDRESS_LENGTH);
+        int expected = 0;
+        for (int i = 0; i < SUM_CHECK_LENGTH; i++) {
+            expected = (expected << Byte.SIZE) | (dst[off + MIDDLE_ADDRESS_LENGTH + i] & 0xFF);
+        }
+        return expected == sumCheck;
+    }
+
+    /**
+     * 由公钥的blake160拼出地址：类型前缀 + base32(hash + sum check)，全部小写
+     *
+     * @param filAddressType 地址类型
+     * @param middleAddress  blake160(pub)
+     * @return 地址
+     */
+    public static String encodeAddress(FilAddressType filAddressType, byte[] middleAddress) {
         byte[] sumCheck = getSumCheckWithProtocol(middleAddress);
         byte[] rawAddress = new byte[middleAddress.length + sumCheck.length];
         System.arraycopy(middleAddress, 0, rawAddress, 0, middleAddress.length);
         System.arraycopy(sumCheck, 0, rawAddress, middleAddress.length, sumCheck.length);
         String addressPayload = Base32.encode(rawAddress);
-        this.address = (filAddressType.getAddressPrefix() + addressPayload).toLowerCase();
-        return this.address;
+        return (filAddressType.getAddressPrefix() + addressPayload).toLowerCase();
     }
 
     /**
@@ -64,7 +234,7 @@ public class FilWallet extends SECP256K1KeyWallet {
      * @param pub 公钥
      * @return hash
      */
-    private byte[] blake160HashPub(byte[] pub) {
+    private static byte[] blake160HashPub(byte[] pub) {
         Blake2b.Blake2b160 blake2b160 = new Blake2b.Blake2b160();
         return blake2b160.digest(pub);
     }
@@ -78,7 +248,7 @@ public class FilWallet extends SECP256K1KeyWallet {
      * @param middle blake160之后的hash
      * @return sum check
      */
-    private byte[] getSumCheckWithProtocol(byte[] middle) {
+    private static byte[] getSumCheckWithProtocol(byte[] middle) {
         byte[] addPrefix = new byte[middle.length + 1];
         System.arraycopy(middle, 0, addPrefix, 1, middle.length);
         addPrefix[0] = PROTOCOL;
@@ -92,6 +262,23 @@ public class FilWallet extends SECP256K1KeyWallet {
     }
 
 
+    /**
+     * base32（RFC 4648）字符对应的值，不区分大小写
+     */
+    private static int base32Value(char c) {
+        if (c >= 'a' && c <= 'z') {
+            return c - 'a';
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        }
+        if (c >= '2' && c <= '7') {
+            return c - '2' + 26;
+        }
+        return -1;
+    }
+
+
     @Getter
     public enum FilAddressType {
         MAIN_NET_WALLET_ADDRESS("f1"),
@@ -0,0 +1,228 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.crypto.HDNode;
+import com.nona.someEncode.util.Hexes;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 从一个根节点（种子生成的主节点，或者导入的xprv/xpub）派生子孙节点，并缓存中间节点
+ * <p>
+ * 派生路径上除最后一级外的节点都会缓存，比如派生 m/44'/195'/0'/0/i 时缓存 m/44'、m/44'/195'、m/44'/195'/0' 和
+ * m/44'/195'/0'/0，之后每个地址只需要从 m/44'/195'/0'/0 再派生一级。最多缓存{@value #MAX_CACHED_NODES}个节点，
+ * 超过之后不再放入新的。线程安全
+ *
+ * @author nona9961
+ * @date 2026/10/18 20:00
+ */
+public final class HDKeyChain {
+
+    public static final int MAX_CACHED_NODES = 4096;
+
+    private static final int PURPOSE = 44;
+    private static final int EXTERNAL_CHAIN = 0;
+
+    private final HDNode root;
+    private final Map<Path, HDNode> cache = new ConcurrentHashMap<>();
+
+    public HDKeyChain(HDNode root) {
+        if (root == null) {
+            throw new IllegalArgumentException("root node is null");
+        }
+        this.root = root;
+    }
+
+    /**
+     * 由种子创建
+     *
+     * @param seed 种子，16到64byte
+     * @return key chain
+     */
+    public static HDKeyChain fromSeed(byte[] seed) {
+        return new HDKeyChain(HDNode.fromSeed(seed));
+    }
+
+    /**
+     * 由xprv/xpub创建，路径都相对于这个节点
+     *
+     * @param extendedKey 扩展密钥
+     * @return key chain
+     */
+    public static HDKeyChain fromExtendedKey(String extendedKey) {
+        return new HDKeyChain(HDNode.fromExtendedKey(extendedKey));
+    }
+
+    public HDNode getRoot() {
+        return root;
+    }
+
+    /**
+     * 按相对于根节点的路径派生
+     *
+     * @param path 路径，如m/44'/195'/0'/0/1
+     * @return 节点
+     */
+    public HDNode derive(String path) {
+        return derive(HDNode.parsePath(path));
+    }
+
+    /**
+     * 按相对于根节点的路径派生
+     *
+     * @param path 每一级的子节点序号
+     * @return 节点
+     */
+    public HDNode derive(int... path) {
+        if (path.length == 0) {
+            return root;
+        }
+        return parent(path, path.length - 1).derive(path[path.length - 1]);
+    }
+
+    /**
+     * BIP44节点 m/44'/coin_type'/account'/change/index，根节点必须是有私钥的主节点
+     *
+     * @param coinType 币种
+     * @param account  账户，0开始
+     * @param change   0为收款地址，1为找零地址
+     * @param index    地址序号
+     * @return 节点
+     */
+    public HDNode bip44(Bip44CoinType coinType, int account, int change, int index) {
+        if (root.getDepth() != 0 || !root.hasPrivateKey()) {
+            throw new IllegalStateException("bip44 path should be derived from master private key");
+        }
+        if (change != 0 && change != 1) {
+            throw new IllegalArgumentException("change should be 0 or 1");
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("index should not be negative");
+        }
+        return derive(HDNode.hardened(PURPOSE), HDNode.hardened(coinType.getCoinType()), HDNode.hardened(account), change, index);
+    }
+
+    /**
+     * BIP44账户节点 m/44'/coin_type'/account' 的xpub，可以交给只需要生成地址的服务
+     *
+     * @param coinType 币种
+     * @param account  账户
+     * @return xpub
+     */
+    public String accountExtendedPublicKey(Bip44CoinType coinType, int account) {
+        if (root.getDepth() != 0 || !root.hasPrivateKey()) {
+            throw new IllegalStateException("bip44 path should be derived from master private key");
+        }
+        return derive(HDNode.hardened(PURPOSE), HDNode.hardened(coinType.getCoinType()), HDNode.hardened(account)).toExtendedPublicKey();
+    }
+
+    /**
+     * 收款地址 m/44'/coin_type'/account'/0/index
+     *
+     * @param coinType 币种
+     * @param account  账户
+     * @param index    地址序号
+     * @return 地址
+     */
+    public String address(Bip44CoinType coinType, int account, int index) {
+        return coinType.address(bip44(coinType, account, EXTERNAL_CHAIN, index));
+    }
+
+    /**
+     * 收款钱包 m/44'/195'/account'/0/index
+     *
+     * @param account 账户
+     * @param index   地址序号
+     * @return 钱包
+     */
+    public TrxWallet trxWallet(int account, int index) {
+        return new TrxWallet(privateHex(bip44(Bip44CoinType.TRX, account, EXTERNAL_CHAIN, index)));
+    }
+
+    /**
+     * 收款钱包 m/44'/0'/account'/0/index，BIP44的地址是{@link BtcWallet#getAddress(boolean)}传true得到的压缩公钥地址
+     *
+     * @param isMainNet 是否主网（影响WIF私钥）
+     * @param account   账户
+     * @param index     地址序号
+     * @return 钱包
+     */
+    public BtcWallet btcWallet(boolean isMainNet, int account, int index) {
+        String privateHex = privateHex(bip44(Bip44CoinType.BTC, account, EXTERNAL_CHAIN, index));
+        return isMainNet ? BtcWallet.mainNet(privateHex) : BtcWallet.testNet(privateHex);
+    }
+
+    /**
+     * 收款钱包 m/44'/461'/account'/0/index
+     *
+     * @param filAddressType 地址类型
+     * @param account        账户
+     * @param index          地址序号
+     * @return 钱包
+     */
+    public FilWallet filWallet(FilWallet.FilAddressType filAddressType, int account, int index) {
+        return new FilWallet(filAddressType, privateHex(bip44(Bip44CoinType.FIL, account, EXTERNAL_CHAIN, index)));
+    }
+
+    /**
+     * 缓存的中间节点数
+     *
+     * @return 节点数
+     */
+    public int cachedNodes() {
+        return cache.size();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * path[0, length)对应的节点，优先取缓存，没有时由它的父节点派生并放入缓存
+     */
+    private HDNode parent(int[] path, int length) {
+        if (length == 0) {
+            return root;
+        }
+        Path key = new Path(Arrays.copyOf(path, length));
+        HDNode node = cache.get(key);
+        if (node != null) {
+            return node;
+        }
+        node = parent(path, length - 1).derive(path[length - 1]);
+        if (cache.size() < MAX_CACHED_NODES) {
+            cache.putIfAbsent(key, node);
+        }
+        return node;
+    }
+
+    private static String privateHex(HDNode node) {
+        return Hexes.toHex(node.getPrivateKey());
+    }
+
+    /**
+     * 缓存的key
+     */
+    private static final class Path {
+        private final int[] indexes;
+        private final int hash;
+
+        private Path(int[] indexes) {
+            this.indexes = indexes;
+            this.hash = Arrays.hashCode(indexes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Path && Arrays.equals(indexes, ((Path) o).indexes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
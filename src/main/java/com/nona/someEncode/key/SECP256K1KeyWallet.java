@@ -1,12 +1,10 @@
 package com.nona.someEncode.key;
 
+import com.nona.someEncode.crypto.KeyPairBatch;
 import com.nona.someEncode.crypto.SECP256K1Support;
-import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPrivateKey;
-import org.bouncycastle.jcajce.provider.asymmetric.ec.BCECPublicKey;
-import org.bouncycastle.util.encoders.Hex;
+import com.nona.someEncode.util.Hexes;
 
 import java.math.BigInteger;
-import java.security.KeyPair;
 
 /**
  * @author nona9961
@@ -21,23 +19,24 @@ public abstract class SECP256K1KeyWallet implements KeyWallet {
     protected final byte[] pub;
 
     protected SECP256K1KeyWallet() {
-        KeyPair keyPair = SECP256K1Support.generateKeyPair();
-        BCECPrivateKey privateKey = (BCECPrivateKey) keyPair.getPrivate();
-        this.pri = normalizePrivateKey(privateKey.getD());
-        BCECPublicKey publicKey = (BCECPublicKey) keyPair.getPublic();
-        byte[] q = publicKey.getQ().getEncoded(false);
-        this.pub = normalizePublicKey(q);
+        this.pri = SECP256K1Support.generatePrivateKey();
+        this.pub = normalizePublicKey(SECP256K1Support.getPubFromPrivate(this.pri, false));
     }
 
     protected SECP256K1KeyWallet(String priKeyHex, boolean isPubCompressed) {
-        this.pri = Hex.decode(priKeyHex);
-        byte[] rawPub;
-        if (isPubCompressed) {
-            rawPub = SECP256K1Support.getPubCompressedFromPrivate(priKeyHex);
-        } else {
-            rawPub = SECP256K1Support.getPubUncompressedFromPrivate(priKeyHex);
-        }
-        this.pub = normalizePublicKey(rawPub);
+        this.pri = Hexes.decode(priKeyHex);
+        this.pub = normalizePublicKey(SECP256K1Support.getPubFromPrivate(this.pri, isPubCompressed));
+    }
+
+    /**
+     * 使用批量生成的第index个公私钥，不再做点运算
+     *
+     * @param batch 批量生成的公私钥
+     * @param index 生成顺序
+     */
+    protected SECP256K1KeyWallet(KeyPairBatch batch, int index) {
+        this.pri = batch.getPrivateKey(index);
+        this.pub = normalizePublicKey(batch.getPublicKey(index, false));
     }
 
     /**
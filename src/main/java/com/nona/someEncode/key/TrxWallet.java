@@ -1,10 +1,14 @@
 package com.nona.someEncode.key;
 
 import com.nona.someEncode.base.Base58;
+import com.nona.someEncode.base.Base58Check;
+import com.nona.someEncode.crypto.KeyPairBatch;
 import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.util.Hexes;
 import org.bouncycastle.jcajce.provider.digest.Keccak;
-import org.bouncycastle.jcajce.provider.digest.SHA256;
-import org.bouncycastle.util.encoders.Hex;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * trx公私钥和地址的类
@@ -15,11 +19,53 @@ import org.bouncycastle.util.encoders.Hex;
 public class TrxWallet extends SECP256K1KeyWallet {
 
     private final static byte ADDRESS_PREFIX = 0x41;
+    private final static int MIDDLE_ADDRESS_LENGTH = 20;
 
 
     private String privateKey;
     private String address;
 
+    public TrxWallet() {
+        super();
+    }
+
+    /**
+     * 根据已有的私钥创建钱包
+     *
+     * @param priKeyHex 私钥（16进制）
+     */
+    public TrxWallet(String priKeyHex) {
+        super(priKeyHex, false);
+    }
+
+    private TrxWallet(KeyPairBatch batch, int index) {
+        super(batch, index);
+    }
+
+    /**
+     * 批量创建钱包，公私钥见{@link SECP256K1Support#generateKeyPairs(int)}
+     *
+     * @param count 个数
+     * @return 钱包
+     */
+    public static List<TrxWallet> generate(int count) {
+        return fromBatch(SECP256K1Support.generateKeyPairs(count));
+    }
+
+    /**
+     * 用批量生成的公私钥创建钱包
+     *
+     * @param batch 批量生成的公私钥
+     * @return 钱包，顺序和batch一致
+     */
+    public static List<TrxWallet> fromBatch(KeyPairBatch batch) {
+        List<TrxWallet> wallets = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            wallets.add(new TrxWallet(batch, i));
+        }
+        return wallets;
+    }
+
     /**
      * 根据十六进制私钥字符串生成对应的地址
      *
@@ -30,37 +76,59 @@ public class TrxWallet extends SECP256K1KeyWallet {
         byte[] pubFromPrivate = SECP256K1Support.getPubUncompressedFromPrivate(hexPrivateStr);
         byte[] pub = removeThePrefixOfThePublicKey(pubFromPrivate);
         byte[] raw = hashForAddress(pub);
-        byte[] addressAndCheck = baseCheck(raw);
-        return Base58.encode(addressAndCheck);
+        return Base58Check.encode(raw);
+    }
+
+    /**
+     * 根据公钥生成对应的地址，不需要私钥（比如由xpub派生的公钥）
+     *
+     * @param pub 未压缩的公钥，65byte（0x04开头）或去掉0x04的64byte
+     * @return 对应的Address
+     */
+    public static String addressFromPublicKey(byte[] pub) {
+        if (pub == null || (pub.length != PUB_LENGTH + 1 && pub.length != PUB_LENGTH)) {
+            throw new IllegalArgumentException("invalid public key, please use uncompressed public key");
+        }
+        byte[] raw = hashForAddress(pub.length == PUB_LENGTH ? pub : removeThePrefixOfThePublicKey(pub));
+        return Base58Check.encode(raw);
     }
 
     /**
      * 将地址转回没有加0x41和baseCheck的样子。长度是160bit
+     * <p>
+     * 会校验checksum和0x41前缀，不通过抛出{@link IllegalArgumentException}
      *
      * @param address trx address
      * @return middle address in hex
      */
     public static String revertMiddleAddress(String address) {
-        byte[] addressBytes = Base58.decode(address);
+        byte[] middleAddress = new byte[Base58.maxDecodedLength(address.length())];
         // 去掉前面第一个0x41和最后的4个byte
-        if (addressBytes.length != 25) {
+        int length = Base58Check.decodePayload(address, ADDRESS_PREFIX, middleAddress, 0);
+        if (length != MIDDLE_ADDRESS_LENGTH) {
             throw new IllegalArgumentException("invalid trx address");
         }
-        byte[] middleAddress = new byte[20];
-        System.arraycopy(addressBytes, 1, middleAddress, 0, 20);
-        return Hex.toHexString(middleAddress);
+        return Hexes.toHex(middleAddress, 0, MIDDLE_ADDRESS_LENGTH);
     }
 
 
+    /**
+     * 同{@link #revertMiddleAddress(String)}，保留0x41前缀，长度是168bit
+     * <p>
+     * 会校验checksum和0x41前缀，不通过抛出{@link IllegalArgumentException}
+     *
+     * @param address trx address
+     * @return 41 + middle address in hex
+     */
     public static String revertMiddleAddressWithPrefix(String address) {
-        byte[] addressBytes = Base58.decode(address);
-        // 去掉最后的4个byte
-        if (addressBytes.length != 25) {
+        byte[] middleAddress = new byte[1 + Base58.maxDecodedLength(address.length())];
+        middleAddress[0] = ADDRESS_PREFIX;
+        // 去掉最后的4个byte，校验前缀后只写入后面的20byte
+        int length = Base58Check.decodePayload(address, ADDRESS_PREFIX, middleAddress, 1);
+        if (length != MIDDLE_ADDRESS_LENGTH) {
             throw new IllegalArgumentException("invalid trx address");
         }
-        byte[] middleAddress = new byte[21];
-        System.arraycopy(addressBytes, 0, middleAddress, 0, 21);
-        return Hex.toHexString(middleAddress);
+        return Hexes.toHex(middleAddress, 0, MIDDLE_ADDRESS_LENGTH + 1);
     }
 
     /*================================ non static method =======================================*/
@@ -75,8 +143,7 @@ public class TrxWallet extends SECP256K1KeyWallet {
             return this.address;
         }
         byte[] raw = hashForAddress(this.pub);
-        byte[] addressAndCheck = baseCheck(raw);
-        this.address = Base58.encode(addressAndCheck);
+        this.address = Base58Check.encode(raw);
         return this.address;
     }
 
@@ -89,7 +156,7 @@ public class TrxWallet extends SECP256K1KeyWallet {
         if (this.privateKey != null) {
             return this.privateKey;
         }
-        this.privateKey = Hex.toHexString(this.pri);
+        this.privateKey = Hexes.toHex(this.pri);
         return this.privateKey;
     }
 
@@ -115,26 +182,6 @@ public class TrxWallet extends SECP256K1KeyWallet {
         return raw;
     }
 
-    /**
-     * baseCheck计算最终地址
-     * <p>
-     * 对{@link #hashForAddress(byte[])}结果的addressRaw进行sha256计算，
-     * 取结果的前4位拼接到addressRaw的最后得到数组格式的address
-     *
-     * @param addressRaw 中间地址
-     * @return 数组格式的address
-     */
-    private static byte[] baseCheck(byte[] addressRaw) {
-        SHA256.Digest digest = new SHA256.Digest();
-        byte[] hashFirst = digest.digest(addressRaw);
-        digest.reset();
-        byte[] hashResult = digest.digest(hashFirst);
-        byte[] addressAndCheck = new byte[25];
-        System.arraycopy(addressRaw, 0, addressAndCheck, 0, addressRaw.length);
-        System.arraycopy(hashResult, 0, addressAndCheck, addressRaw.length, 4);
-        return addressAndCheck;
-    }
-
     /**
      * 直接看{@link #removeThePrefixOfThePublicKey(byte[])}
      *
@@ -0,0 +1,132 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.crypto.KeyWalk;
+import com.nona.someEncode.util.Hexes;
+import lombok.extern.log4j.Log4j2;
+
+import java.security.SecureRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 正在执行的靓号搜索，由{@link VanitySearch#start(int)}创建
+ * <p>
+ * 任意一个线程命中后所有线程停止；{@link #cancel()}之后线程在算完当前这一块（{@value KeyWalk#BLOCK}个公钥）后退出
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+@Log4j2
+public final class VanityJob {
+
+    private final CompletableFuture<VanityResult> result = new CompletableFuture<>();
+    private final LongAdder attempts = new LongAdder();
+    private final long startNanos;
+
+    VanityJob(Supplier<VanityMatcher> matcherFactory, int threads) {
+        this.startNanos = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(() -> search(matcherFactory.get()), "vanity-search-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * 等待搜索结束
+     *
+     * @return 结果，被取消时为null
+     * @throws InterruptedException 等待时被中断
+     */
+    public VanityResult await() throws InterruptedException {
+        try {
+            return result.get();
+        } catch (CancellationException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("vanity search failed", e.getCause());
+        }
+    }
+
+    /**
+     * 最多等待timeout，超时后搜索仍然继续
+     *
+     * @param timeout 超时时间
+     * @param unit    单位
+     * @return 结果，超时或者被取消时为null
+     * @throws InterruptedException 等待时被中断
+     */
+    public VanityResult await(long timeout, TimeUnit unit) throws InterruptedException {
+        try {
+            return result.get(timeout, unit);
+        } catch (CancellationException | TimeoutException e) {
+            return null;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("vanity search failed", e.getCause());
+        }
+    }
+
+    /**
+     * 停止搜索
+     *
+     * @return 调用前还没有结束时为true
+     */
+    public boolean cancel() {
+        return result.cancel(false);
+    }
+
+    public boolean isDone() {
+        return result.isDone();
+    }
+
+    /**
+     * 所有线程到目前为止一共尝试的次数，按块统计
+     *
+     * @return 尝试次数
+     */
+    public long getAttempts() {
+        return attempts.sum();
+    }
+
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * 从开始到现在的平均速度
+     *
+     * @return 每秒尝试次数
+     */
+    public double getAttemptsPerSecond() {
+        long nanos = System.nanoTime() - startNanos;
+        return nanos <= 0 ? 0 : attempts.sum() * 1e9 / nanos;
+    }
+
+    private void search(VanityMatcher matcher) {
+        try {
+            KeyWalk walk = new KeyWalk(new SecureRandom());
+            byte[] points = new byte[KeyWalk.BLOCK * KeyWalk.POINT_LENGTH];
+            while (!result.isDone()) {
+                walk.nextBlock(points, 0);
+                for (int i = 0; i < KeyWalk.BLOCK; i++) {
+                    String address = matcher.match(points, i * KeyWalk.POINT_LENGTH);
+                    if (address != null) {
+                        attempts.add(i + 1);
+                        String privateHex = Hexes.toHex(walk.privateKey(i));
+                        result.complete(new VanityResult(privateHex, address, attempts.sum(), getElapsedMillis()));
+                        return;
+                    }
+                }
+                attempts.add(KeyWalk.BLOCK);
+            }
+        } catch (RuntimeException e) {
+            log.error("vanity search failed", e);
+            result.completeExceptionally(e);
+        }
+    }
+}
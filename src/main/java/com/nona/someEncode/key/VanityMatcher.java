@@ -0,0 +1,162 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.base.Base58Check;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+/**
+ * 靓号搜索中判断一个公钥的地址是否以指定前缀开头
+ * <p>
+ * 先在hash上比较（Base58用{@link Base58PrefixFilter}预筛，Base32直接按位比较），通过之后才编码完整地址。
+ * 内部复用digest和缓冲区，非线程安全，每个搜索线程一个
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+abstract class VanityMatcher {
+
+    static final int HASH_LENGTH = 20;
+
+    /**
+     * 检查一个公钥
+     *
+     * @param point 公钥x + y所在的数组
+     * @param off   起始位置，从off开始64byte
+     * @return 命中时为完整的地址，否则为null
+     */
+    abstract String match(byte[] point, int off);
+
+    /**
+     * trx：0x41 + keccak256(x + y)的后20byte，Base58Check
+     */
+    static final class Trx extends VanityMatcher {
+
+        private static final byte ADDRESS_PREFIX = 0x41;
+        private static final int TOTAL_LENGTH = 1 + HASH_LENGTH + Base58Check.CHECKSUM_LENGTH;
+
+        private final String prefix;
+        private final Base58PrefixFilter filter;
+        private final KeccakDigest keccak = new KeccakDigest(256);
+        private final byte[] digest = new byte[32];
+
+        Trx(String prefix, Base58PrefixFilter filter) {
+            this.prefix = prefix;
+            this.filter = filter;
+        }
+
+        static Base58PrefixFilter filter(String prefix) {
+            return new Base58PrefixFilter(prefix, ADDRESS_PREFIX, TOTAL_LENGTH);
+        }
+
+        @Override
+        String match(byte[] point, int off) {
+            keccak.update(point, off, 64);
+            keccak.doFinal(digest, 0);
+            int hashOff = digest.length - HASH_LENGTH;
+            if (!filter.mayMatch(digest, hashOff)) {
+                return null;
+            }
+            String address = Base58Check.encode(ADDRESS_PREFIX, digest, hashOff, HASH_LENGTH);
+            return address.startsWith(prefix) ? address : null;
+        }
+    }
+
+    /**
+     * btc：0x00 + ripemd160(sha256(公钥))，Base58Check
+     */
+    static final class Btc extends VanityMatcher {
+
+        private static final byte ADDRESS_PREFIX = 0x00;
+        private static final int TOTAL_LENGTH = 1 + HASH_LENGTH + Base58Check.CHECKSUM_LENGTH;
+
+        private final String prefix;
+        private final Base58PrefixFilter filter;
+        private final boolean compressedPubKey;
+        private final SHA256Digest sha256 = new SHA256Digest();
+        private final RIPEMD160Digest ripeMd160 = new RIPEMD160Digest();
+        private final byte[] sha256Out = new byte[32];
+        private final byte[] hash = new byte[HASH_LENGTH];
+
+        Btc(String prefix, Base58PrefixFilter filter, boolean compressedPubKey) {
+            this.prefix = prefix;
+            this.filter = filter;
+            this.compressedPubKey = compressedPubKey;
+        }
+
+        static Base58PrefixFilter filter(String prefix) {
+            return new Base58PrefixFilter(prefix, ADDRESS_PREFIX, TOTAL_LENGTH);
+        }
+
+        @Override
+        String match(byte[] point, int off) {
+            if (compressedPubKey) {
+                sha256.update((byte) (0x02 | (point[off + 63] & 1)));
+                sha256.update(point, off, 32);
+            } else {
+                sha256.update((byte) 0x04);
+                sha256.update(point, off, 64);
+            }
+            sha256.doFinal(sha256Out, 0);
+            ripeMd160.update(sha256Out, 0, sha256Out.length);
+            ripeMd160.doFinal(hash, 0);
+            if (!filter.mayMatch(hash, 0)) {
+                return null;
+            }
+            String address = Base58Check.encode(ADDRESS_PREFIX, hash);
+            return address.startsWith(prefix) ? address : null;
+        }
+    }
+
+    /**
+     * fil：类型前缀 + base32(blake160(0x04 + x + y) + sum check)
+     * <p>
+     * base32每个字符正好5bit，前缀（不超过32个字符）完全由hash的前几位决定，按位比较就是精确匹配
+     */
+    static final class Fil extends VanityMatcher {
+
+        static final String BASE32_ALPHABET = "abcdefghijklmnopqrstuvwxyz234567";
+        static final int MAX_PREFIX_CHARS = HASH_LENGTH * Byte.SIZE / 5;
+
+        private final FilWallet.FilAddressType filAddressType;
+        private final byte[] target;
+        private final byte[] mask;
+        private final int compareLength;
+        private final Blake2bDigest blake160 = new Blake2bDigest(160);
+        private final byte[] hash = new byte[HASH_LENGTH];
+
+        /**
+         * @param filAddressType 地址类型
+         * @param payload        前缀中地址类型之后的部分，小写
+         */
+        Fil(FilWallet.FilAddressType filAddressType, String payload) {
+            this.filAddressType = filAddressType;
+            this.target = new byte[HASH_LENGTH];
+            this.mask = new byte[HASH_LENGTH];
+            for (int i = 0; i < payload.length(); i++) {
+                int value = BASE32_ALPHABET.indexOf(payload.charAt(i));
+                for (int bit = 0; bit < 5; bit++) {
+                    int position = i * 5 + bit;
+                    int shift = 7 - (position & 7);
+                    mask[position >>> 3] |= 1 << shift;
+                    target[position >>> 3] |= ((value >>> (4 - bit)) & 1) << shift;
+                }
+            }
+            this.compareLength = (payload.length() * 5 + 7) >>> 3;
+        }
+
+        @Override
+        String match(byte[] point, int off) {
+            blake160.update((byte) 0x04);
+            blake160.update(point, off, 64);
+            blake160.doFinal(hash, 0);
+            for (int i = 0; i < compareLength; i++) {
+                if ((hash[i] & mask[i]) != target[i]) {
+                    return null;
+                }
+            }
+            return FilWallet.encodeAddress(filAddressType, hash.clone());
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.nona.someEncode.key;
+
+import lombok.Getter;
+
+/**
+ * 靓号搜索的结果
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+@Getter
+public final class VanityResult {
+
+    /**
+     * 私钥（16进制）
+     */
+    private final String privateHex;
+    /**
+     * 命中的地址
+     */
+    private final String address;
+    /**
+     * 命中时所有线程一共尝试的次数
+     */
+    private final long attempts;
+    /**
+     * 命中时已经用掉的时间
+     */
+    private final long elapsedMillis;
+
+    VanityResult(String privateHex, String address, long attempts, long elapsedMillis) {
+        this.privateHex = privateHex;
+        this.address = address;
+        this.attempts = attempts;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "VanityResult{address=" + address + ", attempts=" + attempts + ", elapsedMillis=" + elapsedMillis + "}";
+    }
+}
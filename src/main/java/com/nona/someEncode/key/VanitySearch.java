@@ -0,0 +1,122 @@
+package com.nona.someEncode.key;
+
+import java.util.function.Supplier;
+
+/**
+ * 靓号地址搜索：找一个地址以指定前缀开头的私钥
+ * <p>
+ * 每个线程从一个随机私钥出发，依次尝试k, k+1, k+2...（见{@link com.nona.someEncode.crypto.KeyWalk}），
+ * 地址前缀先在hash上比较，通过之后才编码完整地址。支持trx、btc（P2PKH）和fil（secp256k1地址）
+ * <pre>
+ *     VanityJob job = VanitySearch.trx("TNona").start();
+ *     VanityResult result = job.await();
+ *     TrxWallet wallet = new TrxWallet(result.getPrivateHex());
+ * </pre>
+ *
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+public final class VanitySearch {
+
+    private final String prefix;
+    private final Supplier<VanityMatcher> matcherFactory;
+    private final double probability;
+
+    private VanitySearch(String prefix, Supplier<VanityMatcher> matcherFactory, double probability) {
+        this.prefix = prefix;
+        this.matcherFactory = matcherFactory;
+        this.probability = probability;
+    }
+
+    /**
+     * trx地址，前缀区分大小写，都以T开头
+     *
+     * @param prefix 地址前缀
+     * @return 搜索
+     */
+    public static VanitySearch trx(String prefix) {
+        checkPrefix(prefix);
+        Base58PrefixFilter filter = VanityMatcher.Trx.filter(prefix);
+        return new VanitySearch(prefix, () -> new VanityMatcher.Trx(prefix, filter), filter.getProbability());
+    }
+
+    /**
+     * btc P2PKH地址，前缀区分大小写，都以1开头
+     *
+     * @param prefix           地址前缀
+     * @param compressedPubKey 地址是否由压缩公钥得到，见{@link BtcWallet#getAddress(boolean)}
+     * @return 搜索
+     */
+    public static VanitySearch btc(String prefix, boolean compressedPubKey) {
+        checkPrefix(prefix);
+        Base58PrefixFilter filter = VanityMatcher.Btc.filter(prefix);
+        return new VanitySearch(prefix, () -> new VanityMatcher.Btc(prefix, filter, compressedPubKey), filter.getProbability());
+    }
+
+    /**
+     * fil secp256k1地址，前缀不区分大小写，以f1或t1开头（和filAddressType一致）
+     *
+     * @param filAddressType 地址类型
+     * @param prefix         地址前缀
+     * @return 搜索
+     */
+    public static VanitySearch fil(FilWallet.FilAddressType filAddressType, String prefix) {
+        checkPrefix(prefix);
+        String lower = prefix.toLowerCase();
+        String typePrefix = filAddressType.getAddressPrefix();
+        if (!lower.startsWith(typePrefix)) {
+            throw new IllegalArgumentException("fil address should start with " + typePrefix);
+        }
+        String payload = lower.substring(typePrefix.length());
+        if (payload.length() > VanityMatcher.Fil.MAX_PREFIX_CHARS) {
+            throw new IllegalArgumentException("prefix is too long");
+        }
+        for (int i = 0; i < payload.length(); i++) {
+            if (VanityMatcher.Fil.BASE32_ALPHABET.indexOf(payload.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Invalid character for Base32: " + payload.charAt(i));
+            }
+        }
+        return new VanitySearch(lower, () -> new VanityMatcher.Fil(filAddressType, payload), Math.pow(32, -payload.length()));
+    }
+
+    /**
+     * 用所有的cpu核搜索
+     *
+     * @return 正在执行的搜索
+     */
+    public VanityJob start() {
+        return start(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 开始搜索，搜索线程是守护线程
+     *
+     * @param threads 线程数
+     * @return 正在执行的搜索
+     */
+    public VanityJob start(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads should be positive");
+        }
+        return new VanityJob(matcherFactory, threads);
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * 命中一次平均需要尝试的次数
+     *
+     * @return 期望的尝试次数
+     */
+    public double getExpectedAttempts() {
+        return 1 / probability;
+    }
+
+    private static void checkPrefix(String prefix) {
+        if (prefix == null || prefix.isEmpty()) {
+            throw new IllegalArgumentException("prefix is empty");
+        }
+    }
+}
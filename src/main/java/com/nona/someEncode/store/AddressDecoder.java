@@ -0,0 +1,102 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.base.Base58;
+import com.nona.someEncode.base.Base58Check;
+import com.nona.someEncode.key.FilWallet;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+/**
+ * 把地址解析成20byte payload，解码和校验用的数组、digest都复用，解析一个地址不分配内存
+ * <p>
+ * 不是线程安全的，通过{@link #current()}每个线程取自己的一份
+ *
+ * @author nona9961
+ * @date 2026/10/18 22:00
+ */
+final class AddressDecoder {
+
+    /**
+     * trx和btc的base58check地址最长34个字符，多留一个
+     */
+    private static final int MAX_BASE58_LENGTH = 35;
+    private static final int BASE58_RAW_LENGTH = Base58Check.VERSION_LENGTH + AddressType.PAYLOAD_LENGTH + Base58Check.CHECKSUM_LENGTH;
+    private static final int SHA256_LENGTH = 32;
+
+    private static final ThreadLocal<AddressDecoder> CURRENT = ThreadLocal.withInitial(AddressDecoder::new);
+
+    private final byte[] scratch = new byte[AddressType.PAYLOAD_LENGTH];
+    private final byte[] raw = new byte[Base58.maxDecodedLength(MAX_BASE58_LENGTH)];
+    private final int[] work = new int[Base58.decodeWorkLength(MAX_BASE58_LENGTH)];
+    private final byte[] hash = new byte[SHA256_LENGTH];
+    private final SHA256Digest sha256 = new SHA256Digest();
+    private final Blake2bDigest sumCheck = new Blake2bDigest(32);
+
+    private AddressDecoder() {
+    }
+
+    static AddressDecoder current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 给调用方放解码结果的20byte临时数组，属于当前线程
+     */
+    byte[] scratch() {
+        return scratch;
+    }
+
+    /**
+     * 见{@link AddressType#decode(CharSequence, byte[], int)}
+     */
+    AddressType decode(CharSequence address, byte[] dst, int off) {
+        if (address == null || address.length() == 0) {
+            return null;
+        }
+        char first = Character.toLowerCase(address.charAt(0));
+        // trx地址的第二个字符不会是'1'，以T1开头的只能是大写的fil测试网地址
+        if ((first == 'f' || first == 't') && address.length() > 1 && address.charAt(1) == '1') {
+            if (!FilWallet.decodeMiddleAddress(address, raw, 0, sumCheck)) {
+                return null;
+            }
+            System.arraycopy(raw, 0, dst, off, AddressType.PAYLOAD_LENGTH);
+            return AddressType.FIL;
+        }
+        if (address.length() > MAX_BASE58_LENGTH) {
+            return null;
+        }
+        int length;
+        try {
+            length = Base58.decode(address, 0, address.length(), raw, 0, work);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (length != BASE58_RAW_LENGTH || !checksumMatches()) {
+            return null;
+        }
+        AddressType type;
+        if (raw[0] == AddressType.TRX_VERSION) {
+            type = AddressType.TRX;
+        } else if (raw[0] == AddressType.BTC_VERSION) {
+            type = AddressType.BTC;
+        } else {
+            return null;
+        }
+        System.arraycopy(raw, Base58Check.VERSION_LENGTH, dst, off, AddressType.PAYLOAD_LENGTH);
+        return type;
+    }
+
+    private boolean checksumMatches() {
+        int dataLength = BASE58_RAW_LENGTH - Base58Check.CHECKSUM_LENGTH;
+        sha256.update(raw, 0, dataLength);
+        sha256.doFinal(hash, 0);
+        sha256.update(hash, 0, SHA256_LENGTH);
+        sha256.doFinal(hash, 0);
+        for (int i = 0; i < Base58Check.CHECKSUM_LENGTH; i++) {
+            if (hash[i] != raw[dataLength + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,420 @@
+package com.nona.someEncode.store;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 地址的概率预过滤器（binary fuse filter，3路，8bit指纹），只能回答"一定不是"或者"可能是"
+ * <p>
+ * 每个地址约9bit（大于一百万个地址时是8 * 1.125），误判率约1/256，即99.6%的非自己的地址在这里就被排除，
+ * 剩下的再去{@link AddressIndex}之类的精确索引里确认。建好之后不能再加入地址
+ * <p>
+ * 构造：payload并行hash成long并排序去重（排序后同一段的key挨在一起，剥离时访问的内存是局部的），
+ * 再剥离出一个顺序倒着填指纹；剥离失败换一个种子重来，一般一次就能成功。
+ * 种子序列是固定的，同一组地址建出来的文件是一样的
+ * <p>
+ * 序列化后是{@value #HEADER_LENGTH}byte的文件头加上指纹数组，可以直接{@link #map(Path)}，多个进程共享page cache。
+ * 查询是只读的，可以并发
+ *
+ * @author nona9961
+ * @date 2026/10/18 23:00
+ */
+public final class AddressFilter {
+
+    public static final int HEADER_LENGTH = 32;
+
+    private static final int MAGIC = 0x41464C54;
+    private static final int VERSION = 1;
+    private static final int ARITY = 3;
+    private static final int MAX_SEGMENT_LENGTH = 1 << 18;
+    private static final int MAX_ATTEMPTS = 100;
+    private static final long SEED = 0x5DEECE66DL;
+    /**
+     * t2count是byte，每个key加4，一个位置上超过63个key就会溢出，需要换种子
+     */
+    private static final int COUNT_STEP = 4;
+
+    private final long seed;
+    private final int size;
+    private final int segmentLength;
+    private final int segmentLengthMask;
+    private final int segmentCount;
+    private final int segmentCountLength;
+    private final ByteBuffer fingerprints;
+
+    private AddressFilter(long seed, int size, int segmentLength, int segmentCount, ByteBuffer fingerprints) {
+        this.seed = seed;
+        this.size = size;
+        this.segmentLength = segmentLength;
+        this.segmentLengthMask = segmentLength - 1;
+        this.segmentCount = segmentCount;
+        this.segmentCountLength = segmentCount * segmentLength;
+        this.fingerprints = fingerprints;
+    }
+
+    /**
+     * 用公共的ForkJoinPool构造
+     *
+     * @param payloads 连续存放的20byte payload，长度是20的整数倍
+     * @return 过滤器
+     */
+    public static AddressFilter build(byte[] payloads) {
+        return build(payloads, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 构造过滤器，hash和排序在pool里并行，重复的payload只算一个
+     *
+     * @param payloads 连续存放的20byte payload，长度是20的整数倍，比如{@link WalletStore#getPayload(long, AddressType)}拼起来
+     * @param pool     并行hash和排序用的pool
+     * @return 过滤器
+     */
+    public static AddressFilter build(byte[] payloads, ForkJoinPool pool) {
+        if (payloads == null || payloads.length % AddressType.PAYLOAD_LENGTH != 0) {
+            throw new IllegalArgumentException("payloads should be a multiple of 20 bytes");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("pool is null");
+        }
+        int count = payloads.length / AddressType.PAYLOAD_LENGTH;
+        long[] hashes = new long[count];
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            long seed = seeds.nextLong();
+            pool.invoke(new HashTask(payloads, hashes, seed, 0, count));
+            pool.submit(() -> Arrays.parallelSort(hashes)).join();
+            int size = dedupe(hashes);
+            AddressFilter filter = allocate(seed, size);
+            if (filter.populate(hashes)) {
+                return filter;
+            }
+        }
+        throw new IllegalStateException("failed to build address filter after " + MAX_ATTEMPTS + " attempts");
+    }
+
+    /**
+     * 由地址构造，支持的地址见{@link AddressType#decode(CharSequence, byte[], int)}
+     *
+     * @param addresses 地址
+     * @return 过滤器
+     */
+    public static AddressFilter fromAddresses(Collection<? extends CharSequence> addresses) {
+        byte[] payloads = new byte[addresses.size() * AddressType.PAYLOAD_LENGTH];
+        int off = 0;
+        for (CharSequence address : addresses) {
+            if (AddressType.decode(address, payloads, off) == null) {
+                throw new IllegalArgumentException("invalid address: " + address);
+            }
+            off += AddressType.PAYLOAD_LENGTH;
+        }
+        return build(payloads);
+    }
+
+    /**
+     * 从序列化的内容读出过滤器，指纹直接引用buffer，不复制
+     *
+     * @param buffer {@link #writeTo(OutputStream)}写出的内容，从position开始
+     * @return 过滤器
+     */
+    public static AddressFilter read(ByteBuffer buffer) {
+        ByteBuffer header = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        if (header.remaining() < HEADER_LENGTH || header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new IllegalArgumentException("not an address filter");
+        }
+        long seed = header.getLong();
+        int size = header.getInt();
+        int segmentLength = header.getInt();
+        int segmentCount = header.getInt();
+        int arrayLength = header.getInt();
+        if (Integer.bitCount(segmentLength) != 1 || segmentCount <= 0
+                || (long) (segmentCount + ARITY - 1) * segmentLength != arrayLength || header.remaining() < arrayLength) {
+            throw new IllegalArgumentException("corrupted address filter");
+        }
+        header.limit(header.position() + arrayLength);
+        return new AddressFilter(seed, size, segmentLength, segmentCount, header.slice());
+    }
+
+    /**
+     * 只读映射文件
+     *
+     * @param file {@link #write(Path)}写出的文件
+     * @return 过滤器
+     * @throws IOException 读文件失败
+     */
+    public static AddressFilter map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * payload是否可能在过滤器里
+     *
+     * @param payload payload所在数组
+     * @param off     起始位置
+     * @return false表示一定不在
+     */
+    public boolean mayContain(byte[] payload, int off) {
+        if (payload == null || off < 0 || payload.length - off < AddressType.PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("payload should be 20 bytes");
+        }
+        return mayContain(hash(payload, off, seed));
+    }
+
+    /**
+     * 地址是否可能在过滤器里，地址解码到当前线程的临时数组，不分配内存
+     *
+     * @param address trx、btc或fil地址
+     * @return false表示一定不在，不合法的地址也是false
+     */
+    public boolean mayContain(CharSequence address) {
+        AddressDecoder decoder = AddressDecoder.current();
+        byte[] payload = decoder.scratch();
+        return decoder.decode(address, payload, 0) != null && mayContain(hash(payload, 0, seed));
+    }
+
+    /**
+     * 去重后的地址数
+     *
+     * @return 地址数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 序列化后的字节数
+     *
+     * @return 文件头 + 指纹数组的长度
+     */
+    public long sizeInBytes() {
+        return HEADER_LENGTH + (long) fingerprints.capacity();
+    }
+
+    public double bitsPerEntry() {
+        return size == 0 ? 0 : fingerprints.capacity() * 8.0 / size;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(ByteOrder.BIG_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION).putLong(seed).putInt(size)
+                .putInt(segmentLength).putInt(segmentCount).putInt(fingerprints.capacity());
+        out.write(header.array());
+        byte[] chunk = new byte[1 << 16];
+        ByteBuffer src = fingerprints.duplicate();
+        src.clear();
+        while (src.hasRemaining()) {
+            int length = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, length);
+            out.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * 写到文件，已经存在时覆盖
+     *
+     * @param file 文件
+     * @throws IOException 写文件失败
+     */
+    public void write(Path file) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            writeTo(out);
+        }
+    }
+
+    /*================================== private method ===============================================*/
+
+    private boolean mayContain(long hash) {
+        int h0 = h0(hash);
+        int h1 = (h0 + segmentLength) ^ ((int) (hash >>> 18) & segmentLengthMask);
+        int h2 = (h0 + 2 * segmentLength) ^ ((int) hash & segmentLengthMask);
+        int f = fingerprint(hash) ^ fingerprints.get(h0) ^ fingerprints.get(h1) ^ fingerprints.get(h2);
+        return (f & 0xFF) == 0;
+    }
+
+    /**
+     * 按key数量定段长和段数，参数取自binary fuse filter论文的参考实现
+     */
+    private static AddressFilter allocate(long seed, int size) {
+        int segmentLength = size == 0 ? 4 : 1 << (int) Math.floor(Math.log(size) / Math.log(3.33) + 2.25);
+        segmentLength = Math.min(segmentLength, MAX_SEGMENT_LENGTH);
+        double sizeFactor = size <= 1 ? 0 : Math.max(1.125, 0.875 + 0.25 * Math.log(1_000_000) / Math.log(size));
+        long capacity = size <= 1 ? 0 : Math.round(size * sizeFactor);
+        long initSegmentCount = (capacity + segmentLength - 1) / segmentLength - (ARITY - 1);
+        long arrayLength = (initSegmentCount + ARITY - 1) * segmentLength;
+        long segmentCount = (arrayLength + segmentLength - 1) / segmentLength;
+        segmentCount = segmentCount <= ARITY - 1 ? 1 : segmentCount - (ARITY - 1);
+        arrayLength = (segmentCount + ARITY - 1) * segmentLength;
+        if (arrayLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("too many addresses: " + size);
+        }
+        return new AddressFilter(seed, size, segmentLength, (int) segmentCount, ByteBuffer.allocate((int) arrayLength));
+    }
+
+    /**
+     * 剥离并填指纹，hashes是排好序、去过重的前size个
+     *
+     * @return 剥离失败（有环或者计数溢出）时为false
+     */
+    private boolean populate(long[] hashes) {
+        int arrayLength = fingerprints.capacity();
+        byte[] t2count = new byte[arrayLength];
+        long[] t2hash = new long[arrayLength];
+        for (int i = 0; i < size; i++) {
+            long hash = hashes[i];
+            int h0 = h0(hash);
+            int h1 = (h0 + segmentLength) ^ ((int) (hash >>> 18) & segmentLengthMask);
+            int h2 = (h0 + 2 * segmentLength) ^ ((int) hash & segmentLengthMask);
+            // 计数的低2位是这个key在三个位置里排第几的异或，剥离时用来找回另外两个位置
+            t2count[h0] += COUNT_STEP;
+            t2hash[h0] ^= hash;
+            t2count[h1] = (byte) ((t2count[h1] + COUNT_STEP) ^ 1);
+            t2hash[h1] ^= hash;
+            t2count[h2] = (byte) ((t2count[h2] + COUNT_STEP) ^ 2);
+            t2hash[h2] ^= hash;
+            if ((t2count[h0] & 0xFF) < COUNT_STEP || (t2count[h1] & 0xFF) < COUNT_STEP || (t2count[h2] & 0xFF) < COUNT_STEP) {
+                return false;
+            }
+        }
+        int[] alone = new int[arrayLength];
+        int queued = 0;
+        for (int i = 0; i < arrayLength; i++) {
+            alone[queued] = i;
+            queued += (t2count[i] & 0xFF) >> 2 == 1 ? 1 : 0;
+        }
+        // 剥离的顺序和每个key是从哪个位置剥下来的，顺序写回hashes（已经不需要了）
+        byte[] peeledAt = new byte[size];
+        int[] h012 = new int[5];
+        int stack = 0;
+        while (queued > 0) {
+            int index = alone[--queued];
+            if ((t2count[index] & 0xFF) >> 2 != 1) {
+                continue;
+            }
+            long hash = t2hash[index];
+            int found = t2count[index] & 3;
+            peeledAt[stack] = (byte) found;
+            hashes[stack] = hash;
+            stack++;
+            positions(hash, h012);
+            int other1 = h012[found + 1];
+            alone[queued] = other1;
+            queued += (t2count[other1] & 0xFF) >> 2 == 2 ? 1 : 0;
+            t2count[other1] = (byte) ((t2count[other1] - COUNT_STEP) ^ mod3(found + 1));
+            t2hash[other1] ^= hash;
+            int other2 = h012[found + 2];
+            alone[queued] = other2;
+            queued += (t2count[other2] & 0xFF) >> 2 == 2 ? 1 : 0;
+            t2count[other2] = (byte) ((t2count[other2] - COUNT_STEP) ^ mod3(found + 2));
+            t2hash[other2] ^= hash;
+        }
+        if (stack != size) {
+            return false;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            long hash = hashes[i];
+            positions(hash, h012);
+            int found = peeledAt[i];
+            int f = fingerprint(hash) ^ fingerprints.get(h012[found + 1]) ^ fingerprints.get(h012[found + 2]);
+            fingerprints.put(h012[found], (byte) f);
+        }
+        return true;
+    }
+
+    /**
+     * 三个位置，后面重复前两个，方便按found + 1、found + 2取另外两个
+     */
+    private void positions(long hash, int[] h012) {
+        int h0 = h0(hash);
+        h012[0] = h0;
+        h012[1] = (h0 + segmentLength) ^ ((int) (hash >>> 18) & segmentLengthMask);
+        h012[2] = (h0 + 2 * segmentLength) ^ ((int) hash & segmentLengthMask);
+        h012[3] = h012[0];
+        h012[4] = h012[1];
+    }
+
+    /**
+     * hash * segmentCountLength的高64位，即按hash的大小均匀落到[0, segmentCountLength)
+     */
+    private int h0(long hash) {
+        return (int) (((hash >>> 32) * segmentCountLength + (((hash & 0xFFFFFFFFL) * segmentCountLength) >>> 32)) >>> 32);
+    }
+
+    private static int fingerprint(long hash) {
+        return (int) (hash ^ (hash >>> 32)) & 0xFF;
+    }
+
+    private static int mod3(int x) {
+        return x > 2 ? x - 3 : x;
+    }
+
+    /**
+     * 排好序的数组原地去重
+     *
+     * @return 去重后的个数
+     */
+    private static int dedupe(long[] sorted) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[size - 1]) {
+                sorted[size++] = sorted[i];
+            }
+        }
+        return size;
+    }
+
+    private static long hash(byte[] payload, int off, long seed) {
+        long head = AddressIndex.readLong(payload, off);
+        long next = AddressIndex.readLong(payload, off + 8);
+        long tail = AddressIndex.readLong(payload, off + 12);
+        return AddressIndex.hash(head ^ seed, next ^ Long.rotateLeft(tail, 17));
+    }
+
+    /**
+     * 并行算每个payload的hash
+     */
+    private static final class HashTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 1 << 16;
+
+        private final byte[] payloads;
+        private final long[] hashes;
+        private final long seed;
+        private final int from;
+        private final int to;
+
+        private HashTask(byte[] payloads, long[] hashes, long seed, int from, int to) {
+            this.payloads = payloads;
+            this.hashes = hashes;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    hashes[i] = hash(payloads, i * AddressType.PAYLOAD_LENGTH, seed);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new HashTask(payloads, hashes, seed, from, middle), new HashTask(payloads, hashes, seed, middle, to));
+        }
+    }
+}
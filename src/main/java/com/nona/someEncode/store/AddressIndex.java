@@ -0,0 +1,270 @@
+package com.nona.someEncode.store;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 堆外的地址集合：20byte payload -> int，用来判断链上的地址是不是自己的
+ * <p>
+ * 开放寻址（线性探测），槽放在direct ByteBuffer里，每个槽{@value #SLOT_LENGTH}byte：20byte payload + 4byte(value + 1)，
+ * value + 1为0表示空槽。payload本身就是hash，比较时先比前8byte（一个long），基本一次就能排除。
+ * 几百万个地址也只在堆上留下几个ByteBuffer对象，不给GC增加负担
+ * <p>
+ * 按地址字符串查找时，地址解码到每个线程自己的临时数组里再探测，不分配内存（见{@link #get(CharSequence)}）。
+ * <p>
+ * 写不是线程安全的；建好之后安全发布给其他线程，可以并发读
+ *
+ * @author nona9961
+ * @date 2026/10/18 22:00
+ */
+public final class AddressIndex {
+
+    public static final int SLOT_LENGTH = 24;
+    /**
+     * 最大的value
+     */
+    public static final int MAX_VALUE = Integer.MAX_VALUE - 1;
+
+    private static final int VALUE_OFFSET = 20;
+    /**
+     * 每块2^22个槽，96MB，单块不超过ByteBuffer的2GB限制
+     */
+    private static final int CHUNK_SHIFT = 22;
+    private static final int CHUNK_SLOTS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SLOTS - 1;
+    private static final int MIN_CAPACITY = 16;
+    private static final double MAX_LOAD = 0.75;
+    private static final long MAX_CAPACITY = 1L << 40;
+
+    private ByteBuffer[] chunks;
+    private long mask;
+    private long size;
+    private long threshold;
+
+    public AddressIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize 预计的地址数，放这么多地址不需要扩容
+     */
+    public AddressIndex(long expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expected size should not be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * 加入payload，已经有的覆盖value
+     *
+     * @param payload payload所在数组
+     * @param off     起始位置
+     * @param value   值，比如地址在自己的存储里的序号，[0, {@value #MAX_VALUE}]
+     * @return 原来的值，没有时为-1
+     */
+    public int put(byte[] payload, int off, int value) {
+        if (value < 0 || value > MAX_VALUE) {
+            throw new IllegalArgumentException("value should be in [0, " + MAX_VALUE + "]: " + value);
+        }
+        checkPayload(payload, off);
+        long head = readLong(payload, off);
+        long next = readLong(payload, off + 8);
+        int tail = readInt(payload, off + 16);
+        long slot = probe(head, next, tail);
+        ByteBuffer chunk = chunk(slot);
+        int pos = position(slot);
+        int old = chunk.getInt(pos + VALUE_OFFSET) - 1;
+        if (old < 0) {
+            if (size >= threshold) {
+                grow();
+                slot = probe(head, next, tail);
+                chunk = chunk(slot);
+                pos = position(slot);
+            }
+            chunk.putLong(pos, head);
+            chunk.putLong(pos + 8, next);
+            chunk.putInt(pos + 16, tail);
+            size++;
+        }
+        chunk.putInt(pos + VALUE_OFFSET, value + 1);
+        return old;
+    }
+
+    /**
+     * 解析地址后加入，支持的地址见{@link AddressType#decode(CharSequence, byte[], int)}
+     *
+     * @param address 地址
+     * @param value   值
+     * @return 原来的值，没有时为-1
+     */
+    public int put(CharSequence address, int value) {
+        AddressDecoder decoder = AddressDecoder.current();
+        byte[] payload = decoder.scratch();
+        if (decoder.decode(address, payload, 0) == null) {
+            throw new IllegalArgumentException("invalid address: " + address);
+        }
+        return put(payload, 0, value);
+    }
+
+    /**
+     * 查找payload
+     *
+     * @param payload payload所在数组
+     * @param off     起始位置
+     * @return 值，没有时为-1
+     */
+    public int get(byte[] payload, int off) {
+        checkPayload(payload, off);
+        long slot = probe(readLong(payload, off), readLong(payload, off + 8), readInt(payload, off + 16));
+        return chunk(slot).getInt(position(slot) + VALUE_OFFSET) - 1;
+    }
+
+    /**
+     * 查找地址，地址解码到当前线程的临时数组后探测，不合法的地址视为没有
+     *
+     * @param address trx、btc或fil地址
+     * @return 值，没有时为-1
+     */
+    public int get(CharSequence address) {
+        AddressDecoder decoder = AddressDecoder.current();
+        byte[] payload = decoder.scratch();
+        if (decoder.decode(address, payload, 0) == null) {
+            return -1;
+        }
+        return get(payload, 0);
+    }
+
+    public boolean contains(byte[] payload, int off) {
+        return get(payload, off) >= 0;
+    }
+
+    public boolean contains(CharSequence address) {
+        return get(address) >= 0;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 槽的个数，占用的堆外内存是 capacity * {@value #SLOT_LENGTH}
+     *
+     * @return 槽的个数
+     */
+    public long capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * 两个long混合成一个hash（murmur3的fmix64），payload本身已经是hash，这一步只是防止构造出来的地址聚在一起
+     *
+     * @param head payload的前8byte（大端）
+     * @param next payload的第8到16byte（大端）
+     * @return hash
+     */
+    static long hash(long head, long next) {
+        long h = head ^ Long.rotateLeft(next, 29);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    static long readLong(byte[] src, int off) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << Byte.SIZE) | (src[off + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * 找到payload所在的槽，没有时返回探测到的第一个空槽
+     */
+    private long probe(long head, long next, int tail) {
+        for (long slot = hash(head, next) & mask; ; slot = (slot + 1) & mask) {
+            ByteBuffer chunk = chunk(slot);
+            int pos = position(slot);
+            if (chunk.getInt(pos + VALUE_OFFSET) == 0) {
+                return slot;
+            }
+            if (chunk.getLong(pos) == head && chunk.getLong(pos + 8) == next && chunk.getInt(pos + 16) == tail) {
+                return slot;
+            }
+        }
+    }
+
+    private void grow() {
+        if (capacity() >= MAX_CAPACITY) {
+            throw new IllegalStateException("address index is full");
+        }
+        ByteBuffer[] old = chunks;
+        long oldCapacity = capacity();
+        allocate(oldCapacity << 1);
+        for (long slot = 0; slot < oldCapacity; slot++) {
+            ByteBuffer chunk = old[(int) (slot >>> CHUNK_SHIFT)];
+            int pos = position(slot);
+            int value = chunk.getInt(pos + VALUE_OFFSET);
+            if (value == 0) {
+                continue;
+            }
+            long head = chunk.getLong(pos);
+            long next = chunk.getLong(pos + 8);
+            long target = hash(head, next) & mask;
+            while (chunk(target).getInt(position(target) + VALUE_OFFSET) != 0) {
+                target = (target + 1) & mask;
+            }
+            ByteBuffer dst = chunk(target);
+            int dstPos = position(target);
+            dst.putLong(dstPos, head);
+            dst.putLong(dstPos + 8, next);
+            dst.putInt(dstPos + 16, chunk.getInt(pos + 16));
+            dst.putInt(dstPos + VALUE_OFFSET, value);
+        }
+    }
+
+    private void allocate(long capacity) {
+        int chunkCount = (int) ((capacity + CHUNK_SLOTS - 1) >>> CHUNK_SHIFT);
+        ByteBuffer[] allocated = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            // allocateDirect的内容是0，即全部是空槽
+            allocated[i] = ByteBuffer.allocateDirect((int) Math.min(capacity, CHUNK_SLOTS) * SLOT_LENGTH);
+        }
+        this.chunks = allocated;
+        this.mask = capacity - 1;
+        this.threshold = (long) (capacity * MAX_LOAD);
+    }
+
+    private ByteBuffer chunk(long slot) {
+        return chunks[(int) (slot >>> CHUNK_SHIFT)];
+    }
+
+    private static int position(long slot) {
+        return (int) (slot & CHUNK_MASK) * SLOT_LENGTH;
+    }
+
+    private static long capacityFor(long expectedSize) {
+        long capacity = MIN_CAPACITY;
+        while (capacity * MAX_LOAD < expectedSize) {
+            if (capacity >= MAX_CAPACITY) {
+                throw new IllegalArgumentException("expected size is too large: " + expectedSize);
+            }
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static void checkPayload(byte[] payload, int off) {
+        if (payload == null || off < 0 || payload.length - off < AddressType.PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("payload should be 20 bytes");
+        }
+    }
+
+    private static int readInt(byte[] src, int off) {
+        return (src[off] & 0xFF) << 24 | (src[off + 1] & 0xFF) << 16 | (src[off + 2] & 0xFF) << 8 | (src[off + 3] & 0xFF);
+    }
+}
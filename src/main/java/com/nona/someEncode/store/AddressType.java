@@ -0,0 +1,78 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.base.Base58Check;
+import com.nona.someEncode.key.FilWallet;
+
+/**
+ * 存储里的地址种类，地址都只存20byte的中间地址（payload）
+ * <ul>
+ * <li>TRX：keccak256(未压缩公钥去掉0x04)的后20byte，地址是Base58Check(0x41 + payload)</li>
+ * <li>BTC：ripemd160(sha256(未压缩公钥))，{@link com.nona.someEncode.key.BtcWallet#getAddress()}默认的地址</li>
+ * <li>BTC_COMPRESSED：ripemd160(sha256(压缩公钥))，BIP44钱包用的地址</li>
+ * <li>FIL：blake160(未压缩公钥)，地址是f1 + base32(payload + sum check)</li>
+ * </ul>
+ *
+ * @author nona9961
+ * @date 2026/10/18 21:00
+ */
+public enum AddressType {
+    TRX {
+        @Override
+        public String encode(byte[] payload, int off) {
+            return Base58Check.encode(TRX_VERSION, payload, off, PAYLOAD_LENGTH);
+        }
+    },
+    BTC {
+        @Override
+        public String encode(byte[] payload, int off) {
+            return Base58Check.encode(BTC_VERSION, payload, off, PAYLOAD_LENGTH);
+        }
+    },
+    BTC_COMPRESSED {
+        @Override
+        public String encode(byte[] payload, int off) {
+            return Base58Check.encode(BTC_VERSION, payload, off, PAYLOAD_LENGTH);
+        }
+    },
+    FIL {
+        @Override
+        public String encode(byte[] payload, int off) {
+            byte[] middle = new byte[PAYLOAD_LENGTH];
+            System.arraycopy(payload, off, middle, 0, PAYLOAD_LENGTH);
+            return FilWallet.encodeAddress(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, middle);
+        }
+    };
+
+    public static final int PAYLOAD_LENGTH = 20;
+
+    static final byte TRX_VERSION = 0x41;
+    static final byte BTC_VERSION = 0x00;
+    private static final AddressType[] VALUES = values();
+
+    /**
+     * 由payload编码出地址，fil用主网前缀
+     *
+     * @param payload 中间地址所在的数组
+     * @param off     起始位置
+     * @return 地址
+     */
+    public abstract String encode(byte[] payload, int off);
+
+    /**
+     * 解析地址，把payload写入dst[off, off + 20)
+     * <p>
+     * trx和btc地址按Base58Check的version区分；btc地址本身看不出由哪种公钥得到，统一返回{@link #BTC}
+     *
+     * @param address 地址
+     * @param dst     目标数组
+     * @param off     目标起始位置
+     * @return 地址的种类，不是支持的地址或者校验不通过时为null
+     */
+    public static AddressType decode(CharSequence address, byte[] dst, int off) {
+        return AddressDecoder.current().decode(address, dst, off);
+    }
+
+    static AddressType valueOf(int ordinal) {
+        return VALUES[ordinal];
+    }
+}
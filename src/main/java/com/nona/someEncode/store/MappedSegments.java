@@ -0,0 +1,153 @@
+package com.nona.someEncode.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 把一个文件按固定大小分段做内存映射，突破单个MappedByteBuffer 2GB的限制
+ * <p>
+ * 除最后一段外每段都是segmentSize，最后一段映射到文件末尾；调用方保证一条记录不会跨段（段大小是记录大小的整数倍）。
+ * 读是无锁的，增长（{@link #ensureCapacity(long)}）需要调用方自己同步。
+ * 关闭只关闭文件，已经映射的内容在被回收前仍然可以读，所以并发的读不会因为关闭而出错
+ *
+ * @author nona9961
+ * @date 2026/10/18 21:00
+ */
+final class MappedSegments implements Closeable {
+
+    private final FileChannel channel;
+    private final long segmentSize;
+    private volatile MappedByteBuffer[] segments;
+    private long mappedBytes;
+
+    /**
+     * 打开或创建文件，并映射已有的部分
+     *
+     * @param file        文件
+     * @param segmentSize 段大小，不超过Integer.MAX_VALUE
+     */
+    MappedSegments(Path file, long segmentSize) throws IOException {
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("invalid segment size: " + segmentSize);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.segmentSize = segmentSize;
+        this.segments = new MappedByteBuffer[0];
+        long size = channel.size();
+        if (size > 0) {
+            ensureCapacity(size);
+        }
+    }
+
+    /**
+     * 保证[0, bytes)都已映射，不够时文件增长到bytes
+     *
+     * @param bytes 需要的字节数
+     */
+    void ensureCapacity(long bytes) throws IOException {
+        if (bytes <= mappedBytes) {
+            return;
+        }
+        MappedByteBuffer[] current = segments;
+        int need = (int) ((bytes + segmentSize - 1) / segmentSize);
+        MappedByteBuffer[] grown = new MappedByteBuffer[need];
+        // 之前的最后一段可能不满，重新映射
+        int keep = (int) (mappedBytes / segmentSize);
+        System.arraycopy(current, 0, grown, 0, keep);
+        if (channel.size() < bytes) {
+            // 写最后一个byte把文件撑大，中间的部分是稀疏的
+            channel.write(ByteBuffer.wrap(new byte[1]), bytes - 1);
+        }
+        for (int i = keep; i < need; i++) {
+            long start = i * segmentSize;
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, start, Math.min(segmentSize, bytes - start));
+            grown[i].order(ByteOrder.BIG_ENDIAN);
+        }
+        segments = grown;
+        mappedBytes = bytes;
+    }
+
+    long capacity() {
+        return mappedBytes;
+    }
+
+    byte get(long pos) {
+        return segments[(int) (pos / segmentSize)].get((int) (pos % segmentSize));
+    }
+
+    void put(long pos, byte value) {
+        segments[(int) (pos / segmentSize)].put((int) (pos % segmentSize), value);
+    }
+
+    int getInt(long pos) {
+        return segments[(int) (pos / segmentSize)].getInt((int) (pos % segmentSize));
+    }
+
+    void putInt(long pos, int value) {
+        segments[(int) (pos / segmentSize)].putInt((int) (pos % segmentSize), value);
+    }
+
+    long getLong(long pos) {
+        return segments[(int) (pos / segmentSize)].getLong((int) (pos % segmentSize));
+    }
+
+    void putLong(long pos, long value) {
+        segments[(int) (pos / segmentSize)].putLong((int) (pos % segmentSize), value);
+    }
+
+    /**
+     * 读[pos, pos + len)到dst，不能跨段
+     */
+    void get(long pos, byte[] dst, int off, int len) {
+        MappedByteBuffer segment = segments[(int) (pos / segmentSize)];
+        int base = (int) (pos % segmentSize);
+        for (int i = 0; i < len; i++) {
+            dst[off + i] = segment.get(base + i);
+        }
+    }
+
+    /**
+     * 写src[off, off + len)到pos，不能跨段
+     */
+    void put(long pos, byte[] src, int off, int len) {
+        MappedByteBuffer segment = segments[(int) (pos / segmentSize)];
+        int base = (int) (pos % segmentSize);
+        for (int i = 0; i < len; i++) {
+            segment.put(base + i, src[off + i]);
+        }
+    }
+
+    /**
+     * [pos, pos + len)是否和src[off, off + len)相同，不能跨段
+     */
+    boolean equalsRange(long pos, byte[] src, int off, int len) {
+        MappedByteBuffer segment = segments[(int) (pos / segmentSize)];
+        int base = (int) (pos % segmentSize);
+        for (int i = 0; i < len; i++) {
+            if (segment.get(base + i) != src[off + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 把映射的内容刷到磁盘
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
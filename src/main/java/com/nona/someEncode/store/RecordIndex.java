@@ -0,0 +1,322 @@
+package com.nona.someEncode.store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * {@link WalletStore}的地址索引：内存映射文件上的开放寻址（线性探测）哈希表
+ * <p>
+ * 每个槽8byte：高32位是地址hash的高32位（tag），低32位是 记录序号 * 4 + 地址种类 + 1，0表示空槽。
+ * 表里不存地址本身，tag相同时回到记录里比较20byte的payload，所以索引只有每个地址8byte / 负载因子。
+ * 装载超过{@link #MAX_LOAD}时容量翻倍，从记录里重新取payload建一个新文件
+ * <p>
+ * 读的一方不加锁，旧文件的映射在扩容后还要继续用，而Windows上不能替换或删除仍被映射的文件，所以索引文件不原地替换：
+ * 每次扩容（或者发现索引文件损坏）都写下一代文件，第0代是base本身，第g代是base.g。
+ * 新文件刷盘后才把代数记到{@link PayloadSource#setGeneration(long)}，然后尝试删除旧文件，删不掉的在下次打开时清理
+ * <p>
+ * 单写多读：写由{@link WalletStore}同步，读不加锁
+ *
+ * @author nona9961
+ * @date 2026/10/18 21:00
+ */
+final class RecordIndex implements Closeable {
+
+    static final int MAGIC = 0x57494458;
+    static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = 32;
+    private static final int SLOT_LENGTH = 8;
+    private static final long SEGMENT_SIZE = 1L << 27;
+    private static final long INITIAL_CAPACITY = 1L << 16;
+    private static final double MAX_LOAD = 0.7;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int USED_OFFSET = 16;
+    private static final int COVERED_OFFSET = 24;
+    /**
+     * ref的低2位是地址种类
+     */
+    private static final int TYPE_BITS = 2;
+    static final long MAX_RECORDS = (0xFFFFFFFFL - 1) >>> TYPE_BITS;
+
+    /**
+     * 按ref取记录里的payload，以及保存当前索引文件的代数
+     */
+    interface PayloadSource {
+        /**
+         * 记录recordIndex中type种类的payload位置
+         */
+        long payloadPosition(long recordIndex, AddressType type);
+
+        MappedSegments records();
+
+        /**
+         * 当前索引文件的代数
+         */
+        long generation();
+
+        /**
+         * 新一代索引文件已经刷盘，持久化代数，返回后旧文件才会被删除
+         */
+        void setGeneration(long generation);
+    }
+
+    private final Path base;
+    private final PayloadSource source;
+    private long generation;
+    /**
+     * 扩容时整体替换，读的一方拿到的槽和mask总是一致的
+     */
+    private volatile Table table;
+    private long used;
+
+    private RecordIndex(Path base, PayloadSource source, long generation, MappedSegments slots, long capacity, long used) {
+        this.base = base;
+        this.source = source;
+        this.generation = generation;
+        this.table = new Table(slots, capacity - 1);
+        this.used = used;
+    }
+
+    /**
+     * 打开当前代的索引文件，先删掉其他代的文件；不存在时新建一个空的，内容不对时新建下一代
+     *
+     * @param base 第0代索引文件
+     */
+    static RecordIndex open(Path base, PayloadSource source) throws IOException {
+        long generation = source.generation();
+        deleteStale(base, generation);
+        Path file = generationFile(base, generation);
+        if (Files.exists(file)) {
+            MappedSegments slots = new MappedSegments(file, SEGMENT_SIZE);
+            if (slots.capacity() >= HEADER_LENGTH && slots.getInt(0) == MAGIC && slots.getInt(4) == VERSION) {
+                long capacity = slots.getLong(CAPACITY_OFFSET);
+                if (Long.bitCount(capacity) == 1 && slots.capacity() >= HEADER_LENGTH + capacity * SLOT_LENGTH) {
+                    return new RecordIndex(base, source, generation, slots, capacity, slots.getLong(USED_OFFSET));
+                }
+            }
+            // 损坏的文件已经被映射，不能原地重建
+            slots.close();
+            MappedSegments fresh = createGeneration(base, generation + 1);
+            source.setGeneration(generation + 1);
+            tryDelete(file);
+            return new RecordIndex(base, source, generation + 1, fresh, INITIAL_CAPACITY, 0);
+        }
+        MappedSegments slots = create(file, INITIAL_CAPACITY);
+        return new RecordIndex(base, source, generation, slots, INITIAL_CAPACITY, 0);
+    }
+
+    /**
+     * 第generation代的索引文件
+     */
+    static Path generationFile(Path base, long generation) {
+        return generation == 0 ? base : Paths.get(base + "." + generation);
+    }
+
+    /**
+     * 已经建了索引的记录数，重新打开时从这里继续
+     */
+    long covered() {
+        return table.slots.getLong(COVERED_OFFSET);
+    }
+
+    /**
+     * 已经占用的槽数
+     */
+    long used() {
+        return used;
+    }
+
+    void setCovered(long covered) {
+        table.slots.putLong(COVERED_OFFSET, covered);
+    }
+
+    /**
+     * 加入一条记录的一种地址，已经加过时什么都不做。
+     * 记录数已经写入而covered还没更新时崩溃，重新打开会把这部分记录再加一次，不能留下重复的槽
+     */
+    void insert(long recordIndex, AddressType type, byte[] payload, int off) throws IOException {
+        if (used + 1 > (table.mask + 1) * MAX_LOAD) {
+            grow();
+        }
+        long hash = hash(payload, off);
+        long ref = (recordIndex << TYPE_BITS | type.ordinal()) + 1;
+        long value = (hash & 0xFFFFFFFF00000000L) | ref;
+        MappedSegments current = table.slots;
+        long mask = table.mask;
+        long i = hash & mask;
+        for (long slot; (slot = current.getLong(slotPosition(i))) != 0; i = (i + 1) & mask) {
+            if (slot == value) {
+                return;
+            }
+        }
+        current.putLong(slotPosition(i), value);
+        used++;
+        current.putLong(USED_OFFSET, used);
+    }
+
+    /**
+     * 按payload查找记录
+     *
+     * @return 记录序号，没有时为-1
+     */
+    long find(byte[] payload, int off) {
+        long hash = hash(payload, off);
+        long tag = hash & 0xFFFFFFFF00000000L;
+        Table current = table;
+        MappedSegments records = source.records();
+        for (long i = hash & current.mask; ; i = (i + 1) & current.mask) {
+            long slot = current.slots.getLong(slotPosition(i));
+            if (slot == 0) {
+                return -1;
+            }
+            if ((slot & 0xFFFFFFFF00000000L) == tag) {
+                long ref = (slot & 0xFFFFFFFFL) - 1;
+                long recordIndex = ref >>> TYPE_BITS;
+                AddressType type = AddressType.valueOf((int) (ref & ((1 << TYPE_BITS) - 1)));
+                if (records.equalsRange(source.payloadPosition(recordIndex, type), payload, off, AddressType.PAYLOAD_LENGTH)) {
+                    return recordIndex;
+                }
+            }
+        }
+    }
+
+    void force() {
+        table.slots.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        table.slots.close();
+    }
+
+    /**
+     * 取payload的前16byte混合，见{@link AddressIndex#hash(long, long)}
+     */
+    static long hash(byte[] payload, int off) {
+        return AddressIndex.hash(AddressIndex.readLong(payload, off), AddressIndex.readLong(payload, off + 8));
+    }
+
+    /*================================== private method ===============================================*/
+
+    private void grow() throws IOException {
+        Table old = table;
+        long capacity = (old.mask + 1) << 1;
+        MappedSegments grown = createGeneration(base, generation + 1, capacity);
+        MappedSegments current = old.slots;
+        MappedSegments records = source.records();
+        byte[] payload = new byte[AddressType.PAYLOAD_LENGTH];
+        long newMask = capacity - 1;
+        for (long i = 0; i <= old.mask; i++) {
+            long slot = current.getLong(slotPosition(i));
+            if (slot == 0) {
+                continue;
+            }
+            long ref = (slot & 0xFFFFFFFFL) - 1;
+            AddressType type = AddressType.valueOf((int) (ref & ((1 << TYPE_BITS) - 1)));
+            records.get(source.payloadPosition(ref >>> TYPE_BITS, type), payload, 0, payload.length);
+            long j = hash(payload, 0) & newMask;
+            while (grown.getLong(slotPosition(j)) != 0) {
+                j = (j + 1) & newMask;
+            }
+            grown.putLong(slotPosition(j), slot);
+        }
+        grown.putLong(USED_OFFSET, used);
+        grown.putLong(COVERED_OFFSET, current.getLong(COVERED_OFFSET));
+        grown.force();
+        source.setGeneration(generation + 1);
+        this.table = new Table(grown, newMask);
+        current.close();
+        tryDelete(generationFile(base, generation));
+        generation++;
+    }
+
+    private static final class Table {
+        private final MappedSegments slots;
+        private final long mask;
+
+        private Table(MappedSegments slots, long mask) {
+            this.slots = slots;
+            this.mask = mask;
+        }
+    }
+
+    private static MappedSegments createGeneration(Path base, long generation) throws IOException {
+        return createGeneration(base, generation, INITIAL_CAPACITY);
+    }
+
+    /**
+     * 新建第generation代的文件，同名的残留文件没有被映射过，可以直接删掉
+     */
+    private static MappedSegments createGeneration(Path base, long generation, long capacity) throws IOException {
+        Path file = generationFile(base, generation);
+        Files.deleteIfExists(file);
+        MappedSegments slots = create(file, capacity);
+        slots.force();
+        return slots;
+    }
+
+    /**
+     * 删掉base的其他代文件（包括旧版本扩容时残留的.tmp），此时它们都还没有被映射
+     */
+    private static void deleteStale(Path base, long generation) throws IOException {
+        Path dir = base.toAbsolutePath().getParent();
+        String name = base.getFileName().toString();
+        Path current = generationFile(base, generation).getFileName();
+        DirectoryStream.Filter<Path> stale = path -> {
+            String fileName = path.getFileName().toString();
+            return !path.getFileName().equals(current) && (fileName.equals(name) || isGenerationSuffix(fileName, name));
+        };
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, stale)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static boolean isGenerationSuffix(String fileName, String name) {
+        if (!fileName.startsWith(name + ".")) {
+            return false;
+        }
+        String suffix = fileName.substring(name.length() + 1);
+        if (suffix.equals("tmp")) {
+            return true;
+        }
+        if (suffix.isEmpty() || suffix.length() > 18) {
+            return false;
+        }
+        for (int i = 0; i < suffix.length(); i++) {
+            if (suffix.charAt(i) < '0' || suffix.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 删除旧一代的文件，Windows上文件仍被映射时会失败，留到下次打开时由{@link #deleteStale(Path, long)}清理
+     */
+    private static void tryDelete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 下次打开时再删
+        }
+    }
+
+    private static MappedSegments create(Path file, long capacity) throws IOException {
+        MappedSegments slots = new MappedSegments(file, SEGMENT_SIZE);
+        slots.ensureCapacity(HEADER_LENGTH + capacity * SLOT_LENGTH);
+        slots.putInt(0, MAGIC);
+        slots.putInt(4, VERSION);
+        slots.putLong(CAPACITY_OFFSET, capacity);
+        return slots;
+    }
+
+    private static long slotPosition(long slot) {
+        return HEADER_LENGTH + slot * SLOT_LENGTH;
+    }
+}
@@ -0,0 +1,355 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.crypto.KeyPairBatch;
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.util.Hexes;
+import org.bouncycastle.crypto.digests.Blake2bDigest;
+import org.bouncycastle.crypto.digests.KeccakDigest;
+import org.bouncycastle.crypto.digests.RIPEMD160Digest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 定长记录的钱包存储，记录追加到一个内存映射文件里
+ * <p>
+ * 每条记录{@value #RECORD_LENGTH}byte：
+ * <pre>
+ * [0, 32)    私钥
+ * [32, 65)   压缩公钥
+ * [65, 85)   trx payload
+ * [85, 105)  btc payload（未压缩公钥）
+ * [105, 125) btc payload（压缩公钥）
+ * [125, 145) fil payload
+ * [145, 160) 保留
+ * </pre>
+ * payload见{@link AddressType}。文件开头预留一条记录的长度做文件头（magic、版本、记录长度、记录数、索引文件的代数）。
+ * 按序号读取是一次偏移计算；按地址查找走同名加.idx后缀的索引文件（见{@link RecordIndex}，扩容后是.idx.代数），
+ * 重新打开时只需要映射两个文件。
+ * <p>
+ * 文件里的私钥是明文，请自行控制文件权限。追加是同步的，读取不加锁，可以和追加并发
+ *
+ * @author nona9961
+ * @date 2026/10/18 21:00
+ */
+public final class WalletStore implements Closeable {
+
+    public static final int RECORD_LENGTH = 160;
+    public static final int PRIVATE_KEY_LENGTH = 32;
+    public static final int PUBLIC_KEY_LENGTH = 33;
+    public static final String INDEX_SUFFIX = ".idx";
+
+    private static final int MAGIC = 0x57535452;
+    private static final int VERSION = 1;
+    private static final int PRIVATE_KEY_OFFSET = 0;
+    private static final int PUBLIC_KEY_OFFSET = 32;
+    private static final int PAYLOAD_OFFSET = 65;
+    private static final int COUNT_OFFSET = 12;
+    /**
+     * 旧文件这里是0，对应第0代的.idx文件
+     */
+    private static final int INDEX_GENERATION_OFFSET = 20;
+    /**
+     * 每段2^20条记录，160MB
+     */
+    private static final long SEGMENT_SIZE = (long) RECORD_LENGTH << 20;
+    /**
+     * 文件每次至少增长2^16条记录，10MB
+     */
+    private static final long GROW_RECORDS = 1L << 16;
+
+    private final MappedSegments records;
+    private final RecordIndex index;
+    private final PayloadHasher hasher = new PayloadHasher();
+    private volatile long size;
+
+    private WalletStore(MappedSegments records, Path indexFile) throws IOException {
+        this.records = records;
+        this.size = records.getLong(COUNT_OFFSET);
+        this.index = RecordIndex.open(indexFile, new RecordIndex.PayloadSource() {
+            @Override
+            public long payloadPosition(long recordIndex, AddressType type) {
+                return WalletStore.payloadPosition(recordIndex, type);
+            }
+
+            @Override
+            public MappedSegments records() {
+                return WalletStore.this.records;
+            }
+
+            @Override
+            public long generation() {
+                return WalletStore.this.records.getLong(INDEX_GENERATION_OFFSET);
+            }
+
+            @Override
+            public void setGeneration(long generation) {
+                WalletStore.this.records.putLong(INDEX_GENERATION_OFFSET, generation);
+                WalletStore.this.records.force();
+            }
+        });
+    }
+
+    /**
+     * 打开存储，文件不存在时创建；索引文件缺失或落后于记录时补齐
+     *
+     * @param file 记录文件，索引文件是同目录下加.idx后缀（扩容后再加.代数）的文件
+     * @return 存储
+     * @throws IOException 读写文件失败
+     */
+    public static WalletStore open(Path file) throws IOException {
+        MappedSegments records = new MappedSegments(file, SEGMENT_SIZE);
+        try {
+            if (records.capacity() == 0) {
+                records.ensureCapacity(RECORD_LENGTH * (GROW_RECORDS + 1));
+                records.putInt(0, MAGIC);
+                records.putInt(4, VERSION);
+                records.putInt(8, RECORD_LENGTH);
+                records.putLong(COUNT_OFFSET, 0);
+            } else if (records.capacity() < RECORD_LENGTH || records.getInt(0) != MAGIC
+                    || records.getInt(4) != VERSION || records.getInt(8) != RECORD_LENGTH) {
+                throw new IOException("not a wallet store file: " + file);
+            }
+            WalletStore store = new WalletStore(records, Paths.get(file.toString() + INDEX_SUFFIX));
+            store.catchUpIndex();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            records.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 追加一个私钥，公钥和各链的payload在这里计算
+     *
+     * @param privateKey 32byte私钥
+     * @return 记录序号
+     * @throws IOException 写文件失败
+     */
+    public synchronized long append(byte[] privateKey) throws IOException {
+        byte[] pub = SECP256K1Support.getPubFromPrivate(privateKey, false);
+        return appendRecord(privateKey, pub);
+    }
+
+    /**
+     * 追加批量生成的公私钥，见{@link SECP256K1Support#generateKeyPairs(int)}
+     *
+     * @param batch 批量生成的公私钥
+     * @return 第一条的记录序号
+     * @throws IOException 写文件失败
+     */
+    public synchronized long appendAll(KeyPairBatch batch) throws IOException {
+        long first = size;
+        byte[] pri = new byte[KeyPairBatch.PRIVATE_KEY_LENGTH];
+        byte[] pub = new byte[KeyPairBatch.PUBLIC_KEY_LENGTH];
+        for (int i = 0; i < batch.size(); i++) {
+            batch.copyPrivateKey(i, pri, 0);
+            batch.copyPublicKey(i, false, pub, 0);
+            appendRecord(pri, pub);
+        }
+        return first;
+    }
+
+    /**
+     * 记录数
+     *
+     * @return 记录数
+     */
+    public long size() {
+        return size;
+    }
+
+    public byte[] getPrivateKey(long index) {
+        byte[] pri = new byte[PRIVATE_KEY_LENGTH];
+        records.get(recordPosition(checkIndex(index)) + PRIVATE_KEY_OFFSET, pri, 0, PRIVATE_KEY_LENGTH);
+        return pri;
+    }
+
+    public String getPrivateHex(long index) {
+        return Hexes.toHex(getPrivateKey(index));
+    }
+
+    /**
+     * 压缩公钥
+     *
+     * @param index 记录序号
+     * @return 33byte压缩公钥
+     */
+    public byte[] getPublicKey(long index) {
+        byte[] pub = new byte[PUBLIC_KEY_LENGTH];
+        records.get(recordPosition(checkIndex(index)) + PUBLIC_KEY_OFFSET, pub, 0, PUBLIC_KEY_LENGTH);
+        return pub;
+    }
+
+    /**
+     * 某种地址的20byte payload
+     *
+     * @param index 记录序号
+     * @param type  地址种类
+     * @return payload
+     */
+    public byte[] getPayload(long index, AddressType type) {
+        byte[] payload = new byte[AddressType.PAYLOAD_LENGTH];
+        records.get(payloadPosition(checkIndex(index), type), payload, 0, AddressType.PAYLOAD_LENGTH);
+        return payload;
+    }
+
+    /**
+     * 某种地址，fil为主网地址
+     *
+     * @param index 记录序号
+     * @param type  地址种类
+     * @return 地址
+     */
+    public String getAddress(long index, AddressType type) {
+        return type.encode(getPayload(index, type), 0);
+    }
+
+    /**
+     * 按payload查找记录，任何一种地址的payload都可以
+     *
+     * @param payload 20byte payload
+     * @return 记录序号，没有时为-1
+     */
+    public long indexOf(byte[] payload) {
+        if (payload == null || payload.length != AddressType.PAYLOAD_LENGTH) {
+            throw new IllegalArgumentException("payload should be 20 bytes");
+        }
+        return index.find(payload, 0);
+    }
+
+    /**
+     * 按地址查找记录，支持trx、btc（两种公钥）和fil（f1/t1）地址
+     *
+     * @param address 地址
+     * @return 记录序号，没有或者不是合法的地址时为-1
+     */
+    public long indexOf(String address) {
+        byte[] payload = new byte[AddressType.PAYLOAD_LENGTH];
+        if (AddressType.decode(address, payload, 0) == null) {
+            return -1;
+        }
+        return index.find(payload, 0);
+    }
+
+    /**
+     * 把映射的内容刷到磁盘
+     */
+    public synchronized void force() {
+        records.force();
+        index.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            index.close();
+        } finally {
+            records.close();
+        }
+    }
+
+    /*================================== private method ===============================================*/
+
+    private long appendRecord(byte[] pri, byte[] uncompressedPub) throws IOException {
+        long recordIndex = size;
+        if (recordIndex >= RecordIndex.MAX_RECORDS) {
+            throw new IllegalStateException("wallet store is full");
+        }
+        long position = recordPosition(recordIndex);
+        if (position + RECORD_LENGTH > records.capacity()) {
+            records.ensureCapacity(position + RECORD_LENGTH * GROW_RECORDS);
+        }
+        byte[] record = hasher.record(pri, uncompressedPub);
+        records.put(position, record, 0, RECORD_LENGTH);
+        // 先写记录再更新记录数，中途崩溃时多出的半条记录会被下一次追加覆盖
+        size = recordIndex + 1;
+        records.putLong(COUNT_OFFSET, size);
+        indexRecord(recordIndex, record);
+        index.setCovered(size);
+        return recordIndex;
+    }
+
+    private void indexRecord(long recordIndex, byte[] record) throws IOException {
+        for (AddressType type : AddressType.values()) {
+            index.insert(recordIndex, type, record, PAYLOAD_OFFSET + type.ordinal() * AddressType.PAYLOAD_LENGTH);
+        }
+    }
+
+    /**
+     * 索引落后于记录时（比如索引文件被删了）把缺的部分补上
+     */
+    private void catchUpIndex() throws IOException {
+        long covered = index.covered();
+        if (covered > size) {
+            throw new IOException("index file is ahead of wallet store, please delete it and reopen");
+        }
+        byte[] record = new byte[RECORD_LENGTH];
+        for (long i = covered; i < size; i++) {
+            records.get(recordPosition(i), record, 0, RECORD_LENGTH);
+            indexRecord(i, record);
+        }
+        index.setCovered(size);
+    }
+
+    private long checkIndex(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        }
+        return index;
+    }
+
+    /**
+     * 文件头占了第一条记录的位置
+     */
+    private static long recordPosition(long index) {
+        return (index + 1) * RECORD_LENGTH;
+    }
+
+    private static long payloadPosition(long index, AddressType type) {
+        return recordPosition(index) + PAYLOAD_OFFSET + (long) type.ordinal() * AddressType.PAYLOAD_LENGTH;
+    }
+
+    /**
+     * 由私钥和公钥拼出一条记录，复用digest
+     */
+    private static final class PayloadHasher {
+        private final KeccakDigest keccak = new KeccakDigest(256);
+        private final SHA256Digest sha256 = new SHA256Digest();
+        private final RIPEMD160Digest ripeMd160 = new RIPEMD160Digest();
+        private final Blake2bDigest blake160 = new Blake2bDigest(160);
+        private final byte[] digest = new byte[32];
+
+        private byte[] record(byte[] pri, byte[] pub) {
+            byte[] record = new byte[RECORD_LENGTH];
+            System.arraycopy(pri, 0, record, PRIVATE_KEY_OFFSET, PRIVATE_KEY_LENGTH);
+            record[PUBLIC_KEY_OFFSET] = (byte) (0x02 | (pub[pub.length - 1] & 1));
+            System.arraycopy(pub, 1, record, PUBLIC_KEY_OFFSET + 1, PUBLIC_KEY_LENGTH - 1);
+
+            keccak.update(pub, 1, pub.length - 1);
+            keccak.doFinal(digest, 0);
+            System.arraycopy(digest, digest.length - AddressType.PAYLOAD_LENGTH, record, payloadOffset(AddressType.TRX), AddressType.PAYLOAD_LENGTH);
+
+            hash160(pub, 0, pub.length, record, payloadOffset(AddressType.BTC));
+            hash160(record, PUBLIC_KEY_OFFSET, PUBLIC_KEY_LENGTH, record, payloadOffset(AddressType.BTC_COMPRESSED));
+
+            blake160.update(pub, 0, pub.length);
+            blake160.doFinal(record, payloadOffset(AddressType.FIL));
+            return record;
+        }
+
+        private void hash160(byte[] src, int off, int len, byte[] dst, int dstOff) {
+            sha256.update(src, off, len);
+            sha256.doFinal(digest, 0);
+            ripeMd160.update(digest, 0, digest.length);
+            ripeMd160.doFinal(dst, dstOff);
+        }
+
+        private static int payloadOffset(AddressType type) {
+            return PAYLOAD_OFFSET + type.ordinal() * AddressType.PAYLOAD_LENGTH;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.nona.someEncode.util;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * 查表的16进制编解码
+ * <p>
+ * 编码：每个byte查一次表得到两个小写字符，可以直接追加到{@link StringBuilder}或者{@link Appendable}，不产生中间的String。
+ * 解码：每个字符查一次表，可以只解码{@link CharSequence}的一段并写入byte数组的指定位置；开头的0x或0X直接跳过，不做substring。
+ * 字符不合法或者长度为奇数时抛出{@link IllegalArgumentException}
+ *
+ * @author nona9961
+ * @date 2026/10/19 07:00
+ */
+public class Hexes {
+
+    /**
+     * byte b对应的两个字符是PAIRS[2b]、PAIRS[2b + 1]
+     */
+    private static final char[] PAIRS = new char[512];
+    /**
+     * 字符对应的值，不是16进制字符时为-1
+     */
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        char[] digits = "0123456789abcdef".toCharArray();
+        for (int i = 0; i < 256; i++) {
+            PAIRS[i << 1] = digits[i >>> 4];
+            PAIRS[(i << 1) + 1] = digits[i & 0xF];
+        }
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < 16; i++) {
+            VALUES[digits[i]] = (byte) i;
+            VALUES[Character.toUpperCase(digits[i])] = (byte) i;
+        }
+    }
+
+    private Hexes() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * 编码成小写的16进制字符串，没有0x前缀
+     *
+     * @param bytes 数据
+     * @return 16进制字符串
+     */
+    public static String toHex(byte[] bytes) {
+        return toHex(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 编码bytes[off, off + len)
+     *
+     * @return 16进制字符串
+     */
+    public static String toHex(byte[] bytes, int off, int len) {
+        checkRange(bytes.length, off, len);
+        char[] chars = new char[len << 1];
+        for (int i = 0; i < len; i++) {
+            int pair = (bytes[off + i] & 0xFF) << 1;
+            chars[i << 1] = PAIRS[pair];
+            chars[(i << 1) + 1] = PAIRS[pair + 1];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * 编码bytes[off, off + len)追加到sb
+     *
+     * @return sb
+     */
+    public static StringBuilder append(StringBuilder sb, byte[] bytes, int off, int len) {
+        checkRange(bytes.length, off, len);
+        sb.ensureCapacity(sb.length() + (len << 1));
+        for (int i = off; i < off + len; i++) {
+            int pair = (bytes[i] & 0xFF) << 1;
+            sb.append(PAIRS[pair]).append(PAIRS[pair + 1]);
+        }
+        return sb;
+    }
+
+    /**
+     * 编码bytes[off, off + len)追加到out，比如{@link java.io.Writer}
+     *
+     * @return out
+     * @throws IOException out写入失败
+     */
+    public static <A extends Appendable> A append(A out, byte[] bytes, int off, int len) throws IOException {
+        checkRange(bytes.length, off, len);
+        for (int i = off; i < off + len; i++) {
+            int pair = (bytes[i] & 0xFF) << 1;
+            out.append(PAIRS[pair]).append(PAIRS[pair + 1]);
+        }
+        return out;
+    }
+
+    /**
+     * 解码，可以带0x前缀
+     *
+     * @param hex 16进制字符串
+     * @return 数据
+     */
+    public static byte[] decode(CharSequence hex) {
+        int from = prefixLength(hex, 0, hex.length());
+        byte[] bytes = new byte[checkEven(hex.length() - from)];
+        decode(hex, from, hex.length(), bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * 解码hex[from, to)写入dst[off, off + (to - from) / 2)，这一段可以以0x开头
+     *
+     * @param hex  16进制字符
+     * @param from 起始位置
+     * @param to   结束位置（不含）
+     * @param dst  目标
+     * @param off  目标的起始位置
+     * @return 写入的字节数
+     */
+    public static int decode(CharSequence hex, int from, int to, byte[] dst, int off) {
+        checkRange(hex.length(), from, to - from);
+        from += prefixLength(hex, from, to);
+        int len = checkEven(to - from);
+        checkRange(dst.length, off, len);
+        for (int i = 0; i < len; i++) {
+            int high = value(hex, from + (i << 1));
+            int low = value(hex, from + (i << 1) + 1);
+            dst[off + i] = (byte) (high << 4 | low);
+        }
+        return len;
+    }
+
+    /**
+     * 去掉0x前缀后的字符数
+     *
+     * @param hex 16进制字符串
+     * @return 字符数
+     */
+    public static int hexLength(CharSequence hex) {
+        return hex.length() - prefixLength(hex, 0, hex.length());
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * hex[from, to)以0x或者0X开头时为2，否则为0
+     */
+    private static int prefixLength(CharSequence hex, int from, int to) {
+        if (to - from >= 2 && hex.charAt(from) == '0' && (hex.charAt(from + 1) | 0x20) == 'x') {
+            return 2;
+        }
+        return 0;
+    }
+
+    private static int value(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        int value = c < VALUES.length ? VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("invalid hex character '" + c + "' at " + index);
+        }
+        return value;
+    }
+
+    private static int checkEven(int length) {
+        if ((length & 1) != 0) {
+            throw new IllegalArgumentException("hex length should be even: " + length);
+        }
+        return length >> 1;
+    }
+
+    private static void checkRange(int length, int off, int len) {
+        if (off < 0 || len < 0 || off > length - len) {
+            throw new IndexOutOfBoundsException("off " + off + ", len " + len + ", length " + length);
+        }
+    }
+}
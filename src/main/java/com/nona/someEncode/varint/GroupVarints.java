@@ -0,0 +1,188 @@
+package com.nona.someEncode.varint;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * long[]列的批量变长编码（stream-VByte的分组布局，按64bit调整）
+ * <p>
+ * 每个值按小端存最少需要的字节数（1到8，0占1byte），长度单独放在控制字节里，每个控制字节管2个值（低4bit、高4bit各存长度 - 1）：
+ * <pre>
+ * [n：varints] [控制字节：(n + 1) / 2 byte] [数据：各值的有效字节依次排列]
+ * </pre>
+ * 解码时由控制字节查表得到两个值的长度，直接按小端读一个long再用掩码截掉多余的字节，不需要像LEB128那样逐字节判断是否结束。
+ * 数据区剩余不足8byte时才退回逐字节读
+ * <p>
+ * 和逐个{@link Varints#putVarLong(ByteBuffer, long)}的结果不兼容，旧数据用{@link #decodeLeb128(ByteBuffer, long[], int)}读
+ *
+ * @author nona9961
+ * @date 2026/10/19 00:00
+ */
+public class GroupVarints {
+
+    private static final int VALUES_PER_CONTROL = 2;
+    private static final int NIBBLE = 4;
+    /**
+     * 长度为i时的掩码，MASKS[8]是全1
+     */
+    private static final long[] MASKS = new long[Long.BYTES + 1];
+    /**
+     * 控制字节 -> 第一个值的长度、第二个值的长度
+     */
+    private static final byte[] FIRST_LENGTH = new byte[256];
+    private static final byte[] SECOND_LENGTH = new byte[256];
+
+    static {
+        for (int i = 0; i < Long.BYTES; i++) {
+            MASKS[i] = (1L << (i * Byte.SIZE)) - 1;
+        }
+        MASKS[Long.BYTES] = -1L;
+        for (int c = 0; c < 256; c++) {
+            FIRST_LENGTH[c] = (byte) ((c & 0x07) + 1);
+            SECOND_LENGTH[c] = (byte) (((c >>> NIBBLE) & 0x07) + 1);
+        }
+    }
+
+    private GroupVarints() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * 编码n个值最多需要的字节数
+     *
+     * @param n 值的个数
+     * @return 字节数
+     */
+    public static int maxEncodedSize(int n) {
+        return Varints.MAX_VAR_INT_SIZE + controlLength(n) + n * Long.BYTES;
+    }
+
+    /**
+     * 把src[0, n)编码到dst的position，position后移
+     *
+     * @param src 值，按无符号处理
+     * @param n   个数
+     * @param dst 目标，剩余空间不够时抛出{@link BufferOverflowException}
+     * @return 写入的字节数
+     */
+    public static int encode(long[] src, int n, ByteBuffer dst) {
+        if (n < 0 || n > src.length) {
+            throw new IllegalArgumentException("invalid count: " + n);
+        }
+        int start = dst.position();
+        Varints.putVarInt(dst, n);
+        int controlStart = dst.position();
+        int dataStart = controlStart + controlLength(n);
+        if (dataStart > dst.limit()) {
+            throw new BufferOverflowException();
+        }
+        // 先算长度写控制字节，得到数据区的结尾，宽写（一次8byte）不会越过自己的区域
+        int dataLength = 0;
+        for (int i = 0; i < n; i += VALUES_PER_CONTROL) {
+            int first = byteLength(src[i]);
+            int second = i + 1 < n ? byteLength(src[i + 1]) : 1;
+            dataLength += first + (i + 1 < n ? second : 0);
+            if (dataStart + dataLength > dst.limit()) {
+                throw new BufferOverflowException();
+            }
+            dst.put(controlStart + (i >>> 1), (byte) ((first - 1) | (second - 1) << NIBBLE));
+        }
+        int dataEnd = dataStart + dataLength;
+        ByteBuffer out = dst.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int pos = dataStart;
+        for (int i = 0; i < n; i++) {
+            long value = src[i];
+            int length = byteLength(value);
+            if (pos + Long.BYTES <= dataEnd) {
+                out.putLong(pos, value);
+            } else {
+                for (int b = 0; b < length; b++) {
+                    out.put(pos + b, (byte) (value >>> (b * Byte.SIZE)));
+                }
+            }
+            pos += length;
+        }
+        dst.position(dataEnd);
+        return dataEnd - start;
+    }
+
+    /**
+     * 从src的position解码，position后移
+     *
+     * @param src 来源
+     * @param dst 目标，长度不小于编码时的个数
+     * @return 解码的个数
+     * @throws IllegalArgumentException dst不够长，或者数据不完整
+     */
+    public static int decode(ByteBuffer src, long[] dst) {
+        int n = Varints.getVarInt(src);
+        if (n < 0 || n > dst.length) {
+            throw new IllegalArgumentException("dst is too small: " + dst.length + " < " + n);
+        }
+        int controlStart = src.position();
+        int pos = controlStart + controlLength(n);
+        ByteBuffer in = src.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int limit = in.limit();
+        if (pos > limit) {
+            throw new IllegalArgumentException("group varints is truncated");
+        }
+        int i = 0;
+        // 一次处理一个控制字节，两次宽读都不会越界时走快速路径
+        for (; i + 1 < n && pos + Long.BYTES * VALUES_PER_CONTROL <= limit; i += VALUES_PER_CONTROL) {
+            int control = in.get(controlStart + (i >>> 1)) & 0xFF;
+            int first = FIRST_LENGTH[control];
+            dst[i] = in.getLong(pos) & MASKS[first];
+            pos += first;
+            int second = SECOND_LENGTH[control];
+            dst[i + 1] = in.getLong(pos) & MASKS[second];
+            pos += second;
+        }
+        for (; i < n; i++) {
+            int control = in.get(controlStart + (i >>> 1)) & 0xFF;
+            int length = (i & 1) == 0 ? FIRST_LENGTH[control] : SECOND_LENGTH[control];
+            if (pos + length > limit) {
+                throw new IllegalArgumentException("group varints is truncated");
+            }
+            long value = 0;
+            for (int b = 0; b < length; b++) {
+                value |= (in.get(pos + b) & 0xFFL) << (b * Byte.SIZE);
+            }
+            dst[i] = value;
+            pos += length;
+        }
+        src.position(pos);
+        return n;
+    }
+
+    /**
+     * 兼容读取：从src的position连续读n个LEB128（{@link Varints#putVarLong(ByteBuffer, long)}）编码的值
+     *
+     * @param src 来源
+     * @param dst 目标
+     * @param n   个数
+     * @return 读取的个数
+     */
+    public static int decodeLeb128(ByteBuffer src, long[] dst, int n) {
+        if (n < 0 || n > dst.length) {
+            throw new IllegalArgumentException("invalid count: " + n);
+        }
+        for (int i = 0; i < n; i++) {
+            dst[i] = Varints.getVarLong(src);
+        }
+        return n;
+    }
+
+    /*================================== private method ===============================================*/
+
+    private static int controlLength(int n) {
+        return (n + 1) / VALUES_PER_CONTROL;
+    }
+
+    /**
+     * 去掉高位0之后的字节数，0算1byte
+     */
+    private static int byteLength(long value) {
+        return ((Long.SIZE - Long.numberOfLeadingZeros(value | 1)) + Byte.SIZE - 1) / Byte.SIZE;
+    }
+}
@@ -1,112 +1,324 @@
 package com.nona.someEncode.varint;
 
-import com.nona.someEncode.util.Longs;
-
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 /**
+ * varints（无符号LEB128）编码、解码
+ * <p>
+ * 把数值按7bit分组，从低位到高位依次输出，每组占1byte；除最后一组外最高位都是1（还有后续），最后一组最高位是0。
+ * 0编码为一个0x00，其余不输出高位多余的0组
+ * <p>
+ * long/int有不分配内存的快速路径：{@link #putVarLong(ByteBuffer, long)}、{@link #getVarLong(ByteBuffer)}等，
+ * 按无符号处理，负数的long编码为10byte。
+ * 任意长度的byte[]（视为大端的无符号数）用{@link #encode(byte[])}、{@link #decode(byte[])}，
+ * 也可以直接写到{@link OutputStream}、从{@link InputStream}读，不产生中间数组
+ *
  * @author nona9961
  * @date 2021/8/26 20:01
  */
 public class Varints {
 
-    private static final int GROUP_UNIT_SIZE = 7;
-    private static final int VARINTS_SIZE = 7;
-    private static final byte BIT7 = 0b01111111;
-    private static final byte END = 0b00000000;
-    private static final byte CONTINUE = (byte) 0b10000000;
-    private static final long FULL_TRUE = 0xFFL;
+    /**
+     * long最多10byte，int最多5byte
+     */
+    public static final int MAX_VAR_LONG_SIZE = 10;
+    public static final int MAX_VAR_INT_SIZE = 5;
 
+    private static final int VARINTS_SIZE = 7;
+    private static final int BIT7 = 0b01111111;
+    private static final int CONTINUE = 0b10000000;
 
-    // 7*8=56
+    /**
+     * 编码任意长度的数值
+     *
+     * @param raw 大端的无符号数，空数组视为0
+     * @return varints
+     */
     public static byte[] encode(byte[] raw) {
-        raw = paddingForRawLong(raw);
-        byte[] result = new byte[raw.length];
-        for (int i = raw.length - Byte.SIZE; i >= 0; i -= Byte.SIZE) {
-            long aLong = Longs.longOf8Byte(raw[i], raw[i + 1], raw[i + 2], raw[i + 3], raw[i + 4], raw[i + 5], raw[i + 6], raw[i + 7]);
-            fillVarintWithLong(result, raw.length - Byte.SIZE - i, aLong, i == 0);
+        if (raw == null) {
+            throw new IllegalArgumentException("raw is null");
+        }
+        int size = encodedSize(raw, 0, raw.length);
+        byte[] result = new byte[size];
+        for (int k = 0; k < size; k++) {
+            result[k] = (byte) (digit(raw, 0, raw.length, k) | (k < size - 1 ? CONTINUE : 0));
+        }
+        return result;
+    }
+
+    /**
+     * 编码raw[off, off + len)并写入out，结果和{@link #encode(byte[])}相同
+     *
+     * @param raw 大端的无符号数
+     * @param off 起始位置
+     * @param len 长度
+     * @param out 输出
+     * @return 写入的字节数
+     * @throws IOException 写入失败
+     */
+    public static int encode(byte[] raw, int off, int len, OutputStream out) throws IOException {
+        int size = encodedSize(raw, off, len);
+        for (int k = 0; k < size; k++) {
+            out.write(digit(raw, off, len, k) | (k < size - 1 ? CONTINUE : 0));
+        }
+        return size;
+    }
+
+    /**
+     * 编码后的长度，不实际编码
+     *
+     * @param raw 大端的无符号数
+     * @param off 起始位置
+     * @param len 长度
+     * @return 字节数
+     */
+    public static int encodedSize(byte[] raw, int off, int len) {
+        int first = off;
+        int end = off + len;
+        while (first < end && raw[first] == 0) {
+            first++;
         }
-        return modifyLastZero(result);
+        if (first == end) {
+            return 1;
+        }
+        long bits = (long) (end - first - 1) * Byte.SIZE + (Integer.SIZE - Integer.numberOfLeadingZeros(raw[first] & 0xFF));
+        return (int) ((bits + VARINTS_SIZE - 1) / VARINTS_SIZE);
     }
 
+    /**
+     * 解码任意长度的varints，输入必须正好是一个完整的varints
+     *
+     * @param varint varints
+     * @return 大端的无符号数，去掉了高位的0，0为一个0x00
+     */
+    public static byte[] decode(byte[] varint) {
+        if (varint == null || varint.length == 0) {
+            throw new IllegalArgumentException("varint is empty");
+        }
+        for (int i = 0; i < varint.length - 1; i++) {
+            if ((varint[i] & CONTINUE) == 0) {
+                throw new IllegalArgumentException("varint ends at " + i + " but has trailing bytes");
+            }
+        }
+        if ((varint[varint.length - 1] & CONTINUE) != 0) {
+            throw new IllegalArgumentException("varint is truncated");
+        }
+        return fromDigits(varint, varint.length);
+    }
 
     /**
-     * 将原数组对齐
-     * <p>
-     * varints是按照7位一组编码，之后通过long类型进行位运算，要求raw
-     * 每7byte一组补齐0至8byte，最后一组没有7byte也要补全到8byte
+     * 从in读一个完整的varints并解码，只读到最后一组为止
      *
-     * @param raw 原始数组
-     * @return 补齐0的数组，并且长度是8的倍数
-     */
-    private static byte[] paddingForRawLong(byte[] raw) {
-        int groupCount = groupCountBy7Bytes(raw);
-        byte[] padded = new byte[groupCount * Byte.SIZE];
-        int rawLength = raw.length;
-        int padLength = padded.length;
-        for (int i = 1, j = 1; i <= rawLength; i++, j++) {
-            if (j % 8 == 0) {
-                padded[padLength - j] = 0;
-                j++;
+     * @param in 输入
+     * @return 大端的无符号数，去掉了高位的0，0为一个0x00
+     * @throws IOException 读失败，或者没读完就到了末尾（{@link EOFException}）
+     */
+    public static byte[] decode(InputStream in) throws IOException {
+        byte[] digits = new byte[MAX_VAR_LONG_SIZE];
+        int count = 0;
+        int b;
+        do {
+            b = in.read();
+            if (b < 0) {
+                throw new EOFException("varint is truncated");
+            }
+            if (count == digits.length) {
+                digits = Arrays.copyOf(digits, digits.length << 1);
             }
-            padded[padLength - j] = raw[rawLength - i];
+            digits[count++] = (byte) b;
+        } while ((b & CONTINUE) != 0);
+        return fromDigits(digits, count);
+    }
+
+    /**
+     * 编码后的长度
+     *
+     * @param value 按无符号处理
+     * @return 1到10
+     */
+    public static int varLongSize(long value) {
+        int bits = Long.SIZE - Long.numberOfLeadingZeros(value | 1);
+        return (bits + VARINTS_SIZE - 1) / VARINTS_SIZE;
+    }
+
+    /**
+     * 编码后的长度
+     *
+     * @param value 按无符号处理
+     * @return 1到5
+     */
+    public static int varIntSize(int value) {
+        int bits = Integer.SIZE - Integer.numberOfLeadingZeros(value | 1);
+        return (bits + VARINTS_SIZE - 1) / VARINTS_SIZE;
+    }
+
+    /**
+     * 在dst的position写入value，position后移
+     *
+     * @param dst   目标
+     * @param value 按无符号处理
+     * @return 写入的字节数
+     */
+    public static int putVarLong(ByteBuffer dst, long value) {
+        int size = 1;
+        while ((value & ~BIT7) != 0) {
+            dst.put((byte) ((value & BIT7) | CONTINUE));
+            value >>>= VARINTS_SIZE;
+            size++;
         }
-        return padded;
+        dst.put((byte) value);
+        return size;
     }
 
     /**
-     * 进行varints编码，将原binary array按照7bit分组，倒置序；
-     * 每组最高位除了最后一个都是1，最后一组是0
+     * 在dst的position写入value，position后移
      *
-     * @param result 编码好的result，未去除末尾的0
-     * @param i      填充第i个位置
-     * @param l      long
-     * @param isLast 是否到最后8byte
+     * @param dst   目标
+     * @param value 按无符号处理
+     * @return 写入的字节数
      */
-    private static void fillVarintWithLong(byte[] result, int i, long l, boolean isLast) {
-        for (int j = 0; j <= VARINTS_SIZE; j++) {
-            result[i * Byte.SIZE + j] =
-                    (byte) (isLast && j == VARINTS_SIZE ? END : CONTINUE | (((l >> (j * VARINTS_SIZE)) & FULL_TRUE) & BIT7));
+    public static int putVarInt(ByteBuffer dst, int value) {
+        int size = 1;
+        while ((value & ~BIT7) != 0) {
+            dst.put((byte) ((value & BIT7) | CONTINUE));
+            value >>>= VARINTS_SIZE;
+            size++;
         }
+        dst.put((byte) value);
+        return size;
     }
 
     /**
-     * 上述填充方式可能会多好几个-128（0b10000000）和最后的一个0
-     * 将这些内容去掉 ，并且将去掉的数组最后一byte的最高位置为0
+     * 从src的position读一个long，position后移
      *
-     * @param result varintRaw数组
-     * @return 真正变换的varint数组
+     * @param src 来源
+     * @return 值
      */
-    private static byte[] modifyLastZero(byte[] result) {
-        if (result[result.length - 1] != 0) {
-            return result;
+    public static long getVarLong(ByteBuffer src) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINTS_SIZE) {
+            int b = src.get();
+            value |= (long) (b & BIT7) << shift;
+            if ((b & CONTINUE) == 0) {
+                // 第10组只能有1bit
+                if (shift == Long.SIZE - 1 - (Long.SIZE - 1) % VARINTS_SIZE && (b & ~1) != 0) {
+                    throw new IllegalArgumentException("varint overflows long");
+                }
+                return value;
+            }
         }
-        int index = 0;
-        for (int i = result.length - 2; i > 0; i--) {
-            if (result[i] == CONTINUE) {
-                continue;
+        throw new IllegalArgumentException("varint is too long for long");
+    }
+
+    /**
+     * 从src的position读一个int，position后移
+     *
+     * @param src 来源
+     * @return 值
+     */
+    public static int getVarInt(ByteBuffer src) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += VARINTS_SIZE) {
+            int b = src.get();
+            value |= (b & BIT7) << shift;
+            if ((b & CONTINUE) == 0) {
+                // 第5组只能有4bit
+                if (shift == 28 && (b & ~0x0F) != 0) {
+                    throw new IllegalArgumentException("varint overflows int");
+                }
+                return value;
             }
-            index = i;
-            break;
         }
-        result[index] = (byte) (BIT7 & result[index]);
-        return Arrays.copyOfRange(result, 0, index + 1);
+        throw new IllegalArgumentException("varint is too long for int");
     }
 
+    /**
+     * 写入out
+     *
+     * @param out   输出
+     * @param value 按无符号处理
+     * @return 写入的字节数
+     * @throws IOException 写入失败
+     */
+    public static int writeVarLong(OutputStream out, long value) throws IOException {
+        int size = 1;
+        while ((value & ~BIT7) != 0) {
+            out.write((int) ((value & BIT7) | CONTINUE));
+            value >>>= VARINTS_SIZE;
+            size++;
+        }
+        out.write((int) value);
+        return size;
+    }
 
     /**
-     * 将byte数组根据7byte长度分组，返回组数
+     * 从in读一个long
      *
-     * @param bytes 原数组
-     * @return 组数
+     * @param in 输入
+     * @return 值
+     * @throws IOException 读失败，或者没读完就到了末尾（{@link EOFException}）
      */
-    private static int groupCountBy7Bytes(byte[] bytes) {
-        int totalLength = bytes.length;
-        int groupCount = totalLength / GROUP_UNIT_SIZE;
-        if (totalLength % GROUP_UNIT_SIZE != 0) {
-            groupCount++;
+    public static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINTS_SIZE) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("varint is truncated");
+            }
+            value |= (long) (b & BIT7) << shift;
+            if ((b & CONTINUE) == 0) {
+                if (shift == Long.SIZE - 1 - (Long.SIZE - 1) % VARINTS_SIZE && (b & ~1) != 0) {
+                    throw new IllegalArgumentException("varint overflows long");
+                }
+                return value;
+            }
         }
-        return groupCount;
+        throw new IllegalArgumentException("varint is too long for long");
+    }
+
+    /*================================== private method ===============================================*/
+
+    /**
+     * 大端数raw[off, off + len)从低位数第k个7bit组
+     */
+    private static int digit(byte[] raw, int off, int len, int k) {
+        long bitPos = (long) k * VARINTS_SIZE;
+        int q = (int) (bitPos >>> 3);
+        int r = (int) (bitPos & 7);
+        int low = q < len ? raw[off + len - 1 - q] & 0xFF : 0;
+        int high = q + 1 < len ? raw[off + len - 2 - q] & 0xFF : 0;
+        return ((low >>> r) | (high << (Byte.SIZE - r))) & BIT7;
     }
 
+    /**
+     * 由count个7bit组拼出大端的数，去掉高位的0
+     */
+    private static byte[] fromDigits(byte[] digits, int count) {
+        long bits = (long) count * VARINTS_SIZE;
+        byte[] littleEndian = new byte[(int) ((bits + Byte.SIZE - 1) / Byte.SIZE)];
+        for (int k = 0; k < count; k++) {
+            int d = digits[k] & BIT7;
+            long bitPos = (long) k * VARINTS_SIZE;
+            int q = (int) (bitPos >>> 3);
+            int r = (int) (bitPos & 7);
+            littleEndian[q] |= (byte) (d << r);
+            if (r > 1 && q + 1 < littleEndian.length) {
+                littleEndian[q + 1] |= (byte) (d >>> (Byte.SIZE - r));
+            }
+        }
+        int length = littleEndian.length;
+        while (length > 1 && littleEndian[length - 1] == 0) {
+            length--;
+        }
+        byte[] raw = new byte[length];
+        for (int i = 0; i < length; i++) {
+            raw[i] = littleEndian[length - 1 - i];
+        }
+        return raw;
+    }
 }
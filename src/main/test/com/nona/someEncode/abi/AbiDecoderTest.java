@@ -0,0 +1,112 @@
+package com.nona.someEncode.abi;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 03:00
+ */
+class AbiDecoderTest {
+
+    private static final String ADDRESS = "a439eb632980750e0e6f8552f4b1b93bcb841f14";
+
+    @Test
+    void testStatic() {
+        BigInteger big = BigInteger.ONE.shiftLeft(200).add(BigInteger.TEN);
+        byte[] encoded = returnData(Function.of("f(uint256,address,bool,int64,uint256,bytes4)")
+                .encode(1000, ADDRESS, true, -5L, big, new byte[]{1, 2}));
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(encoded), direct(encoded)}) {
+            AbiValues values = AbiDecoder.of("uint256", "address", "bool", "int64", "uint256", "bytes4").wrap(buffer);
+            Assertions.assertEquals(6, values.size());
+            Assertions.assertEquals("address", values.getType(1));
+            Assertions.assertEquals(1000L, values.getLong(0));
+            Assertions.assertEquals(BigInteger.valueOf(1000), values.getBigInteger(0));
+            byte[] address = new byte[21];
+            values.getAddress(1, address, 1);
+            Assertions.assertEquals("00" + ADDRESS, Hex.toHexString(address));
+            ByteBuffer slice = values.getAddress(1);
+            Assertions.assertEquals(20, slice.remaining());
+            Assertions.assertEquals(0xa4, slice.get(0) & 0xFF);
+            Assertions.assertTrue(values.getBool(2));
+            Assertions.assertEquals(-5L, values.getLong(3));
+            Assertions.assertEquals(BigInteger.valueOf(-5), values.getBigInteger(3));
+            Assertions.assertFalse(values.fitsLong(4));
+            Assertions.assertThrows(ArithmeticException.class, () -> values.getLong(4));
+            Assertions.assertEquals(big, values.getBigInteger(4));
+            Assertions.assertEquals("01020000", Hex.toHexString(values.getByteArray(5)));
+            Assertions.assertEquals(0, buffer.position());
+        }
+    }
+
+    @Test
+    void testDynamic() {
+        byte[] encoded = returnData(Function.of("g(uint256[][],string[],(address,bytes)[],bytes)").encode(
+                Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)),
+                new Object[]{"one", "two", "中文"},
+                new Object[]{new Object[]{ADDRESS, new byte[]{9, 8, 7}}},
+                new byte[40]));
+        AbiValues values = AbiDecoder.of("uint256[][]", "string[]", "(address,bytes)[]", "bytes").wrap(direct(encoded));
+        AbiValues outer = values.getValues(0);
+        Assertions.assertEquals(2, outer.size());
+        Assertions.assertEquals(2, outer.getValues(0).size());
+        Assertions.assertEquals(2L, outer.getValues(0).getLong(1));
+        Assertions.assertEquals(3L, outer.getValues(1).getLong(0));
+        AbiValues strings = values.getValues(1);
+        Assertions.assertEquals("one", strings.getString(0));
+        Assertions.assertEquals("中文", strings.getString(2));
+        Assertions.assertEquals("中文", AbiDecoder.of("string[]").wrap(returnData(Function.of("h(string[])")
+                .encode((Object) new Object[]{"中文"}))).getValues(0).getString(0));
+        AbiValues call = values.getValues(2).getValues(0);
+        Assertions.assertEquals(ADDRESS, Hex.toHexString(copy(call.getAddress(0))));
+        Assertions.assertEquals("090807", Hex.toHexString(call.getByteArray(1)));
+        Assertions.assertEquals(40, values.getBytes(3).remaining());
+    }
+
+    @Test
+    void testInvalid() {
+        AbiDecoder decoder = AbiDecoder.of("bool");
+        byte[] two = new byte[32];
+        two[31] = 2;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.wrap(two).getBool(0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.wrap(new byte[31]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> decoder.wrap(new byte[32]).getLong(0));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> decoder.wrap(new byte[32]).getBool(1));
+
+        byte[] badOffset = new byte[64];
+        badOffset[31] = 64;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> AbiDecoder.of("bytes").wrap(badOffset).getBytes(0));
+        byte[] badLength = new byte[64];
+        badLength[31] = 32;
+        badLength[63] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> AbiDecoder.of("string").wrap(badLength).getString(0));
+        byte[] hugeArray = new byte[64];
+        hugeArray[31] = 32;
+        hugeArray[60] = 1;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> AbiDecoder.of("uint256[]").wrap(hugeArray).getValues(0));
+        Assertions.assertSame(AbiDecoder.of("uint256", "address"), AbiDecoder.of("uint256", "address"));
+        Assertions.assertEquals("(uint256,address)", AbiDecoder.of("uint", "address").getTypes());
+    }
+
+    private static byte[] returnData(byte[] call) {
+        return Arrays.copyOfRange(call, Function.SELECTOR_LENGTH, call.length);
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+
+    private static byte[] copy(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,76 @@
+package com.nona.someEncode.abi;
+
+import com.nona.someEncode.abi.abiType.Uint;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 05:00
+ */
+class CallTemplateTest {
+
+    private static final String ADDRESS = "a439eb632980750e0e6f8552f4b1b93bcb841f14";
+
+    @Test
+    void testTransfer() {
+        Function transfer = Function.of("transfer(address,uint256)");
+        CallTemplate template = transfer.template();
+        Assertions.assertSame(template, transfer.template());
+        Assertions.assertEquals(68, template.length());
+        Assertions.assertEquals(2, template.slotCount());
+        Assertions.assertEquals(36, template.slotOffset(1));
+
+        byte[] expected = transfer.encode(ADDRESS, 1000);
+        Assertions.assertArrayEquals(expected, template.encode(ADDRESS, 1000));
+
+        byte[] call = template.newCall();
+        template.setAddress(call, 0, Hex.decode(ADDRESS));
+        template.setUint(call, 1, 1000L);
+        Assertions.assertArrayEquals(expected, call);
+        // 改写不影响模板本身
+        template.setUint(call, 1, BigInteger.ONE.shiftLeft(200));
+        template.setUint(call, 1, new Uint.Uint256(BigInteger.valueOf(1000)));
+        Assertions.assertArrayEquals(expected, call);
+        template.set(call, 0, "0x" + ADDRESS);
+        Assertions.assertArrayEquals(expected, call);
+        Assertions.assertArrayEquals(new byte[64], Arrays.copyOfRange(template.newCall(), 4, 68));
+
+        byte[] dst = new byte[70];
+        Arrays.fill(dst, (byte) 0x55);
+        Assertions.assertEquals(68, template.encodeTo(dst, 1, ADDRESS, 1000));
+        Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dst, 1, 69));
+    }
+
+    @Test
+    void testConstants() {
+        // 固定的spender，动态的memo，只有amount是slot
+        Function approve = Function.of("approveWithMemo(address,uint256,string,uint8)");
+        CallTemplate template = approve.template(ADDRESS, CallTemplate.SLOT, "airdrop memo", 3);
+        Assertions.assertEquals(1, template.slotCount());
+        Assertions.assertArrayEquals(approve.encode(ADDRESS, 77, "airdrop memo", 3), template.encode(77));
+        byte[] call = template.newCall();
+        template.setUint(call, 0, 77);
+        Assertions.assertArrayEquals(approve.encode(ADDRESS, 77, "airdrop memo", 3), call);
+    }
+
+    @Test
+    void testInvalid() {
+        Function f = Function.of("f(uint8,address,bytes)");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.template());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> f.template(1, CallTemplate.SLOT, CallTemplate.SLOT));
+        CallTemplate template = f.template(CallTemplate.SLOT, CallTemplate.SLOT, new byte[3]);
+        byte[] call = template.newCall();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.setUint(call, 0, 256));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.setUint(call, 1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.setAddress(call, 0, new byte[20]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.setAddress(call, 1, new byte[19]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> template.setUint(call, 2, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.setUint(new byte[10], 0, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.encode(1));
+    }
+}
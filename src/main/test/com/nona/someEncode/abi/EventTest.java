@@ -0,0 +1,134 @@
+package com.nona.someEncode.abi;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 06:00
+ */
+class EventTest {
+
+    private static final String TRANSFER_TOPIC = "ddf252ad1be2c89b69c2b068fc378daa952ba7f163c4a11628f55a4df523b3ef";
+    private static final String APPROVAL_TOPIC = "8c5be1e5ebec7d5bd14f71427d1e84f3dd0314c0f7b2291e5b200ac8c7c3b925";
+    private static final String FROM = "a439eb632980750e0e6f8552f4b1b93bcb841f14";
+    private static final String TO = "5b38da6a701c568545dcfcb03fcb875f56beddc4";
+
+    private static final Event TRANSFER = Event.of("Transfer(address indexed from, address indexed to, uint256 value)");
+    private static final Event APPROVAL = Event.of("Approval(address indexed owner, address indexed spender, uint256 value)");
+
+    @Test
+    void testTopic0() {
+        Assertions.assertEquals("Transfer(address,address,uint256)", TRANSFER.getSignature());
+        Assertions.assertEquals(TRANSFER_TOPIC, Hex.toHexString(TRANSFER.getTopic0()));
+        Assertions.assertEquals(APPROVAL_TOPIC, Hex.toHexString(APPROVAL.getTopic0()));
+        Assertions.assertEquals(3, TRANSFER.getTopicCount());
+        Assertions.assertTrue(TRANSFER.isIndexed(1));
+        Assertions.assertFalse(TRANSFER.isIndexed(2));
+        Assertions.assertSame(TRANSFER, Event.of("Transfer(address indexed from, address indexed to, uint256 value)"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> Event.of("E(uint indexed a, uint indexed b, uint indexed c, uint indexed d)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Event.of("1E(uint)"));
+    }
+
+    @Test
+    void testDecode() {
+        BigInteger big = BigInteger.ONE.shiftLeft(100);
+        byte[] topics = topics(TRANSFER_TOPIC, FROM, TO);
+        byte[] data = Hex.decode(Hex.toHexString(Function.of("f(uint256)").encode(big)).substring(8));
+        for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.wrap(topics), direct(topics).order(ByteOrder.LITTLE_ENDIAN)}) {
+            Assertions.assertTrue(TRANSFER.matches(buffer));
+            Assertions.assertFalse(APPROVAL.matches(buffer));
+            EventValues values = TRANSFER.decode(buffer, ByteBuffer.wrap(data));
+            Assertions.assertEquals(3, values.size());
+            byte[] address = new byte[20];
+            values.getAddress(0, address, 0);
+            Assertions.assertEquals(FROM, Hex.toHexString(address));
+            Assertions.assertEquals(0x5b, values.getAddress(1).get(0) & 0xFF);
+            Assertions.assertFalse(values.fitsLong(2));
+            Assertions.assertEquals(big, values.getBigInteger(2));
+            Assertions.assertEquals(2, values.getTopics().size());
+            Assertions.assertEquals(0, buffer.position());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> APPROVAL.decode(topics, data));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TRANSFER.decode(topics, new byte[31]));
+    }
+
+    @Test
+    void testIndexedValue() {
+        // ERC721的Transfer：topic0和ERC20相同，tokenId也在topic里
+        Event nft = Event.of("Transfer(address indexed from, address indexed to, uint256 indexed tokenId)");
+        byte[] topics = topics(TRANSFER_TOPIC, FROM, TO, "2a");
+        Assertions.assertFalse(TRANSFER.matches(ByteBuffer.wrap(topics)));
+        EventValues values = nft.decode(topics, new byte[0]);
+        Assertions.assertEquals(42L, values.getLong(2));
+        Assertions.assertEquals(0, values.getData().size());
+
+        Event memo = Event.of("Memo(string indexed key,string value)");
+        byte[] hash = Function.signatureHash("key");
+        byte[] data = Hex.decode(Hex.toHexString(Function.of("f(string)").encode("hello")).substring(8));
+        values = memo.decode(topics(Hex.toHexString(memo.getTopic0()), Hex.toHexString(hash)), data);
+        Assertions.assertEquals("bytes32", values.getType(0));
+        Assertions.assertArrayEquals(hash, values.getByteArray(0));
+        Assertions.assertEquals("hello", values.getString(1));
+    }
+
+    @Test
+    void testIndexedStaticArrayAndTuple() {
+        // 静态的定长数组和元组作为indexed参数时也只占一个topic
+        Event event = Event.of("Foo(uint256[2] indexed x, (address,uint256) indexed s, uint256 v)");
+        Assertions.assertEquals("Foo(uint256[2],(address,uint256),uint256)", event.getSignature());
+        Assertions.assertEquals(3, event.getTopicCount());
+        byte[] arrayHash = Function.signatureHash("x");
+        byte[] tupleHash = Function.signatureHash("s");
+        byte[] data = new byte[32];
+        data[31] = 9;
+        EventValues values = event.decode(topics(Hex.toHexString(event.getTopic0()),
+                Hex.toHexString(arrayHash), Hex.toHexString(tupleHash)), data);
+        Assertions.assertEquals("bytes32", values.getType(0));
+        Assertions.assertEquals("bytes32", values.getType(1));
+        Assertions.assertArrayEquals(arrayHash, values.getByteArray(0));
+        Assertions.assertArrayEquals(tupleHash, values.getByteArray(1));
+        Assertions.assertEquals(9L, values.getLong(2));
+    }
+
+    @Test
+    void testFilter() {
+        EventFilter filter = EventFilter.of(TRANSFER, APPROVAL);
+        byte[] data = new byte[32];
+        data[31] = 7;
+        Assertions.assertSame(APPROVAL, filter.match(ByteBuffer.wrap(topics(APPROVAL_TOPIC, FROM, TO))));
+        Assertions.assertEquals(7L, filter.decode(ByteBuffer.wrap(topics(TRANSFER_TOPIC, FROM, TO)), ByteBuffer.wrap(data)).getLong(2));
+        // 第一个long相同，后面不同
+        String fake = TRANSFER_TOPIC.substring(0, 16) + APPROVAL_TOPIC.substring(16);
+        Assertions.assertNull(filter.match(ByteBuffer.wrap(topics(fake, FROM, TO))));
+        Assertions.assertNull(filter.match(ByteBuffer.wrap(topics(TRANSFER_TOPIC, FROM, TO, "01"))));
+        Assertions.assertNull(filter.decode(ByteBuffer.allocate(0), ByteBuffer.wrap(data)));
+        Assertions.assertThrows(IllegalArgumentException.class, EventFilter::of);
+    }
+
+    /**
+     * 每个hex左补0到32byte后拼接
+     */
+    private static byte[] topics(String... hexes) {
+        StringBuilder sb = new StringBuilder();
+        for (String hex : hexes) {
+            for (int i = hex.length(); i < 64; i++) {
+                sb.append('0');
+            }
+            sb.append(hex);
+        }
+        return Hex.decode(sb.toString());
+    }
+
+    private static ByteBuffer direct(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes).flip();
+        return buffer;
+    }
+}
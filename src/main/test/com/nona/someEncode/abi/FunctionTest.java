@@ -0,0 +1,238 @@
+package com.nona.someEncode.abi;
+
+import com.nona.someEncode.abi.abiType.Address;
+import com.nona.someEncode.abi.abiType.DynamicByteArray;
+import com.nona.someEncode.abi.abiType.Uint;
+import com.nona.someEncode.abi.abiType.Utf8String;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 01:00
+ */
+class FunctionTest {
+
+    private static final String ADDRESS = "0xA439eb632980750e0E6f8552f4B1b93BCB841f14";
+    private static final String TRANSFER_CALL = "a9059cbb"
+            + "000000000000000000000000a439eb632980750e0e6f8552f4b1b93bcb841f14"
+            + "00000000000000000000000000000000000000000000000000000000000003e8";
+
+    @Test
+    void testSelector() {
+        Assertions.assertEquals("a9059cbb", Function.of("transfer(address,uint256)").getSelectorHex());
+        Assertions.assertEquals("70a08231", Function.of("balanceOf(address)").getSelectorHex());
+        Assertions.assertEquals("095ea7b3", Function.of("approve(address,uint256)").getSelectorHex());
+        Assertions.assertEquals("18160ddd", Function.of("totalSupply()").getSelectorHex());
+    }
+
+    @Test
+    void testCanonicalize() {
+        Function function = Function.of(" transfer( address to , uint amount ) ");
+        Assertions.assertEquals("transfer", function.getName());
+        Assertions.assertEquals("transfer(address,uint256)", function.getSignature());
+        Assertions.assertEquals(Arrays.asList("address", "uint256"), function.getParameterTypes());
+        Assertions.assertEquals("a9059cbb", function.getSelectorHex());
+        Assertions.assertSame(Function.of("transfer(address,uint256)"), Function.of("transfer(address,uint256)"));
+    }
+
+    @Test
+    void testEncode() {
+        Function transfer = Function.of("transfer(address,uint256)");
+        Assertions.assertEquals(TRANSFER_CALL, transfer.encodeHex(ADDRESS, 1000));
+        Assertions.assertEquals(TRANSFER_CALL, transfer.encodeHex(ADDRESS.substring(2), BigInteger.valueOf(1000)));
+        Assertions.assertEquals(TRANSFER_CALL, transfer.encodeHex(new Address(ADDRESS), new Uint.Uint256(BigInteger.valueOf(1000))));
+        Assertions.assertEquals(TRANSFER_CALL, transfer.encodeHex(Hex.decode(ADDRESS.substring(2)), 1000L));
+        Assertions.assertEquals(TRANSFER_CALL, transfer.encodeHex("41" + ADDRESS.substring(2), 1000));
+
+        int length = transfer.encodedLength(ADDRESS, 1000);
+        byte[] dst = new byte[length + 3];
+        Arrays.fill(dst, (byte) 0x55);
+        Assertions.assertEquals(length, transfer.encodeTo(dst, 3, ADDRESS, 1000));
+        Assertions.assertEquals(TRANSFER_CALL, Hex.toHexString(dst, 3, length));
+    }
+
+    @Test
+    void testEncodeTypes() {
+        Function function = Function.of("f(int8,bool,bytes4,int256,uint8)");
+        Assertions.assertEquals("f(int8,bool,bytes4,int256,uint8)", function.getSignature());
+        String hex = function.encodeHex(-1, true, new byte[]{1, 2}, BigInteger.valueOf(-2), 255);
+        Assertions.assertEquals(4 + 5 * 32, hex.length() / 2);
+        Assertions.assertEquals(repeat("ff", 32)
+                        + repeat("00", 31) + "01"
+                        + "0102" + repeat("00", 30)
+                        + repeat("ff", 31) + "fe"
+                        + repeat("00", 31) + "ff",
+                hex.substring(8));
+    }
+
+    @Test
+    void testDynamic() {
+        // solidity文档里的例子
+        Function f = Function.of("f(uint256,uint32[],bytes10,bytes)");
+        Assertions.assertEquals("8be65246"
+                        + "0000000000000000000000000000000000000000000000000000000000000123"
+                        + "0000000000000000000000000000000000000000000000000000000000000080"
+                        + "3132333435363738393000000000000000000000000000000000000000000000"
+                        + "00000000000000000000000000000000000000000000000000000000000000e0"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000456"
+                        + "0000000000000000000000000000000000000000000000000000000000000789"
+                        + "000000000000000000000000000000000000000000000000000000000000000d"
+                        + "48656c6c6f2c20776f726c642100000000000000000000000000000000000000",
+                f.encodeHex(0x123, new Object[]{0x456, 0x789}, "1234567890".getBytes(), new DynamicByteArray("Hello, world!".getBytes())));
+
+        Function g = Function.of("g(uint256[][],string[])");
+        Assertions.assertEquals("2289b18c"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "0000000000000000000000000000000000000000000000000000000000000140"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000040"
+                        + "00000000000000000000000000000000000000000000000000000000000000a0"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000002"
+                        + "0000000000000000000000000000000000000000000000000000000000000001"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "0000000000000000000000000000000000000000000000000000000000000060"
+                        + "00000000000000000000000000000000000000000000000000000000000000a0"
+                        + "00000000000000000000000000000000000000000000000000000000000000e0"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "6f6e650000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000003"
+                        + "74776f0000000000000000000000000000000000000000000000000000000000"
+                        + "0000000000000000000000000000000000000000000000000000000000000005"
+                        + "7468726565000000000000000000000000000000000000000000000000000000",
+                g.encodeHex(Arrays.asList(Arrays.asList(1, 2), Collections.singletonList(3)),
+                        new Object[]{"one", new Utf8String("two"), "three"}));
+    }
+
+    @Test
+    void testTuple() {
+        Function aggregate = Function.of("aggregate((address target, bytes callData)[] calls)");
+        Assertions.assertEquals("aggregate((address,bytes)[])", aggregate.getSignature());
+        Assertions.assertEquals("252dba42", aggregate.getSelectorHex());
+        byte[] callData = Function.of("balanceOf(address)").encode(ADDRESS);
+        Object[] call = {ADDRESS, callData};
+        Assertions.assertEquals("252dba42"
+                        + word("20") + word("1") + word("20")
+                        + "000000000000000000000000a439eb632980750e0e6f8552f4b1b93bcb841f14" + word("40")
+                        + word("24") + Hex.toHexString(callData) + repeat("00", 28),
+                aggregate.encodeHex((Object) new Object[]{call}));
+
+        // 几百个嵌套的调用，先算的长度和实际写入的一致，写入会覆盖脏数据
+        List<Object[]> calls = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            calls.add(new Object[]{ADDRESS, Arrays.copyOf(callData, i % 70)});
+        }
+        byte[] expected = aggregate.encode(calls);
+        Assertions.assertEquals(expected.length, aggregate.encodedLength(calls));
+        byte[] dirty = new byte[expected.length + 1];
+        Arrays.fill(dirty, (byte) 0x55);
+        Assertions.assertEquals(expected.length, aggregate.encodeTo(dirty, 1, calls));
+        Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dirty, 1, dirty.length));
+
+        // 静态元组直接写在head里
+        Function h = Function.of("h((uint8,bool)[2],uint8)");
+        Assertions.assertEquals(4 + 5 * 32, h.encode(new Object[]{new Object[]{1, true}, new Object[]{2, false}}, 3).length);
+    }
+
+    @Test
+    void testParallel() {
+        int n = AbiCoders.PARALLEL_THRESHOLD * 3 + 5;
+        Address[] recipients = new Address[n];
+        Uint.Uint256[] amounts = new Uint.Uint256[n];
+        Object[] names = new Object[n];
+        Random random = new Random(22);
+        for (int i = 0; i < n; i++) {
+            byte[] address = new byte[20];
+            random.nextBytes(address);
+            recipients[i] = new Address(Hex.toHexString(address));
+            amounts[i] = new Uint.Uint256(new BigInteger(random.nextInt(257), random));
+            names[i] = i % 7 == 0 ? "" : Integer.toHexString(i);
+        }
+        Function airdrop = Function.of("airdrop(address[],uint256[],string[],uint8)");
+        byte[] expected = airdrop.encode(recipients, amounts, names, 1);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            Assertions.assertArrayEquals(expected, airdrop.encodeParallel(pool, recipients, amounts, names, 1));
+            Assertions.assertArrayEquals(expected, airdrop.encodeParallel(null, Arrays.asList(recipients), amounts, names, 1));
+            names[n - 1] = 1;
+            Assertions.assertThrows(IllegalArgumentException.class, () -> airdrop.encodeParallel(pool, recipients, amounts, names, 1));
+        } finally {
+            pool.shutdown();
+        }
+        AbiValues decoded = AbiDecoder.of("address[]", "uint256[]", "string[]").wrap(ByteBuffer.wrap(expected, 4, expected.length - 4).slice());
+        Assertions.assertEquals(amounts[n - 1].getValue(), decoded.getValues(1).getBigInteger(n - 1));
+        Assertions.assertEquals(Integer.toHexString(n - 1), decoded.getValues(2).getString(n - 1));
+    }
+
+    @Test
+    void testUtf8() {
+        Function f = Function.of("f(string)");
+        for (String s : new String[]{"", "abc", "\u00e9\u4e2d\u6587", "\ud83d\ude00", "a\ud83db", "\ude00"}) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            byte[] expected = Arrays.copyOf(f.getSelector(), 4 + 64 + (utf8.length + 31) / 32 * 32);
+            expected[4 + 31] = 0x20;
+            expected[4 + 63] = (byte) utf8.length;
+            System.arraycopy(utf8, 0, expected, 4 + 64, utf8.length);
+            Assertions.assertArrayEquals(expected, f.encode(s), s);
+        }
+    }
+
+    @Test
+    void testTrxAddress() {
+        // TRX的base58地址和41开头的hex是同一个地址
+        Function balanceOf = Function.of("balanceOf(address)");
+        Assertions.assertEquals(balanceOf.encodeHex("41a614f803b6fd780986a42c78ec9c7f77e6ded13c"),
+                balanceOf.encodeHex("TR7NHqjeKQxGTCi8q8ZY4pL8otSzgjLj6t"));
+    }
+
+    @Test
+    void testInvalid() {
+        Function transfer = Function.of("transfer(address,uint256)");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> transfer.encode(ADDRESS));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> transfer.encode(ADDRESS, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> transfer.encode(ADDRESS, null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> transfer.encode("0x1234", 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("uint8(uint7)").encode(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint7)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(bytes33)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(address"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("1f()"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint8,)"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint8)").encode(256));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(int8)").encode(128));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(bytes2)").encode(new byte[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint8[2])").encode((Object) new Object[]{1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f((uint8,bytes))").encode((Object) new Object[]{1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(string)").encode(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint8[0])"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(uint8[x])"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Function.of("f(())"));
+    }
+
+    private static String word(String hex) {
+        return repeat("0", 64 - hex.length()) + hex;
+    }
+
+    private static String repeat(String s, int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(s);
+        }
+        return sb.toString();
+    }
+}
@@ -1,8 +1,12 @@
 package com.nona.someEncode.abi.abiType;
 
+import org.bouncycastle.util.encoders.Hex;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * @author nona9961
  * @date 2021/10/8 11:09
@@ -24,4 +28,19 @@ class AddressTest {
         Assertions.assertEquals("000000000000000000000000a439eb632980750e0e6f8552f4b1b93bcb841f14", s);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testWriteTo() {
+        Address address = new Address(realAddress);
+        byte[] dst = new byte[33];
+        Arrays.fill(dst, (byte) 0x55);
+        Assertions.assertEquals(32, address.writeTo(dst, 1));
+        Assertions.assertEquals("000000000000000000000000a439eb632980750e0e6f8552f4b1b93bcb841f14", Hex.toHexString(dst, 1, 32));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        Assertions.assertEquals(32, Address.encodeAddress(Hex.decode(realAddress.substring(2)), buffer, 0));
+        byte[] written = new byte[32];
+        buffer.get(written);
+        Assertions.assertArrayEquals(address.generateAbi(), written);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Address.encodeAddress(new byte[21], dst, 0));
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.nona.someEncode.abi.abiType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 02:00
+ */
+class DynamicByteArrayTest {
+    @Test
+    void testAbi() {
+        DynamicByteArray bytes = new DynamicByteArray("Hello, world!".getBytes());
+        Assertions.assertEquals(BigInteger.valueOf(13), bytes.dynamicLength());
+        Assertions.assertEquals("000000000000000000000000000000000000000000000000000000000000000d"
+                + "48656c6c6f2c20776f726c642100000000000000000000000000000000000000", bytes.abiHex());
+        Assertions.assertEquals(bytes.abiHex(), new Utf8String("Hello, world!").abiHex());
+        Assertions.assertEquals("0000000000000000000000000000000000000000000000000000000000000000",
+                new DynamicByteArray(new byte[0]).abiHex());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new Utf8String(null));
+    }
+}
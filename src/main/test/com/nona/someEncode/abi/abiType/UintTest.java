@@ -4,6 +4,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Arrays;
 
 
@@ -50,4 +52,38 @@ class UintTest {
         System.out.println(s5);
     }
 
-}
\ No newline at end of file
+    @Test
+    void testWriteTo() {
+        BigInteger big = BigInteger.ONE.shiftLeft(255).add(BigInteger.valueOf(0x1234));
+        for (Uint<?> uint : new Uint<?>[]{new Uint.Uint8((byte) 7), new Uint.Uint32(0x99882),
+                new Uint.Uint64(Long.MAX_VALUE), new Uint.Uint256(BigInteger.TEN), new Uint.Uint256(big)}) {
+            byte[] expected = uint.generateAbi();
+            Assertions.assertEquals(32, uint.encodedLength());
+            byte[] dst = new byte[35];
+            Arrays.fill(dst, (byte) 0x55);
+            Assertions.assertEquals(32, uint.writeTo(dst, 2));
+            Assertions.assertArrayEquals(expected, Arrays.copyOfRange(dst, 2, 34));
+            Assertions.assertEquals(0x55, dst[34]);
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(35), ByteBuffer.allocateDirect(35),
+                    ByteBuffer.allocateDirect(35).order(ByteOrder.LITTLE_ENDIAN)}) {
+                while (buffer.hasRemaining()) {
+                    buffer.put((byte) 0x55);
+                }
+                buffer.position(1);
+                Assertions.assertEquals(32, uint.writeTo(buffer, 2));
+                Assertions.assertEquals(1, buffer.position());
+                byte[] written = new byte[32];
+                buffer.position(2);
+                buffer.get(written);
+                Assertions.assertArrayEquals(expected, written);
+            }
+        }
+        Assertions.assertEquals(new BigInteger(1, new Uint.Uint256(big).generateAbi()), big);
+
+        byte[] dst = new byte[32];
+        Uint.encodeUint(-1L, dst, 0);
+        Assertions.assertEquals(BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE), new BigInteger(1, dst));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Uint.encodeUint(BigInteger.ONE.shiftLeft(256), dst, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Uint.encodeUint(BigInteger.valueOf(-1), dst, 0));
+    }
+}
@@ -0,0 +1,53 @@
+package com.nona.someEncode.base;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 11:45
+ */
+class Base58CheckTest {
+
+    /**
+     * 私钥为1时btc主网不压缩公钥对应的地址
+     */
+    private final String btcAddress = "1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm";
+    private final String hash160 = "91b24bf9f5288532960ac687abb035127b1d28a5";
+
+    @Test
+    void testEncode() {
+        byte[] payload = Hex.decode(hash160);
+        Assertions.assertEquals(btcAddress, Base58Check.encode((byte) 0x00, payload));
+
+        byte[] versioned = new byte[payload.length + 1];
+        System.arraycopy(payload, 0, versioned, 1, payload.length);
+        Assertions.assertEquals(btcAddress, Base58Check.encode(versioned));
+    }
+
+    @Test
+    void testDecode() {
+        byte[] versioned = Base58Check.decode(btcAddress);
+        Assertions.assertEquals(21, versioned.length);
+        Assertions.assertEquals(0, versioned[0]);
+
+        byte[] dst = new byte[24];
+        int length = Base58Check.decodePayload(btcAddress, (byte) 0x00, dst, 4);
+        Assertions.assertEquals(20, length);
+        Assertions.assertArrayEquals(Arrays.copyOfRange(versioned, 1, 21), Arrays.copyOfRange(dst, 4, 24));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Base58Check.decodePayload(btcAddress, (byte) 0x41, dst, 0));
+    }
+
+    @Test
+    void testChecksum() {
+        Assertions.assertTrue(Base58Check.isValid(btcAddress));
+        // 改最后一个字符，checksum对不上
+        String corrupted = btcAddress.substring(0, btcAddress.length() - 1) + "n";
+        Assertions.assertFalse(Base58Check.isValid(corrupted));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Base58Check.decode(corrupted));
+        Assertions.assertFalse(Base58Check.isValid("1111"));
+    }
+}
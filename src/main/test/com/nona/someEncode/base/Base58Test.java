@@ -0,0 +1,76 @@
+package com.nona.someEncode.base;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 11:02
+ */
+class Base58Test {
+
+    @Test
+    void testEncode() {
+        Assertions.assertEquals("Zi88", Base58.encode("aaa".getBytes()));
+        Assertions.assertEquals("", Base58.encode(new byte[0]));
+        Assertions.assertEquals("111", Base58.encode(new byte[3]));
+        Assertions.assertEquals("11Zi88", Base58.encode(new byte[]{0, 0, 'a', 'a', 'a'}));
+    }
+
+    @Test
+    void testDecode() {
+        Assertions.assertArrayEquals("aaa".getBytes(), Base58.decode("Zi88"));
+        Assertions.assertArrayEquals(new byte[0], Base58.decode(""));
+        Assertions.assertArrayEquals(new byte[2], Base58.decode("11"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Base58.decode("Zi0O"));
+    }
+
+    @Test
+    void testSameAsBigInteger() {
+        Random random = new Random(58);
+        for (int i = 0; i < 2000; i++) {
+            byte[] raw = new byte[random.nextInt(48)];
+            random.nextBytes(raw);
+            String encoded = Base58.encode(raw);
+            Assertions.assertEquals(bigIntegerEncode(raw), encoded);
+            Assertions.assertArrayEquals(raw, Base58.decode(encoded));
+        }
+    }
+
+    @Test
+    void testBufferOverloads() {
+        byte[] raw = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+        String expected = Base58.encode(raw);
+
+        char[] chars = new char[3 + Base58.maxEncodedLength(raw.length)];
+        int charLength = Base58.encode(raw, 0, raw.length, chars, 3);
+        Assertions.assertEquals(expected, new String(chars, 3, charLength));
+
+        StringBuilder sb = new StringBuilder("T");
+        Base58.encode(raw, 0, raw.length, sb);
+        Assertions.assertEquals("T" + expected, sb.toString());
+
+        byte[] dst = new byte[2 + raw.length];
+        int byteLength = Base58.decode(sb, 1, sb.length(), dst, 2);
+        Assertions.assertEquals(raw.length, byteLength);
+        Assertions.assertArrayEquals(raw, Arrays.copyOfRange(dst, 2, dst.length));
+    }
+
+    private static String bigIntegerEncode(byte[] raw) {
+        BigInteger value = new BigInteger(1, raw);
+        StringBuilder sb = new StringBuilder();
+        while (value.signum() != 0) {
+            BigInteger[] qr = value.divideAndRemainder(Base58.ALPHABET_SIZE);
+            sb.append(Base58.BASE58_ALPHABET.charAt(qr[1].intValue()));
+            value = qr[0];
+        }
+        for (int i = 0; i < raw.length && raw[i] == 0; i++) {
+            sb.append('1');
+        }
+        return sb.reverse().toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 17:40
+ */
+class GeneratorTableTest {
+
+    @Test
+    void testMultiply() {
+        ECPoint g = SECP256K1Support.getCurve().getG();
+        BigInteger n = SECP256K1Support.getCurve().getN();
+        Random random = new Random(9);
+        for (int windowBits : new int[]{3, 5, 8}) {
+            GeneratorTable table = GeneratorTable.build(windowBits);
+            Assertions.assertTrue(table.multiply(BigInteger.ZERO).isInfinity());
+            Assertions.assertEquals(g.multiply(n.subtract(BigInteger.ONE)).normalize(), table.multiply(n.subtract(BigInteger.ONE)).normalize());
+            for (int i = 0; i < 20; i++) {
+                BigInteger k = new BigInteger(256, random).mod(n);
+                Assertions.assertEquals(g.multiply(k).normalize(), table.multiply(k).normalize());
+            }
+        }
+    }
+
+    @Test
+    void testSaveAndLoad(@TempDir Path dir) throws IOException {
+        GeneratorTable table = GeneratorTable.build(6);
+        Path file = dir.resolve("g6.table");
+        table.save(file);
+        GeneratorTable loaded = GeneratorTable.load(file);
+        Assertions.assertEquals(6, loaded.getWindowBits());
+        BigInteger k = new BigInteger("8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f", 16);
+        Assertions.assertEquals(table.multiply(k).normalize(), loaded.multiply(k).normalize());
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[100] ^= 1;
+        Path corrupted = dir.resolve("corrupted.table");
+        Files.write(corrupted, bytes);
+        Assertions.assertThrows(IOException.class, () -> GeneratorTable.load(corrupted));
+
+        // 交换最高窗口里的两个点并重新算摘要：点都合法、摘要也对，但结果错了
+        bytes = Files.readAllBytes(file);
+        int pointLength = 64;
+        int last = bytes.length - pointLength * (64 - 15);
+        byte[] swap = Arrays.copyOfRange(bytes, last, last + pointLength);
+        System.arraycopy(bytes, last - pointLength, bytes, last, pointLength);
+        System.arraycopy(swap, 0, bytes, last - pointLength, pointLength);
+        SHA256Digest sha256 = new SHA256Digest();
+        sha256.update(bytes, 48, bytes.length - 48);
+        sha256.doFinal(bytes, 16);
+        Path tampered = dir.resolve("tampered.table");
+        Files.write(tampered, bytes);
+        Assertions.assertThrows(IOException.class, () -> GeneratorTable.load(tampered));
+    }
+}
@@ -0,0 +1,62 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * BIP32的测试向量1
+ *
+ * @author nona9961
+ * @date 2026/10/18 20:00
+ */
+class HDNodeTest {
+
+    private static final byte[] SEED = Hex.decode("000102030405060708090a0b0c0d0e0f");
+
+    @Test
+    void testVector() {
+        HDNode master = HDNode.fromSeed(SEED);
+        Assertions.assertEquals("xprv9s21ZrQH143K3QTDL4LXw2F7HEK3wJUD2nW2nRk4stbPy6cq3jPPqjiChkVvvNKmPGJxWUtg6LnF5kejMRNNU3TGtRBeJgk33yuGBxrMPHi",
+                master.toExtendedPrivateKey());
+        Assertions.assertEquals("xpub661MyMwAqRbcFtXgS5sYJABqqG9YLmC4Q1Rdap9gSE8NqtwybGhePY2gZ29ESFjqJoCu1Rupje8YtGqsefD265TMg7usUDFdp6W1EGMcet8",
+                master.toExtendedPublicKey());
+
+        HDNode child = master.derive("m/0H");
+        Assertions.assertEquals("xprv9uHRZZhk6KAJC1avXpDAp4MDc3sQKNxDiPvvkX8Br5ngLNv1TxvUxt4cV1rGL5hj6KCesnDYUhd7oWgT11eZG7XnxHrnYeSvkzY7d2bhkJ7",
+                child.toExtendedPrivateKey());
+        Assertions.assertEquals("xpub68Gmy5EdvgibQVfPdqkBBCHxA5htiqg55crXYuXoQRKfDBFA1WEjWgP6LHhwBZeNK1VTsfTFUHCdrfp1bgwQ9xv5ski8PX9rL2dZXvgGDnw",
+                child.toExtendedPublicKey());
+
+        HDNode leaf = master.derive("m/0'/1/2'/2/1000000000");
+        Assertions.assertEquals("xprvA41z7zogVVwxVSgdKUHDy1SKmdb533PjDz7J6N6mV6uS3ze1ai8FHa8kmHScGpWmj4WggLyQjgPie1rFSruoUihUZREPSL39UNdE3BBDu76",
+                leaf.toExtendedPrivateKey());
+        Assertions.assertEquals("xpub6H1LXWLaKsWFhvm6RVpEL9P4KfRZSW7abD2ttkWP3SSQvnyA8FSVqNTEcYFgJS2UaFcxupHiYkro49S8yGasTvXEYBVPamhGW6cFJodrTHy",
+                leaf.toExtendedPublicKey());
+    }
+
+    @Test
+    void testPublicDerivation() {
+        HDNode account = HDNode.fromSeed(SEED).derive("m/44'/195'/0'");
+        HDNode xpub = HDNode.fromExtendedKey(account.toExtendedPublicKey());
+        Assertions.assertFalse(xpub.hasPrivateKey());
+        for (int i = 0; i < 5; i++) {
+            Assertions.assertArrayEquals(account.derive(0, i).getPublicKey(true), xpub.derive(0, i).getPublicKey(true));
+            Assertions.assertEquals(account.derive(0, i).toExtendedPublicKey(), xpub.derive("m/0/" + i).toExtendedPublicKey());
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> xpub.derive(HDNode.hardened(0)));
+        Assertions.assertThrows(IllegalStateException.class, xpub::getPrivateKey);
+
+        HDNode xprv = HDNode.fromExtendedKey(account.toExtendedPrivateKey());
+        Assertions.assertArrayEquals(account.getPrivateKey(), xprv.getPrivateKey());
+        Assertions.assertEquals(account.getParentFingerprint(), xprv.getParentFingerprint());
+    }
+
+    @Test
+    void testInvalidPath() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HDNode.parsePath("m/a"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HDNode.parsePath("m/-1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> HDNode.parsePath("m/2147483648"));
+        Assertions.assertArrayEquals(new int[]{0x8000002C, 0x800000C3, 0x80000000, 0, 7}, HDNode.parsePath("m/44'/195h/0H/0/7"));
+    }
+}
@@ -0,0 +1,41 @@
+package com.nona.someEncode.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 18:10
+ */
+class KeyPairBatchTest {
+
+    @Test
+    void testGenerateKeyPairs() {
+        // 超过一段，覆盖拆分任务和多次批量求逆
+        int count = KeyPairBatchTask.THRESHOLD * 2 + 7;
+        KeyPairBatch batch = SECP256K1Support.generateKeyPairs(count, new ForkJoinPool(3));
+        Assertions.assertEquals(count, batch.size());
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            byte[] pri = batch.getPrivateKey(i);
+            Assertions.assertArrayEquals(SECP256K1Support.getPubFromPrivate(pri, false), batch.getPublicKey(i, false));
+            Assertions.assertArrayEquals(SECP256K1Support.getPubFromPrivate(pri, true), batch.getPublicKey(i, true));
+            distinct.add(Arrays.toString(pri));
+        }
+        Assertions.assertEquals(count, distinct.size());
+    }
+
+    @Test
+    void testSmallBatch() {
+        Assertions.assertEquals(0, SECP256K1Support.generateKeyPairs(0).size());
+        KeyPairBatch batch = SECP256K1Support.generateKeyPairs(1);
+        Assertions.assertArrayEquals(SECP256K1Support.getPubFromPrivate(batch.getPrivateKey(0), false), batch.getPublicKey(0, false));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> batch.getPrivateKey(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SECP256K1Support.generateKeyPairs(-1));
+    }
+}
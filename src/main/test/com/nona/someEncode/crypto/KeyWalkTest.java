@@ -0,0 +1,28 @@
+package com.nona.someEncode.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+class KeyWalkTest {
+
+    @Test
+    void testNextBlock() {
+        KeyWalk walk = new KeyWalk(new SecureRandom());
+        byte[] points = new byte[KeyWalk.BLOCK * KeyWalk.POINT_LENGTH];
+        for (int block = 0; block < 2; block++) {
+            walk.nextBlock(points, 0);
+            for (int i : new int[]{0, 1, 2, KeyWalk.BLOCK / 2, KeyWalk.BLOCK - 1}) {
+                byte[] pub = SECP256K1Support.getPubFromPrivate(walk.privateKey(i), false);
+                int off = i * KeyWalk.POINT_LENGTH;
+                Assertions.assertArrayEquals(Arrays.copyOfRange(pub, 1, 65), Arrays.copyOfRange(points, off, off + KeyWalk.POINT_LENGTH));
+            }
+        }
+    }
+}
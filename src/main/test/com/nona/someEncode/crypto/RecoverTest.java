@@ -0,0 +1,99 @@
+package com.nona.someEncode.crypto;
+
+import com.nona.someEncode.key.TrxWallet;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 15:45
+ */
+class RecoverTest {
+
+    private final String privateKey = "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f";
+
+    @Test
+    void testRecover() {
+        Random random = new Random(1);
+        byte[] pub = SECP256K1Support.getPubUncompressedFromPrivate(privateKey);
+        String middleAddress = TrxWallet.revertMiddleAddress(TrxWallet.addressFromPrivateKey(privateKey));
+        for (int i = 0; i < 20; i++) {
+            byte[] hash = new byte[32];
+            random.nextBytes(hash);
+            byte[] signature = Hex.decode(SECP256K1Support.sign(hash, privateKey));
+            Assertions.assertArrayEquals(pub, SECP256K1Support.recoverPublicKey(signature, hash));
+            Assertions.assertEquals(middleAddress, Hex.toHexString(SECP256K1Support.recoverAddress(signature, hash)));
+        }
+    }
+
+    @Test
+    void testRecoverLongData() {
+        // 超过32byte的数据签名、验签时截断，恢复公钥也要截断
+        SigningKey signingKey = SigningKey.fromHex(privateKey);
+        byte[] pub = signingKey.getPublicKey(false);
+        byte[] data = new byte[48];
+        new Random(2).nextBytes(data);
+        byte[] signature = signingKey.sign(data);
+        Assertions.assertTrue(SECP256K1Support.verify(data, signature, pub));
+        Assertions.assertArrayEquals(pub, SECP256K1Support.recoverPublicKey(signature, data));
+        Assertions.assertArrayEquals(SECP256K1Support.recoverAddress(signature, Arrays.copyOf(data, 32)),
+                SECP256K1Support.recoverAddress(signature, data));
+        byte[][] pubs = SECP256K1Support.recoverPublicKeys(new byte[][]{signature}, new byte[][]{data}, ForkJoinPool.commonPool(), null);
+        Assertions.assertArrayEquals(pub, pubs[0]);
+    }
+
+    @Test
+    void testInvalid() {
+        byte[] hash = new byte[32];
+        byte[] signature = Hex.decode(SECP256K1Support.sign(hash, privateKey));
+        signature[64] = 9;
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SECP256K1Support.recoverPublicKey(signature, hash));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SECP256K1Support.recoverPublicKey(new byte[65], hash));
+    }
+
+    @Test
+    void testBatchWithCache() {
+        int count = 50;
+        byte[][] hashes = new byte[count][32];
+        byte[][] signatures = new byte[count][];
+        Random random = new Random(2);
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(hashes[i]);
+            signatures[i] = Hex.decode(SECP256K1Support.sign(hashes[i], privateKey));
+        }
+        signatures[7] = new byte[65];
+        RecoverCache cache = new RecoverCache(1000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        byte[][] addresses = SECP256K1Support.recoverAddresses(signatures, hashes, pool, cache);
+        Assertions.assertEquals(count - 1, cache.size());
+        byte[][] again = SECP256K1Support.recoverAddresses(signatures, hashes, pool, cache);
+        pool.shutdown();
+
+        byte[] expected = SECP256K1Support.recoverAddress(signatures[0], hashes[0]);
+        for (int i = 0; i < count; i++) {
+            if (i == 7) {
+                Assertions.assertNull(addresses[i]);
+                continue;
+            }
+            Assertions.assertArrayEquals(expected, addresses[i]);
+            Assertions.assertArrayEquals(expected, again[i]);
+        }
+    }
+
+    @Test
+    void testCacheBound() {
+        RecoverCache cache = new RecoverCache(32);
+        for (int i = 0; i < 1000; i++) {
+            byte[] hash = new byte[32];
+            hash[0] = (byte) i;
+            hash[1] = (byte) (i >> 8);
+            cache.put(new byte[65], hash, new byte[65]);
+        }
+        Assertions.assertTrue(cache.size() <= 32);
+    }
+}
@@ -0,0 +1,35 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.jcajce.provider.digest.SHA256;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 13:10
+ */
+class SECP256K1SupportTest {
+
+    private final byte[] hash = new SHA256.Digest().digest("some-encode".getBytes());
+
+    /**
+     * 期望值来自逐个尝试恢复公钥求v的旧实现
+     */
+    @Test
+    void testSign() {
+        Assertions.assertEquals("d1c1b8ea6e6e53639322c5437d8f90dffe9111e63375856526a465e754cffc29"
+                        + "77619a4588aa887699a424d88da193e5cd770b32d96c21c673b0def3ddd51fdc01",
+                SECP256K1Support.sign(hash, "0000000000000000000000000000000000000000000000000000000000000001"));
+        Assertions.assertEquals("96971c29d36675e810955b1d78d0720f968710ef5bfdedda937ccf9585e0922a"
+                        + "1b4d4651c2a9607ac5be9781cb9d690ceb12cd820b08ec9be84ede90101005981b",
+                SECP256K1Support.sign(hash, "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f"));
+        // 允许0x前缀
+        Assertions.assertEquals(SECP256K1Support.sign(hash, "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f"),
+                SECP256K1Support.sign(hash, "0x8DA4EF21B864D2CC526DBDB2A120BD2874C36C9D0A1FB7F8C63D7F7A8B41DE8F"));
+    }
+
+    @Test
+    void testSignEmpty() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SECP256K1Support.sign(new byte[0], "01"));
+    }
+}
@@ -0,0 +1,68 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 14:55
+ */
+class SignBatchTest {
+
+    private final String[] privateKeys = {
+            "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f",
+            "0000000000000000000000000000000000000000000000000000000000000001"
+    };
+
+    @Test
+    void testOneKey() {
+        byte[][] signData = randomHashes(100);
+        SigningKey key = SigningKey.fromHex(privateKeys[0]);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        SignBatchResult result = SECP256K1Support.signBatch(signData, key, pool);
+        pool.shutdown();
+        Assertions.assertEquals(100, result.size());
+        Assertions.assertEquals(0, result.failureCount());
+        for (int i = 0; i < signData.length; i++) {
+            Assertions.assertEquals(SECP256K1Support.sign(signData[i], privateKeys[0]), result.getSignatureHex(i));
+        }
+    }
+
+    @Test
+    void testManyKeysWithError() {
+        byte[][] signData = randomHashes(70);
+        signData[5] = new byte[0];
+        SigningKey[] keys = new SigningKey[signData.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = SigningKey.fromHex(privateKeys[i & 1]);
+        }
+        keys[9] = null;
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            SignBatchResult result = SECP256K1Support.signBatch(signData, keys, executor, 3);
+            Assertions.assertEquals(2, result.failureCount());
+            Assertions.assertFalse(result.isSuccess(5));
+            Assertions.assertFalse(result.isSuccess(9));
+            Assertions.assertThrows(IllegalStateException.class, () -> result.getSignature(5));
+            Assertions.assertEquals(SECP256K1Support.sign(signData[10], privateKeys[0]), Hex.toHexString(result.getSignature(10)));
+            Assertions.assertEquals(SECP256K1Support.sign(signData[69], privateKeys[1]), result.getSignatureHex(69));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static byte[][] randomHashes(int count) {
+        Random random = new Random(count);
+        byte[][] hashes = new byte[count][32];
+        for (byte[] hash : hashes) {
+            random.nextBytes(hash);
+        }
+        return hashes;
+    }
+}
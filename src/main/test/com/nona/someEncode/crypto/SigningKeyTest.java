@@ -0,0 +1,70 @@
+package com.nona.someEncode.crypto;
+
+import org.bouncycastle.crypto.params.ECDomainParameters;
+import org.bouncycastle.crypto.params.ECPublicKeyParameters;
+import org.bouncycastle.crypto.signers.ECDSASigner;
+import org.bouncycastle.crypto.signers.StandardDSAEncoding;
+import org.bouncycastle.jcajce.provider.digest.SHA256;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 14:02
+ */
+class SigningKeyTest {
+
+    private final String privateKey = "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f";
+    private final byte[] hash = new SHA256.Digest().digest("some-encode".getBytes());
+
+    @Test
+    void testSameAsSupport() {
+        SigningKey signingKey = SigningKey.fromHex(privateKey);
+        byte[] out = new byte[70];
+        signingKey.sign(hash, out, 3);
+        Assertions.assertEquals(SECP256K1Support.sign(hash, privateKey), Hex.toHexString(out, 3, SigningKey.SIGNATURE_LENGTH));
+        Assertions.assertArrayEquals(SECP256K1Support.getPubCompressedFromPrivate(privateKey), signingKey.getPublicKey(true));
+        Assertions.assertArrayEquals(SECP256K1Support.getPubUncompressedFromPrivate(privateKey), signingKey.getPublicKey(false));
+    }
+
+    @Test
+    void testLongSignData() {
+        SigningKey signingKey = SigningKey.fromHex(privateKey);
+        byte[] data = new byte[64];
+        System.arraycopy(hash, 0, data, 0, hash.length);
+        System.arraycopy(hash, 0, data, hash.length, hash.length);
+        byte[] signature = signingKey.sign(data);
+        byte[] legacy = Hex.decode(SECP256K1Support.sign(data, privateKey));
+        Assertions.assertArrayEquals(Arrays.copyOf(legacy, SigningKey.COMPACT_SIGNATURE_LENGTH),
+                Arrays.copyOf(signature, SigningKey.COMPACT_SIGNATURE_LENGTH));
+        // 截断后的recovery id可以用前32byte恢复公钥，旧的规则用未截断的数据找不到而得到27
+        Assertions.assertArrayEquals(signingKey.getPublicKey(false), SECP256K1Support.recoverPublicKey(signature, hash));
+        Assertions.assertEquals(27, legacy[SigningKey.COMPACT_SIGNATURE_LENGTH]);
+    }
+
+    @Test
+    void testCompactAndDer() throws Exception {
+        SigningKey signingKey = SigningKey.fromHex("0x" + privateKey);
+        byte[] full = signingKey.sign(hash);
+        byte[] compact = new byte[SigningKey.COMPACT_SIGNATURE_LENGTH];
+        signingKey.signCompact(hash, compact, 0);
+        Assertions.assertArrayEquals(Arrays.copyOf(full, SigningKey.COMPACT_SIGNATURE_LENGTH), compact);
+
+        ECDomainParameters domain = new ECDomainParameters(SECP256K1Support.getCurve());
+        BigInteger[] rs = StandardDSAEncoding.INSTANCE.decode(domain.getN(), signingKey.signDer(hash));
+        ECDSASigner verifier = new ECDSASigner();
+        verifier.init(false, new ECPublicKeyParameters(signingKey.getPublicPoint(), domain));
+        Assertions.assertTrue(verifier.verifySignature(hash, rs[0], rs[1]));
+    }
+
+    @Test
+    void testInvalidKey() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SigningKey.fromBytes(new byte[32]));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SigningKey.fromHex("01"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SigningKey.fromHex(privateKey).sign(hash, new byte[64], 0));
+    }
+}
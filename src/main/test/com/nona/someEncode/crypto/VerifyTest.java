@@ -0,0 +1,92 @@
+package com.nona.someEncode.crypto;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 16:40
+ */
+class VerifyTest {
+
+    private final String[] privateKeys = {
+            "8da4ef21b864d2cc526dbdb2a120bd2874c36c9d0a1fb7f8c63d7f7a8b41de8f",
+            "0000000000000000000000000000000000000000000000000000000000000001",
+            "fffffffffffffffffffffffffffffffebaaedce6af48a03bbfd25e8cd0364140"
+    };
+
+    @Test
+    void testVerify() {
+        SigningKey key = SigningKey.fromHex(privateKeys[0]);
+        byte[] hash = new byte[32];
+        byte[] signature = key.sign(hash);
+        Assertions.assertTrue(SECP256K1Support.verify(hash, signature, key.getPublicKey(true)));
+        Assertions.assertTrue(SECP256K1Support.verify(hash, Arrays.copyOf(signature, 64), key.getPublicKey(false)));
+        hash[0] = 1;
+        Assertions.assertFalse(SECP256K1Support.verify(hash, signature, key.getPublicKey(true)));
+        Assertions.assertFalse(SECP256K1Support.verify(hash, signature, new byte[33]));
+    }
+
+    @Test
+    void testBatch() {
+        int count = 200;
+        byte[][] hashes = new byte[count][32];
+        byte[][] signatures = new byte[count][];
+        byte[][] pubs = new byte[count][];
+        Random random = new Random(3);
+        for (int i = 0; i < count; i++) {
+            SigningKey key = SigningKey.fromHex(privateKeys[i % privateKeys.length]);
+            random.nextBytes(hashes[i]);
+            signatures[i] = key.sign(hashes[i]);
+            pubs[i] = key.getPublicKey(i % 2 == 0);
+        }
+        boolean[] all = SECP256K1Support.verifyBatch(hashes, signatures, pubs);
+        for (boolean result : all) {
+            Assertions.assertTrue(result);
+        }
+
+        // 错误的数据、错误的公钥、没有v、v错了但签名本身正确
+        hashes[3][0] ^= 1;
+        pubs[50] = pubs[51];
+        signatures[77] = Arrays.copyOf(signatures[77], 64);
+        signatures[120][64] = (byte) (signatures[120][64] == 27 ? 1 : 27);
+        signatures[150][40] ^= 1;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        boolean[] results = SECP256K1Support.verifyBatch(hashes, signatures, pubs, pool);
+        pool.shutdown();
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(SECP256K1Support.verify(hashes[i], signatures[i], pubs[i]), results[i], "index " + i);
+        }
+        Assertions.assertFalse(results[3]);
+        Assertions.assertFalse(results[50]);
+        Assertions.assertTrue(results[77]);
+        Assertions.assertTrue(results[120]);
+        Assertions.assertFalse(results[150]);
+    }
+
+    @Test
+    void testBatchSequentialChunks() {
+        // 超过一块，不传pool时在当前线程逐块验证
+        int count = BatchVerifier.CHUNK * 2 + 10;
+        byte[][] hashes = new byte[count][32];
+        byte[][] signatures = new byte[count][];
+        byte[][] pubs = new byte[count][];
+        Random random = new Random(4);
+        SigningKey key = SigningKey.fromHex(privateKeys[0]);
+        for (int i = 0; i < count; i++) {
+            random.nextBytes(hashes[i]);
+            signatures[i] = key.sign(hashes[i]);
+            pubs[i] = key.getPublicKey(true);
+        }
+        hashes[BatchVerifier.CHUNK][0] ^= 1;
+        hashes[count - 1][0] ^= 1;
+        boolean[] results = SECP256K1Support.verifyBatch(hashes, signatures, pubs);
+        for (int i = 0; i < count; i++) {
+            Assertions.assertEquals(i != BatchVerifier.CHUNK && i != count - 1, results[i], "index " + i);
+        }
+    }
+}
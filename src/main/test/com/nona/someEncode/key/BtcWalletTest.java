@@ -0,0 +1,36 @@
+package com.nona.someEncode.key;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 11:50
+ */
+class BtcWalletTest {
+
+    private final String privateKey = "0000000000000000000000000000000000000000000000000000000000000001";
+
+    @Test
+    void testAddress() {
+        BtcWallet wallet = BtcWallet.mainNet(privateKey);
+        Assertions.assertEquals("1EHNa6Q4Jz2uvNExL497mE43ikXhwF6kZm", wallet.getAddress());
+        Assertions.assertEquals("1BgGZ9tcN4rm9KBzDn7KprQz87SZ26SAMH", wallet.getAddress(true));
+    }
+
+    @Test
+    void testWIF() {
+        BtcWallet wallet = BtcWallet.mainNet(privateKey);
+        Assertions.assertEquals("5HpHagT65TZzG1PH3CSu63k8DbpvD8s5ip4nEB3kEsreAnchuDf", wallet.getWIFPrivateKey(false));
+        Assertions.assertEquals("KwDiBf89QgGbjEhKnhXJuH7LrciVrZi3qYjgd9M7rFU73sVHnoWn", wallet.getWIFPrivateKey(true));
+    }
+
+    @Test
+    void testGenerate() {
+        for (BtcWallet wallet : BtcWallet.generate(true, 3)) {
+            BtcWallet same = BtcWallet.mainNet(wallet.getPrivateHex());
+            Assertions.assertEquals(same.getAddress(false), wallet.getAddress(false));
+            Assertions.assertEquals(same.getAddress(true), wallet.getAddress(true));
+        }
+    }
+}
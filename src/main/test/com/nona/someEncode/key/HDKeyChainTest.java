@@ -0,0 +1,47 @@
+package com.nona.someEncode.key;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 20:00
+ */
+class HDKeyChainTest {
+
+    /**
+     * 助记词 abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon abandon about，密码为空
+     */
+    private static final byte[] SEED = Hex.decode("5eb00bbddcf069084889a8ab9155568165f5c453ccb85e70811aaed6f6da5fc1"
+            + "9a5ac40b389cd370d086206dec8aa6c43daea6690f20ad3d8d48b2d2ce9e38e4");
+
+    @Test
+    void testBtc() {
+        HDKeyChain chain = HDKeyChain.fromSeed(SEED);
+        Assertions.assertEquals("1LqBGSKuX5yYUonjxT5qGfpUsXKYYWeabA", chain.address(Bip44CoinType.BTC, 0, 0));
+        Assertions.assertEquals("1LqBGSKuX5yYUonjxT5qGfpUsXKYYWeabA", chain.btcWallet(true, 0, 0).getAddress(true));
+    }
+
+    @Test
+    void testWallets() {
+        HDKeyChain chain = HDKeyChain.fromSeed(SEED);
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(chain.address(Bip44CoinType.TRX, 0, i), chain.trxWallet(0, i).getAddress());
+            Assertions.assertEquals(chain.address(Bip44CoinType.FIL, 0, i),
+                    chain.filWallet(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, 0, i).getAddress());
+        }
+        // m/44'、m/44'/195'、m/44'/195'/0'、m/44'/195'/0'/0，fil再多3个（m/44'共用）
+        Assertions.assertEquals(4 + 3, chain.cachedNodes());
+    }
+
+    @Test
+    void testAccountExtendedPublicKey() {
+        HDKeyChain chain = HDKeyChain.fromSeed(SEED);
+        HDKeyChain watchOnly = HDKeyChain.fromExtendedKey(chain.accountExtendedPublicKey(Bip44CoinType.TRX, 0));
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals(chain.address(Bip44CoinType.TRX, 0, i), Bip44CoinType.TRX.address(watchOnly.derive(0, i)));
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> watchOnly.bip44(Bip44CoinType.TRX, 0, 0, 0));
+    }
+}
@@ -0,0 +1,44 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.base.Base58Check;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 11:52
+ */
+class TrxWalletTest {
+
+    @Test
+    void testRevertMiddleAddress() {
+        TrxWallet wallet = new TrxWallet();
+        String address = wallet.getAddress();
+        Assertions.assertEquals(address, TrxWallet.addressFromPrivateKey(wallet.getPrivateHex()));
+        Assertions.assertEquals(address, new TrxWallet(wallet.getPrivateHex()).getAddress());
+
+        String middle = TrxWallet.revertMiddleAddress(address);
+        Assertions.assertEquals(40, middle.length());
+        Assertions.assertEquals("41" + middle, TrxWallet.revertMiddleAddressWithPrefix(address));
+    }
+
+    @Test
+    void testCorruptedAddress() {
+        String address = new TrxWallet().getAddress();
+        char last = address.charAt(address.length() - 1);
+        String corrupted = address.substring(0, address.length() - 1) + (last == '2' ? '3' : '2');
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TrxWallet.revertMiddleAddress(corrupted));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TrxWallet.revertMiddleAddressWithPrefix(corrupted));
+        // checksum正确但前缀不是0x41
+        String otherVersion = Base58Check.encode((byte) 0x42, new byte[20]);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TrxWallet.revertMiddleAddress(otherVersion));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TrxWallet.revertMiddleAddressWithPrefix(otherVersion));
+    }
+
+    @Test
+    void testGenerate() {
+        for (TrxWallet wallet : TrxWallet.generate(5)) {
+            Assertions.assertEquals(TrxWallet.addressFromPrivateKey(wallet.getPrivateHex()), wallet.getAddress());
+        }
+    }
+}
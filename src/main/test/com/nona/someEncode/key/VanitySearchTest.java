@@ -0,0 +1,78 @@
+package com.nona.someEncode.key;
+
+import com.nona.someEncode.base.Base58Check;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 19:00
+ */
+class VanitySearchTest {
+
+    @Test
+    void testTrx() throws InterruptedException {
+        VanityResult result = VanitySearch.trx("TX").start(2).await(60, TimeUnit.SECONDS);
+        Assertions.assertNotNull(result);
+        Assertions.assertTrue(result.getAddress().startsWith("TX"));
+        Assertions.assertEquals(result.getAddress(), new TrxWallet(result.getPrivateHex()).getAddress());
+    }
+
+    @Test
+    void testBtc() throws InterruptedException {
+        VanityResult result = VanitySearch.btc("1A", true).start(2).await(60, TimeUnit.SECONDS);
+        Assertions.assertNotNull(result);
+        Assertions.assertTrue(result.getAddress().startsWith("1A"));
+        Assertions.assertEquals(result.getAddress(), BtcWallet.mainNet(result.getPrivateHex()).getAddress(true));
+    }
+
+    @Test
+    void testFil() throws InterruptedException {
+        VanityResult result = VanitySearch.fil(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, "F1ab").start(2).await(60, TimeUnit.SECONDS);
+        Assertions.assertNotNull(result);
+        Assertions.assertTrue(result.getAddress().startsWith("f1ab"));
+        Assertions.assertEquals(result.getAddress(), new FilWallet(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, result.getPrivateHex()).getAddress());
+    }
+
+    @Test
+    void testCancel() throws InterruptedException {
+        VanitySearch search = VanitySearch.trx("TNonaNonaNona");
+        Assertions.assertTrue(search.getExpectedAttempts() > 1e18);
+        VanityJob job = search.start(1);
+        Assertions.assertNull(job.await(200, TimeUnit.MILLISECONDS));
+        Assertions.assertTrue(job.cancel());
+        Assertions.assertTrue(job.isDone());
+        Assertions.assertNull(job.await());
+        Assertions.assertTrue(job.getAttempts() > 0);
+    }
+
+    @Test
+    void testInvalidPrefix() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> VanitySearch.trx("T0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> VanitySearch.trx("A"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> VanitySearch.btc("3abc", false));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> VanitySearch.fil(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, "t1abc"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> VanitySearch.fil(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, "f1ab1"));
+    }
+
+    @Test
+    void testPrefixFilterHasNoFalseNegative() {
+        Random random = new Random(11);
+        byte[] hash = new byte[VanityMatcher.HASH_LENGTH];
+        for (int i = 0; i < 2000; i++) {
+            random.nextBytes(hash);
+            if (i % 4 == 0) {
+                hash[0] = 0;
+            }
+            String trx = Base58Check.encode((byte) 0x41, hash);
+            String btc = Base58Check.encode((byte) 0x00, hash);
+            for (int length = 2; length <= 5; length++) {
+                Assertions.assertTrue(VanityMatcher.Trx.filter(trx.substring(0, length)).mayMatch(hash, 0));
+                Assertions.assertTrue(VanityMatcher.Btc.filter(btc.substring(0, length)).mayMatch(hash, 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.key.BtcWallet;
+import com.nona.someEncode.key.FilWallet;
+import com.nona.someEncode.key.TrxWallet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 23:00
+ */
+class AddressFilterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFalsePositiveRate() throws IOException {
+        Random random = new Random(11);
+        byte[] payloads = new byte[200_000 * AddressType.PAYLOAD_LENGTH];
+        random.nextBytes(payloads);
+        AddressFilter filter = AddressFilter.build(payloads);
+        Assertions.assertEquals(200_000, filter.size());
+        Assertions.assertTrue(filter.bitsPerEntry() < 10, "bits per entry: " + filter.bitsPerEntry());
+        for (int off = 0; off < payloads.length; off += AddressType.PAYLOAD_LENGTH) {
+            Assertions.assertTrue(filter.mayContain(payloads, off));
+        }
+        byte[] other = new byte[AddressType.PAYLOAD_LENGTH];
+        int falsePositives = 0;
+        int queries = 1_000_000;
+        for (int i = 0; i < queries; i++) {
+            random.nextBytes(other);
+            if (filter.mayContain(other, 0)) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertTrue(falsePositives < queries * 0.005, "false positives: " + falsePositives);
+
+        Path file = dir.resolve("watch.filter");
+        filter.write(file);
+        AddressFilter mapped = AddressFilter.map(file);
+        Assertions.assertEquals(filter.sizeInBytes(), file.toFile().length());
+        for (int off = 0; off < payloads.length; off += AddressType.PAYLOAD_LENGTH) {
+            Assertions.assertTrue(mapped.mayContain(payloads, off));
+        }
+    }
+
+    @Test
+    void testAddresses() {
+        List<String> addresses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            addresses.add(new TrxWallet().getAddress());
+            addresses.add(BtcWallet.mainNet().getAddress(true));
+            addresses.add(new FilWallet(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS).getAddress());
+        }
+        // 重复的地址只算一个
+        addresses.add(addresses.get(0));
+        AddressFilter filter = AddressFilter.fromAddresses(addresses);
+        Assertions.assertEquals(60, filter.size());
+        for (String address : addresses) {
+            Assertions.assertTrue(filter.mayContain(address));
+        }
+        Assertions.assertFalse(filter.mayContain("not an address"));
+        Assertions.assertEquals(0, AddressFilter.build(new byte[0]).size());
+    }
+}
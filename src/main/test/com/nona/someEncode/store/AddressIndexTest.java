@@ -0,0 +1,67 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.crypto.KeyPairBatch;
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.key.BtcWallet;
+import com.nona.someEncode.key.FilWallet;
+import com.nona.someEncode.key.TrxWallet;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 22:00
+ */
+class AddressIndexTest {
+
+    @Test
+    void testAddress() {
+        KeyPairBatch batch = SECP256K1Support.generateKeyPairs(32);
+        AddressIndex index = new AddressIndex();
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] pub = batch.getPublicKey(i, false);
+            index.put(TrxWallet.addressFromPublicKey(pub), i);
+            index.put(BtcWallet.addressFromPublicKey(batch.getPublicKey(i, true)), i);
+            index.put(FilWallet.addressFromPublicKey(FilWallet.FilAddressType.TEST_NET_WALLET_ADDRESS, pub), i);
+        }
+        Assertions.assertEquals(96, index.size());
+        for (int i = 0; i < batch.size(); i++) {
+            byte[] pub = batch.getPublicKey(i, false);
+            Assertions.assertEquals(i, index.get(TrxWallet.addressFromPublicKey(pub)));
+            Assertions.assertEquals(i, index.get(BtcWallet.addressFromPublicKey(batch.getPublicKey(i, true))));
+            Assertions.assertEquals(i, index.get(FilWallet.addressFromPublicKey(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, pub)));
+            Assertions.assertFalse(index.contains(BtcWallet.addressFromPublicKey(pub)));
+        }
+        String trx = TrxWallet.addressFromPublicKey(batch.getPublicKey(0, false));
+        // 改一个字符，checksum不对
+        String broken = trx.substring(0, 10) + (trx.charAt(10) == 'a' ? 'b' : 'a') + trx.substring(11);
+        Assertions.assertEquals(-1, index.get(broken));
+        Assertions.assertEquals(-1, index.get("0OIl"));
+        Assertions.assertEquals(-1, index.get(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> index.put("not an address", 0));
+    }
+
+    @Test
+    void testGrow() {
+        Random random = new Random(7);
+        byte[][] payloads = new byte[100_000][AddressType.PAYLOAD_LENGTH];
+        AddressIndex index = new AddressIndex();
+        for (int i = 0; i < payloads.length; i++) {
+            random.nextBytes(payloads[i]);
+            Assertions.assertEquals(-1, index.put(payloads[i], 0, i));
+        }
+        Assertions.assertEquals(payloads.length, index.size());
+        Assertions.assertTrue(index.capacity() * 0.75 >= payloads.length);
+        for (int i = 0; i < payloads.length; i++) {
+            Assertions.assertEquals(i, index.get(payloads[i], 0));
+        }
+        Assertions.assertEquals(0, index.put(payloads[0], 0, 5));
+        Assertions.assertEquals(5, index.get(payloads[0], 0));
+        byte[] other = new byte[AddressType.PAYLOAD_LENGTH];
+        System.arraycopy(payloads[1], 0, other, 0, other.length);
+        other[19] ^= 1;
+        Assertions.assertFalse(index.contains(other, 0));
+    }
+}
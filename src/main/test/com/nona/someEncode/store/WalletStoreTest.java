@@ -0,0 +1,178 @@
+package com.nona.someEncode.store;
+
+import com.nona.someEncode.crypto.KeyPairBatch;
+import com.nona.someEncode.crypto.SECP256K1Support;
+import com.nona.someEncode.key.BtcWallet;
+import com.nona.someEncode.key.FilWallet;
+import com.nona.someEncode.key.TrxWallet;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 21:00
+ */
+class WalletStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testAppendAndLookup() throws IOException {
+        Path file = dir.resolve("wallets.dat");
+        String priHex = "52d1a3b1b3b8f5e4e35f4e5e8d5d9c7a7e3cbd3e7a8f1d2c4b5a69788796a5b4";
+        try (WalletStore store = WalletStore.open(file)) {
+            Assertions.assertEquals(0, store.append(Hex.decode(priHex)));
+            Assertions.assertEquals(1, store.appendAll(SECP256K1Support.generateKeyPairs(16)));
+            Assertions.assertEquals(17, store.size());
+            for (long i = 0; i < store.size(); i++) {
+                assertRecord(store, i);
+            }
+        }
+        // 重新打开后不需要重建索引
+        try (WalletStore store = WalletStore.open(file)) {
+            Assertions.assertEquals(17, store.size());
+            Assertions.assertEquals(priHex, store.getPrivateHex(0));
+            for (long i = 0; i < store.size(); i++) {
+                assertRecord(store, i);
+            }
+            Assertions.assertEquals(-1, store.indexOf(new TrxWallet().getAddress()));
+            Assertions.assertEquals(-1, store.indexOf("not an address"));
+            Assertions.assertThrows(IndexOutOfBoundsException.class, () -> store.getPrivateKey(17));
+        }
+    }
+
+    @Test
+    void testRebuildIndex() throws IOException {
+        Path file = dir.resolve("wallets.dat");
+        try (WalletStore store = WalletStore.open(file)) {
+            store.appendAll(SECP256K1Support.generateKeyPairs(8));
+        }
+        Files.delete(Paths.get(file + WalletStore.INDEX_SUFFIX));
+        try (WalletStore store = WalletStore.open(file)) {
+            for (long i = 0; i < store.size(); i++) {
+                assertRecord(store, i);
+            }
+        }
+    }
+
+    @Test
+    void testReindexAfterCrash() throws IOException {
+        Path file = dir.resolve("wallets.dat");
+        Path indexFile = Paths.get(file + WalletStore.INDEX_SUFFIX);
+        try (WalletStore store = WalletStore.open(file)) {
+            store.appendAll(SECP256K1Support.generateKeyPairs(8));
+        }
+        // 模拟记录数已经写入、covered还没更新时崩溃：重新打开会把3之后的记录再索引一次
+        try (RecordIndex index = openIndex(indexFile)) {
+            Assertions.assertEquals(8 * AddressType.values().length, index.used());
+            index.setCovered(3);
+        }
+        try (WalletStore store = WalletStore.open(file)) {
+            for (long i = 0; i < store.size(); i++) {
+                assertRecord(store, i);
+            }
+        }
+        try (RecordIndex index = openIndex(indexFile)) {
+            Assertions.assertEquals(8, index.covered());
+            Assertions.assertEquals(8 * AddressType.values().length, index.used());
+        }
+    }
+
+    @Test
+    void testIndexGrow() throws IOException {
+        // 初始索引2^16个槽，每条记录4个地址，12000条会触发扩容
+        KeyPairBatch batch = SECP256K1Support.generateKeyPairs(12000);
+        Path file = dir.resolve("wallets.dat");
+        Path indexFile = Paths.get(file + WalletStore.INDEX_SUFFIX);
+        try (WalletStore store = WalletStore.open(file)) {
+            store.appendAll(batch);
+            assertLookup(store, batch);
+            // 扩容写到下一代文件，不替换仍被映射的旧文件
+            Assertions.assertTrue(Files.exists(Paths.get(indexFile + ".1")));
+            Assertions.assertFalse(Files.exists(indexFile));
+        }
+        // 模拟旧文件在Windows上没删掉：重新打开时清理
+        Files.write(indexFile, new byte[16]);
+        try (WalletStore store = WalletStore.open(file)) {
+            Assertions.assertFalse(Files.exists(indexFile));
+            assertLookup(store, batch);
+        }
+    }
+
+    @Test
+    void testCorruptIndex() throws IOException {
+        Path file = dir.resolve("wallets.dat");
+        Path indexFile = Paths.get(file + WalletStore.INDEX_SUFFIX);
+        try (WalletStore store = WalletStore.open(file)) {
+            store.appendAll(SECP256K1Support.generateKeyPairs(8));
+        }
+        Files.write(indexFile, new byte[64]);
+        // 损坏的文件已经被映射，重建到下一代文件
+        try (WalletStore store = WalletStore.open(file)) {
+            Assertions.assertTrue(Files.exists(Paths.get(indexFile + ".1")));
+            for (long i = 0; i < store.size(); i++) {
+                assertRecord(store, i);
+            }
+        }
+    }
+
+    private static void assertLookup(WalletStore store, KeyPairBatch batch) {
+        for (int i = 0; i < batch.size(); i += 97) {
+            byte[] pub = batch.getPublicKey(i, false);
+            Assertions.assertEquals(i, store.indexOf(TrxWallet.addressFromPublicKey(pub)));
+            Assertions.assertEquals(i, store.indexOf(BtcWallet.addressFromPublicKey(pub)));
+        }
+        Assertions.assertEquals(batch.size() - 1, store.indexOf(store.getPayload(batch.size() - 1, AddressType.FIL)));
+    }
+
+    /**
+     * 直接打开第0代索引文件，只读写文件头
+     */
+    private static RecordIndex openIndex(Path indexFile) throws IOException {
+        return RecordIndex.open(indexFile, new RecordIndex.PayloadSource() {
+            @Override
+            public long payloadPosition(long recordIndex, AddressType type) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public MappedSegments records() {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public long generation() {
+                return 0;
+            }
+
+            @Override
+            public void setGeneration(long generation) {
+                throw new UnsupportedOperationException();
+            }
+        });
+    }
+
+    private static void assertRecord(WalletStore store, long index) {
+        String priHex = store.getPrivateHex(index);
+        TrxWallet trx = new TrxWallet(priHex);
+        BtcWallet btc = BtcWallet.mainNet(priHex);
+        FilWallet fil = new FilWallet(FilWallet.FilAddressType.MAIN_NET_WALLET_ADDRESS, priHex);
+        Assertions.assertEquals(trx.getAddress(), store.getAddress(index, AddressType.TRX));
+        Assertions.assertEquals(btc.getAddress(false), store.getAddress(index, AddressType.BTC));
+        Assertions.assertEquals(btc.getAddress(true), store.getAddress(index, AddressType.BTC_COMPRESSED));
+        Assertions.assertEquals(fil.getAddress(), store.getAddress(index, AddressType.FIL));
+        Assertions.assertEquals(index, store.indexOf(trx.getAddress()));
+        Assertions.assertEquals(index, store.indexOf(btc.getAddress(false)));
+        Assertions.assertEquals(index, store.indexOf(btc.getAddress(true)));
+        Assertions.assertEquals(index, store.indexOf(fil.getAddress()));
+        Assertions.assertEquals(index, store.indexOf(fil.getAddress().replaceFirst("f", "t")));
+    }
+}
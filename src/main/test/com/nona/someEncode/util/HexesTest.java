@@ -0,0 +1,54 @@
+package com.nona.someEncode.util;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 07:00
+ */
+class HexesTest {
+
+    @Test
+    void testEncode() throws IOException {
+        byte[] bytes = new byte[256];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String expected = Hex.toHexString(bytes);
+        Assertions.assertEquals(expected, Hexes.toHex(bytes));
+        Assertions.assertEquals(expected.substring(20, 40), Hexes.toHex(bytes, 10, 10));
+        Assertions.assertEquals("0x" + expected.substring(0, 6), Hexes.append(new StringBuilder("0x"), bytes, 0, 3).toString());
+        Assertions.assertEquals("fdfeff", Hexes.append(new StringWriter(), bytes, 253, 3).toString());
+        Assertions.assertEquals("", Hexes.toHex(new byte[0]));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Hexes.toHex(bytes, 250, 10));
+    }
+
+    @Test
+    void testDecode() {
+        byte[] random = new byte[100];
+        new Random(7).nextBytes(random);
+        String hex = Hex.toHexString(random);
+        Assertions.assertArrayEquals(random, Hexes.decode(hex));
+        Assertions.assertArrayEquals(random, Hexes.decode("0x" + hex));
+        Assertions.assertArrayEquals(random, Hexes.decode("0X" + hex.toUpperCase()));
+        Assertions.assertArrayEquals(random, Hexes.decode(new StringBuilder(hex)));
+        Assertions.assertEquals(hex.length(), Hexes.hexLength("0x" + hex));
+
+        // 只解码中间一段，这一段以0x开头
+        byte[] dst = new byte[5];
+        Assertions.assertEquals(2, Hexes.decode("abc0xA1b2def", 3, 9, dst, 3));
+        Assertions.assertArrayEquals(new byte[]{0, 0, 0, (byte) 0xa1, (byte) 0xb2}, dst);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Hexes.decode("abc"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Hexes.decode("0g"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Hexes.decode("0é"));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> Hexes.decode("abcd", 0, 4, dst, 4));
+        Assertions.assertArrayEquals(new byte[0], Hexes.decode("0x"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.nona.someEncode.varint;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/19 00:00
+ */
+class GroupVarintsTest {
+
+    @Test
+    void testRoundTrip() {
+        Random random = new Random(9);
+        for (int n : new int[]{0, 1, 2, 3, 7, 100, 1001}) {
+            long[] values = new long[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = random.nextLong() >>> random.nextInt(64);
+            }
+            for (ByteBuffer buffer : new ByteBuffer[]{ByteBuffer.allocate(GroupVarints.maxEncodedSize(n) + 3),
+                    ByteBuffer.allocateDirect(GroupVarints.maxEncodedSize(n) + 3)}) {
+                buffer.position(3);
+                int written = GroupVarints.encode(values, n, buffer);
+                Assertions.assertEquals(3 + written, buffer.position());
+                buffer.flip().position(3);
+                long[] decoded = new long[n + 1];
+                Assertions.assertEquals(n, GroupVarints.decode(buffer, decoded));
+                Assertions.assertArrayEquals(values, Arrays.copyOf(decoded, n));
+                Assertions.assertFalse(buffer.hasRemaining());
+            }
+        }
+    }
+
+    @Test
+    void testLayout() {
+        ByteBuffer buffer = ByteBuffer.allocate(32);
+        GroupVarints.encode(new long[]{0, 0x1234, 0xFFFFFFFFFFL}, 3, buffer);
+        // n = 3，控制字节：(1-1) | (2-1) << 4、(5-1)，数据：00 34 12 ff ff ff ff ff
+        byte[] expected = {3, 0x10, 0x04, 0, 0x34, 0x12, -1, -1, -1, -1, -1};
+        Assertions.assertArrayEquals(expected, Arrays.copyOf(buffer.array(), buffer.position()));
+        Assertions.assertThrows(BufferOverflowException.class, () -> GroupVarints.encode(new long[]{-1L, -1L}, 2, ByteBuffer.allocate(12)));
+    }
+
+    @Test
+    void testTruncated() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        GroupVarints.encode(new long[]{1, 2, 3, 4, 5, 6}, 6, buffer);
+        byte[] encoded = Arrays.copyOf(buffer.array(), buffer.position());
+        long[] decoded = new long[6];
+        // 控制字节不完整、数据不完整
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GroupVarints.decode(ByteBuffer.wrap(encoded, 0, 3), decoded));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GroupVarints.decode(ByteBuffer.wrap(encoded, 0, encoded.length - 1), decoded));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> GroupVarints.decode(ByteBuffer.wrap(new byte[]{100}), new long[100]));
+    }
+
+    @Test
+    void testLeb128() {
+        long[] values = {0, 1, 300, Long.MAX_VALUE, -1L};
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        for (long value : values) {
+            Varints.putVarLong(buffer, value);
+        }
+        buffer.flip();
+        long[] decoded = new long[values.length];
+        Assertions.assertEquals(values.length, GroupVarints.decodeLeb128(buffer, decoded, values.length));
+        Assertions.assertArrayEquals(values, decoded);
+    }
+}
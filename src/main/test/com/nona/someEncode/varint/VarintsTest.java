@@ -0,0 +1,96 @@
+package com.nona.someEncode.varint;
+
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * @author nona9961
+ * @date 2026/10/18 23:30
+ */
+class VarintsTest {
+
+    @Test
+    void testEncode() {
+        String[][] vectors = {
+                {"01", "01"}, {"7f", "7f"}, {"80", "8001"}, {"0100", "8002"}, {"ff", "ff01"},
+                {"00", "00"}, {"0000", "00"}, {"3fff", "ff7f"}, {"4000", "808001"},
+                {"01000000000000", "80808080808040"}, {"ffffffffffffffff", "ffffffffffffffffff01"},
+        };
+        for (String[] vector : vectors) {
+            byte[] raw = Hex.decode(vector[0]);
+            Assertions.assertEquals(vector[1], Hex.toHexString(Varints.encode(raw)), vector[0]);
+            Assertions.assertEquals(vector[1].length() / 2, Varints.encodedSize(raw, 0, raw.length));
+        }
+        Assertions.assertEquals("80", Hex.toHexString(Varints.decode(Hex.decode("8001"))));
+        Assertions.assertEquals("4000", Hex.toHexString(Varints.decode(Hex.decode("808001"))));
+        Assertions.assertEquals("00", Hex.toHexString(Varints.decode(Hex.decode("00"))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Varints.decode(Hex.decode("8180")));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Varints.decode(Hex.decode("0101")));
+    }
+
+    @Test
+    void testLong() {
+        Random random = new Random(3);
+        ByteBuffer buffer = ByteBuffer.allocate(Varints.MAX_VAR_LONG_SIZE * 1000);
+        long[] values = new long[1000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong() >>> random.nextInt(64);
+            int size = Varints.putVarLong(buffer, values[i]);
+            Assertions.assertEquals(Varints.varLongSize(values[i]), size);
+            byte[] raw = ByteBuffer.allocate(Long.BYTES).putLong(values[i]).array();
+            byte[] encoded = new byte[size];
+            buffer.position(buffer.position() - size);
+            buffer.get(encoded);
+            Assertions.assertArrayEquals(Varints.encode(raw), encoded);
+        }
+        buffer.flip();
+        for (long value : values) {
+            Assertions.assertEquals(value, Varints.getVarLong(buffer));
+        }
+        Assertions.assertFalse(buffer.hasRemaining());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Varints.getVarLong(ByteBuffer.wrap(Hex.decode("ffffffffffffffffff02"))));
+    }
+
+    @Test
+    void testInt() {
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        int[] values = {0, 1, 127, 128, 16383, 16384, Integer.MAX_VALUE, -1};
+        for (int value : values) {
+            Assertions.assertEquals(Varints.varIntSize(value), Varints.putVarInt(buffer, value));
+        }
+        buffer.flip();
+        for (int value : values) {
+            Assertions.assertEquals(value, Varints.getVarInt(buffer));
+        }
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Varints.getVarInt(ByteBuffer.wrap(Hex.decode("ffffffff1f"))));
+    }
+
+    @Test
+    void testStream() throws IOException {
+        Random random = new Random(5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[][] raws = new byte[200][];
+        for (int i = 0; i < raws.length; i++) {
+            raws[i] = new byte[1 + random.nextInt(40)];
+            random.nextBytes(raws[i]);
+            raws[i][0] |= 1;
+            Assertions.assertEquals(Varints.encode(raws[i]).length, Varints.encode(raws[i], 0, raws[i].length, out));
+            Varints.writeVarLong(out, i);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        for (int i = 0; i < raws.length; i++) {
+            Assertions.assertArrayEquals(raws[i], Varints.decode(in));
+            Assertions.assertEquals(i, Varints.readVarLong(in));
+        }
+        Assertions.assertThrows(EOFException.class, () -> Varints.decode(new ByteArrayInputStream(Hex.decode("8080"))));
+        Assertions.assertArrayEquals(raws[7], Varints.decode(Varints.encode(raws[7])));
+    }
+}